@@ -16,7 +16,8 @@ import javax.media.opengl.GLCapabilities;
 import javax.media.opengl.glu.GLU;
 
 import com.strixa.gl.properties.Cuboid;
-import com.strixa.util.Point3D;
+import com.strixa.util.Aabb3d;
+import com.strixa.util.Vec3d;
 
 /**
  * TODO:  Write Class Description
@@ -27,13 +28,14 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
     /** Field needed for the serialization of this object. */
     private static final long serialVersionUID = 7940290686156245285L;
     
-    private final Point3D<Double> __camera_location = new Point3D<Double>(0.0,0.0,0.0);
-    private final Point3D<Double> __camera_looking_at_point = new Point3D<Double>(0.0,0.0,1.0);
+    private final Vec3d __camera_location = new Vec3d(0,0,0);
+    private final Vec3d __camera_looking_at_point = new Vec3d(0,0,1);
     
     private double                __camera_pitch;
     private double                __camera_rotation;
     private double                __camera_tilt;
     private List<Strixa3DElement> __children;
+    private int                   __queued_components_per_frame;
     private double                __render_distance;
  
     
@@ -52,6 +54,7 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         this.addMouseMotionListener(this);
         this.setCamera(0,0,0);
         this.setRenderDistance(100);
+        this.setQueuedComponentsPerFrame(20000);
         
         this._refreshViewableArea();
         this._refreshCamera();
@@ -107,6 +110,15 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         return this.__camera_tilt;
     }
     
+    /**
+     * Gets the maximum number of queued polygons which are added to this canvas's children each frame.
+     * 
+     * @return The maximum number of queued polygons which are added each frame.
+     */
+    public int getQueuedComponentsPerFrame(){
+        return this.__queued_components_per_frame;
+    }
+    
     /**
      * Gets the number of units in the z direction that the canvas will render elements.
      * 
@@ -191,6 +203,19 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         this.setCamera(this.getCameraPitch(),this.getCameraRotation(),tilt);
     }
     
+    /**
+     * Sets the maximum number of polygons queued with {@link Strixa3DElement#queueComponents(List)} which are added to this canvas's children each frame.  Lower values keep frames steadier while models are loading, at the cost of the models taking longer to appear.
+     * 
+     * @param count Maximum number of queued polygons to add each frame.
+     */
+    public void setQueuedComponentsPerFrame(int count){
+        if(count < 1){
+            throw new IllegalArgumentException("Argument 'count' must be at least 1.");
+        }
+        
+        this.__queued_components_per_frame = count;
+    }
+    
     /**
      * Sets the number of units to allow rendering in any given direction.
      * 
@@ -236,6 +261,8 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         final int                   child_count = children.size();
         final GLU                   glu = new GLU(); 
         
+        int queued_component_budget = 0;
+        
                 
         if(child_count == 0){
             return;
@@ -285,8 +312,15 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         
         /*Draw the models!*/
         synchronized(children){
+            queued_component_budget = this.__queued_components_per_frame;
+            for(int index = 0;index<child_count && queued_component_budget > 0;index++){  //Polygons still being loaded are added between frames, so the children never change while they're being drawn.
+                queued_component_budget -= children.get(index).addQueuedComponents(queued_component_budget);
+            }
+            
             for(int index = 0;index<child_count;index++){
                 if(children.get(index).isVisible(this.getStrixaGLContext())){
+                    children.get(index).selectLevelOfDetail(this._getDistanceFromCamera(children.get(index)),this.getRenderDistance());
+                    
                     gl.glPushMatrix();                    
                         children.get(index).draw(gl);
                     gl.glPopMatrix();
@@ -295,6 +329,24 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         }
     }
     
+    /**
+     * Gets the distance between the camera and the centre of the given element's bounding box.
+     * 
+     * @param element Element to be measured.
+     * 
+     * @return The distance between the camera and the element.
+     */
+    protected double _getDistanceFromCamera(Strixa3DElement element){
+        final Aabb3d bounds = element.getBoundingBox().getBounds();
+        
+        
+        return Math.sqrt(this.__camera_location.distanceSquared(
+            (bounds.getMinX() + bounds.getMaxX()) / 2,
+            (bounds.getMinY() + bounds.getMaxY()) / 2,
+            (bounds.getMinZ() + bounds.getMaxZ()) / 2
+        ));
+    }
+    
     public void mouseClicked(MouseEvent event){}
     
     public void mouseDragged(MouseEvent event){}
@@ -314,11 +366,9 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         
         
         this.getStrixaGLContext().setViewableArea(new Cuboid(
-            new Point3D<Double>(
-                this.__camera_location.getX() - half_render_distance,
-                this.__camera_location.getY() - half_render_distance,
-                this.__camera_location.getZ() - half_render_distance
-            ),
+            this.__camera_location.getX() - half_render_distance,
+            this.__camera_location.getY() - half_render_distance,
+            this.__camera_location.getZ() - half_render_distance,
             this.__render_distance,
             this.__render_distance,
             this.__render_distance
@@ -328,9 +378,11 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
     protected void _refreshCamera(){
         //TODO_HIGH:  Get this method hooked up with some actual measurements...
         
-        this.__camera_looking_at_point.setX(this.__camera_location.getX()+Math.sin((this.getCameraRotation()*Math.PI)/180));
-        this.__camera_looking_at_point.setY(0.0);
-        this.__camera_looking_at_point.setZ(this.__camera_location.getZ()+Math.cos((this.getCameraRotation()*Math.PI)/180));
+        this.__camera_looking_at_point.set(
+            this.__camera_location.getX()+Math.sin((this.getCameraRotation()*Math.PI)/180),
+            0.0,
+            this.__camera_location.getZ()+Math.cos((this.getCameraRotation()*Math.PI)/180)
+        );
     }
     
     /**
@@ -355,9 +407,7 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
      * @param z_modification The number of units z which the viewing area should be shifted forward or backwards.
      */
     public void shiftViewingArea(double x_modification,double y_modification,double z_modification){
-        this.__camera_location.setX(this.__camera_location.getX() + x_modification);
-        this.__camera_location.setY(this.__camera_location.getY() + y_modification);
-        this.__camera_location.setZ(this.__camera_location.getZ() + z_modification);
+        this.__camera_location.add(x_modification,y_modification,z_modification);
         
         this._refreshViewableArea();
         this._refreshCamera();
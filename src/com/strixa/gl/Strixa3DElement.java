@@ -6,16 +6,24 @@ package com.strixa.gl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.media.opengl.GL2;
 import javax.media.opengl.GLContext;
 
 import com.strixa.gl.StrixaPolygon.StrixaPolygonUpdateListener;
 import com.strixa.gl.properties.Cuboid;
+import com.strixa.util.Aabb3d;
 import com.strixa.util.Dimension3D;
 import com.strixa.util.Point2D;
 import com.strixa.util.Point3D;
+import com.strixa.util.Point3DView;
+import com.strixa.util.Sphere3d;
+import com.strixa.util.Vec3d;
 
 
 /**
@@ -24,12 +32,40 @@ import com.strixa.util.Point3D;
  * @author Nicholas Rog
  */
 public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpdateListener{    
-    private final List<StrixaPolygon>   __components = new ArrayList<StrixaPolygon>();
-    private final Point3D<Double>       __coordinates = new Point3D<Double>(0.0,0.0,0.0);
+    /**
+     * Changes to be made to an element by {@link Strixa3DElement#edit(Strixa3DElementEdit)}.
+     *
+     * @author Nicholas Rog
+     */
+    public interface Strixa3DElementEdit{
+        /**
+         * Makes the changes to the element.
+         * 
+         * @param element Element being edited.
+         */
+        public void apply(Strixa3DElement element);
+    }
+    
+    private final List<StrixaPolygon>                        __components = new ArrayList<StrixaPolygon>();
+    private final Vec3d                                      __corner = new Vec3d();  //Only used while drawing, which happens on one thread.
+    private final ConcurrentLinkedQueue<List<StrixaPolygon>> __queued_components = new ConcurrentLinkedQueue<List<StrixaPolygon>>();
     
-    private Cuboid         __bounding_box;
-    private Integer        __list_index;
-    private StrixaMaterial __material;
+    private Cuboid              __bounding_box;  //Built from the bounds the first time it's asked for after they change.
+    private Sphere3d            __bounding_sphere;
+    private Aabb3d              __bounds;  //Encloses the element's geometry relative to its own location, so it doesn't change when the element moves.
+    private boolean             __bounds_valid;
+    private int                 __edit_depth;
+    private List<StrixaPolygon> __edited_components;  //Components whose edits were started along with this element's.
+    private StrixaMesh          __edited_mesh;  //The mesh when the edit began, and how many times its arrays had been asked for, so the edit can tell whether they may have changed.
+    private int                 __edited_mesh_requests;
+    private int                 __level_of_detail;
+    private List<StrixaMesh>    __levels_of_detail = Collections.emptyList();
+    private Integer             __list_index;
+    private StrixaMaterial      __material;
+    private StrixaMesh          __mesh;
+    private Point3DView         __coordinates;  //Created the first time it's asked for.
+    private Vec3d               __position = Vec3d.ZERO;
+    private int                 __queued_component_offset;  //Number of polygons already taken from the batch at the head of the queue.
     
     
     /*Begin Constructor*/
@@ -37,18 +73,66 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
      * Constructs a basic Strixa3DElement.
      */
     public Strixa3DElement(){
-        this._regenerateBoundingBox();
     }
     /*End Constructor*/
     
     /*Begin Getter/Setter Methods*/
     /**
-     * Gets the box which completely and exactly encloses all of this element.
+     * Gets the box which completely and exactly encloses all of this element.  The box is only worked out when it's asked for, and then only from the bounding boxes of the element's polygons and mesh.
      * 
-     * @return The box which completely and exactly encloses all of this element.
+     * @return The box which completely and exactly encloses all of this element.  If the element has nothing in it, the box has no size and sits at the element's location.
      */
     public Cuboid getBoundingBox(){
-       return this.__bounding_box; 
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        if(this.__bounding_box == null || !this.__bounds_valid){
+            this._validateBounds();
+            if(this.__bounds.isEmpty()){
+                this.__bounding_box = new Cuboid(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ(),0,0,0);
+            }else{
+                this.__bounding_box = new Cuboid(new Aabb3d(this.__bounds).translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ()));
+            }
+        }
+        
+        return this.__bounding_box;
+    }
+    
+    /**
+     * Gets a sphere which encloses all of this element.  The sphere isn't necessarily the smallest one which does.
+     * 
+     * @param destination Sphere the bounding sphere should be written to.
+     * 
+     * @return The given sphere, which is empty if the element has nothing in it.
+     */
+    public Sphere3d getBoundingSphere(Sphere3d destination){
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        this._validateBounds();
+        
+        return destination.set(this.__bounding_sphere).translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());
+    }
+    
+    /**
+     * Gets the box which completely and exactly encloses all of this element, without creating a new box.
+     * 
+     * @param destination Box the bounds should be written to.
+     * 
+     * @return The given box, which is empty if the element has nothing in it.
+     */
+    public Aabb3d getBounds(Aabb3d destination){
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        this._validateBounds();
+        
+        destination.set(this.__bounds);
+        if(!destination.isEmpty()){
+            destination.translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());
+        }
+        
+        return destination;
     }
     
     /**
@@ -60,12 +144,56 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
         return this.__components;
     }
     
-    public Point3D<Double> getCoordinates(){        
+    /**
+     * Gets the coordinates of this element.  The point returned is tied to the element:  it always holds the element's current coordinates, and changing it moves the element in the same way as {@link #setCoordinates(double,double,double)}.  Code which only reads the coordinates should use {@link #getPosition()} or {@link #getPosition(Vec3d)}, which don't box them.
+     * 
+     * @return The coordinates of this element.
+     */
+    public Point3D<Double> getCoordinates(){
+        if(this.__coordinates == null){
+            this.__coordinates = new Point3DView(){
+                protected Vec3d _getPosition(){
+                    return Strixa3DElement.this.__position;
+                }
+                
+                protected void _setPosition(double x,double y,double z){
+                    Strixa3DElement.this.setCoordinates(x,y,z);
+                }
+            };
+        }
+        
         return this.__coordinates;
     }
     
     public Dimension3D<Double> getDimensions(){
-        return this.__bounding_box.getDimensions();
+        return this.getBoundingBox().getDimensions();
+    }
+    
+    /**
+     * Gets the level of detail this element is drawn at.
+     * 
+     * @return The level of detail this element is drawn at.  0 is full detail, while 1 and above are the meshes returned by {@link #getLevelsOfDetail()}, starting from the first.
+     */
+    public int getLevelOfDetail(){
+        return this.__level_of_detail;
+    }
+    
+    /**
+     * Gets the simplified meshes this element may be drawn with in place of its full detail polygons or mesh.
+     * 
+     * @return The simplified meshes, from the most detailed to the least.
+     */
+    public List<StrixaMesh> getLevelsOfDetail(){
+        return this.__levels_of_detail;
+    }
+    
+    /**
+     * Checks whether there are polygons queued by {@link #queueComponents(List)} which haven't been added yet.
+     * 
+     * @return Returns true if there are polygons waiting to be added, and false, otherwise.
+     */
+    public boolean hasQueuedComponents(){
+        return !this.__queued_components.isEmpty();
     }
     
     /**
@@ -77,6 +205,35 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
         return this.__material;
     }
     
+    /**
+     * Gets this element's coordinates without boxing them.
+     * 
+     * @return This element's coordinates.  The vector can't be changed, and is replaced rather than changed when the element moves.
+     */
+    public Vec3d getPosition(){
+        return this.__position;
+    }
+    
+    /**
+     * Copies this element's coordinates into the given vector.
+     * 
+     * @param destination Vector the coordinates should be copied into.
+     * 
+     * @return The destination vector.
+     */
+    public Vec3d getPosition(Vec3d destination){
+        return destination.set(this.__position);
+    }
+    
+    /**
+     * Gets the indexed mesh drawn in place of this element's components.
+     * 
+     * @return The indexed mesh, or null if this element's components are drawn one by one.
+     */
+    public StrixaMesh getMesh(){
+        return this.__mesh;
+    }
+    
     /**
      * Sets this element's coordinates.
      * 
@@ -85,9 +242,37 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
      * @param z Z coordinate this object should be moved to.
      */
     public void setCoordinates(double x,double y,double z){
-        this.getCoordinates().setPoint(x,y,z);
+        this.__position = Vec3d.immutable(x,y,z);
+        this.__bounding_box = null;
+    }
+    
+    /**
+     * Sets the level of detail this element should be drawn at.
+     * 
+     * @param level Level of detail to be drawn.  0 is full detail, while 1 and above are the meshes returned by {@link #getLevelsOfDetail()}, starting from the first.
+     */
+    public void setLevelOfDetail(int level){
+        if(level < 0 || level > this.__levels_of_detail.size()){
+            throw new IllegalArgumentException("Argument 'level' must be between 0 and the number of levels of detail.");
+        }
         
-        this._regenerateBoundingBox();
+        this.__level_of_detail = level;
+    }
+    
+    /**
+     * Sets the simplified meshes this element may be drawn with in place of its full detail polygons or mesh, such as those built by {@link com.strixa.gl.util.LevelOfDetailGenerator}.  The element is drawn at full detail until another level is chosen.<br />
+     * The meshes are drawn in the same way as a mesh given to {@link #setMesh(StrixaMesh)}, and don't affect the element's bounding box.
+     * 
+     * @param levels The simplified meshes, from the most detailed to the least, or null if the element shouldn't have any.
+     */
+    public void setLevelsOfDetail(List<StrixaMesh> levels){
+        if(levels == null){
+            this.__levels_of_detail = Collections.emptyList();
+        }else{
+            this.__levels_of_detail = Collections.unmodifiableList(new ArrayList<StrixaMesh>(levels));
+        }
+        
+        this.__level_of_detail = 0;
     }
     
     /**
@@ -98,6 +283,17 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
     public void setMaterial(StrixaMaterial material){
         this.__material = material;
     }
+    
+    /**
+     * Sets an indexed mesh to be drawn in place of this element's components.  Each part of the mesh is drawn with its own material, or this element's material if it doesn't have one.
+     * 
+     * @param mesh Mesh to be drawn, or null if this element's components should be drawn instead.
+     */
+    public void setMesh(StrixaMesh mesh){
+        this.__mesh = mesh;
+        
+        this._invalidateBounds();
+    }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Methods*/
@@ -110,9 +306,11 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
     public void addComponent(StrixaPolygon polygon){
         if(!this.__components.contains(polygon)){
             this.__components.add(polygon);
+            polygon.addStrixaPolygonUpdateListener(this);
+            
+            this._extendBoundingBox(Collections.singletonList(polygon));
+            this._beginComponentEdits(Collections.singletonList(polygon));
         }
-        
-        this._regenerateBoundingBox();
     }
     
     /**
@@ -121,19 +319,90 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
      * @param polygon_list Polygons to be added.
      */
     public void addComponents(List<StrixaPolygon> polygons){
+        final Set<StrixaPolygon> existing_components = Collections.newSetFromMap(new IdentityHashMap<StrixaPolygon,Boolean>(this.__components.size() + polygons.size()));
+        final int                start = this.__components.size();
+        
         int polygon_count = polygons.size();
         
         
+        existing_components.addAll(this.__components);  //Checking against a set rather than the list keeps adding many polygons from taking quadratic time.
         for(int index = 0;index < polygon_count;index++){
-            if(!this.__components.contains(polygons.get(index))){
+            if(existing_components.add(polygons.get(index))){
                 this.__components.add(polygons.get(index));
+                polygons.get(index).addStrixaPolygonUpdateListener(this);
+            }
+        }
+        
+        this._extendBoundingBox(this.__components.subList(start,this.__components.size()));
+        this._beginComponentEdits(this.__components.subList(start,this.__components.size()));
+    }
+    
+    /**
+     * Adds polygons queued by {@link #queueComponents(List)} to this element, in the order they were queued.<br />
+     * This should only be called from the thread which draws this element, between frames.  {@link Strixa3DCanvas} does this for each of its children before drawing them.
+     * 
+     * @param max_count Maximum number of polygons to add, which bounds the amount of work done in a single frame.  Polygons beyond this are left queued.
+     * 
+     * @return The number of polygons which were added.
+     */
+    public int addQueuedComponents(int max_count){
+        final int start = this.__components.size();
+        
+        List<StrixaPolygon> batch = null;
+        int                 count = 0;
+        
+        
+        while(this.__components.size() - start < max_count && (batch = this.__queued_components.peek()) != null){
+            count = Math.min(batch.size() - this.__queued_component_offset,max_count - (this.__components.size() - start));
+            
+            this.__components.addAll(batch.subList(this.__queued_component_offset,this.__queued_component_offset + count));
+            this.__queued_component_offset += count;
+            if(this.__queued_component_offset == batch.size()){
+                this.__queued_components.poll();
+                this.__queued_component_offset = 0;
+            }
+        }
+        
+        if(this.__components.size() > start){
+            this.__list_index = null;
+            
+            for(int index = start;index < this.__components.size();index++){
+                this.__components.get(index).addStrixaPolygonUpdateListener(this);
             }
+            this._extendBoundingBox(this.__components.subList(start,this.__components.size()));
+            this._beginComponentEdits(this.__components.subList(start,this.__components.size()));
         }
         
-        this._regenerateBoundingBox();
+        return this.__components.size() - start;
+    }
+    
+    /**
+     * Starts an edit of this element and each of its components.  Until the matching call to {@link #endEdit()}, the components don't notify this element of any changes, so that each of them does so at most once.  Edits may be nested, in which case only the outermost one has any effect.<br />
+     * {@link #edit(Strixa3DElementEdit)} should be preferred, since it can't leave an edit unfinished.
+     */
+    public void beginEdit(){
+        if(this.__edited_components == null){
+            this.__edited_components = new ArrayList<StrixaPolygon>(this.__components.size());
+            this._beginComponentEdits(this.__components);
+            
+            this.__edited_mesh = this.__mesh;
+            this.__edited_mesh_requests = this.__mesh == null || this.__mesh.isReleased() ? 0 : this.__mesh.getArrayRequestCount();
+        }
+        
+        this.__edit_depth++;
     }
     
     public void draw(GL2 gl){        
+        if(this.__level_of_detail != 0){
+            this._drawMesh(this.__levels_of_detail.get(this.__level_of_detail - 1));
+            
+            return;
+        }else if(this.__mesh != null){
+            this._drawMesh(this.__mesh);
+            
+            return;
+        }
+        
         if(this.__list_index == null){
             //this.__list_index = gl.glGenLists(1);
             //gl.glNewList(this.__list_index,GL2.GL_COMPILE);
@@ -147,22 +416,110 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
        // gl.glCallList(this.__list_index);
     }
     
+    /**
+     * Makes the given changes to this element as a single edit.  However many points are moved, each polygon notifies its listeners at most once, after all of the changes have been made.<br />
+     * The element's mesh may also be changed through the arrays returned by its getters, such as {@link StrixaMesh#getPositions()}; the changes are copied into the mesh's buffers when the edit ends.  The arrays should be asked for within the edit, since that's how the edit knows the mesh may have changed.
+     * 
+     * @param edit Changes to be made.
+     */
+    public void edit(Strixa3DElementEdit edit){
+        if(edit == null){
+            throw new IllegalArgumentException("Argument 'edit' must not be null.");
+        }
+        
+        this.beginEdit();
+        try{
+            edit.apply(this);
+        }finally{
+            this.endEdit();
+        }
+    }
+    
+    /**
+     * Ends an edit started by {@link #beginEdit()}.  When the outermost edit ends, each component's edit is ended, and the mesh's buffers are updated if its arrays were asked for during the edit.
+     */
+    public void endEdit(){
+        final List<StrixaPolygon> edited_components = this.__edited_components;
+        final StrixaMesh          edited_mesh = this.__edited_mesh;
+        
+        
+        if(this.__edit_depth == 0){
+            throw new IllegalStateException("endEdit() was called without a matching call to beginEdit().");
+        }else if(this.__edit_depth > 1){
+            this.__edit_depth--;
+            
+            return;
+        }
+        
+        this.__edit_depth = 0;
+        this.__edited_components = null;
+        this.__edited_mesh = null;
+        for(int index = 0,component_count = edited_components.size();index < component_count;index++){
+            edited_components.get(index).endEdit();
+        }
+        
+        if(this.__mesh != null && !this.__mesh.isReleased() && (this.__mesh != edited_mesh || this.__mesh.getArrayRequestCount() != this.__edited_mesh_requests)){  //Edits which only moved things leave the mesh alone.
+            this.__mesh.updateBuffers();
+            
+            this._invalidateBounds();
+        }
+    }
+    
+    /**
+     * Starts an edit of each of the given components if this element is being edited, so that components added partway through an edit are deferred along with the rest.  Their edits are ended when this element's is.
+     * 
+     * @param components Components which have been added to the element.
+     */
+    protected void _beginComponentEdits(List<StrixaPolygon> components){
+        if(this.__edited_components == null){
+            return;
+        }
+        
+        for(int index = 0,component_count = components.size();index < component_count;index++){
+            components.get(index).beginEdit();
+            
+            this.__edited_components.add(components.get(index));
+        }
+    }
+    
+    /**
+     * Grows the element's bounding volumes to enclose the given polygons, without looking at any of the polygons they already enclose.  If the bounding volumes haven't been worked out yet, nothing is done.
+     * 
+     * @param polygons Polygons which have been added to the element, or whose bounds have grown.
+     */
+    protected void _extendBoundingBox(List<StrixaPolygon> polygons){
+        final Aabb3d   polygon_bounds = new Aabb3d();
+        final Sphere3d polygon_sphere = new Sphere3d();
+        
+        
+        if(!this.__bounds_valid){
+            return;
+        }
+        
+        for(int polygon_index = 0,polygon_count = polygons.size();polygon_index < polygon_count;polygon_index++){
+            this.__bounds.include(polygons.get(polygon_index).getBounds(polygon_bounds));
+            this.__bounding_sphere.include(polygons.get(polygon_index).getBoundingSphere(polygon_sphere));
+        }
+        this.__bounding_box = null;
+    }
+    
     /**
      * Draws the requested component.
      * 
      * @param component Component to be drawn.
      */
     protected void _drawComponent(StrixaPolygon component){
-        final List<StrixaPoint>     coordinate_points = component.getPoints();
+        final Vec3d                 component_coordinates = component.getPosition();
+        final int                   corner_count = component.getCornerCount();  //Mesh polygons would create their points each time they're asked for, so corners are read one at a time.
         final GL2                   gl = GLContext.getCurrentGL().getGL2();
         final List<Point3D<Double>> normal_points = component.getNormalPoints();
         final List<Point2D<Double>> texture_points = component.getTexturePoints();
         
         
         gl.glPushMatrix();
-        gl.glTranslated(component.getCoordinates().getX(),component.getCoordinates().getY(),component.getCoordinates().getZ());
+        gl.glTranslated(component_coordinates.getX(),component_coordinates.getY(),component_coordinates.getZ());
         
-        switch(component.getPoints().size()){
+        switch(corner_count){
             case 0:
             case 1:
             case 2:
@@ -178,7 +535,7 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
                 break;
         }
         
-        for(int point_index = 0,point_end_index = component.getPoints().size();point_index < point_end_index;point_index++){            
+        for(int point_index = 0;point_index < corner_count;point_index++){
             if(!texture_points.isEmpty()){
                 gl.glTexCoord2d(
                     texture_points.get(point_index).getX(),
@@ -192,11 +549,8 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
                     normal_points.get(point_index).getZ()
                 );
             }
-            gl.glVertex3d(
-                coordinate_points.get(point_index).getCoordinates().getX(),
-                coordinate_points.get(point_index).getCoordinates().getY(),
-                coordinate_points.get(point_index).getCoordinates().getZ()
-            );
+            component.getCorner(point_index,this.__corner);
+            gl.glVertex3d(this.__corner.getX(),this.__corner.getY(),this.__corner.getZ());
         }
             
         gl.glEnd();
@@ -209,25 +563,107 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
      * @param components Components to be drawn.
      */
     protected void _drawComponents(List<StrixaPolygon> components){
-        final GL2             gl = GLContext.getCurrentGL().getGL2();
-        final Point3D<Double> this_coordinates = this.getCoordinates();
+        final GL2   gl = GLContext.getCurrentGL().getGL2();
+        final Vec3d this_coordinates = this.getPosition();
+        
+        StrixaMaterial bound_material = this.__material;  //An element which is still being loaded may not have a material yet.
+        StrixaMaterial material = null;
         
         
         gl.glPushMatrix();
         gl.glTranslated(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());     
         
-        if(this.__material.hasTexture()){
-            if(!this.__material.isTextureLoaded()){
+        this._bindMaterial(gl,bound_material);
+        for(int component_index = 0,component_end_index = components.size();component_index < component_end_index;component_index++){
+            material = components.get(component_index).getMaterial() == null ? this.__material : components.get(component_index).getMaterial();
+            if(material != bound_material){  //Polygons sharing a material are usually next to each other, so it's only bound again when it changes.
+                this._releaseMaterial(gl,bound_material);
+                this._bindMaterial(gl,material);
+                bound_material = material;
+            }
+            
+            this._drawComponent(components.get(component_index));
+        }
+        this._releaseMaterial(gl,bound_material);
+        
+        gl.glPopMatrix();
+    }
+    
+    /**
+     * Draws the given indexed mesh, sending each of its vertices to OpenGL only once.
+     * 
+     * @param mesh Mesh to be drawn.
+     */
+    protected void _drawMesh(StrixaMesh mesh){
+        final GL2   gl = GLContext.getCurrentGL().getGL2();
+        final Vec3d this_coordinates = this.getPosition();
+        
+        StrixaMaterial  material = null;
+        StrixaMesh.Part part = null;
+        
+        
+        if(mesh.isReleased()){  //OpenGL must never be handed memory which has already been freed.
+            return;
+        }
+        
+        gl.glPushMatrix();
+        gl.glTranslated(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());
+        
+        gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+        gl.glVertexPointer(3,GL2.GL_FLOAT,mesh.getPositionStride(),mesh.getPositionBuffer());
+        if(mesh.getTextureCoordinateBuffer() != null){
+            gl.glEnableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+            gl.glTexCoordPointer(2,GL2.GL_FLOAT,mesh.getTextureCoordinateStride(),mesh.getTextureCoordinateBuffer());
+        }
+        if(mesh.getNormalBuffer() != null){
+            gl.glEnableClientState(GL2.GL_NORMAL_ARRAY);
+            gl.glNormalPointer(GL2.GL_FLOAT,mesh.getNormalStride(),mesh.getNormalBuffer());
+        }
+        if(mesh.getColourBuffer() != null){
+            gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+            gl.glColorPointer(4,GL2.GL_UNSIGNED_BYTE,0,mesh.getColourBuffer());
+        }
+        
+        for(int part_index = 0,part_end_index = mesh.getParts().size();part_index < part_end_index;part_index++){
+            part = mesh.getParts().get(part_index);
+            material = part.getMaterial() == null ? this.__material : part.getMaterial();
+            
+            this._bindMaterial(gl,material);
+            gl.glDrawElements(GL2.GL_TRIANGLES,part.getIndexCount(),GL2.GL_UNSIGNED_INT,part.getIndexBuffer());
+            this._releaseMaterial(gl,material);
+        }
+        
+        gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+        gl.glDisableClientState(GL2.GL_NORMAL_ARRAY);
+        gl.glDisableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+        gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+        
+        gl.glPopMatrix();
+    }
+    
+    /**
+     * Sets up OpenGL to draw using the given material, loading its texture if that hasn't been done yet.
+     * 
+     * @param gl Context to set up.
+     * @param material Material to be used.  If this is null, nothing is done.
+     */
+    protected void _bindMaterial(GL2 gl,StrixaMaterial material){
+        if(material == null){
+            return;
+        }
+        
+        if(material.hasTexture()){
+            if(!material.isTextureLoaded()){
                 try{
-                    this.__material.loadTexture();
+                    material.loadTexture();
                 }catch(IOException e){
                     System.out.println("Error:  Could not load requested texture.");
                 }
             }
-
-            if(this.__material.isTextureLoaded()){  //We're adding a second if here to make sure that if the material for some reason couldn't be loaded, we don't try to bind to it still.
-                this.__material.getTexture().bind(gl);
-                this.__material.getTexture().enable(gl);
+            
+            if(material.isTextureLoaded()){
+                material.getTexture().bind(gl);
+                material.getTexture().enable(gl);
                 
                 gl.glTexEnvf(GL2.GL_TEXTURE_ENV,GL2.GL_TEXTURE_ENV_MODE,GL2.GL_MODULATE);
                 gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_S,GL2.GL_REPEAT);
@@ -235,25 +671,27 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
             }
         }
         
-        
-        
-        for(int component_index = 0,component_end_index = components.size();component_index < component_end_index;component_index++){if(this.__material.getAbientColor() != null){
-            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_AMBIENT,this.__material.getAbientColor(),0);
+        if(material.getAbientColor() != null){
+            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_AMBIENT,material.getAbientColor(),0);
         }
-        if(this.__material.getDiffuseColor() != null){
-            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_DIFFUSE,this.__material.getDiffuseColor(),0);
+        if(material.getDiffuseColor() != null){
+            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_DIFFUSE,material.getDiffuseColor(),0);
         }
-        if(this.__material.getSpecularColor() != null){
-            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_DIFFUSE,this.__material.getSpecularColor(),0);
-        }
-            this._drawComponent(components.get(component_index));
+        if(material.getSpecularColor() != null){
+            gl.glMaterialfv(GL2.GL_FRONT,GL2.GL_SPECULAR,material.getSpecularColor(),0);
         }
-        
-        if(this.__material.isTextureLoaded()){
-            this.__material.getTexture().disable(gl);
+    }
+    
+    /**
+     * Undoes anything done by {@link #_bindMaterial(GL2,StrixaMaterial)} which would affect whatever is drawn next.
+     * 
+     * @param gl Context to clean up.
+     * @param material Material which was used.  If this is null, nothing is done.
+     */
+    protected void _releaseMaterial(GL2 gl,StrixaMaterial material){
+        if(material != null && material.isTextureLoaded()){
+            material.getTexture().disable(gl);
         }
-        
-        gl.glPopMatrix();
     }
     
     /**
@@ -268,8 +706,12 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
         List<StrixaPolygon> this_components = this.getComponents(); 
         
         
+        if(!this.getBoundingSphere(new Sphere3d()).intersects(element.getBoundingSphere(new Sphere3d()))){
+            return false;  //The elements are too far apart for any of their polygons to touch.
+        }
+        
         for(int this_index = 0,this_end_index = this_components.size() - 1;this_index <= this_end_index;this_index++){
-            for(int element_index = 0,element_end_index = element_components.size();element_index <= element_end_index;element_index++){
+            for(int element_index = 0,element_end_index = element_components.size() - 1;element_index <= element_end_index;element_index++){
                 if(this.__components.get(this_index).isColliding(element_components.get(element_index))){
                     return true;
                 }
@@ -287,111 +729,132 @@ public class Strixa3DElement extends StrixaGLElement implements StrixaPolygonUpd
      * @return Returns true if this element is visible and should be drawn, and false, otherwise.
      */
     public boolean isVisible(StrixaGLContext context){
-        final Cuboid          bounding_box = this.getBoundingBox();
-        final Point3D<Double> bounding_box_coordinates = bounding_box.getCoordinates();
-        final Cuboid          viewable_area = context.getViewableArea();
-        
-        
-        if(viewable_area.isPointInside(bounding_box_coordinates)){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else{        
-            return false;
+        return context.getViewableArea().isCornerInside(this.getBoundingBox());
+    }
+    
+    /**
+     * Queues polygons to be added to this element the next time {@link #addQueuedComponents(int)} is called.  This may be called from any thread, which allows an element to be shown while its polygons are still being loaded.<br />
+     * <strong>Note:</strong>  Unlike {@link #addComponents(List)}, queued polygons aren't checked against the polygons already in this element.  The list must not be modified after it has been queued.  Since the polygons only become components when they're added, they join an edit of this element only if they're added while it's underway.
+     * 
+     * @param polygons Polygons to be added.
+     */
+    public void queueComponents(List<StrixaPolygon> polygons){
+        if(polygons == null){
+            throw new IllegalArgumentException("Argument 'polygons' must not be null.");
+        }
+        
+        if(!polygons.isEmpty()){
+            this.__queued_components.add(polygons);
+        }
+    }
+    
+    /**
+     * Chooses the level of detail this element should be drawn at, given how far it is from the camera.<br />
+     * The render distance is split up into equal bands, one for full detail and one for each of the element's levels of detail, so that the least detailed level is used for elements near the edge of what can be seen.
+     * 
+     * @param distance Distance between the camera and this element.
+     * @param render_distance Furthest distance at which elements are drawn.
+     */
+    public void selectLevelOfDetail(double distance,double render_distance){
+        final int level_count = this.__levels_of_detail.size();
+        
+        
+        if(level_count == 0 || render_distance <= 0){
+            this.__level_of_detail = 0;
+        }else{
+            this.__level_of_detail = (int)Math.max(0,Math.min(level_count,Math.floor(distance / render_distance * (level_count + 1))));
         }
     }
     
+    /**
+     * Marks the bounding volumes as needing to be worked out again the next time they're asked for.
+     */
+    protected void _invalidateBounds(){
+        this.__bounds_valid = false;
+        this.__bounding_box = null;
+    }
+    
     public void onStrixaPolygonUpdate(StrixaPolygon polygon){
         this.__list_index = null;
         
-        this._regenerateBoundingBox();
+        if(polygon.hasOnlyGrown()){  //The element's bounds are still exact once they're grown to fit the polygon's.
+            this._extendBoundingBox(Collections.singletonList(polygon));
+        }else{
+            this._invalidateBounds();
+        }
     }
     
     /**
-     * Regenerates the element's bounding box.
+     * Regenerates the element's bounding box and bounding sphere from those of its polygons and mesh.  The sphere is centred on the box.
      */
     protected void _regenerateBoundingBox(){
+        final Aabb3d              mesh_bounds = new Aabb3d();
+        final Sphere3d            part_sphere = new Sphere3d();
         final List<StrixaPolygon> polygons = this.getComponents();
         final int                 polygon_count = polygons.size();
-        final Point3D<Double>     this_coordinates = this.getCoordinates();
         
-        Point3D<Double>   coordinates = null;
-        double            depth = 0.0;
-        double            height = 0.0;
-        int               point_count = 0;
-        List<StrixaPoint> points = null;
-        double            width = 0.0;
+        double radius = 0.0;
+        double x = 0.0;
+        double y = 0.0;
+        double z = 0.0;
         
         
-        if(!this.getComponents().isEmpty()){
-            width = this_coordinates.getX();
-            height = this_coordinates.getY();
-            depth = this_coordinates.getZ();
-            
+        if(this.__bounds == null){
+            this.__bounds = new Aabb3d();
+            this.__bounding_sphere = new Sphere3d();
+        }
+        
+        this.__bounds.setEmpty();
+        for(int polygon_index = 0;polygon_index < polygon_count;polygon_index++){
+            this.__bounds.include(polygons.get(polygon_index).getBounds(mesh_bounds));
+        }
+        if(this.__mesh != null && !this.__mesh.isReleased()){
+            this.__bounds.include(this.__mesh.getBounds(mesh_bounds));
+        }
+        
+        this.__bounding_sphere.setEmpty();
+        if(!this.__bounds.isEmpty()){
+            x = (this.__bounds.getMinX() + this.__bounds.getMaxX()) / 2;
+            y = (this.__bounds.getMinY() + this.__bounds.getMaxY()) / 2;
+            z = (this.__bounds.getMinZ() + this.__bounds.getMaxZ()) / 2;
             for(int polygon_index = 0;polygon_index < polygon_count;polygon_index++){
-                points = polygons.get(polygon_index).getPoints();
-                point_count = points.size();
-                
-                for(int point_index = 0;point_index < point_count;point_index++){
-                    coordinates = points.get(point_index).getCoordinates();
-
-                    width = Math.max(width,coordinates.getX());
-                    height = Math.max(height,coordinates.getY());
-                    depth = Math.max(depth,coordinates.getZ());
+                polygons.get(polygon_index).getBoundingSphere(part_sphere);
+                if(!part_sphere.isEmpty()){
+                    radius = Math.max(radius,Strixa3DElement._getDistance(part_sphere,x,y,z) + part_sphere.getRadius());
                 }
             }
+            if(this.__mesh != null && !this.__mesh.isReleased()){
+                radius = Math.max(radius,this.__mesh.getBoundingRadius(x,y,z));
+            }
             
-            width -= this_coordinates.getX();
-            height -= this_coordinates.getY();
-            depth -= this_coordinates.getZ();
+            this.__bounding_sphere.set(x,y,z,radius);
         }
         
-        this.__bounding_box = new Cuboid(
-            new Point3D<Double>(this_coordinates),
-            width,
-            height,
-            depth
-        );
+        this.__bounds_valid = true;
+        this.__bounding_box = null;
+    }
+    
+    /**
+     * Makes sure the bounding volumes have been worked out since the element last changed.
+     */
+    protected void _validateBounds(){
+        if(!this.__bounds_valid){
+            this._regenerateBoundingBox();
+        }
     }
     /*End Other Methods*/
-}
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the distance between the given sphere's centre and point.
+     */
+    protected static double _getDistance(Sphere3d sphere,double x,double y,double z){
+        final double x_difference = sphere.getCenterX() - x;
+        final double y_difference = sphere.getCenterY() - y;
+        final double z_difference = sphere.getCenterZ() - z;
+        
+        
+        return Math.sqrt(x_difference * x_difference + y_difference * y_difference + z_difference * z_difference);
+    }
+    /*End Static Methods*/
+}
\ No newline at end of file
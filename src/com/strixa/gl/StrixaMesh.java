@@ -0,0 +1,933 @@
+/**
+ * File:  StrixaMesh.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.strixa.util.Aabb3d;
+import com.strixa.util.Vec2d;
+import com.strixa.util.Vec3d;
+import com.strixa.util.Vec3f;
+
+/**
+ * An indexed triangle mesh.  Each unique combination of position, texture coordinate and normal is stored once, and triangles refer to these vertices by index.<br />
+ * The triangles are split up into parts, one for each material used by the mesh.<br />
+ * Every vertex attribute is held in a single contiguous array (or buffer), so a mesh costs a few dozen bytes per vertex rather than the several objects each {@link StrixaPoint} needs.  Meshes may share their vertices with one another, which allows an element to draw only a range of a larger mesh, and {@link StrixaMeshPolygon} allows single triangles to be looked at as polygons without copying the mesh into points.<br />
+ * A mesh whose data is held off the heap by a {@link StrixaMeshArena} can be read one vertex at a time through methods such as {@link #getPosition(int,Vec3f)}, which read straight from its buffers.  Once the arena has been closed, the mesh is released, and its data can no longer be read.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaMesh{
+    /**
+     * The triangles of a mesh which are drawn using a single material.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Part{
+        private final int            __index_count;
+        private final StrixaMaterial __material;
+        
+        private StrixaMeshArena __arena;
+        private IntBuffer       __index_buffer;
+        private int[]           __indices;
+        
+        
+        /*Begin Constructors*/
+        /**
+         * Constructs the part.
+         *
+         * @param material Material the triangles are drawn with.  This may be null.
+         * @param indices Indices of the vertices of each triangle, three per triangle.
+         */
+        public Part(StrixaMaterial material,int[] indices){
+            if(indices == null){
+                throw new IllegalArgumentException("Argument 'indices' must not be null.");
+            }else if(indices.length % 3 != 0){
+                throw new IllegalArgumentException("Argument 'indices' must hold three indices per triangle.");
+            }
+            
+            this.__material = material;
+            this.__indices = indices;
+            this.__index_count = indices.length;
+        }
+        
+        /**
+         * Constructs a part around the given index buffer, which is used directly rather than being copied.  This allows indices which have been mapped from a file to be handed straight to OpenGL.
+         *
+         * @param material Material the triangles are drawn with.  This may be null.
+         * @param indices Indices of the vertices of each triangle, three per triangle, from the buffer's position to its limit.  This must be a direct buffer.
+         */
+        public Part(StrixaMaterial material,IntBuffer indices){
+            if(indices == null){
+                throw new IllegalArgumentException("Argument 'indices' must not be null.");
+            }else if(indices.remaining() % 3 != 0){
+                throw new IllegalArgumentException("Argument 'indices' must hold three indices per triangle.");
+            }
+            
+            this.__material = material;
+            this.__index_buffer = indices.slice();
+            this.__index_count = indices.remaining();
+        }
+        /*End Constructors*/
+        
+        /*Begin Getter Methods*/
+        /**
+         * Gets the indices as a direct buffer, which may be handed to OpenGL.  The buffer is created the first time this is called.
+         *
+         * @return The indices as a direct buffer.
+         */
+        public IntBuffer getIndexBuffer(){
+            StrixaMesh._checkReleased(this.__arena);
+            if(this.__index_buffer == null){
+                this.__index_buffer = StrixaMesh._createBuffer(this.__indices);
+            }
+            
+            return this.__index_buffer;
+        }
+        
+        public int getIndexCount(){
+            return this.__index_count;
+        }
+        
+        /**
+         * Gets the indices of the vertices of each triangle, three per triangle.  If the part was constructed around an index buffer, the indices are copied out of it the first time this is called, and the copy is kept on the heap from then on.  Code which only reads the indices should use {@link #getIndexBuffer()} instead.
+         *
+         * @return The indices of the vertices of each triangle.
+         */
+        public int[] getIndices(){
+            StrixaMesh._checkReleased(this.__arena);
+            if(this.__indices == null){
+                final int[] indices = new int[this.__index_count];
+                
+                
+                this.__index_buffer.duplicate().get(indices);
+                this.__indices = indices;
+            }
+            
+            return this.__indices;
+        }
+        
+        public StrixaMaterial getMaterial(){
+            return this.__material;
+        }
+        
+        /**
+         * Gets a part holding a range of this part's triangles.  The new part shares this part's index buffer rather than copying it.
+         *
+         * @param first_triangle Index of the first triangle in the range.
+         * @param triangle_count Number of triangles in the range.
+         *
+         * @return A part drawn with this part's material which holds only the given triangles.
+         */
+        public Part getRange(int first_triangle,int triangle_count){
+            final IntBuffer indices = this.getIndexBuffer().duplicate();
+            
+            Part range = null;
+            
+            
+            if(first_triangle < 0 || triangle_count < 0 || (first_triangle + triangle_count) * 3 > this.__index_count){
+                throw new IllegalArgumentException("The range of triangles must lie within the part.");
+            }
+            
+            indices.position(first_triangle * 3);
+            indices.limit((first_triangle + triangle_count) * 3);
+            
+            range = new Part(this.__material,indices);
+            range.__arena = this.__arena;
+            
+            return range;
+        }
+        /*End Getter Methods*/
+    }
+    
+    private final List<Part> __parts;
+    private final boolean    __shares_vertices;
+    private final int        __vertex_count;
+    
+    private StrixaMeshArena __arena;
+    private int             __array_request_count;  //Lets edits tell whether the arrays may have been changed.
+    private ByteBuffer      __colour_buffer;
+    private int[]           __colours;
+    private FloatBuffer     __normal_buffer;
+    private int             __normal_stride;
+    private float[]         __normals;
+    private FloatBuffer     __position_buffer;
+    private int             __position_stride;
+    private float[]         __positions;
+    private FloatBuffer     __texture_coordinate_buffer;
+    private int             __texture_coordinate_stride;
+    private float[]         __texture_coordinates;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs a mesh around the given arrays.  The arrays are used directly rather than being copied.
+     *
+     * @param positions The vertices' positions, three coordinates per vertex.
+     * @param texture_coordinates The vertices' texture coordinates, two per vertex, or null if the mesh isn't textured.
+     * @param normals The vertices' normals, three per vertex, or null if the mesh doesn't have any.
+     * @param parts The mesh's triangles, split up by material.
+     */
+    public StrixaMesh(float[] positions,float[] texture_coordinates,float[] normals,List<Part> parts){
+        this(positions,texture_coordinates,normals,null,parts);
+    }
+    
+    /**
+     * Constructs a mesh with coloured vertices around the given arrays.  The arrays are used directly rather than being copied.
+     *
+     * @param positions The vertices' positions, three coordinates per vertex.
+     * @param texture_coordinates The vertices' texture coordinates, two per vertex, or null if the mesh isn't textured.
+     * @param normals The vertices' normals, three per vertex, or null if the mesh doesn't have any.
+     * @param colours The vertices' colours, one per vertex, packed in the same way as {@link java.awt.Color#getRGB()}, or null if the vertices are drawn in their material's colour.
+     * @param parts The mesh's triangles, split up by material.
+     */
+    public StrixaMesh(float[] positions,float[] texture_coordinates,float[] normals,int[] colours,List<Part> parts){
+        if(positions == null){
+            throw new IllegalArgumentException("Argument 'positions' must not be null.");
+        }else if(parts == null){
+            throw new IllegalArgumentException("Argument 'parts' must not be null.");
+        }
+        
+        this.__vertex_count = positions.length / 3;
+        if(texture_coordinates != null && texture_coordinates.length != this.__vertex_count * 2){
+            throw new IllegalArgumentException("Argument 'texture_coordinates' must hold two values per vertex.");
+        }else if(normals != null && normals.length != this.__vertex_count * 3){
+            throw new IllegalArgumentException("Argument 'normals' must hold three values per vertex.");
+        }else if(colours != null && colours.length != this.__vertex_count){
+            throw new IllegalArgumentException("Argument 'colours' must hold one value per vertex.");
+        }
+        
+        this.__positions = positions;
+        this.__texture_coordinates = texture_coordinates;
+        this.__normals = normals;
+        this.__colours = colours;
+        this.__parts = Collections.unmodifiableList(new ArrayList<Part>(parts));
+        this.__position_stride = 0;
+        this.__texture_coordinate_stride = 0;
+        this.__normal_stride = 0;
+        this.__shares_vertices = false;
+    }
+    
+    /**
+     * Constructs a mesh around the given buffers, which are used directly rather than being copied.  This allows vertices which have been mapped from a file, including interleaved ones, to be handed straight to OpenGL.<br />
+     * Each buffer must be direct, and start at its first vertex's value.  A stride of 0 means that the buffer's values are tightly packed.
+     *
+     * @param vertex_count Number of vertices in the mesh.
+     * @param positions The vertices' positions, three coordinates per vertex.
+     * @param position_stride Number of bytes from the start of one vertex's position to the next.
+     * @param texture_coordinates The vertices' texture coordinates, two per vertex, or null if the mesh isn't textured.
+     * @param texture_coordinate_stride Number of bytes from the start of one vertex's texture coordinates to the next.
+     * @param normals The vertices' normals, three per vertex, or null if the mesh doesn't have any.
+     * @param normal_stride Number of bytes from the start of one vertex's normal to the next.
+     * @param parts The mesh's triangles, split up by material.
+     */
+    public StrixaMesh(int vertex_count,FloatBuffer positions,int position_stride,FloatBuffer texture_coordinates,int texture_coordinate_stride,FloatBuffer normals,int normal_stride,List<Part> parts){
+        if(positions == null){
+            throw new IllegalArgumentException("Argument 'positions' must not be null.");
+        }else if(parts == null){
+            throw new IllegalArgumentException("Argument 'parts' must not be null.");
+        }else if(vertex_count < 0){
+            throw new IllegalArgumentException("Argument 'vertex_count' must not be negative.");
+        }
+        
+        this.__vertex_count = vertex_count;
+        this.__position_buffer = positions.slice();
+        this.__position_stride = position_stride;
+        this.__texture_coordinate_buffer = texture_coordinates == null ? null : texture_coordinates.slice();
+        this.__texture_coordinate_stride = texture_coordinate_stride;
+        this.__normal_buffer = normals == null ? null : normals.slice();
+        this.__normal_stride = normal_stride;
+        this.__parts = Collections.unmodifiableList(new ArrayList<Part>(parts));
+        this.__shares_vertices = false;
+        
+        StrixaMesh._checkCapacity(this.__position_buffer,vertex_count,3,position_stride,"positions");
+        StrixaMesh._checkCapacity(this.__texture_coordinate_buffer,vertex_count,2,texture_coordinate_stride,"texture_coordinates");
+        StrixaMesh._checkCapacity(this.__normal_buffer,vertex_count,3,normal_stride,"normals");
+    }
+    
+    /**
+     * Constructs a mesh which shares the given mesh's vertices, but draws its own triangles.  Nothing is copied, so any number of elements may each draw a range of one large mesh, such as the parts returned by {@link Part#getRange(int,int)}.
+     *
+     * @param mesh Mesh whose vertices should be shared.
+     * @param parts The triangles to be drawn, which refer to the shared mesh's vertices.
+     */
+    public StrixaMesh(StrixaMesh mesh,List<Part> parts){
+        if(mesh == null){
+            throw new IllegalArgumentException("Argument 'mesh' must not be null.");
+        }else if(parts == null){
+            throw new IllegalArgumentException("Argument 'parts' must not be null.");
+        }
+        
+        StrixaMesh._checkReleased(mesh.__arena);
+        this.__arena = mesh.__arena;
+        this.__vertex_count = mesh.getVertexCount();
+        this.__positions = mesh.__positions;
+        this.__position_buffer = mesh.getPositionBuffer();  //The buffers are created up front so that the meshes don't each end up with their own copies.
+        this.__position_stride = mesh.getPositionStride();
+        this.__texture_coordinates = mesh.__texture_coordinates;
+        this.__texture_coordinate_buffer = mesh.getTextureCoordinateBuffer();
+        this.__texture_coordinate_stride = mesh.getTextureCoordinateStride();
+        this.__normals = mesh.__normals;
+        this.__normal_buffer = mesh.getNormalBuffer();
+        this.__normal_stride = mesh.getNormalStride();
+        this.__colours = mesh.__colours;
+        this.__colour_buffer = mesh.getColourBuffer();
+        this.__parts = Collections.unmodifiableList(new ArrayList<Part>(parts));
+        this.__shares_vertices = true;
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the number of times the arrays returned by {@link #getPositions()}, {@link #getTextureCoordinates()}, {@link #getNormals()} and {@link #getColours()} have been asked for.  The arrays can only be changed by code which has asked for them, so if this hasn't changed since some earlier point, neither have the arrays, and {@link #updateBuffers()} has nothing to do.
+     *
+     * @return The number of times the arrays have been asked for.
+     */
+    public int getArrayRequestCount(){
+        return this.__array_request_count;
+    }
+    
+    /**
+     * Gets the distance from the given point to the vertex drawn by this mesh which is furthest from it, so that a sphere of that radius around the point encloses the whole mesh.  Like {@link #getBounds(Aabb3d)}, only the vertices the triangles refer to are looked at if this mesh shares its vertices with another.
+     *
+     * @return The distance to the furthest vertex, or 0 if the mesh has no vertices.
+     */
+    public double getBoundingRadius(double x,double y,double z){
+        final Vec3f position = new Vec3f();
+        
+        IntBuffer indices = null;
+        double    radius = 0.0;
+        
+        
+        this._checkReleased();
+        if(!this.__shares_vertices){
+            for(int vertex = 0;vertex < this.__vertex_count;vertex++){
+                this.getPosition(vertex,position);
+                
+                radius = Math.max(radius,StrixaMesh._getDistanceSquared(position,x,y,z));
+            }
+        }else{
+            for(int part_index = 0;part_index < this.__parts.size();part_index++){
+                indices = this.__parts.get(part_index).getIndexBuffer();
+                
+                for(int index = 0,index_count = indices.remaining();index < index_count;index++){
+                    this.getPosition(indices.get(index),position);
+                    
+                    radius = Math.max(radius,StrixaMesh._getDistanceSquared(position,x,y,z));
+                }
+            }
+        }
+        
+        return Math.sqrt(radius);
+    }
+    
+    /**
+     * Gets the box which encloses every vertex drawn by this mesh.  The positions are scanned from start to finish, unless this mesh shares its vertices with another, in which case only the vertices its triangles refer to are looked at.
+     *
+     * @param destination Box the bounds should be written to.
+     *
+     * @return The given box, which is empty if the mesh has no vertices.
+     */
+    public Aabb3d getBounds(Aabb3d destination){
+        final FloatBuffer buffer = this.__positions == null ? this.__position_buffer : null;
+        final int         float_stride = this.__position_stride == 0 ? 3 : this.__position_stride / 4;
+        final float[]     positions = this.__positions;
+        
+        IntBuffer indices = null;
+        double    max_x = Double.NEGATIVE_INFINITY;
+        double    max_y = Double.NEGATIVE_INFINITY;
+        double    max_z = Double.NEGATIVE_INFINITY;
+        double    min_x = Double.POSITIVE_INFINITY;
+        double    min_y = Double.POSITIVE_INFINITY;
+        double    min_z = Double.POSITIVE_INFINITY;
+        int       offset = 0;
+        float     x = 0;
+        float     y = 0;
+        float     z = 0;
+        
+        
+        this._checkReleased();
+        if(!this.__shares_vertices && positions != null){
+            for(int index = 0;index < this.__vertex_count * 3;index += 3){
+                x = positions[index];
+                y = positions[index + 1];
+                z = positions[index + 2];
+                
+                min_x = Math.min(min_x,x);
+                min_y = Math.min(min_y,y);
+                min_z = Math.min(min_z,z);
+                max_x = Math.max(max_x,x);
+                max_y = Math.max(max_y,y);
+                max_z = Math.max(max_z,z);
+            }
+        }else if(!this.__shares_vertices){
+            for(int vertex = 0;vertex < this.__vertex_count;vertex++){
+                offset = vertex * float_stride;
+                x = buffer.get(offset);
+                y = buffer.get(offset + 1);
+                z = buffer.get(offset + 2);
+                
+                min_x = Math.min(min_x,x);
+                min_y = Math.min(min_y,y);
+                min_z = Math.min(min_z,z);
+                max_x = Math.max(max_x,x);
+                max_y = Math.max(max_y,y);
+                max_z = Math.max(max_z,z);
+            }
+        }else{
+            for(int part_index = 0;part_index < this.__parts.size();part_index++){
+                indices = this.__parts.get(part_index).getIndexBuffer();
+                
+                for(int index = 0,index_count = indices.remaining();index < index_count;index++){
+                    if(positions != null){
+                        offset = indices.get(index) * 3;
+                        x = positions[offset];
+                        y = positions[offset + 1];
+                        z = positions[offset + 2];
+                    }else{
+                        offset = indices.get(index) * float_stride;
+                        x = buffer.get(offset);
+                        y = buffer.get(offset + 1);
+                        z = buffer.get(offset + 2);
+                    }
+                    
+                    min_x = Math.min(min_x,x);
+                    min_y = Math.min(min_y,y);
+                    min_z = Math.min(min_z,z);
+                    max_x = Math.max(max_x,x);
+                    max_y = Math.max(max_y,y);
+                    max_z = Math.max(max_z,z);
+                }
+            }
+        }
+        
+        return destination.set(min_x,min_y,min_z,max_x,max_y,max_z);
+    }
+    
+    /**
+     * Gets the vertices' colours as a direct buffer of red, green, blue and alpha bytes, which may be handed to OpenGL.  The buffer is created the first time this is called.
+     *
+     * @return The vertices' colours, or null if the mesh doesn't have any.
+     */
+    public ByteBuffer getColourBuffer(){
+        ByteBuffer buffer = null;
+        int        colour = 0;
+        
+        
+        this._checkReleased();
+        if(this.__colour_buffer == null && this.__colours != null){
+            buffer = ByteBuffer.allocateDirect(this.__colours.length * 4);
+            for(int index = 0;index < this.__colours.length;index++){
+                colour = this.__colours[index];
+                
+                buffer.put((byte)(colour >> 16));
+                buffer.put((byte)(colour >> 8));
+                buffer.put((byte)colour);
+                buffer.put((byte)(colour >>> 24));
+            }
+            buffer.flip();
+            
+            this.__colour_buffer = buffer;
+        }
+        
+        return this.__colour_buffer;
+    }
+    
+    /**
+     * Gets the given vertex's colour, packed in the same way as {@link java.awt.Color#getRGB()}.  This reads straight from the mesh's array or buffer.
+     *
+     * @param vertex Index of the vertex.
+     *
+     * @return The vertex's colour.
+     *
+     * @throws IllegalStateException Thrown if the mesh has been released, or doesn't have colours.
+     */
+    public int getColour(int vertex){
+        this._checkReleased();
+        if(!this.hasColours()){
+            throw new IllegalStateException("The mesh doesn't have colours.");
+        }else if(this.__colours != null){
+            return this.__colours[vertex];
+        }
+        
+        return StrixaMesh._toColour(this.__colour_buffer,vertex);
+    }
+    
+    /**
+     * Gets the vertices' colours, one per vertex, packed in the same way as {@link java.awt.Color#getRGB()}.  If the mesh's colours are only held in a buffer, they are copied out of it the first time this is called, and the copy is kept on the heap.  Code which only reads the colours should use {@link #getColour(int)} instead.
+     *
+     * @return The vertices' colours, or null if the mesh doesn't have any.
+     */
+    public int[] getColours(){
+        int[] colours = null;
+        
+        
+        this._checkReleased();
+        if(this.__colours == null && this.__colour_buffer != null){
+            colours = new int[this.__vertex_count];
+            for(int vertex = 0;vertex < colours.length;vertex++){
+                colours[vertex] = StrixaMesh._toColour(this.__colour_buffer,vertex);
+            }
+            
+            this.__colours = colours;
+        }
+        this.__array_request_count++;
+        
+        return this.__colours;
+    }
+    
+    /**
+     * Gets the given vertex's normal.  This reads straight from the mesh's array or buffer.
+     *
+     * @param vertex Index of the vertex.
+     * @param destination Vector the normal should be written to.
+     *
+     * @return The given vector.
+     *
+     * @throws IllegalStateException Thrown if the mesh has been released, or doesn't have normals.
+     */
+    public Vec3f getNormal(int vertex,Vec3f destination){
+        this._checkReleased();
+        if(!this.hasNormals()){
+            throw new IllegalStateException("The mesh doesn't have normals.");
+        }else if(this.__normals != null){
+            return destination.set(this.__normals[vertex * 3],this.__normals[vertex * 3 + 1],this.__normals[vertex * 3 + 2]);
+        }
+        
+        return StrixaMesh._readVector(this.__normal_buffer,vertex,this.__normal_stride,destination);
+    }
+    
+    /**
+     * Gets the vertices' normals as a direct buffer, which may be handed to OpenGL.  The buffer is created the first time this is called.
+     *
+     * @return The vertices' normals, or null if the mesh doesn't have any.
+     */
+    public FloatBuffer getNormalBuffer(){
+        this._checkReleased();
+        if(this.__normal_buffer == null && this.__normals != null){
+            this.__normal_buffer = StrixaMesh._createBuffer(this.__normals);
+        }
+        
+        return this.__normal_buffer;
+    }
+    
+    /**
+     * Gets the vertices' normals, three per vertex.  If the mesh was constructed around buffers, the normals are copied out of them the first time this is called, and the copy is kept on the heap so that changes to it can be written back by {@link #updateBuffers()}.  Code which only reads the normals should use {@link #getNormal(int,Vec3f)} instead.
+     *
+     * @return The vertices' normals, or null if the mesh doesn't have any.
+     */
+    public float[] getNormals(){
+        this._checkReleased();
+        if(this.__normals == null && this.__normal_buffer != null){
+            this.__normals = StrixaMesh._copyValues(this.__normal_buffer,this.__vertex_count,3,this.__normal_stride);
+        }
+        this.__array_request_count++;
+        
+        return this.__normals;
+    }
+    
+    /**
+     * Gets the number of bytes from the start of one vertex's normal to the next within the normal buffer.
+     *
+     * @return The number of bytes between normals, or 0 if they are tightly packed.
+     */
+    public int getNormalStride(){
+        return this.__normal_stride;
+    }
+    
+    public List<Part> getParts(){
+        return this.__parts;
+    }
+    
+    /**
+     * Gets the given vertex's position.  This reads straight from the mesh's array or buffer, without copying the rest of the mesh's positions.
+     *
+     * @param vertex Index of the vertex.
+     * @param destination Vector the position should be written to.
+     *
+     * @return The given vector.
+     */
+    public Vec3f getPosition(int vertex,Vec3f destination){
+        this._checkReleased();
+        if(this.__positions != null){
+            return destination.set(this.__positions[vertex * 3],this.__positions[vertex * 3 + 1],this.__positions[vertex * 3 + 2]);
+        }
+        
+        return StrixaMesh._readVector(this.__position_buffer,vertex,this.__position_stride,destination);
+    }
+    
+    /**
+     * Gets the given vertex's position, widened to doubles.  This reads straight from the mesh's array or buffer in the same way as {@link #getPosition(int,Vec3f)}.
+     *
+     * @param vertex Index of the vertex.
+     * @param destination Vector the position should be written to.
+     *
+     * @return The given vector.
+     */
+    public Vec3d getPosition(int vertex,Vec3d destination){
+        final int offset = vertex * (this.__position_stride == 0 ? 3 : this.__position_stride / 4);
+        
+        
+        this._checkReleased();
+        if(this.__positions != null){
+            return destination.set(this.__positions[vertex * 3],this.__positions[vertex * 3 + 1],this.__positions[vertex * 3 + 2]);
+        }
+        
+        return destination.set(this.__position_buffer.get(offset),this.__position_buffer.get(offset + 1),this.__position_buffer.get(offset + 2));
+    }
+    
+    /**
+     * Gets the vertices' positions as a direct buffer, which may be handed to OpenGL.  The buffer is created the first time this is called.
+     *
+     * @return The vertices' positions.
+     */
+    public FloatBuffer getPositionBuffer(){
+        this._checkReleased();
+        if(this.__position_buffer == null){
+            this.__position_buffer = StrixaMesh._createBuffer(this.__positions);
+        }
+        
+        return this.__position_buffer;
+    }
+    
+    /**
+     * Gets the vertices' positions, three coordinates per vertex.  If the mesh was constructed around buffers, the positions are copied out of them the first time this is called, and the copy is kept on the heap so that changes to it can be written back by {@link #updateBuffers()}.  Code which only reads the positions should use {@link #getPosition(int,Vec3f)} instead.
+     *
+     * @return The vertices' positions.
+     */
+    public float[] getPositions(){
+        this._checkReleased();
+        if(this.__positions == null){
+            this.__positions = StrixaMesh._copyValues(this.__position_buffer,this.__vertex_count,3,this.__position_stride);
+        }
+        this.__array_request_count++;
+        
+        return this.__positions;
+    }
+    
+    /**
+     * Gets the number of bytes from the start of one vertex's position to the next within the position buffer.
+     *
+     * @return The number of bytes between positions, or 0 if they are tightly packed.
+     */
+    public int getPositionStride(){
+        return this.__position_stride;
+    }
+    
+    /**
+     * Gets the given vertex's texture coordinates.  This reads straight from the mesh's array or buffer.
+     *
+     * @param vertex Index of the vertex.
+     * @param destination Vector the texture coordinates should be written to.
+     *
+     * @return The given vector.
+     *
+     * @throws IllegalStateException Thrown if the mesh has been released, or isn't textured.
+     */
+    public Vec2d getTextureCoordinate(int vertex,Vec2d destination){
+        final int float_stride = this.__texture_coordinate_stride == 0 ? 2 : this.__texture_coordinate_stride / 4;
+        
+        
+        this._checkReleased();
+        if(!this.hasTextureCoordinates()){
+            throw new IllegalStateException("The mesh doesn't have texture coordinates.");
+        }else if(this.__texture_coordinates != null){
+            return destination.set(this.__texture_coordinates[vertex * 2],this.__texture_coordinates[vertex * 2 + 1]);
+        }
+        
+        return destination.set(this.__texture_coordinate_buffer.get(vertex * float_stride),this.__texture_coordinate_buffer.get(vertex * float_stride + 1));
+    }
+    
+    /**
+     * Gets the vertices' texture coordinates as a direct buffer, which may be handed to OpenGL.  The buffer is created the first time this is called.
+     *
+     * @return The vertices' texture coordinates, or null if the mesh isn't textured.
+     */
+    public FloatBuffer getTextureCoordinateBuffer(){
+        this._checkReleased();
+        if(this.__texture_coordinate_buffer == null && this.__texture_coordinates != null){
+            this.__texture_coordinate_buffer = StrixaMesh._createBuffer(this.__texture_coordinates);
+        }
+        
+        return this.__texture_coordinate_buffer;
+    }
+    
+    /**
+     * Gets the vertices' texture coordinates, two per vertex.  If the mesh was constructed around buffers, the texture coordinates are copied out of them the first time this is called, and the copy is kept on the heap so that changes to it can be written back by {@link #updateBuffers()}.  Code which only reads the texture coordinates should use {@link #getTextureCoordinate(int,Vec2d)} instead.
+     *
+     * @return The vertices' texture coordinates, or null if the mesh isn't textured.
+     */
+    public float[] getTextureCoordinates(){
+        this._checkReleased();
+        if(this.__texture_coordinates == null && this.__texture_coordinate_buffer != null){
+            this.__texture_coordinates = StrixaMesh._copyValues(this.__texture_coordinate_buffer,this.__vertex_count,2,this.__texture_coordinate_stride);
+        }
+        this.__array_request_count++;
+        
+        return this.__texture_coordinates;
+    }
+    
+    /**
+     * Gets the number of bytes from the start of one vertex's texture coordinates to the next within the texture coordinate buffer.
+     *
+     * @return The number of bytes between texture coordinates, or 0 if they are tightly packed.
+     */
+    public int getTextureCoordinateStride(){
+        return this.__texture_coordinate_stride;
+    }
+    
+    /**
+     * Gets the number of triangles in every part of the mesh.
+     *
+     * @return The number of triangles in the mesh.
+     */
+    public int getTriangleCount(){
+        int triangle_count = 0;
+        
+        
+        for(int index = 0;index < this.__parts.size();index++){
+            triangle_count += this.__parts.get(index).getIndexCount() / 3;
+        }
+        
+        return triangle_count;
+    }
+    
+    /**
+     * Gets the number of unique vertices in the mesh.
+     *
+     * @return The number of unique vertices in the mesh.
+     */
+    public int getVertexCount(){
+        return this.__vertex_count;
+    }
+    
+    public boolean hasColours(){
+        return this.__colours != null || this.__colour_buffer != null;
+    }
+    
+    public boolean hasNormals(){
+        return this.__normals != null || this.__normal_buffer != null;
+    }
+    
+    public boolean hasTextureCoordinates(){
+        return this.__texture_coordinates != null || this.__texture_coordinate_buffer != null;
+    }
+    
+    /**
+     * Checks whether the mesh's data has been released along with the arena which held it.
+     *
+     * @return Returns true if the mesh can no longer be read or drawn, and false, otherwise.
+     */
+    public boolean isReleased(){
+        return this.__arena != null && this.__arena.isClosed();
+    }
+    
+    /**
+     * Gives the mesh, and each of its parts, to the arena which holds their data.
+     */
+    protected void _setArena(StrixaMeshArena arena){
+        this.__arena = arena;
+        for(int index = 0;index < this.__parts.size();index++){
+            this.__parts.get(index).__arena = arena;
+        }
+    }
+    
+    /**
+     * Sets the buffer the vertices' colours are held in, as red, green, blue and alpha bytes.
+     */
+    protected void _setColourBuffer(ByteBuffer colours){
+        if(colours != null && colours.remaining() < this.__vertex_count * 4){
+            throw new IllegalArgumentException("Argument 'colours' must hold four values per vertex.");
+        }
+        
+        this.__colour_buffer = colours;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Throws an IllegalStateException if the mesh has been released.
+     */
+    protected void _checkReleased(){
+        StrixaMesh._checkReleased(this.__arena);
+    }
+    
+    /**
+     * Copies any changes made to the arrays returned by {@link #getPositions()}, {@link #getTextureCoordinates()}, {@link #getNormals()} and {@link #getColours()} into the buffers drawn by OpenGL.  Buffers are written in place, including interleaved ones, so meshes sharing this mesh's vertices see the changes too.  A buffer which can't be written to, such as one mapped read-only from a file, is replaced with a new, tightly packed one.<br />
+     * Changes made to a part's indices aren't copied.
+     */
+    public void updateBuffers(){
+        FloatBuffer buffer = null;
+        ByteBuffer  colours = null;
+        
+        
+        this._checkReleased();
+        if(this.__positions != null && this.__position_buffer != null){
+            buffer = StrixaMesh._writeValues(this.__position_buffer,this.__positions,3,this.__position_stride);
+            if(buffer != this.__position_buffer){
+                this.__position_buffer = buffer;
+                this.__position_stride = 0;
+            }
+        }
+        if(this.__texture_coordinates != null && this.__texture_coordinate_buffer != null){
+            buffer = StrixaMesh._writeValues(this.__texture_coordinate_buffer,this.__texture_coordinates,2,this.__texture_coordinate_stride);
+            if(buffer != this.__texture_coordinate_buffer){
+                this.__texture_coordinate_buffer = buffer;
+                this.__texture_coordinate_stride = 0;
+            }
+        }
+        if(this.__normals != null && this.__normal_buffer != null){
+            buffer = StrixaMesh._writeValues(this.__normal_buffer,this.__normals,3,this.__normal_stride);
+            if(buffer != this.__normal_buffer){
+                this.__normal_buffer = buffer;
+                this.__normal_stride = 0;
+            }
+        }
+        if(this.__colours != null && this.__colour_buffer != null){
+            colours = this.__colour_buffer.isReadOnly() ? ByteBuffer.allocateDirect(this.__colours.length * 4) : this.__colour_buffer.duplicate();
+            for(int index = 0;index < this.__colours.length;index++){
+                colours.put(index * 4,(byte)(this.__colours[index] >> 16));
+                colours.put(index * 4 + 1,(byte)(this.__colours[index] >> 8));
+                colours.put(index * 4 + 2,(byte)this.__colours[index]);
+                colours.put(index * 4 + 3,(byte)(this.__colours[index] >>> 24));
+            }
+            if(this.__colour_buffer.isReadOnly()){
+                this.__colour_buffer = colours;
+            }
+        }
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the square of the distance between the given vertex position and point.
+     */
+    protected static double _getDistanceSquared(Vec3f position,double x,double y,double z){
+        final double x_difference = position.getX() - x;
+        final double y_difference = position.getY() - y;
+        final double z_difference = position.getZ() - z;
+        
+        
+        return x_difference * x_difference + y_difference * y_difference + z_difference * z_difference;
+    }
+    
+    /**
+     * Throws an IllegalStateException if the given arena has been closed.
+     */
+    protected static void _checkReleased(StrixaMeshArena arena){
+        if(arena != null && arena.isClosed()){
+            throw new IllegalStateException("The mesh has been released along with its arena.");
+        }
+    }
+    
+    /**
+     * Checks that the given buffer holds enough values for every vertex.
+     */
+    protected static void _checkCapacity(FloatBuffer buffer,int vertex_count,int component_count,int stride,String name){
+        final int float_stride = stride == 0 ? component_count : stride / 4;
+        
+        
+        if(buffer != null && vertex_count != 0 && buffer.remaining() < (vertex_count - 1) * float_stride + component_count){
+            throw new IllegalArgumentException("Argument '" + name + "' must hold " + component_count + " values for each vertex.");
+        }else if(stride % 4 != 0){
+            throw new IllegalArgumentException("Argument '" + name + "' must have a stride which is a multiple of 4 bytes.");
+        }
+    }
+    
+    /**
+     * Copies the values of each vertex out of the given buffer, leaving out anything interleaved between them.
+     */
+    protected static float[] _copyValues(FloatBuffer buffer,int vertex_count,int component_count,int stride){
+        final float[]     values = new float[vertex_count * component_count];
+        final FloatBuffer source = buffer.duplicate();
+        final int         float_stride = stride == 0 ? component_count : stride / 4;
+        
+        
+        if(float_stride == component_count){
+            source.get(values);
+        }else{
+            for(int vertex = 0;vertex < vertex_count;vertex++){
+                source.position(vertex * float_stride);
+                source.get(values,vertex * component_count,component_count);
+            }
+        }
+        
+        return values;
+    }
+    
+    protected static FloatBuffer _createBuffer(float[] values){
+        final FloatBuffer buffer = ByteBuffer.allocateDirect(values.length * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        
+        
+        buffer.put(values);
+        buffer.flip();
+        
+        return buffer;
+    }
+    
+    /**
+     * Reads the three values of the given vertex out of the buffer.
+     */
+    protected static Vec3f _readVector(FloatBuffer buffer,int vertex,int stride,Vec3f destination){
+        final int offset = vertex * (stride == 0 ? 3 : stride / 4);
+        
+        
+        return destination.set(buffer.get(offset),buffer.get(offset + 1),buffer.get(offset + 2));
+    }
+    
+    /**
+     * Reads the given vertex's red, green, blue and alpha bytes out of the buffer, and packs them in the same way as {@link java.awt.Color#getRGB()}.
+     */
+    protected static int _toColour(ByteBuffer buffer,int vertex){
+        final int offset = vertex * 4;
+        
+        
+        return (buffer.get(offset + 3) & 0xFF) << 24 | (buffer.get(offset) & 0xFF) << 16 | (buffer.get(offset + 1) & 0xFF) << 8 | buffer.get(offset + 2) & 0xFF;
+    }
+    
+    protected static IntBuffer _createBuffer(int[] values){
+        final IntBuffer buffer = ByteBuffer.allocateDirect(values.length * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+        
+        
+        buffer.put(values);
+        buffer.flip();
+        
+        return buffer;
+    }
+    
+    /**
+     * Writes the given values into the buffer, leaving anything interleaved between them alone.
+     *
+     * @return The given buffer, or a new, tightly packed buffer holding the values if the given one can't be written to.
+     */
+    protected static FloatBuffer _writeValues(FloatBuffer buffer,float[] values,int component_count,int stride){
+        final FloatBuffer destination;
+        final int         float_stride = stride == 0 ? component_count : stride / 4;
+        
+        
+        if(buffer.isReadOnly()){
+            return StrixaMesh._createBuffer(values);
+        }
+        
+        destination = buffer.duplicate();
+        if(float_stride == component_count){
+            destination.put(values);
+        }else{
+            for(int vertex = 0;vertex < values.length / component_count;vertex++){
+                destination.position(vertex * float_stride);
+                destination.put(values,vertex * component_count,component_count);
+            }
+        }
+        
+        return buffer;
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,233 @@
+/**
+ * File:  StrixaMeshArena.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.strixa.util.DirectBuffers;
+
+
+/**
+ * Off-heap storage for mesh data whose lifetime is managed explicitly.<br />
+ * Every buffer handed out by the arena is a direct buffer in the platform's byte order, so it can be given to OpenGL without being copied, and its contents are never looked at or moved by the garbage collector.  Meshes can be built around the arena's buffers with {@link #createMesh(int,FloatBuffer,int,FloatBuffer,int,FloatBuffer,int,List)}, or moved into the arena with {@link #copyMesh(StrixaMesh)}, which leaves nothing on the heap but the mesh object itself.  This stays true as long as the mesh is read through its per-vertex methods, such as {@link StrixaMesh#getPosition(int,com.strixa.util.Vec3f)}, and its buffers, as {@link com.strixa.gl.util.MeshSimplifier} does; the array getters keep a copy of what they return on the heap.<br />
+ * When the arena is closed, all of its memory is released at once rather than whenever the garbage collector gets around to it.  Meshes which belong to a closed arena report that they have been released, aren't drawn, and throw an IllegalStateException if their data is asked for.
+ * <br /><br />
+ * <strong>Note:</strong>  A single buffer can hold no more than 2GB, so very large models should be split into several meshes, as {@link com.strixa.gl.util.BinaryMeshReader} does.  Buffers are released eagerly where the JVM allows it, and are otherwise left to the garbage collector once the arena no longer refers to them.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaMeshArena{
+    private final List<ByteBuffer> __buffers = new ArrayList<ByteBuffer>();
+    
+    private long    __allocated_bytes;
+    private boolean __closed;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty arena.
+     */
+    public StrixaMeshArena(){
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the number of bytes held by the arena's buffers.
+     *
+     * @return The number of bytes held by the arena, which is 0 once it has been closed.
+     */
+    public synchronized long getAllocatedBytes(){
+        return this.__allocated_bytes;
+    }
+    
+    /**
+     * Checks whether the arena's memory has been released.
+     *
+     * @return Returns true if the arena has been closed, and false, otherwise.
+     */
+    public synchronized boolean isClosed(){
+        return this.__closed;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Allocates a direct buffer of the given number of bytes, in the platform's byte order.
+     *
+     * @param byte_count Number of bytes in the buffer.
+     *
+     * @return The buffer, which is filled with zeros.
+     */
+    public synchronized ByteBuffer allocateBytes(long byte_count){
+        final ByteBuffer buffer;
+        
+        
+        if(this.__closed){
+            throw new IllegalStateException("The arena has been closed.");
+        }else if(byte_count < 0 || byte_count > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Argument 'byte_count' must be between 0 and " + Integer.MAX_VALUE + ".");
+        }
+        
+        buffer = ByteBuffer.allocateDirect((int)byte_count).order(ByteOrder.nativeOrder());
+        this.__buffers.add(buffer);
+        this.__allocated_bytes += byte_count;
+        
+        return buffer;
+    }
+    
+    /**
+     * Allocates a direct buffer holding the given number of floats.
+     *
+     * @param count Number of floats in the buffer.
+     *
+     * @return The buffer, which is filled with zeros.
+     */
+    public FloatBuffer allocateFloats(long count){
+        if(count < 0 || count > Integer.MAX_VALUE / 4){
+            throw new IllegalArgumentException("Argument 'count' must be between 0 and " + Integer.MAX_VALUE / 4 + ".");
+        }
+        
+        return this.allocateBytes(count * 4).asFloatBuffer();
+    }
+    
+    /**
+     * Allocates a direct buffer holding the given number of ints.
+     *
+     * @param count Number of ints in the buffer.
+     *
+     * @return The buffer, which is filled with zeros.
+     */
+    public IntBuffer allocateInts(long count){
+        if(count < 0 || count > Integer.MAX_VALUE / 4){
+            throw new IllegalArgumentException("Argument 'count' must be between 0 and " + Integer.MAX_VALUE / 4 + ".");
+        }
+        
+        return this.allocateBytes(count * 4).asIntBuffer();
+    }
+    
+    /**
+     * Releases all of the arena's memory.  Nothing the arena has handed out may be used afterwards, and closing an arena more than once does nothing.
+     */
+    public void close(){
+        final List<ByteBuffer> buffers;
+        
+        
+        synchronized(this){
+            if(this.__closed){
+                return;
+            }
+            
+            this.__closed = true;
+            this.__allocated_bytes = 0;
+            buffers = new ArrayList<ByteBuffer>(this.__buffers);
+            this.__buffers.clear();
+        }
+        
+        for(int index = 0;index < buffers.size();index++){
+            StrixaMeshArena._free(buffers.get(index));
+        }
+    }
+    
+    /**
+     * Copies the given mesh's vertices and indices into the arena, so that none of its data is left on the heap.  The new mesh holds tightly packed copies of only the values the given mesh uses, even if they were interleaved.
+     *
+     * @param mesh Mesh to be copied.
+     *
+     * @return A mesh with the same vertices and triangles, whose data belongs to this arena.
+     */
+    public StrixaMesh copyMesh(StrixaMesh mesh){
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>(mesh.getParts().size());
+        final FloatBuffer           positions = this.allocateFloats(mesh.getVertexCount() * 3L);
+        final int                   vertex_count = mesh.getVertexCount();
+        
+        ByteBuffer      colours = null;
+        StrixaMesh      copy = null;
+        IntBuffer       indices = null;
+        FloatBuffer     normals = null;
+        StrixaMesh.Part part = null;
+        FloatBuffer     texture_coordinates = null;
+        
+        
+        StrixaMeshArena._copyValues(mesh.getPositionBuffer(),vertex_count,3,mesh.getPositionStride(),positions);
+        if(mesh.hasTextureCoordinates()){
+            texture_coordinates = this.allocateFloats(vertex_count * 2L);
+            StrixaMeshArena._copyValues(mesh.getTextureCoordinateBuffer(),vertex_count,2,mesh.getTextureCoordinateStride(),texture_coordinates);
+        }
+        if(mesh.hasNormals()){
+            normals = this.allocateFloats(vertex_count * 3L);
+            StrixaMeshArena._copyValues(mesh.getNormalBuffer(),vertex_count,3,mesh.getNormalStride(),normals);
+        }
+        if(mesh.hasColours()){
+            colours = this.allocateBytes(vertex_count * 4L);
+            colours.put(mesh.getColourBuffer().duplicate());
+            colours.flip();
+        }
+        
+        for(int part_index = 0;part_index < mesh.getParts().size();part_index++){
+            part = mesh.getParts().get(part_index);
+            indices = this.allocateInts(part.getIndexCount());
+            indices.put(part.getIndexBuffer().duplicate());
+            indices.flip();
+            
+            parts.add(new StrixaMesh.Part(part.getMaterial(),indices));
+        }
+        
+        copy = this.createMesh(vertex_count,positions,0,texture_coordinates,0,normals,0,parts);
+        copy._setColourBuffer(colours);
+        
+        return copy;
+    }
+    
+    /**
+     * Constructs a mesh around the given buffers, in the same way as {@link StrixaMesh#StrixaMesh(int,FloatBuffer,int,FloatBuffer,int,FloatBuffer,int,List)}, which is released along with this arena.  The buffers should have been allocated by this arena.
+     *
+     * @return The mesh.
+     */
+    public StrixaMesh createMesh(int vertex_count,FloatBuffer positions,int position_stride,FloatBuffer texture_coordinates,int texture_coordinate_stride,FloatBuffer normals,int normal_stride,List<StrixaMesh.Part> parts){
+        final StrixaMesh mesh = new StrixaMesh(vertex_count,positions,position_stride,texture_coordinates,texture_coordinate_stride,normals,normal_stride,parts);
+        
+        
+        mesh._setArena(this);
+        
+        return mesh;
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Copies the values of each vertex out of the given buffer and into the destination, leaving out anything interleaved between them.
+     */
+    protected static void _copyValues(FloatBuffer source,int vertex_count,int component_count,int stride,FloatBuffer destination){
+        final FloatBuffer values = source.duplicate();
+        final int         float_stride = stride == 0 ? component_count : stride / 4;
+        
+        
+        if(float_stride == component_count){
+            values.limit(vertex_count * component_count);
+            destination.put(values);
+        }else{
+            for(int vertex = 0;vertex < vertex_count;vertex++){
+                for(int component = 0;component < component_count;component++){
+                    destination.put(values.get(vertex * float_stride + component));
+                }
+            }
+        }
+        destination.flip();
+    }
+    
+    /**
+     * Releases the given buffer's memory straight away, if the JVM allows it.  Otherwise, the memory is released once the buffer has been garbage collected.
+     */
+    protected static void _free(ByteBuffer buffer){
+        DirectBuffers.free(buffer);
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,304 @@
+/**
+ * File:  StrixaMeshPolygon.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.strixa.util.Point2D;
+import com.strixa.util.Point3D;
+import com.strixa.util.Vec2d;
+import com.strixa.util.Vec3d;
+import com.strixa.util.Vec3f;
+
+/**
+ * A single triangle of a {@link StrixaMesh}, looked at as a polygon.<br />
+ * The polygon holds nothing but the mesh, the part and the triangle, and reads everything else from the mesh one vertex at a time when it's asked for it, whether the mesh is held on the heap or by a {@link StrixaMeshArena}.  This allows code written for polygons, such as collision checks, to work on a mesh without the mesh ever being copied into points.<br />
+ * <strong>Note:</strong>  The points returned by this polygon are copies, so moving them doesn't change the mesh.  The first time the polygon's points, normals, texture coordinates or material are changed, the triangle is copied into the polygon, which from then on holds them itself and behaves as any other polygon, no longer reading from or affecting the mesh.  The polygon can be moved without this happening.  Its bounding volumes are read from the mesh the first time they're asked for and kept from then on, so a polygon should be created again if the mesh's vertices are changed.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaMeshPolygon extends StrixaPolygon{
+    private final int             __first_index;
+    private final StrixaMesh      __mesh;
+    private final StrixaMesh.Part __part;
+    
+    private boolean __detached;  //Set once the triangle has been copied into the polygon.
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs a polygon over one of the given mesh's triangles.
+     *
+     * @param mesh Mesh the triangle belongs to.
+     * @param part Part of the mesh holding the triangle.
+     * @param triangle Index of the triangle within the part.
+     */
+    public StrixaMeshPolygon(StrixaMesh mesh,StrixaMesh.Part part,int triangle){
+        if(mesh == null){
+            throw new IllegalArgumentException("Argument 'mesh' must not be null.");
+        }else if(part == null){
+            throw new IllegalArgumentException("Argument 'part' must not be null.");
+        }else if(triangle < 0 || triangle * 3 >= part.getIndexCount()){
+            throw new IllegalArgumentException("Argument 'triangle' must be the index of one of the part's triangles.");
+        }
+        
+        this.__mesh = mesh;
+        this.__part = part;
+        this.__first_index = triangle * 3;
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the material of the part holding this polygon's triangle.
+     *
+     * @return The part's material, or null if the part is drawn with the material of the element it belongs to.
+     */
+    public StrixaMaterial getMaterial(){
+        if(this.__detached){
+            return super.getMaterial();
+        }
+        
+        return this.__part.getMaterial();
+    }
+    
+    /**
+     * Copies the position of one of this triangle's corners into the given vector, reading it straight from the mesh.
+     *
+     * @param corner Index of the corner, from 0 to 2.
+     * @param destination Vector the position should be written to.
+     *
+     * @return The given vector.
+     */
+    public Vec3d getCorner(int corner,Vec3d destination){
+        if(this.__detached){
+            return super.getCorner(corner,destination);
+        }
+        
+        return this.__mesh.getPosition(this._getVertex(corner),destination);
+    }
+    
+    public int getCornerCount(){
+        if(this.__detached){
+            return super.getCornerCount();
+        }
+        
+        return 3;
+    }
+    
+    public StrixaMesh getMesh(){
+        return this.__mesh;
+    }
+    
+    /**
+     * Gets copies of this polygon's normals, read from the mesh.  Once the polygon has been changed, its own normals are returned instead.
+     *
+     * @return The polygon's normals, or an empty list if the mesh doesn't have any.
+     */
+    public List<Point3D<Double>> getNormalPoints(){
+        final Vec3f                 normal = new Vec3f();
+        final List<Point3D<Double>> normal_points;
+        
+        
+        if(this.__detached){
+            return super.getNormalPoints();
+        }else if(!this.__mesh.hasNormals()){
+            return Collections.emptyList();
+        }
+        
+        normal_points = new ArrayList<Point3D<Double>>(3);
+        for(int corner = 0;corner < 3;corner++){
+            this.__mesh.getNormal(this._getVertex(corner),normal);
+            
+            normal_points.add(new Point3D<Double>((double)normal.getX(),(double)normal.getY(),(double)normal.getZ()));
+        }
+        
+        return Collections.unmodifiableList(normal_points);
+    }
+    
+    public StrixaMesh.Part getPart(){
+        return this.__part;
+    }
+    
+    public void setMaterial(StrixaMaterial material){
+        this._detach();
+        
+        super.setMaterial(material);
+    }
+    
+    /**
+     * Gets copies of this polygon's corners, read from the mesh.  Once the polygon has been changed, its own points are returned instead.  Each point is given the colour of its vertex, or white if the mesh doesn't have colours.<br />
+     * This creates the points each time it's called, so code which only needs the corners' positions should use {@link #getCorner(int,Vec3d)} instead.
+     *
+     * @return The polygon's corners.
+     */
+    public List<StrixaPoint> getPoints(){
+        final List<StrixaPoint> points;
+        final Vec3f             position;
+        
+        Color colour = Color.WHITE;
+        int   vertex = 0;
+        
+        
+        if(this.__detached){
+            return super.getPoints();
+        }
+        
+        points = new ArrayList<StrixaPoint>(3);
+        position = new Vec3f();
+        for(int corner = 0;corner < 3;corner++){
+            vertex = this._getVertex(corner);
+            this.__mesh.getPosition(vertex,position);
+            if(this.__mesh.hasColours()){
+                colour = new Color(this.__mesh.getColour(vertex),true);
+            }
+            
+            points.add(new StrixaPoint(position.getX(),position.getY(),position.getZ(),colour,(byte)colour.getAlpha()));
+        }
+        
+        return Collections.unmodifiableList(points);
+    }
+    
+    /**
+     * Gets copies of this polygon's texture coordinates, read from the mesh.  Once the polygon has been changed, its own texture coordinates are returned instead.
+     *
+     * @return The polygon's texture coordinates, or an empty list if the mesh isn't textured.
+     */
+    public List<Point2D<Double>> getTexturePoints(){
+        final Vec2d                 texture_coordinate = new Vec2d();
+        final List<Point2D<Double>> texture_points;
+        
+        
+        if(this.__detached){
+            return super.getTexturePoints();
+        }else if(!this.__mesh.hasTextureCoordinates()){
+            return Collections.emptyList();
+        }
+        
+        texture_points = new ArrayList<Point2D<Double>>(3);
+        for(int corner = 0;corner < 3;corner++){
+            this.__mesh.getTextureCoordinate(this._getVertex(corner),texture_coordinate);
+            
+            texture_points.add(texture_coordinate.toPoint2D());
+        }
+        
+        return Collections.unmodifiableList(texture_points);
+    }
+    
+    /**
+     * Gets the index of the mesh vertex at the given corner of this triangle.
+     */
+    protected int _getVertex(int corner){
+        return this.__part.getIndexBuffer().get(this.__first_index + corner);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Copies the triangle's points, normals, texture coordinates and material into the polygon, if that hasn't been done already.  This is done before the polygon is first changed, so that the change is made to the polygon's own copy rather than lost.  Points handed out before then are copies, and aren't part of the polygon.
+     */
+    protected void _detach(){
+        final StrixaMaterial        material;
+        final List<Point3D<Double>> normal_points;
+        final List<StrixaPoint>     points;
+        final List<Point2D<Double>> texture_points;
+        
+        
+        if(this.__detached){
+            return;
+        }
+        
+        material = this.getMaterial();
+        normal_points = this.getNormalPoints();
+        points = this.getPoints();
+        texture_points = this.getTexturePoints();
+        
+        this.__detached = true;
+        this.beginEdit();
+        super.setMaterial(material);
+        super.addPoints(points);
+        super.addNormalPoints(normal_points);
+        super.addTexturePoints(texture_points);
+        this.endEdit();
+    }
+    
+    public void addNormalPoint(Point3D<Double> point){
+        this._detach();
+        
+        super.addNormalPoint(point);
+    }
+    
+    public void addNormalPoints(List<Point3D<Double>> normal_points){
+        this._detach();
+        
+        super.addNormalPoints(normal_points);
+    }
+    
+    public void addPoint(StrixaPoint point){
+        this._detach();
+        
+        super.addPoint(point);
+    }
+    
+    public void addPoints(List<StrixaPoint> points){
+        this._detach();
+        
+        super.addPoints(points);
+    }
+    
+    public void addTexturePoint(Point2D<Double> texture_point){
+        this._detach();
+        
+        super.addTexturePoint(texture_point);
+    }
+    
+    public void addTexturePoints(List<Point2D<Double>> texture_points){
+        this._detach();
+        
+        super.addTexturePoints(texture_points);
+    }
+    
+    public void removePoint(StrixaPoint point){
+        this._detach();
+        
+        super.removePoint(point);
+    }
+    
+    protected void _setPoints(List<StrixaPoint> points){
+        this._detach();
+        
+        super._setPoints(points);
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Creates a polygon for every triangle in the given mesh, in the order they're drawn.  The polygons only refer to the mesh, so this costs very little compared to the points a polygon normally holds.
+     *
+     * @param mesh Mesh whose triangles should be returned.
+     *
+     * @return A polygon for each of the mesh's triangles.
+     */
+    public static List<StrixaPolygon> createPolygons(StrixaMesh mesh){
+        final List<StrixaPolygon> polygons = new ArrayList<StrixaPolygon>(mesh.getTriangleCount());
+        
+        StrixaMesh.Part part = null;
+        
+        
+        for(int part_index = 0;part_index < mesh.getParts().size();part_index++){
+            part = mesh.getParts().get(part_index);
+            
+            for(int triangle = 0;triangle < part.getIndexCount() / 3;triangle++){
+                polygons.add(new StrixaMeshPolygon(mesh,part,triangle));
+            }
+        }
+        
+        return polygons;
+    }
+    /*End Static Methods*/
+}
@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.strixa.util.Point3D;
+import com.strixa.util.Point3DView;
+import com.strixa.util.Vec3d;
 
 /**
  * TODO:  Write Class Description
@@ -22,10 +24,11 @@ public class StrixaPoint{
     
     private final List<StrixaPointLocationUpdateListener> __location_update_listeners = new ArrayList<StrixaPointLocationUpdateListener>();
     
-    private final Point3D<Double> __coordinates  = new Point3D<Double>(0.0,0.0,0.0);
-    
-    private Byte  __alpha; 
-    private Color __colour;
+    private Byte        __alpha; 
+    private Color       __colour;
+    private Point3DView __coordinates;  //Created the first time it's asked for.
+    private Vec3d       __position = Vec3d.ZERO;
+    private Vec3d       __previous_position = Vec3d.ZERO;
     
 
     /*Begin Constructors*/
@@ -39,7 +42,9 @@ public class StrixaPoint{
      * @param alpha Visibility of the point.  This should be a number between 0 (not visible) and 255 (fully visible).
      */
     public StrixaPoint(double x_coordinate,double y_coordinate,double z_coordinate,Color colour,byte alpha){
-        this(new Point3D<Double>(x_coordinate,y_coordinate,z_coordinate),colour,alpha);
+        this.setAlpha(alpha);
+        this.setColour(colour);
+        this.setCoordinates(x_coordinate,y_coordinate,z_coordinate);
     }
     
     /**
@@ -61,12 +66,9 @@ public class StrixaPoint{
      * @param point Point whose properties are to be copied.
      */
     public StrixaPoint(StrixaPoint point){
-        final Point3D<Double> coordinates = point.getCoordinates();
-        
-        
         this.setAlpha(point.getAlpha());
         this.setColour(point.getColour());
-        this.setCoordinates(coordinates.getX(),coordinates.getY(),coordinates.getZ());
+        this.setCoordinates(point.getPosition());
     }
     /*End Constructors*/
     
@@ -90,14 +92,55 @@ public class StrixaPoint{
     }
     
     /**
-     * Gets the coordinates of this Point.
+     * Gets the coordinates of this point.  The point returned is tied to the point:  it always holds the point's current coordinates, and changing it moves the point in the same way as {@link #setCoordinates(double,double,double)}.  Code which only reads the coordinates should use {@link #getPosition()} or {@link #getPosition(Vec3d)}, which don't box them.
      * 
-     * @return Returns the coordinates of this Point.
+     * @return The coordinates of this point.
      */
     public Point3D<Double> getCoordinates(){
+        if(this.__coordinates == null){
+            this.__coordinates = new Point3DView(){
+                protected Vec3d _getPosition(){
+                    return StrixaPoint.this.__position;
+                }
+                
+                protected void _setPosition(double x,double y,double z){
+                    StrixaPoint.this.setCoordinates(x,y,z);
+                }
+            };
+        }
+        
         return this.__coordinates;
     }
     
+    /**
+     * Gets the coordinates of this Point without boxing them.
+     * 
+     * @return Returns the coordinates of this Point.  The vector can't be changed, and is replaced rather than changed when the point moves.
+     */
+    public Vec3d getPosition(){
+        return this.__position;
+    }
+    
+    /**
+     * Copies this point's coordinates into the given vector.
+     * 
+     * @param destination Vector the coordinates should be copied into.
+     * 
+     * @return The destination vector.
+     */
+    public Vec3d getPosition(Vec3d destination){
+        return destination.set(this.__position);
+    }
+    
+    /**
+     * Gets the coordinates this Point had before it was last moved, which allows StrixaPointLocationUpdateListeners to tell how far it moved.
+     * 
+     * @return Returns the previous coordinates of this Point.
+     */
+    public Vec3d getPreviousPosition(){
+        return this.__previous_position;
+    }
+    
     /**
      * Sets the alpha property of this point.
      * 
@@ -137,6 +180,22 @@ public class StrixaPoint{
         this.setCoordinates(coordinates.getX(),coordinates.getY(),coordinates.getZ());
     }
     
+    /**
+     * Sets the coordinates of this point.
+     * 
+     * @param coordinates Location in three-dimensional space this point should be moved to.
+     */
+    public void setCoordinates(Vec3d coordinates){
+        if(coordinates == null){
+            throw new IllegalArgumentException("Argument 'coordinates' must not be null.");
+        }
+        
+        this.__previous_position = this.__position;
+        this.__position = coordinates.toImmutable();
+        
+        this._alertLocationUpdateListeners();
+    }
+    
     /**
      * Sets the coordinates of this point.
      * 
@@ -145,17 +204,22 @@ public class StrixaPoint{
      * @param z_coordinate Z coordinate of the point.
      */
     public void setCoordinates(double x_coordinate,double y_coordinate,double z_coordinate){
-        this.__coordinates.setPoint(x_coordinate,y_coordinate,z_coordinate);
+        this.__previous_position = this.__position;
+        this.__position = Vec3d.immutable(x_coordinate,y_coordinate,z_coordinate);
         
+        this._alertLocationUpdateListeners();
+    }
+    /*End Getter/Setters*/
+    
+    /*Begin Other Methods*/
+    protected void _alertLocationUpdateListeners(){
         synchronized(StrixaPoint.this.__location_update_listeners){
             for(StrixaPointLocationUpdateListener listener:StrixaPoint.this.__location_update_listeners){
                 listener.onStrixaPointLocationUpdate(StrixaPoint.this);
             }
         }
     }
-    /*End Getter/Setters*/
     
-    /*Begin Other Methods*/
     public void addLocationUpdateListener(StrixaPointLocationUpdateListener listener){
         if(!this.__location_update_listeners.contains(listener)){
             this.__location_update_listeners.add(listener);
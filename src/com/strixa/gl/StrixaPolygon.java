@@ -9,12 +9,19 @@ import java.util.List;
 
 import com.strixa.gl.StrixaPoint.StrixaPointLocationUpdateListener;
 import com.strixa.gl.properties.Cuboid;
+import com.strixa.util.Aabb3d;
 import com.strixa.util.Line;
 import com.strixa.util.Point2D;
 import com.strixa.util.Point3D;
+import com.strixa.util.Point3DView;
+import com.strixa.util.Sphere3d;
+import com.strixa.util.Vec3d;
 
 /**
  * TODO:  Write Class Description
+ * <br /><br />
+ * The polygon listens to each of its points, and notifies its StrixaPolygonUpdateListeners whenever one of them moves.  When many points are to be moved at once, the changes should be made between calls to {@link #beginEdit()} and {@link #endEdit()}, so that the listeners are only notified once, when the edit ends.<br />
+ * The polygon's bounding volumes are only worked out when they're asked for.  Once they have been, a point which is added, or which moves without pulling in a side of the bounding box, only grows them, which takes constant time; anything else marks them as needing to be worked out again.  Listeners can tell which of these happened through {@link #hasOnlyGrown()}, so that they can grow their own bounds in the same way.
  *
  * @author Nicholas Rog
  */
@@ -33,13 +40,21 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
         public void onStrixaPolygonUpdate(StrixaPolygon polygon);
     }
     
-    private final Point3D<Double>                   __coordinates = new Point3D<Double>(0.0,0.0,0.0);
     private final List<Point3D<Double>>             __normal_points = new ArrayList<Point3D<Double>>();
     private final List<StrixaPoint>                 __points = new ArrayList<StrixaPoint>();
     final List<Point2D<Double>>                     __texture_points = new ArrayList<Point2D<Double>>();
     private final List<StrixaPolygonUpdateListener> __update_listeners = new ArrayList<StrixaPolygonUpdateListener>();
     
-    private Cuboid         __bounding_box;
+    private Cuboid         __bounding_box;  //Built from the bounds the first time it's asked for after they change.
+    private Sphere3d       __bounding_sphere;
+    private Aabb3d         __bounds;  //Encloses the points themselves, so it doesn't change when the polygon moves.
+    private boolean        __bounds_shrunk;
+    private boolean        __bounds_valid;
+    private boolean        __edit_changed;
+    private int            __edit_depth;
+    private StrixaMaterial __material;
+    private Point3DView    __coordinates;  //Created the first time it's asked for.
+    private Vec3d          __position = Vec3d.ZERO;
     
     
     /*Begin Constructors*/
@@ -52,14 +67,106 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
     
     /*Begin Getter/Setter Methods*/
     /**
-     * Gets the box which completely and exactly encloses all of this polygon.
+     * Checks whether this polygon's bounds have only grown since its listeners were last notified, so that a listener may keep its own bounds up to date by growing them to fit the polygon's.  This is meant to be called by a StrixaPolygonUpdateListener while it's being notified.
      * 
-     * @return The box which completely and exactly encloses all of this polygon.
+     * @return Returns true if the polygon's bounds have only grown, and false if they may have shrunk or moved.
+     */
+    public boolean hasOnlyGrown(){
+        return !this.__bounds_shrunk;
+    }
+    
+    /**
+     * Checks whether this polygon is in the middle of an edit.
+     * 
+     * @return Returns true if {@link #beginEdit()} has been called more times than {@link #endEdit()}, and false, otherwise.
+     */
+    public boolean isEditing(){
+        return this.__edit_depth != 0;
+    }
+    
+    /**
+     * Gets the box which completely and exactly encloses all of this polygon, in the coordinates of the element holding it.
+     * 
+     * @return The box which completely and exactly encloses all of this polygon.  If the polygon has no points, the box has no size and sits at the polygon's location.
      */
     public Cuboid getBoundingBox(){
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        if(this.__bounding_box == null || !this.__bounds_valid){
+            this._validateBounds();
+            if(this.__bounds.isEmpty()){
+                this.__bounding_box = new Cuboid(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ(),0,0,0);
+            }else{
+                this.__bounding_box = new Cuboid(new Aabb3d(this.__bounds).translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ()));
+            }
+        }
+        
         return this.__bounding_box;
     }
     
+    /**
+     * Gets a sphere which encloses all of this polygon, in the coordinates of the element holding it.  The sphere isn't necessarily the smallest one which does.
+     * 
+     * @param destination Sphere the bounding sphere should be written to.
+     * 
+     * @return The given sphere, which is empty if the polygon has no points.
+     */
+    public Sphere3d getBoundingSphere(Sphere3d destination){
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        this._validateBounds();
+        
+        return destination.set(this.__bounding_sphere).translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());
+    }
+    
+    /**
+     * Gets the box which completely and exactly encloses all of this polygon, in the coordinates of the element holding it, without creating a Cuboid.
+     * 
+     * @param destination Box the bounds should be written to.
+     * 
+     * @return The given box, which is empty if the polygon has no points.
+     */
+    public Aabb3d getBounds(Aabb3d destination){
+        final Vec3d this_coordinates = this.getPosition();
+        
+        
+        this._validateBounds();
+        
+        return destination.set(this.__bounds).translate(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());
+    }
+    
+    /**
+     * Copies the position of one of this polygon's corners into the given vector, without creating any objects.  This is the same as the position of the matching point returned by {@link #getPoints()}, and is relative to the polygon.
+     * 
+     * @param corner Index of the corner.
+     * @param destination Vector the position should be written to.
+     * 
+     * @return The given vector.
+     */
+    public Vec3d getCorner(int corner,Vec3d destination){
+        return destination.set(this.__points.get(corner).getPosition());
+    }
+    
+    /**
+     * Gets the number of corners this polygon has, without creating any objects.
+     * 
+     * @return The number of points in this polygon.
+     */
+    public int getCornerCount(){
+        return this.__points.size();
+    }
+    
+    /**
+     * Gets the material this polygon is drawn with.
+     * 
+     * @return The polygon's material, or null if it's drawn with the material of the element it belongs to.
+     */
+    public StrixaMaterial getMaterial(){
+        return this.__material;
+    }
+    
     /**
      * Gets the list of normal points associated with this object.<br />
      * 
@@ -89,14 +196,55 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
     }
     
     /**
-     * Gets this polygon's current location.
+     * Gets the coordinates of this polygon.  The point returned is tied to the polygon:  it always holds the polygon's current coordinates, and changing it moves the polygon in the same way as {@link #setCoordinates(double,double,double)}.  Code which only reads the coordinates should use {@link #getPosition()} or {@link #getPosition(Vec3d)}, which don't box them.
      * 
-     * @return This polygons's current location.
+     * @return The coordinates of this polygon.
      */
     public Point3D<Double> getCoordinates(){
+        if(this.__coordinates == null){
+            this.__coordinates = new Point3DView(){
+                protected Vec3d _getPosition(){
+                    return StrixaPolygon.this.__position;
+                }
+                
+                protected void _setPosition(double x,double y,double z){
+                    StrixaPolygon.this.setCoordinates(x,y,z);
+                }
+            };
+        }
+        
         return this.__coordinates;
     }
     
+    /**
+     * Gets this polygon's current location without boxing its coordinates.
+     * 
+     * @return This polygon's current location.  The vector can't be changed, and is replaced rather than changed when the polygon moves.
+     */
+    public Vec3d getPosition(){
+        return this.__position;
+    }
+    
+    /**
+     * Copies this polygon's coordinates into the given vector.
+     * 
+     * @param destination Vector the coordinates should be copied into.
+     * 
+     * @return The destination vector.
+     */
+    public Vec3d getPosition(Vec3d destination){
+        return destination.set(this.__position);
+    }
+    
+    /**
+     * Sets the material this polygon is drawn with.
+     * 
+     * @param material Material to be used, or null if the polygon should be drawn with the material of the element it belongs to.
+     */
+    public void setMaterial(StrixaMaterial material){
+        this.__material = material;
+    }
+    
     /**
      * Changes this polygon's location.
      * 
@@ -114,7 +262,9 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      * @param z Z coordinate.
      */
     public void setCoordinates(double x,double y,double z){
-        this.__coordinates.setPoint(x,y,z);
+        this.__position = Vec3d.immutable(x,y,z);
+        this.__bounding_box = null;
+        this.__bounds_shrunk = true;
         
         this._notifiyStrixaPolygonUpdateListeners();
     }
@@ -150,6 +300,8 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      */
     public void addPoint(StrixaPoint point){
         this.__points.add(point);
+        point.addLocationUpdateListener(this);
+        this._includeInBounds(point.getPosition());
         
         this._notifiyStrixaPolygonUpdateListeners();
     }
@@ -161,6 +313,10 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      */
     public void addPoints(List<StrixaPoint> points){
         this.__points.addAll(points);
+        for(int index = 0,point_count = points.size();index < point_count;index++){
+            points.get(index).addLocationUpdateListener(this);
+            this._includeInBounds(points.get(index).getPosition());
+        }
         
         this._notifiyStrixaPolygonUpdateListeners();
     }
@@ -198,6 +354,51 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
         }
     }
     
+    /**
+     * Starts an edit of this polygon.  Until the matching call to {@link #endEdit()}, moving this polygon or its points only marks the polygon as having changed, rather than notifying its listeners each time.  Edits may be nested, in which case only the outermost one has any effect.
+     */
+    public void beginEdit(){
+        this.__edit_depth++;
+    }
+    
+    /**
+     * Ends an edit started by {@link #beginEdit()}.  If anything changed during the outermost edit, the listeners are notified once.
+     */
+    public void endEdit(){
+        if(this.__edit_depth == 0){
+            throw new IllegalStateException("endEdit() was called without a matching call to beginEdit().");
+        }
+        
+        this.__edit_depth--;
+        if(this.__edit_depth == 0 && this.__edit_changed){
+            this.__edit_changed = false;
+            
+            this._notifiyStrixaPolygonUpdateListeners();
+        }
+    }
+    
+    /**
+     * Grows the bounding volumes to enclose the given point, if they have already been worked out.
+     * 
+     * @param point Position of the point, relative to this polygon.
+     */
+    protected void _includeInBounds(Vec3d point){
+        if(this.__bounds_valid){
+            this.__bounds.include(point.getX(),point.getY(),point.getZ());
+            this.__bounding_sphere.include(point.getX(),point.getY(),point.getZ());
+            this.__bounding_box = null;
+        }
+    }
+    
+    /**
+     * Marks the bounding volumes as needing to be worked out again the next time they're asked for.
+     */
+    protected void _invalidateBounds(){
+        this.__bounds_shrunk = true;
+        this.__bounds_valid = false;
+        this.__bounding_box = null;
+    }
+    
     /**
      * Simple check to determine whether this polygon is visible in the current context.
      * 
@@ -206,114 +407,83 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      * @return Returns true if this polygon is visible and should be drawn, and false, otherwise.
      */
     public boolean isVisible(StrixaGLContext context){
-        final Cuboid          bounding_box = this.getBoundingBox();
-        final Point3D<Double> bounding_box_coordinates = bounding_box.getCoordinates();
-        final Cuboid          viewable_area = context.getViewableArea();
-        
-        
-        if(viewable_area.isPointInside(bounding_box_coordinates)){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else{        
-            return false;
-        }
+        return context.getViewableArea().isCornerInside(this.getBoundingBox());
     }
     
     /**
      * Notifies any listeners that there has been an update to this polygon.
      */
     protected void _notifiyStrixaPolygonUpdateListeners(){
+        if(this.__edit_depth != 0){  //The listeners are notified once, when the edit ends.
+            this.__edit_changed = true;
+            
+            return;
+        }
+        
         for(StrixaPolygonUpdateListener listener:StrixaPolygon.this.__update_listeners){
             listener.onStrixaPolygonUpdate(StrixaPolygon.this);
         }
+        this.__bounds_shrunk = false;
     }
     
     public void onStrixaPointLocationUpdate(StrixaPoint point){
-        this._regenerateBoundingBox();
+        final Vec3d previous_position = point.getPreviousPosition();
+        final Vec3d position = point.getPosition();
+        
+        
+        if(
+            this.__bounds_valid &&
+            StrixaPolygon._canGrowTo(previous_position.getX(),position.getX(),this.__bounds.getMinX(),this.__bounds.getMaxX()) &&
+            StrixaPolygon._canGrowTo(previous_position.getY(),position.getY(),this.__bounds.getMinY(),this.__bounds.getMaxY()) &&
+            StrixaPolygon._canGrowTo(previous_position.getZ(),position.getZ(),this.__bounds.getMinZ(),this.__bounds.getMaxZ())
+        ){  //The point didn't pull in any side of the box, so the box is still exact once it's grown to fit the point's new position.  The sphere only has to keep enclosing every point.
+            this._includeInBounds(position);
+        }else{  //Without valid bounds, there's no telling whether the point pulled in a side, so the listeners are told the bounds may have shrunk.
+            this._invalidateBounds();
+        }
         
         this._notifiyStrixaPolygonUpdateListeners();
     }
     
     /**
-     * Regenerates the element's bounding box.
+     * Regenerates the polygon's bounding box and bounding sphere from all of its points.  The sphere is centred on the box.
      */
     protected void _regenerateBoundingBox(){
-        final List<StrixaPoint> points = this.getPoints();
-        final int               point_count = points.size();
-        final Point3D<Double>   this_coordinates = this.getCoordinates();
+        final Vec3d corner = new Vec3d();
+        final int   corner_count = this.getCornerCount();
+        
+        double radius_squared = 0.0;
+        double x = 0.0;
+        double y = 0.0;
+        double z = 0.0;
         
-        Point3D<Double> coordinates = null;
-        double          depth = 0.0;
-        double          height = 0.0;
-        double          width = 0.0;
         
+        if(this.__bounds == null){
+            this.__bounds = new Aabb3d();
+            this.__bounding_sphere = new Sphere3d();
+        }
         
-        if(!this.getPoints().isEmpty()){
-            width = this_coordinates.getX();
-            height = this_coordinates.getY();
-            depth = this_coordinates.getZ();
+        this.__bounds.setEmpty();
+        for(int index = 0;index < corner_count;index++){
+            this.getCorner(index,corner);
             
-            for(int index = 0;index < point_count;index++){
-                coordinates = points.get(index).getCoordinates();
-                
-                
-                width = Math.max(width,coordinates.getX());
-                height = Math.max(height,coordinates.getY());
-                depth = Math.max(depth,coordinates.getZ());
+            this.__bounds.include(corner.getX(),corner.getY(),corner.getZ());
+        }
+        
+        this.__bounding_sphere.setEmpty();
+        if(!this.__bounds.isEmpty()){
+            x = (this.__bounds.getMinX() + this.__bounds.getMaxX()) / 2;
+            y = (this.__bounds.getMinY() + this.__bounds.getMaxY()) / 2;
+            z = (this.__bounds.getMinZ() + this.__bounds.getMaxZ()) / 2;
+            for(int index = 0;index < corner_count;index++){
+                radius_squared = Math.max(radius_squared,this.getCorner(index,corner).distanceSquared(x,y,z));
             }
             
-            width -= this_coordinates.getX();
-            height -= this_coordinates.getY();
-            depth -= this_coordinates.getZ();
+            this.__bounding_sphere.set(x,y,z,Math.sqrt(radius_squared));
         }
         
-        this.__bounding_box = new Cuboid(
-            new Point3D<Double>(this_coordinates),
-            width,
-            height,
-            depth
-        );
+        this.__bounds_valid = true;
+        this.__bounding_box = null;
     }
     
     /**
@@ -324,6 +494,10 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
     public void removePoint(StrixaPoint point){
         if(this.__points.contains(point)){
             this.__points.remove(point);
+            if(!this.__points.contains(point)){  //The same point may be used more than once.
+                point.removeLocationUpdateListener(this);
+            }
+            this._invalidateBounds();
             
             this._notifiyStrixaPolygonUpdateListeners();
         }
@@ -346,12 +520,43 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      * @param points The list of points for this polygon to draw.
      */
     protected void _setPoints(List<StrixaPoint> points){
+        for(int index = 0,point_count = this.__points.size();index < point_count;index++){
+            this.__points.get(index).removeLocationUpdateListener(this);
+        }
+        
         this.__points.clear();
         this.__points.addAll(points);
+        for(int index = 0,point_count = points.size();index < point_count;index++){
+            points.get(index).addLocationUpdateListener(this);
+        }
+        
+        this._invalidateBounds();
+    }
+    
+    /**
+     * Makes sure the bounding volumes have been worked out since the polygon last changed.
+     */
+    protected void _validateBounds(){
+        if(!this.__bounds_valid){
+            this._regenerateBoundingBox();
+        }
     }
     /*End Abstract Methods*/
     
     /*Begin Static Methods*/
+    /**
+     * Checks whether the bounds along one axis are still exact once they're grown to fit a point which moved there from the given previous coordinate.  This is the case unless the point was holding up a side of the bounds and moved back inside them.
+     */
+    protected static boolean _canGrowTo(double previous_coordinate,double coordinate,double min,double max){
+        if(previous_coordinate == coordinate || (previous_coordinate > min && previous_coordinate < max)){
+            return true;
+        }else if(min == max){  //The point may have been the only one holding up both sides.
+            return false;
+        }
+        
+        return previous_coordinate == min ? coordinate <= min : coordinate >= max;
+    }
+    
     /**
      * By checking to see if any of this polygon's lines are intersecting with the second polygon's lines, this method determines if the given element is colliding with this one.<br />
      * <strong>Note:</strong>  An element whose entire being is within this element is not considered to be colliding.
@@ -361,48 +566,47 @@ public class StrixaPolygon implements StrixaPointLocationUpdateListener{
      * @return Returns true if this object is colliding with the given object, and false, otherwise. 
      */
     public boolean isColliding(StrixaPolygon element){  //TODO_HIGH:  This method needs heavy optimization.  Rather than creating a bunch of new objects, a list could be created, for example.        
-        final int this_point_count = this.__points.size();
-        final int element_point_count = element.__points.size();
+        final Vec3d adjusted_point_one = new Vec3d();  //Corners are copied into these, since mesh polygons don't hold their points.
+        final Vec3d adjusted_point_two = new Vec3d();
+        final int this_point_count = this.getCornerCount();
+        final int element_point_count = element.getCornerCount();
+        
+        final Vec3d element_coordinates = element.getPosition();
+        final Vec3d this_coordinates = this.getPosition();
         
-        Point3D<Double> adjusted_point_one = null;
-        Point3D<Double> adjusted_point_two = null;
-        Line polygon_one_line = null;
-        Line polygon_two_line = null;
+        Line  polygon_one_line = null;
+        Line  polygon_two_line = null;
         
         
         for(int index=0;index<this_point_count;index++){
             /*Set up the first point*/
             if(index==0){
-                adjusted_point_one = new Point3D<Double>(this.__points.get(this_point_count-1).getCoordinates());
+                this.getCorner(this_point_count-1,adjusted_point_one);
             }else{
-                adjusted_point_one = new Point3D<Double>(this.__points.get(index-1).getCoordinates());
-                
+                this.getCorner(index-1,adjusted_point_one);
             }
-            adjusted_point_one.setX(adjusted_point_one.getX()+this.getCoordinates().getX());
-            adjusted_point_one.setY(adjusted_point_one.getY()+this.getCoordinates().getY());
             
             /*Set up the second point*/
-            adjusted_point_two = new Point3D<Double>(this.__points.get(index).getCoordinates());
-            adjusted_point_two.setX(adjusted_point_two.getX()+this.getCoordinates().getX());
-            adjusted_point_two.setY(adjusted_point_two.getY()+this.getCoordinates().getY());
+            this.getCorner(index,adjusted_point_two);
             
             /*Create teh first line*/
-            polygon_one_line = new Line(adjusted_point_one,adjusted_point_two);
+            polygon_one_line = new Line(
+                new Point2D<Double>(adjusted_point_one.getX()+this_coordinates.getX(),adjusted_point_one.getY()+this_coordinates.getY()),
+                new Point2D<Double>(adjusted_point_two.getX()+this_coordinates.getX(),adjusted_point_two.getY()+this_coordinates.getY())
+            );
             
             for(int sub_index=0;sub_index<element_point_count;sub_index++){
                 if(sub_index==0){
-                    adjusted_point_one = new Point3D<Double>(element.__points.get(element_point_count-1).getCoordinates());
+                    element.getCorner(element_point_count-1,adjusted_point_one);
                 }else{
-                    adjusted_point_one = new Point3D<Double>(element.__points.get(sub_index-1).getCoordinates());
+                    element.getCorner(sub_index-1,adjusted_point_one);
                 }
-                adjusted_point_one.setX(adjusted_point_one.getX()+element.getCoordinates().getX());
-                adjusted_point_one.setY(adjusted_point_one.getY()+element.getCoordinates().getY());
-                
-                adjusted_point_two = new Point3D<Double>(element.__points.get(sub_index).getCoordinates());
-                adjusted_point_two.setX(adjusted_point_two.getX()+element.getCoordinates().getX());
-                adjusted_point_two.setY(adjusted_point_two.getY()+element.getCoordinates().getY());
+                element.getCorner(sub_index,adjusted_point_two);
                 
-                polygon_two_line = new Line(adjusted_point_one,adjusted_point_two);
+                polygon_two_line = new Line(
+                    new Point2D<Double>(adjusted_point_one.getX()+element_coordinates.getX(),adjusted_point_one.getY()+element_coordinates.getY()),
+                    new Point2D<Double>(adjusted_point_two.getX()+element_coordinates.getX(),adjusted_point_two.getY()+element_coordinates.getY())
+                );
                 
                 if(Line.getIntersectionPoint(polygon_one_line,polygon_two_line)!=null){
                     return true;
@@ -4,11 +4,11 @@
  */
 package com.strixa.gl.properties;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import com.strixa.util.Aabb3d;
 import com.strixa.util.Dimension3D;
 import com.strixa.util.Point3D;
+import com.strixa.util.Point3DView;
+import com.strixa.util.Vec3d;
 
 /**
  * Contains the vertices for a Cuboid object.
@@ -16,63 +16,188 @@ import com.strixa.util.Point3D;
  * @author Nicholas Rog
  */
 public class Cuboid{
-    private Point3D<Double>     __coordinates;
-    private Dimension3D<Double> __dimensions;
+    private Aabb3d              __bounds;
+    private Point3DView         __coordinates;  //Created the first time it's asked for.
+    private Dimension3D<Double> __dimensions;  //Created the first time it's asked for.
     
     
     /*Begin Constructors*/
     public Cuboid(Cuboid copy){
-        this.__coordinates = new Point3D<Double>(copy.getCoordinates());
-        this.__dimensions = new Dimension3D<Double>(copy.getDimensions());
+        this.__bounds = copy.getBounds();
+    }
+    
+    /**
+     * Constructs a cuboid which covers the given box.
+     * 
+     * @param bounds Box the cuboid should cover.  It is copied if it is mutable.
+     */
+    public Cuboid(Aabb3d bounds){
+        this.__bounds = bounds.toImmutable();
     }
     
     public Cuboid(Point3D<Double> coordinates,Dimension3D<Double> dimensions){
-        this.__coordinates = coordinates;
-        this.__dimensions = dimensions;
+        this(coordinates.getX(),coordinates.getY(),coordinates.getZ(),dimensions.getWidth(),dimensions.getHeight(),dimensions.getDepth());
     }
     
     public Cuboid(Point3D<Double> coordinates,double width,double height,double depth){
-        this(
-            new Point3D<Double>(
-                coordinates
-            ),
-            new Dimension3D<Double>(
-                width,
-                height,
-                depth
-            )
-        );
+        this(coordinates.getX(),coordinates.getY(),coordinates.getZ(),width,height,depth);
+    }
+    
+    /**
+     * Constructs a cuboid from the coordinates of its left, bottom, front corner and its dimensions.
+     */
+    public Cuboid(double x,double y,double z,double width,double height,double depth){
+        this.__bounds = new Aabb3d(x,y,z,x + width,y + height,z + depth).toImmutable();
     }
     /*End Constructors*/
     
     /*Begin Getter/Setter Methods*/
     /**
-     * Gets the coordinates of the left (most negative X), bottom (most negative Y), front (most negative Z) corner of the cuboid.
+     * Gets the box this cuboid covers.
+     * 
+     * @return The box this cuboid covers.  This can't be changed, but is replaced if the cuboid's coordinates or dimensions are changed.
+     */
+    public Aabb3d getBounds(){
+        return this.__bounds;
+    }
+    
+    /**
+     * Gets the coordinates of the left (most negative X), bottom (most negative Y), front (most negative Z) corner of the cuboid.  The point returned is tied to the cuboid:  changing it moves the cuboid without changing its dimensions.  Code which only reads the coordinates should use {@link #getPosition(Vec3d)} or {@link #getBounds()}.
      * 
      * @return The coordinates of the left (most negative X), bottom (most negative Y), front (most negative Z) corner of the cuboid.
      */
     public Point3D<Double> getCoordinates(){
+        if(this.__coordinates == null){
+            this.__coordinates = new Point3DView(){
+                protected Vec3d _getPosition(){
+                    return Vec3d.immutable(Cuboid.this.getX(),Cuboid.this.getY(),Cuboid.this.getZ());
+                }
+                
+                protected void _setPosition(double x,double y,double z){
+                    Cuboid.this.setCoordinates(x,y,z);
+                }
+            };
+        }
+        
         return this.__coordinates;
     }
     
     public double getDepth(){
-        return this.__dimensions.getDepth();
+        return this.__bounds.getDepth();
     }
     
+    /**
+     * Gets the cuboid's dimensions.  The dimensions returned are tied to the cuboid:  changing them resizes the cuboid, keeping its left, bottom, front corner where it is.
+     * 
+     * @return The cuboid's dimensions.
+     */
     public Dimension3D<Double> getDimensions(){
+        if(this.__dimensions == null){
+            this.__dimensions = new Dimension3D<Double>(0.0,0.0,0.0){
+                public Double getDepth(){
+                    return Cuboid.this.getDepth();
+                }
+                
+                public Double getHeight(){
+                    return Cuboid.this.getHeight();
+                }
+                
+                public Double getWidth(){
+                    return Cuboid.this.getWidth();
+                }
+                
+                public void setDepth(Double depth){
+                    Cuboid.this.setDimensions(Cuboid.this.getWidth(),Cuboid.this.getHeight(),depth);
+                }
+                
+                public void setDimensions(Double width,Double height,Double depth){
+                    Cuboid.this.setDimensions(width,height,depth);
+                }
+                
+                public void setHeight(Double height){
+                    Cuboid.this.setDimensions(Cuboid.this.getWidth(),height,Cuboid.this.getDepth());
+                }
+                
+                public void setWidth(Double width){
+                    Cuboid.this.setDimensions(width,Cuboid.this.getHeight(),Cuboid.this.getDepth());
+                }
+            };
+        }
+        
         return this.__dimensions;
     }
     
     public double getHeight(){
-        return this.__dimensions.getHeight();
+        return this.__bounds.getHeight();
+    }
+    
+    /**
+     * Copies the coordinates of the left, bottom, front corner of the cuboid into the given vector.
+     * 
+     * @param destination Vector the coordinates should be copied into.
+     * 
+     * @return The destination vector.
+     */
+    public Vec3d getPosition(Vec3d destination){
+        return destination.set(this.__bounds.getMinX(),this.__bounds.getMinY(),this.__bounds.getMinZ());
     }
     
     public double getWidth(){
-        return this.__dimensions.getWidth();
+        return this.__bounds.getWidth();
+    }
+    
+    public double getX(){
+        return this.__bounds.getMinX();
+    }
+    
+    public double getY(){
+        return this.__bounds.getMinY();
+    }
+    
+    public double getZ(){
+        return this.__bounds.getMinZ();
+    }
+    
+    /**
+     * Moves the cuboid so that its left, bottom, front corner is at the given coordinates, keeping its dimensions.
+     */
+    public void setCoordinates(double x,double y,double z){
+        this.__bounds = new Aabb3d(x,y,z,x + this.getWidth(),y + this.getHeight(),z + this.getDepth()).toImmutable();
+    }
+    
+    /**
+     * Resizes the cuboid, keeping its left, bottom, front corner where it is.
+     */
+    public void setDimensions(double width,double height,double depth){
+        this.__bounds = new Aabb3d(this.getX(),this.getY(),this.getZ(),this.getX() + width,this.getY() + height,this.getZ() + depth).toImmutable();
     }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Essential Methods*/
+    /**
+     * Checks whether any of the given cuboid's eight corners are within this cuboid.
+     * 
+     * @param cuboid Cuboid to check.
+     * 
+     * @return Returns true if any of the cuboid's corners are within this one, and false, otherwise.
+     */
+    public boolean isCornerInside(Cuboid cuboid){
+        final Aabb3d bounds = cuboid.getBounds();
+        
+        
+        for(int corner = 0;corner < 8;corner++){
+            if(this.isPointInside(
+                (corner & 1) == 0 ? bounds.getMinX() : bounds.getMaxX(),
+                (corner & 2) == 0 ? bounds.getMinY() : bounds.getMaxY(),
+                (corner & 4) == 0 ? bounds.getMinZ() : bounds.getMaxZ()
+            )){
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
     /**
      * Boolean check to determine whether a point exists within this cuboid or not.
      * 
@@ -81,17 +206,21 @@ public class Cuboid{
      * @return Method returns true if the point exists within this cuboid, and false, otherwise.
      */
     public boolean isPointInside(Point3D<Double> point){       
-        if(
-            point.getX() > this.__coordinates.getX() && point.getX() < (this.__coordinates.getX() + this.getWidth())
+        return this.isPointInside(point.getX(),point.getY(),point.getZ());
+    }
+    
+    /**
+     * Boolean check to determine whether a point exists within this cuboid or not.  Points on the cuboid's surface are not within it.
+     * 
+     * @return Method returns true if the point exists within this cuboid, and false, otherwise.
+     */
+    public boolean isPointInside(double x,double y,double z){
+        return
+            x > this.__bounds.getMinX() && x < this.__bounds.getMaxX()
             &&
-            point.getY() > this.__coordinates.getY() && point.getY() < (this.__coordinates.getY() + this.getHeight())
+            y > this.__bounds.getMinY() && y < this.__bounds.getMaxY()
             &&
-            point.getZ() > this.__coordinates.getY() && point.getZ() < (this.__coordinates.getZ() + this.getDepth())
-        ){
-            return true;
-        }else{
-            return false;
-        }
+            z > this.__bounds.getMinZ() && z < this.__bounds.getMaxZ();
     }
     /*End Other Essential Methods*/
 }
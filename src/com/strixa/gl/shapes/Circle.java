@@ -101,7 +101,7 @@ public class Circle extends StrixaPolygon{
         degrees = (point/(double)this.__fan_count)*360;
         radians = (degrees*Math.PI)/180;
         
-        end_point.getCoordinates().setPoint(Math.sin(radians)*radius,Math.cos(radians)*radius,0.0);
+        end_point.setCoordinates(Math.sin(radians)*radius,Math.cos(radians)*radius,0.0);
         
         return end_point;
     }
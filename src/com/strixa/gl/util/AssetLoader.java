@@ -0,0 +1,261 @@
+/**
+ * File:  AssetLoader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.strixa.gl.Strixa3DElement;
+
+
+/**
+ * Reads models in the background using a fixed number of threads, so that loading many models at once doesn't leave dozens of threads competing for the disk.<br />
+ * Each load is given a priority.  Waiting loads with a higher priority are started first, and loads with the same priority are started in the order they were requested.
+ * <br /><br />
+ * The results are returned as CompletableFutures.  Cancelling one removes the load if it hasn't started yet, and interrupts it otherwise, and any exception thrown while reading completes the future exceptionally.
+ *
+ * @author Nicholas Rog
+ */
+public class AssetLoader{
+    /**
+     * A single load waiting for, or running on, one of the loader's threads.
+     *
+     * @author Nicholas Rog
+     */
+    private class LoadTask implements Runnable,Comparable<LoadTask>{
+        private final LoadFuture         __future;
+        private final int                __priority;
+        private final WavefrontObjReader __reader;
+        private final long               __sequence;
+        
+        private Thread __thread;
+        
+        
+        /*Begin Constructor*/
+        public LoadTask(WavefrontObjReader reader,int priority){
+            this.__reader = reader;
+            this.__priority = priority;
+            this.__sequence = AssetLoader.this.__sequence.getAndIncrement();
+            this.__future = new LoadFuture(this);
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        public LoadFuture getFuture(){
+            return this.__future;
+        }
+        /*End Getter Methods*/
+        
+        /*Begin Other Methods*/
+        /**
+         * Orders tasks so that the one which should be started next comes first.
+         */
+        public int compareTo(LoadTask task){
+            if(this.__priority != task.__priority){
+                return this.__priority > task.__priority ? -1 : 1;
+            }
+            
+            return Long.compare(this.__sequence,task.__sequence);
+        }
+        
+        /**
+         * Stops the task, removing it from the queue if it hasn't started or interrupting its thread if it has.
+         *
+         * @param may_interrupt This should be true if the task's thread may be interrupted if it has already started.
+         */
+        public void cancel(boolean may_interrupt){
+            AssetLoader.this.__executor.remove(this);
+            
+            synchronized(this){
+                if(this.__thread != null && may_interrupt){
+                    this.__thread.interrupt();
+                }
+            }
+        }
+        
+        public void run(){
+            synchronized(this){
+                if(this.__future.isDone()){  //The load was cancelled before it could be removed from the queue.
+                    return;
+                }
+                
+                this.__thread = Thread.currentThread();
+            }
+            
+            try{
+                this.__reader.run();
+                this.__future.complete(this.__reader.getElements());
+            }catch(Throwable e){
+                this.__future.completeExceptionally(e);
+            }finally{
+                synchronized(this){
+                    this.__thread = null;
+                }
+                
+                Thread.interrupted();  //A cancellation which arrived as the read finished mustn't carry over to the next task.
+            }
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * The future returned for a load, which passes cancellation on to the load itself.
+     *
+     * @author Nicholas Rog
+     */
+    private class LoadFuture extends CompletableFuture<Strixa3DElement[]>{
+        private final LoadTask __task;
+        
+        
+        /*Begin Constructor*/
+        public LoadFuture(LoadTask task){
+            this.__task = task;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        @Override public boolean cancel(boolean may_interrupt){
+            final boolean cancelled = super.cancel(may_interrupt);
+            
+            
+            if(cancelled){
+                this.__task.cancel(may_interrupt);
+            }
+            
+            return cancelled;
+        }
+        /*End Other Methods*/
+    }
+    
+    /** Priority given to loads which aren't given one. */
+    public static final int DEFAULT_PRIORITY = 0;
+    
+    private static AssetLoader __default;
+    
+    private final ThreadPoolExecutor __executor;
+    private final AtomicLong         __sequence = new AtomicLong();
+    private final int                __thread_count;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs a loader which reads at most the given number of models at once.  Its threads are only kept while there is work for them.
+     *
+     * @param thread_count Maximum number of models to read at once.
+     */
+    public AssetLoader(int thread_count){
+        final AtomicInteger thread_number = new AtomicInteger();
+        
+        
+        if(thread_count < 1){
+            throw new IllegalArgumentException("Argument 'thread_count' must be at least 1.");
+        }
+        
+        this.__thread_count = thread_count;
+        this.__executor = new ThreadPoolExecutor(thread_count,thread_count,30,TimeUnit.SECONDS,new PriorityBlockingQueue<Runnable>(),new ThreadFactory(){
+            public Thread newThread(Runnable runnable){
+                final Thread thread = new Thread(runnable,"StrixaAssetLoader_thread_" + thread_number.incrementAndGet());
+                
+                
+                thread.setDaemon(true);  //Loads which are still waiting shouldn't keep the application running.
+                
+                return thread;
+            }
+        });
+        this.__executor.allowCoreThreadTimeOut(true);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the number of loads which have been requested but not yet started.
+     *
+     * @return The number of loads waiting to be started.
+     */
+    public int getPendingCount(){
+        return this.__executor.getQueue().size();
+    }
+    
+    public int getThreadCount(){
+        return this.__thread_count;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Reads the given reader's file in the background with the default priority.
+     *
+     * @param reader Reader to be run.
+     *
+     * @return A future which is given the reader's elements once they have been read.
+     */
+    public CompletableFuture<Strixa3DElement[]> load(WavefrontObjReader reader){
+        return this.load(reader,AssetLoader.DEFAULT_PRIORITY);
+    }
+    
+    /**
+     * Reads the given reader's file in the background.<br />
+     * <strong>Note:</strong>  A reader must not be loaded again until its previous load has finished.
+     *
+     * @param reader Reader to be run.
+     * @param priority Priority of the load.  Waiting loads with a higher priority are started first.
+     *
+     * @return A future which is given the reader's elements once they have been read.
+     */
+    public CompletableFuture<Strixa3DElement[]> load(WavefrontObjReader reader,int priority){
+        final LoadTask task;
+        
+        
+        if(reader == null){
+            throw new IllegalArgumentException("Argument 'reader' must not be null.");
+        }
+        
+        task = new LoadTask(reader,priority);
+        this.__executor.execute(task);
+        
+        return task.getFuture();
+    }
+    
+    /**
+     * Stops accepting loads.  Loads which have already been requested are still finished.
+     */
+    public void shutdown(){
+        this.__executor.shutdown();
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the loader shared by every reader which isn't given one, creating it the first time it's needed.  Unless another one is set, it reads as many models at once as there are processors, up to a maximum of 4.
+     *
+     * @return The shared loader.
+     */
+    public static synchronized AssetLoader getDefault(){
+        if(AssetLoader.__default == null){
+            AssetLoader.__default = new AssetLoader(Math.max(1,Math.min(4,Runtime.getRuntime().availableProcessors())));
+        }
+        
+        return AssetLoader.__default;
+    }
+    
+    /**
+     * Sets the loader shared by every reader which isn't given one.  The previous loader is left running, so that loads it has already been given are finished.
+     *
+     * @param loader Loader to be shared.
+     */
+    public static synchronized void setDefault(AssetLoader loader){
+        if(loader == null){
+            throw new IllegalArgumentException("Argument 'loader' must not be null.");
+        }
+        
+        AssetLoader.__default = loader;
+    }
+    /*End Static Methods*/
+}
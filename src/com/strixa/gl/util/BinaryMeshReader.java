@@ -0,0 +1,335 @@
+/**
+ * File:  BinaryMeshReader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.gl.StrixaMeshArena;
+
+
+/**
+ * Base for readers of binary mesh formats, such as PLY and STL.<br />
+ * The file is mapped into memory a piece at a time rather than being read through a stream, so files larger than 2GB can be read, and its records are decoded in parallel on a fork/join pool straight into the direct buffers of a {@link com.strixa.gl.StrixaMesh}.  Like {@link WavefrontObjReader}, the file is read when {@link #run()} is called, and the PercentLoadedUpdateListeners are alerted as it is decoded.
+ * <br /><br />
+ * If the reader is given a {@link StrixaMeshArena}, the buffers are allocated from it, so that the memory of the whole model can be released at once by closing the arena.
+ * <br /><br />
+ * <strong>Note:</strong>  PercentLoadedUpdateListeners are called from the pool's threads.
+ *
+ * @author Nicholas Rog
+ */
+public abstract class BinaryMeshReader implements Runnable{
+    /**
+     * A region of a file which has been mapped into memory, which moves along the file as it is read.  Windows are used by a single thread.
+     *
+     * @author Nicholas Rog
+     */
+    protected static class Window{
+        /** Smallest number of bytes mapped at once. */
+        private static final int __SIZE = 64 * 1024 * 1024;
+        
+        private final FileChannel __channel;
+        private final ByteOrder   __order;
+        
+        private ByteBuffer __buffer;
+        private long       __start;
+        
+        
+        /*Begin Constructor*/
+        public Window(FileChannel channel,ByteOrder order){
+            this.__channel = channel;
+            this.__order = order;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        /**
+         * Makes sure the given range of the file is mapped.
+         *
+         * @param position Position of the first byte of the range within the file.
+         * @param length Number of bytes in the range.
+         *
+         * @return The buffer the range is mapped into.  The range starts at {@link #getOffset(long)} within it.
+         *
+         * @throws IOException Thrown if the range runs past the end of the file, or could not be mapped.
+         */
+        public ByteBuffer map(long position,long length) throws IOException{
+            if(this.__buffer == null || position < this.__start || position + length > this.__start + this.__buffer.limit()){
+                if(position + length > this.__channel.size()){
+                    throw new IOException("Unexpected end of file at byte " + position + ".");
+                }
+                
+                this.__buffer = BinaryMeshReader._map(this.__channel,position,Math.min(Math.max(length,Window.__SIZE),this.__channel.size() - position),this.__order);
+                this.__start = position;
+            }
+            
+            return this.__buffer;
+        }
+        
+        /**
+         * Gets the index within the mapped buffer of the given position within the file.
+         *
+         * @param position Position within the file.  This must have been mapped by the last call to {@link #map(long,long)}.
+         *
+         * @return The index of the position within the mapped buffer.
+         */
+        public int getOffset(long position){
+            return (int)(position - this.__start);
+        }
+        /*End Other Methods*/
+    }
+    
+    private final PercentLoadedNotifier __progress;  //Listeners are alerted from the pool's threads.
+    
+    private StrixaMeshArena __arena;
+    private String          __file_location;
+    private ForkJoinPool    __fork_join_pool;
+    
+    private volatile boolean               __file_read;
+    private volatile List<Strixa3DElement> __objects;
+    
+    
+    /*Begin Constructor*/
+    public BinaryMeshReader(String file_location){
+        this(file_location,1);
+    }
+    
+    public BinaryMeshReader(String file_location,double update_step){
+        if(file_location == null || file_location.equals("")){
+            throw new IllegalArgumentException("Argument 'file_location' must not be null or empty.");
+        }
+        
+        this.__file_location = file_location;
+        this.__file_read = false;
+        this.__progress = new PercentLoadedNotifier(update_step);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the arena the meshes' buffers are allocated from.
+     *
+     * @return The arena the meshes' buffers are allocated from, or null if each buffer is left to the garbage collector.
+     */
+    public StrixaMeshArena getArena(){
+        return this.__arena;
+    }
+    
+    public Strixa3DElement[] getElements(){
+        if(!this.__file_read){
+            throw new RuntimeException("You must first call read on this object to read from the file.");
+        }
+        
+        return this.__objects.toArray(new Strixa3DElement[this.__objects.size()]);
+    }
+    
+    public String getFileLocation(){
+        return this.__file_location;
+    }
+    
+    /**
+     * Gets the pool the file's records are decoded on.
+     *
+     * @return The pool the file's records are decoded on.  If no pool has been set, the common pool is returned.
+     */
+    public ForkJoinPool getForkJoinPool(){
+        if(this.__fork_join_pool == null){
+            return ForkJoinPool.commonPool();
+        }
+        
+        return this.__fork_join_pool;
+    }
+    
+    /**
+     * Sets the arena the meshes' buffers should be allocated from.  This must be set before the file is read.
+     *
+     * @param arena Arena to be used, or null if each buffer should be left to the garbage collector.
+     */
+    public void setArena(StrixaMeshArena arena){
+        this.__arena = arena;
+    }
+    
+    /**
+     * Sets the pool the file's records should be decoded on.
+     *
+     * @param pool Pool to be used, or null to use the common pool.
+     */
+    public void setForkJoinPool(ForkJoinPool pool){
+        this.__fork_join_pool = pool;
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    public void addPercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
+        this.__progress.addPercentLoadedUpdateListener(listener);
+    }
+    
+    /**
+     * Records that more of the file has been decoded, alerting the PercentLoadedUpdateListeners if enough progress has been made.
+     *
+     * @param byte_count Number of bytes which have been decoded since the last call.
+     */
+    protected void _addBytesRead(long byte_count){
+        this.__progress.addBytesRead(byte_count);
+    }
+    
+    protected void _alertPercentLoadedUpdateListeners(double amount_loaded){
+        this.__progress.alertListeners(amount_loaded);
+    }
+    
+    /**
+     * Runs each of the given tasks on the pool, and waits for all of them to finish.
+     *
+     * @param tasks Tasks to be run.
+     *
+     * @return What each task returned, in the order the tasks were given.
+     *
+     * @throws IOException Thrown if any of the tasks threw one.
+     */
+    protected <T> List<T> _invokeAll(List<Callable<T>> tasks) throws IOException{
+        final List<Future<T>> futures = this.getForkJoinPool().invokeAll(tasks);
+        final List<T>         results = new ArrayList<T>(futures.size());
+        
+        
+        try{
+            for(Future<T> future:futures){
+                results.add(future.get());
+            }
+        }catch(InterruptedException e){
+            throw new IOException("Interrupted while waiting for the file to be decoded.");
+        }catch(ExecutionException e){
+            if(e.getCause() instanceof IOException){
+                throw (IOException)e.getCause();
+            }else if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException)e.getCause();
+            }
+            
+            throw new RuntimeException(e.getCause());
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Reads the file's elements.
+     *
+     * @param channel Channel the file can be mapped from.
+     *
+     * @return The elements held in the file.
+     *
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    protected abstract List<Strixa3DElement> _read(FileChannel channel) throws IOException;
+    
+    public void removePercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
+        this.__progress.removePercentLoadedUpdateListener(listener);
+    }
+    
+    public void run(){
+        FileInputStream file = null;
+        
+        
+        try{
+            file = new FileInputStream(this.__file_location);
+            try{
+                this.__progress.reset(Math.max(1,file.getChannel().size()));
+                
+                this.__objects = this._read(file.getChannel());
+            }finally{
+                file.close();  //Mappings stay valid after the channel has been closed.
+            }
+        }catch(FileNotFoundException e){
+            throw new RuntimeException("No such file was found in the given path:  "+this.__file_location);
+        }catch(IOException e){
+            RuntimeException exception = null;
+            
+            
+            exception = new RuntimeException(e.getMessage());
+            exception.setStackTrace(e.getStackTrace());
+            throw exception;  //We have to turn any IOExceptions into RuntimeExceptions
+        }
+        
+        this.__file_read = true;
+        this._alertPercentLoadedUpdateListeners(100);
+    }
+    
+    /**
+     * Allocates a direct buffer holding the given number of floats, from the reader's arena if it has one.
+     *
+     * @throws IOException Thrown if that many floats can't be held in a single buffer.
+     */
+    protected FloatBuffer _allocateFloats(long count) throws IOException{
+        if(count * 4 > Integer.MAX_VALUE){
+            throw new IOException("The mesh is too large to be held in memory:  " + count + " values are needed.");
+        }else if(this.__arena != null){
+            return this.__arena.allocateFloats(count);
+        }
+        
+        return ByteBuffer.allocateDirect((int)count * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+    
+    /**
+     * Allocates a direct buffer holding the given number of ints, from the reader's arena if it has one.
+     *
+     * @throws IOException Thrown if that many ints can't be held in a single buffer.
+     */
+    protected IntBuffer _allocateInts(long count) throws IOException{
+        if(count * 4 > Integer.MAX_VALUE){
+            throw new IOException("The mesh is too large to be held in memory:  " + count + " indices are needed.");
+        }else if(this.__arena != null){
+            return this.__arena.allocateInts(count);
+        }
+        
+        return ByteBuffer.allocateDirect((int)count * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+    
+    /**
+     * Constructs a mesh around the given buffers, which is released along with the reader's arena if it has one.
+     */
+    protected StrixaMesh _createMesh(int vertex_count,FloatBuffer positions,FloatBuffer texture_coordinates,FloatBuffer normals,List<StrixaMesh.Part> parts){
+        if(this.__arena != null){
+            return this.__arena.createMesh(vertex_count,positions,0,texture_coordinates,0,normals,0,parts);
+        }
+        
+        return new StrixaMesh(vertex_count,positions,0,texture_coordinates,0,normals,0,parts);
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Maps the given range of a file into memory.
+     *
+     * @param channel Channel the file can be mapped from.
+     * @param position Position of the first byte of the range within the file.
+     * @param size Number of bytes in the range.  This must be no more than Integer.MAX_VALUE.
+     * @param order Byte order the range should be read in.
+     *
+     * @return The mapped range.
+     *
+     * @throws IOException Thrown if the range could not be mapped.
+     */
+    protected static ByteBuffer _map(FileChannel channel,long position,long size,ByteOrder order) throws IOException{
+        if(size > Integer.MAX_VALUE){
+            throw new IOException("Too much of the file was mapped at once:  " + size + " bytes.");
+        }
+        
+        return channel.map(FileChannel.MapMode.READ_ONLY,position,size).order(order);
+    }
+    /*End Static Methods*/
+}
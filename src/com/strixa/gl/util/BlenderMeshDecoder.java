@@ -0,0 +1,582 @@
+/**
+ * File:  BlenderMeshDecoder.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.util.IntTripleMap;
+
+
+/**
+ * Decodes the Mesh blocks of a blender file into indexed {@link StrixaMesh}es.<br />
+ * Meshes written by Blender 2.63 through 3.4 keep their vertices, polygons, loops and texture coordinates in MVert, MPoly, MLoop and MLoopUV arrays, which are read through the file's {@link BlenderSdna}.  Later versions keep them in named attribute layers instead ("position", ".corner_vert", "material_index", and so on), which are read when the arrays aren't there.  Polygons are split up into triangles, with a mesh part for each of the mesh's materials, and vertices are split wherever their corners have different texture coordinates.  Vertices which weren't given normals are given the sum of the normals of the polygons around them.
+ * <br /><br />
+ * A decoder can be used to decode several meshes at once, from different threads.
+ *
+ * @author Nicholas Rog
+ */
+public class BlenderMeshDecoder{
+    /** Custom data layer type of 32-bit integer attributes. */
+    private static final int __LAYER_INT32 = 11;
+    /** Custom data layer type of MLoopUV arrays. */
+    private static final int __LAYER_MLOOPUV = 16;
+    /** Custom data layer type of float pair attributes. */
+    private static final int __LAYER_FLOAT2 = 49;
+    /** Custom data layer type of float triple attributes. */
+    private static final int __LAYER_FLOAT3 = 48;
+    
+    private final Map<Long,StrixaMaterial> __materials;
+    private final BlenderReader            __reader;
+    private final BlenderSdna              __sdna;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * @param reader Reader of the file the meshes are held in.  The file must already have been read.
+     * @param materials Material created for each of the file's Material blocks, by the block's old pointer.
+     */
+    public BlenderMeshDecoder(BlenderReader reader,Map<Long,StrixaMaterial> materials) throws IOException{
+        this.__reader = reader;
+        this.__sdna = reader.getSdna();
+        this.__materials = materials;
+    }
+    /*End Constructor*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Decodes the given Mesh block.
+     *
+     * @param mesh_block Block holding the Mesh structure.
+     *
+     * @return The decoded mesh.
+     *
+     * @throws IOException Thrown if the mesh's data is missing, or isn't laid out in a way which is understood.
+     */
+    public StrixaMesh decode(BlenderReader.FileBlock mesh_block) throws IOException{
+        final ByteBuffer            data = mesh_block.getData();
+        final BlenderSdna.Structure mesh = this.__sdna.getStructure("Mesh");
+        final int                   loop_count;
+        final int                   polygon_count;
+        final int                   vertex_count;
+        
+        int[]            corner_vertices = null;
+        int[]            material_indices = null;
+        StrixaMaterial[] materials = null;
+        float[]          normals = null;
+        int[]            polygon_sizes = null;
+        int[]            polygon_starts = null;
+        float[]          positions = null;
+        float[]          texture_coordinates = null;
+        
+        
+        if(mesh == null){
+            throw new IOException("The file's SDNA has no Mesh structure.");
+        }
+        
+        vertex_count = this._getCount(mesh,data,"totvert","verts_num");
+        polygon_count = this._getCount(mesh,data,"totpoly","faces_num","polys_num");
+        loop_count = this._getCount(mesh,data,"totloop","corners_num","loops_num");
+        
+        /*Vertices*/
+        positions = new float[vertex_count * 3];
+        if(this._getPointer(mesh,data,"mvert") != 0){
+            normals = this._readVertices(this._getPointer(mesh,data,"mvert"),vertex_count,positions);
+        }else if(!this._readLayer(mesh,data,new String[]{"vdata","vert_data"},BlenderMeshDecoder.__LAYER_FLOAT3,"position",positions,null)){
+            throw new IOException("The mesh has no vertices which can be read.");
+        }
+        
+        /*Polygons*/
+        polygon_starts = new int[polygon_count];
+        polygon_sizes = new int[polygon_count];
+        material_indices = new int[polygon_count];
+        if(this._getPointer(mesh,data,"mpoly") != 0){
+            this._readPolygons(this._getPointer(mesh,data,"mpoly"),polygon_count,polygon_starts,polygon_sizes,material_indices);
+        }else{
+            this._readPolygonOffsets(mesh,data,polygon_count,polygon_starts,polygon_sizes);
+            this._readLayer(mesh,data,new String[]{"pdata","face_data"},BlenderMeshDecoder.__LAYER_INT32,"material_index",null,material_indices);
+        }
+        
+        /*Loops*/
+        corner_vertices = new int[loop_count];
+        if(this._getPointer(mesh,data,"mloop") != 0){
+            this._readLoops(this._getPointer(mesh,data,"mloop"),loop_count,corner_vertices);
+        }else if(!this._readLayer(mesh,data,new String[]{"ldata","corner_data"},BlenderMeshDecoder.__LAYER_INT32,".corner_vert",null,corner_vertices)){
+            throw new IOException("The mesh has no loops which can be read.");
+        }
+        
+        /*Texture Coordinates*/
+        texture_coordinates = new float[loop_count * 2];
+        if(this._getPointer(mesh,data,"mloopuv") != 0){
+            this._readTextureCoordinates(this._getPointer(mesh,data,"mloopuv"),loop_count,texture_coordinates);
+        }else if(!this._readLayer(mesh,data,new String[]{"ldata","corner_data"},BlenderMeshDecoder.__LAYER_FLOAT2,null,texture_coordinates,null) && !this._readLayer(mesh,data,new String[]{"ldata"},BlenderMeshDecoder.__LAYER_MLOOPUV,null,texture_coordinates,null)){
+            texture_coordinates = null;
+        }
+        
+        /*Materials*/
+        materials = this._readMaterials(mesh,data);
+        
+        for(int polygon = 0;polygon < polygon_count;polygon++){
+            if(polygon_starts[polygon] < 0 || polygon_sizes[polygon] < 0 || (long)polygon_starts[polygon] + polygon_sizes[polygon] > loop_count){
+                throw new IOException("Polygon " + polygon + " refers to loops which don't exist.");
+            }
+        }
+        for(int loop = 0;loop < loop_count;loop++){
+            if(corner_vertices[loop] < 0 || corner_vertices[loop] >= vertex_count){
+                throw new IOException("Loop " + loop + " refers to a vertex which doesn't exist.");
+            }
+        }
+        
+        if(normals == null){
+            normals = BlenderMeshDecoder._calculateNormals(positions,polygon_starts,polygon_sizes,corner_vertices);
+        }
+        
+        return BlenderMeshDecoder._buildMesh(positions,normals,texture_coordinates,polygon_starts,polygon_sizes,material_indices,corner_vertices,materials);
+    }
+    
+    /**
+     * Gets the first of the given count fields which the structure has.
+     */
+    protected int _getCount(BlenderSdna.Structure structure,ByteBuffer data,String... names) throws IOException{
+        for(int index = 0;index < names.length;index++){
+            if(structure.hasField(names[index])){
+                if(structure.getInt(data,0,structure.getFieldIndex(names[index]),0) < 0){
+                    throw new IOException("The mesh has a negative " + names[index] + ".");
+                }
+                
+                return structure.getInt(data,0,structure.getFieldIndex(names[index]),0);
+            }
+        }
+        
+        throw new IOException(structure.getName() + " has none of the fields " + Arrays.toString(names) + ".");
+    }
+    
+    /**
+     * Gets the given pointer field of a structure instance at the start of the given buffer.
+     *
+     * @return The pointer, or 0 if it is null or the structure has no such field.
+     */
+    protected long _getPointer(BlenderSdna.Structure structure,ByteBuffer data,String name){
+        if(!structure.hasField(name) || !structure.isPointer(structure.getFieldIndex(name))){
+            return 0;
+        }
+        
+        return structure.getPointer(data,0,structure.getFieldIndex(name),0);
+    }
+    
+    /**
+     * Gets the block the given pointer refers to, making sure it holds at least the given number of bytes.
+     */
+    protected ByteBuffer _getPointerData(long pointer,long length,String description) throws IOException{
+        final BlenderReader.FileBlock block = this.__reader.getFileBlock(pointer);
+        
+        
+        if(block == null){
+            throw new IOException("The mesh's " + description + " could not be found.");
+        }else if(block.getDataLength() < length){
+            throw new IOException("The mesh's " + description + " are shorter than expected.");
+        }
+        
+        return block.getData();
+    }
+    
+    /**
+     * Reads an attribute layer of the mesh's custom data into the given array.  Only one of the arrays is used, according to the layer's type.
+     *
+     * @param custom_data_names Names the custom data field may have, which changed between versions of Blender.
+     * @param type Type of the layer.
+     * @param name Name of the layer, or null if the first layer of the given type should be read.
+     * @param floats Array floating point layers should be read into.
+     * @param ints Array integer layers should be read into.
+     *
+     * @return Returns true if the layer was found and read, and false if there is no such layer.
+     */
+    protected boolean _readLayer(BlenderSdna.Structure mesh,ByteBuffer data,String[] custom_data_names,int type,String name,float[] floats,int[] ints) throws IOException{
+        final BlenderSdna.Structure custom_data = this.__sdna.getStructure("CustomData");
+        final BlenderSdna.Structure layer = this.__sdna.getStructure("CustomDataLayer");
+        final BlenderSdna.Structure loop_uv = this.__sdna.getStructure("MLoopUV");
+        
+        int        base = -1;
+        ByteBuffer layers = null;
+        int        layer_count = 0;
+        ByteBuffer values = null;
+        
+        
+        if(custom_data == null || layer == null || !layer.hasField("type") || !layer.hasField("data")){
+            return false;
+        }
+        
+        for(int index = 0;index < custom_data_names.length && base == -1;index++){
+            if(mesh.hasField(custom_data_names[index])){
+                base = mesh.getOffset(mesh.getFieldIndex(custom_data_names[index]));
+            }
+        }
+        if(base == -1 || custom_data.getFieldIndex("layers") == -1 || custom_data.getFieldIndex("totlayer") == -1 || custom_data.getPointer(data,base,custom_data.getFieldIndex("layers"),0) == 0){
+            return false;
+        }
+        
+        layer_count = custom_data.getInt(data,base,custom_data.getFieldIndex("totlayer"),0);
+        layers = this._getPointerData(custom_data.getPointer(data,base,custom_data.getFieldIndex("layers"),0),(long)layer_count * layer.getSize(),"attribute layers");
+        for(int index = 0;index < layer_count;index++){
+            if(layer.getInt(layers,index * layer.getSize(),layer.getFieldIndex("type"),0) != type){
+                continue;
+            }else if(name != null && (!layer.hasField("name") || !name.equals(layer.getString(layers,index * layer.getSize(),layer.getFieldIndex("name"))))){
+                continue;
+            }else if(layer.getPointer(layers,index * layer.getSize(),layer.getFieldIndex("data"),0) == 0){
+                continue;
+            }
+            
+            switch(type){
+                case BlenderMeshDecoder.__LAYER_INT32:
+                    values = this._getPointerData(layer.getPointer(layers,index * layer.getSize(),layer.getFieldIndex("data"),0),(long)ints.length * 4,"attribute values");
+                    for(int value = 0;value < ints.length;value++){
+                        ints[value] = values.getInt(value * 4);
+                    }
+                    break;
+                case BlenderMeshDecoder.__LAYER_MLOOPUV:
+                    if(loop_uv == null){
+                        return false;
+                    }
+                    
+                    this._readTextureCoordinates(layer.getPointer(layers,index * layer.getSize(),layer.getFieldIndex("data"),0),floats.length / 2,floats);
+                    break;
+                default:
+                    values = this._getPointerData(layer.getPointer(layers,index * layer.getSize(),layer.getFieldIndex("data"),0),(long)floats.length * 4,"attribute values");
+                    for(int value = 0;value < floats.length;value++){
+                        floats[value] = values.getFloat(value * 4);
+                    }
+                    break;
+            }
+            
+            return true;
+        }
+        
+        return false;
+    }
+    
+    protected void _readLoops(long pointer,int loop_count,int[] corner_vertices) throws IOException{
+        final BlenderSdna.Structure loop = this.__sdna.getStructure("MLoop");
+        final ByteBuffer            data;
+        final int                   vertex;
+        
+        
+        if(loop == null || !loop.hasField("v")){
+            throw new IOException("The file's SDNA has no MLoop structure.");
+        }
+        
+        data = this._getPointerData(pointer,(long)loop_count * loop.getSize(),"loops");
+        vertex = loop.getFieldIndex("v");
+        for(int index = 0;index < loop_count;index++){
+            corner_vertices[index] = loop.getInt(data,index * loop.getSize(),vertex,0);
+        }
+    }
+    
+    /**
+     * Reads the materials the mesh's polygons can refer to.
+     *
+     * @return The mesh's materials.  Materials which couldn't be found are null.
+     */
+    protected StrixaMaterial[] _readMaterials(BlenderSdna.Structure mesh,ByteBuffer data) throws IOException{
+        final StrixaMaterial[] materials;
+        
+        BlenderReader.FileBlock block = null;
+        
+        
+        if(!mesh.hasField("totcol") || this._getPointer(mesh,data,"mat") == 0){
+            return new StrixaMaterial[0];
+        }
+        
+        materials = new StrixaMaterial[Math.max(0,mesh.getInt(data,0,mesh.getFieldIndex("totcol"),0))];
+        block = this.__reader.getFileBlock(this._getPointer(mesh,data,"mat"));
+        if(block == null || block.getDataLength() < materials.length * this.__sdna.getPointerSize()){
+            return materials;
+        }
+        
+        for(int index = 0;index < materials.length;index++){
+            if(this.__sdna.getPointerSize() == 8){
+                materials[index] = this.__materials.get(block.getData().getLong(index * 8));
+            }else{
+                materials[index] = this.__materials.get(block.getData().getInt(index * 4) & 0xFFFFFFFFL);
+            }
+        }
+        
+        return materials;
+    }
+    
+    /**
+     * Reads the start and size of each polygon from the offsets used by later versions of Blender.
+     */
+    protected void _readPolygonOffsets(BlenderSdna.Structure mesh,ByteBuffer data,int polygon_count,int[] polygon_starts,int[] polygon_sizes) throws IOException{
+        long       pointer = this._getPointer(mesh,data,"face_offset_indices");
+        ByteBuffer offsets = null;
+        
+        
+        if(pointer == 0){
+            pointer = this._getPointer(mesh,data,"poly_offset_indices");
+        }
+        if(pointer == 0){
+            if(polygon_count == 0){
+                return;
+            }
+            
+            throw new IOException("The mesh has no polygons which can be read.");
+        }
+        
+        offsets = this._getPointerData(pointer,(polygon_count + 1L) * 4,"polygon offsets");
+        for(int polygon = 0;polygon < polygon_count;polygon++){
+            polygon_starts[polygon] = offsets.getInt(polygon * 4);
+            polygon_sizes[polygon] = offsets.getInt((polygon + 1) * 4) - polygon_starts[polygon];
+        }
+    }
+    
+    protected void _readPolygons(long pointer,int polygon_count,int[] polygon_starts,int[] polygon_sizes,int[] material_indices) throws IOException{
+        final BlenderSdna.Structure polygon = this.__sdna.getStructure("MPoly");
+        final ByteBuffer            data;
+        final int                   loop_start;
+        final int                   material;
+        final int                   size;
+        
+        
+        if(polygon == null || !polygon.hasField("loopstart") || !polygon.hasField("totloop")){
+            throw new IOException("The file's SDNA has no MPoly structure.");
+        }
+        
+        data = this._getPointerData(pointer,(long)polygon_count * polygon.getSize(),"polygons");
+        loop_start = polygon.getFieldIndex("loopstart");
+        material = polygon.getFieldIndex("mat_nr");
+        size = polygon.getFieldIndex("totloop");
+        for(int index = 0;index < polygon_count;index++){
+            polygon_starts[index] = polygon.getInt(data,index * polygon.getSize(),loop_start,0);
+            polygon_sizes[index] = polygon.getInt(data,index * polygon.getSize(),size,0);
+            if(material != -1){
+                material_indices[index] = polygon.getInt(data,index * polygon.getSize(),material,0);
+            }
+        }
+    }
+    
+    protected void _readTextureCoordinates(long pointer,int loop_count,float[] texture_coordinates) throws IOException{
+        final BlenderSdna.Structure loop_uv = this.__sdna.getStructure("MLoopUV");
+        final ByteBuffer            data;
+        final int                   uv;
+        
+        
+        if(loop_uv == null || !loop_uv.hasField("uv")){
+            throw new IOException("The file's SDNA has no MLoopUV structure.");
+        }
+        
+        data = this._getPointerData(pointer,(long)loop_count * loop_uv.getSize(),"texture coordinates");
+        uv = loop_uv.getFieldIndex("uv");
+        for(int index = 0;index < loop_count;index++){
+            texture_coordinates[index * 2] = loop_uv.getFloat(data,index * loop_uv.getSize(),uv,0);
+            texture_coordinates[index * 2 + 1] = loop_uv.getFloat(data,index * loop_uv.getSize(),uv,1);
+        }
+    }
+    
+    /**
+     * Reads the MVert array held in the given block.
+     *
+     * @return The vertices' normals, or null if they don't have any.
+     */
+    protected float[] _readVertices(long pointer,int vertex_count,float[] positions) throws IOException{
+        final BlenderSdna.Structure vertex = this.__sdna.getStructure("MVert");
+        final int                   coordinates;
+        final ByteBuffer            data;
+        final int                   normal;
+        
+        float[] normals = null;
+        
+        
+        if(vertex == null || !vertex.hasField("co")){
+            throw new IOException("The file's SDNA has no MVert structure.");
+        }
+        
+        data = this._getPointerData(pointer,(long)vertex_count * vertex.getSize(),"vertices");
+        coordinates = vertex.getFieldIndex("co");
+        normal = vertex.getFieldIndex("no");
+        if(normal != -1){
+            normals = new float[vertex_count * 3];
+        }
+        
+        for(int index = 0;index < vertex_count;index++){
+            for(int axis = 0;axis < 3;axis++){
+                positions[index * 3 + axis] = vertex.getFloat(data,index * vertex.getSize(),coordinates,axis);
+                if(normals != null){
+                    normals[index * 3 + axis] = vertex.getFloat(data,index * vertex.getSize(),normal,axis) / 32767f;  //Normals are stored as shorts.
+                }
+            }
+        }
+        
+        return normals;
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Triangulates the mesh's polygons into a part for each material, splitting vertices whose corners have different texture coordinates.
+     */
+    protected static StrixaMesh _buildMesh(float[] positions,float[] normals,float[] texture_coordinates,int[] polygon_starts,int[] polygon_sizes,int[] material_indices,int[] corner_vertices,StrixaMaterial[] materials){
+        final int                   part_count = Math.max(1,materials.length);
+        final int[]                 part_lengths = new int[part_count];
+        final int[][]               part_indices = new int[part_count][];
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>();
+        final PolygonTriangulator   triangulator = new PolygonTriangulator();
+        final IntTripleMap          vertex_map = new IntTripleMap();
+        
+        int[]    corners = new int[16];
+        double[] coordinates = null;
+        int[]    mesh_vertices = new int[16];
+        float[]  mesh_normals = normals;
+        float[]  mesh_positions = positions;
+        float[]  mesh_texture_coordinates = null;
+        int      part = 0;
+        int      size = 0;
+        int      start = 0;
+        int[]    triangles = new int[42];
+        int      vertex = 0;
+        int      vertex_count = positions.length / 3;
+        
+        
+        for(int index = 0;index < part_count;index++){
+            part_indices[index] = new int[64];
+        }
+        
+        if(texture_coordinates != null){  //Each distinct pair of vertex and texture coordinates becomes a vertex of its own.
+            mesh_positions = new float[positions.length];
+            mesh_normals = new float[positions.length];
+            mesh_texture_coordinates = new float[positions.length / 3 * 2];
+            vertex_count = 0;
+        }
+        
+        for(int polygon = 0;polygon < polygon_starts.length;polygon++){
+            start = polygon_starts[polygon];
+            size = polygon_sizes[polygon];
+            if(size < 3){
+                continue;
+            }
+            
+            part = material_indices[polygon] >= 0 && material_indices[polygon] < part_count ? material_indices[polygon] : 0;
+            if(size > corners.length){
+                corners = new int[size];
+                mesh_vertices = new int[size];
+                triangles = new int[(size - 2) * 3];
+            }
+            
+            for(int corner = 0;corner < size;corner++){
+                corners[corner] = corner_vertices[start + corner];
+                if(texture_coordinates == null){
+                    mesh_vertices[corner] = corners[corner];
+                    
+                    continue;
+                }
+                
+                vertex = vertex_map.getOrPut(corners[corner],Float.floatToIntBits(texture_coordinates[(start + corner) * 2] + 0.0f),Float.floatToIntBits(texture_coordinates[(start + corner) * 2 + 1] + 0.0f),vertex_count);
+                if(vertex == vertex_count){
+                    if(vertex_count * 3 == mesh_positions.length){
+                        mesh_positions = Arrays.copyOf(mesh_positions,Math.max(48,mesh_positions.length * 2));
+                        mesh_normals = Arrays.copyOf(mesh_normals,mesh_positions.length);
+                        mesh_texture_coordinates = Arrays.copyOf(mesh_texture_coordinates,mesh_positions.length / 3 * 2);
+                    }
+                    
+                    System.arraycopy(positions,corners[corner] * 3,mesh_positions,vertex * 3,3);
+                    System.arraycopy(normals,corners[corner] * 3,mesh_normals,vertex * 3,3);
+                    mesh_texture_coordinates[vertex * 2] = texture_coordinates[(start + corner) * 2];
+                    mesh_texture_coordinates[vertex * 2 + 1] = texture_coordinates[(start + corner) * 2 + 1];
+                    vertex_count++;
+                }
+                mesh_vertices[corner] = vertex;
+            }
+            
+            if(part_lengths[part] + (size - 2) * 3 > part_indices[part].length){
+                part_indices[part] = Arrays.copyOf(part_indices[part],Math.max(part_indices[part].length * 2,part_lengths[part] + (size - 2) * 3));
+            }
+            
+            if(size == 3){
+                triangles[0] = 0;
+                triangles[1] = 1;
+                triangles[2] = 2;
+            }else{
+                if(coordinates == null){
+                    coordinates = new double[positions.length];
+                    for(int index = 0;index < positions.length;index++){
+                        coordinates[index] = positions[index];
+                    }
+                }
+                
+                triangulator.triangulate(coordinates,corners,size,triangles,0);
+            }
+            for(int index = 0;index < (size - 2) * 3;index++){
+                part_indices[part][part_lengths[part]++] = mesh_vertices[triangles[index]];
+            }
+        }
+        
+        for(int index = 0;index < part_count;index++){
+            if(part_lengths[index] != 0){
+                parts.add(new StrixaMesh.Part(index < materials.length ? materials[index] : null,Arrays.copyOf(part_indices[index],part_lengths[index])));
+            }
+        }
+        
+        return new StrixaMesh(
+            Arrays.copyOf(mesh_positions,vertex_count * 3),
+            mesh_texture_coordinates == null ? null : Arrays.copyOf(mesh_texture_coordinates,vertex_count * 2),
+            Arrays.copyOf(mesh_normals,vertex_count * 3),
+            parts
+        );
+    }
+    
+    /**
+     * Gives each vertex the normalized sum of the normals of the polygons around it, weighted by their areas.
+     */
+    protected static float[] _calculateNormals(float[] positions,int[] polygon_starts,int[] polygon_sizes,int[] corner_vertices){
+        final float[] normals = new float[positions.length];
+        
+        int    current = 0;
+        double length = 0;
+        int    next = 0;
+        double normal_x = 0;
+        double normal_y = 0;
+        double normal_z = 0;
+        
+        
+        for(int polygon = 0;polygon < polygon_starts.length;polygon++){
+            normal_x = 0;
+            normal_y = 0;
+            normal_z = 0;
+            for(int corner = 0;corner < polygon_sizes[polygon];corner++){  //Newell's method, which copes with polygons which aren't quite flat.
+                current = corner_vertices[polygon_starts[polygon] + corner] * 3;
+                next = corner_vertices[polygon_starts[polygon] + (corner + 1) % polygon_sizes[polygon]] * 3;
+                
+                normal_x += (positions[current + 1] - positions[next + 1]) * (positions[current + 2] + positions[next + 2]);
+                normal_y += (positions[current + 2] - positions[next + 2]) * (positions[current] + positions[next]);
+                normal_z += (positions[current] - positions[next]) * (positions[current + 1] + positions[next + 1]);
+            }
+            
+            for(int corner = 0;corner < polygon_sizes[polygon];corner++){
+                current = corner_vertices[polygon_starts[polygon] + corner] * 3;
+                
+                normals[current] += normal_x;
+                normals[current + 1] += normal_y;
+                normals[current + 2] += normal_z;
+            }
+        }
+        
+        for(int index = 0;index < normals.length;index += 3){
+            length = Math.sqrt(normals[index] * normals[index] + normals[index + 1] * normals[index + 1] + normals[index + 2] * normals[index + 2]);
+            if(length != 0){
+                normals[index] /= length;
+                normals[index + 1] /= length;
+                normals[index + 2] /= length;
+            }
+        }
+        
+        return normals;
+    }
+    /*End Static Methods*/
+}
@@ -7,15 +7,38 @@ package com.strixa.gl.util;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.util.DirectBuffers;
 
 
 /**
  * Reads in a .blend file.<br />
- * <strong>IMPORTANT NOTE:</strong>  This class is only in the first stages of being implemented and currently doesn't work.
- * 
+ * The file is mapped into memory rather than being read, and only the headers of its file blocks are looked at when it is opened.  Each block's data is handed out as a slice of the mapping when it is asked for, so blocks which are never used (UI, screens, scripts, and so on) cost nothing more than their header.  Every value is decoded in the byte order the file was saved with, so files saved on big-endian machines are read the same as any other.  Files saved with Blender's gzip compression are decompressed into a direct buffer instead of being mapped.
+ * <br /><br />
+ * {@link #getElements()} turns the file's meshes and materials into elements, decoding independent meshes in parallel on a fork/join pool.  Pointers between blocks are resolved through a hash index over the blocks' old addresses.
+ * <br /><br />
+ * Elements can only be moved, so the meshes of objects which are rotated or scaled are copied, with the rotation and scale applied to their positions and normals (see {@link MeshTransform}), and the object's location given to the element.  Objects which are only moved share the decoded mesh.
+ * <br /><br />
+ * <strong>Note:</strong>  Only the colours of materials are read; their texture slots are ignored.
+ *
  * @author Nicholas Rog
  */
 public class BlenderReader{
@@ -24,7 +47,10 @@ public class BlenderReader{
      *
      * @author Nicholas Rog
      */
-    protected static class HeaderBlock{
+    public static class HeaderBlock{
+        /** Size of the header, in bytes. */
+        public static final int SIZE = 12;
+        
         private boolean __big_endian;
         private String  __identifier;
         private int     __major_version;
@@ -43,9 +69,18 @@ public class BlenderReader{
         /*End constructor*/
         
         /*Begin Getter Methods*/
+        /**
+         * Gets the byte order the file is written in.
+         *
+         * @return The byte order the file is written in.
+         */
+        public ByteOrder getByteOrder(){
+            return this.__big_endian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        }
+        
         /**
          * Gets the identifier associated with this file.  In almost all cases, this will be "BLENDER"
-         * 
+         *
          * @return The identifier associated with this file.
          */
         public String getIdentifier(){
@@ -54,7 +89,7 @@ public class BlenderReader{
         
         /**
          * Gets the size of the pointers associated with this file.
-         * 
+         *
          * @return The size of the pointers associated with this file.
          */
         public int getPointerSize(){
@@ -71,7 +106,7 @@ public class BlenderReader{
         
         /**
          * Returns the endianness of the bytes in this file.
-         * 
+         *
          * @return Returns true if the bytes are big-endian, and false, otherwise.
          */
         public boolean isBigEndian(){
@@ -80,43 +115,109 @@ public class BlenderReader{
         /*End Getter Methods*/
     }
     
-    protected static class FileBlock{
-        public static class Structure{
-            
-        }
-        
-        private byte[] __block_data;
-        private String __identifier;
-        private int    __sdna_structure_index;
-        private int    __structure_count;
+    /**
+     * Describes one of the blocks a blender file is made up of.  The block's data is only sliced out of the file when it is asked for.
+     *
+     * @author Nicholas Rog
+     */
+    public static class FileBlock{
+        private final int        __data_length;
+        private final int        __data_offset;
+        private final ByteBuffer __file;
+        private final String     __identifier;
+        private final long       __old_pointer;
+        private final int        __sdna_structure_index;
+        private final int        __structure_count;
         
         
         /*Begin Constructor*/
-        public FileBlock(String identifier,int sdna_structure_index,int structure_count,byte[] block_data){
+        /**
+         * @param identifier Code identifying what the block holds, without any trailing zeros.
+         * @param old_pointer Address the block's data was at when the file was written.  Other blocks refer to this block using this address.
+         * @param sdna_structure_index Index of the SDNA structure the block's data is made up of.
+         * @param structure_count Number of structures in the block's data.
+         * @param file Buffer holding the entire file, in the file's byte order.
+         * @param data_offset Position of the block's data within the file.
+         * @param data_length Length of the block's data, in bytes.
+         */
+        public FileBlock(String identifier,long old_pointer,int sdna_structure_index,int structure_count,ByteBuffer file,int data_offset,int data_length){
             this.__identifier = identifier;
+            this.__old_pointer = old_pointer;
             this.__sdna_structure_index = sdna_structure_index;
             this.__structure_count = structure_count;
-            this.__block_data = block_data;
+            this.__file = file;
+            this.__data_offset = data_offset;
+            this.__data_length = data_length;
         }
         /*End Constructor*/
         
         /*Begin Getters*/
+        /**
+         * Gets the block's data as a slice of the file.  Nothing is copied.
+         *
+         * @return The block's data, in the file's byte order.
+         */
+        public ByteBuffer getData(){
+            final ByteBuffer data = this.__file.duplicate();
+            
+            
+            data.limit(this.__data_offset + this.__data_length);
+            data.position(this.__data_offset);
+            
+            return data.slice().order(this.__file.order());
+        }
+        
+        /**
+         * Gets the length of the block's data.
+         *
+         * @return The length of the block's data, in bytes.
+         */
+        public int getDataLength(){
+            return this.__data_length;
+        }
+        
         public String getIdentifier(){
             return new String(this.__identifier);
         }
+        
+        /**
+         * Gets the address the block's data was at when the file was written.  Pointers held in other blocks refer to this address.
+         *
+         * @return The address the block's data was at when the file was written.
+         */
+        public long getOldPointer(){
+            return this.__old_pointer;
+        }
+        
+        public int getSdnaStructureIndex(){
+            return this.__sdna_structure_index;
+        }
+        
+        public int getStructureCount(){
+            return this.__structure_count;
+        }
         /*End Getters*/
     }
     
-    private String          __file_location;
-    private boolean         __file_read;
-    private HeaderBlock     __header_block;
-    private List<FileBlock> __file_blocks;
+    private static final int __DEFLATE_MAXIMUM_RATIO = 1032;  //Deflate can't shrink data by any more than this.
+    private static final int __INFLATE_BUFFER_SIZE = 64 * 1024;  //Number of bytes decompressed at once.
+    private static final int __INFLATE_MAXIMUM_HINT = 64 * 1024 * 1024;  //Largest buffer allocated up front, whatever the file claims its size to be.
+    
+    private Map<Long,FileBlock>   __block_index;
+    private List<Strixa3DElement> __elements;
+    private ByteBuffer            __file;
+    private String                __file_location;
+    private boolean               __file_read;
+    private HeaderBlock           __header_block;
+    private List<FileBlock>       __file_blocks;
+    private ForkJoinPool          __fork_join_pool;
+    private BlenderSdna           __sdna;
     
     
     /*Begin Constructor*/
     /**
      * Constructs the object, making it ready to read from the given file.
-     * 
+     *
      * @param file_location Location on the file system where the blender file is located.
      */
     public BlenderReader(String file_location){
@@ -129,54 +230,354 @@ public class BlenderReader{
     }
     /*End Constructor*/
     
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets an element for each of the file's objects which are meshes, placed at the object's location.  If the file has no objects, an element is created for each of its meshes instead.  The meshes are decoded the first time this is called.
+     *
+     * @return The file's elements.
+     *
+     * @throws IOException Thrown if the file's catalogue of structures could not be read.
+     */
+    public synchronized List<Strixa3DElement> getElements() throws IOException{
+        if(this.__elements == null){
+            this.__elements = Collections.unmodifiableList(this._readElements());
+        }
+        
+        return this.__elements;
+    }
+    
+    /**
+     * Gets the block whose data was at the given address when the file was saved, which is how blocks refer to each other.
+     *
+     * @param old_pointer Address of the block's data when the file was saved.
+     *
+     * @return The block, or null if there is no block at the given address.
+     */
+    public FileBlock getFileBlock(long old_pointer){
+        if(!this.__file_read){
+            throw new RuntimeException("You must first call read on this object to read from the file.");
+        }else if(old_pointer == 0){
+            return null;
+        }
+        
+        return this.__block_index.get(old_pointer);
+    }
+    
+    /**
+     * Gets every block in the file, in the order they appear.
+     *
+     * @return Every block in the file.
+     */
+    public List<FileBlock> getFileBlocks(){
+        if(!this.__file_read){
+            throw new RuntimeException("You must first call read on this object to read from the file.");
+        }
+        
+        return this.__file_blocks;
+    }
+    
+    /**
+     * Gets every block in the file with the given identifier, in the order they appear.
+     *
+     * @param identifier Identifier of the blocks to be returned, such as "ME" or "DNA1".
+     *
+     * @return Every block in the file with the given identifier.
+     */
+    public List<FileBlock> getFileBlocks(String identifier){
+        final List<FileBlock> file_blocks = new ArrayList<FileBlock>();
+        
+        
+        for(FileBlock file_block:this.getFileBlocks()){
+            if(file_block.getIdentifier().equals(identifier)){
+                file_blocks.add(file_block);
+            }
+        }
+        
+        return file_blocks;
+    }
+    
+    public HeaderBlock getHeaderBlock(){
+        if(!this.__file_read){
+            throw new RuntimeException("You must first call read on this object to read from the file.");
+        }
+        
+        return this.__header_block;
+    }
+    
+    /**
+     * Gets the catalogue of structures which describes how the data in the file's blocks is laid out.  The catalogue is parsed the first time this is called, unless one which is identical has already been parsed for another file.
+     *
+     * @return The file's catalogue of structures.
+     *
+     * @throws IOException Thrown if the file has no DNA1 block, or it is incorrectly formatted.
+     */
+    public BlenderSdna getSdna() throws IOException{
+        final List<FileBlock> dna_blocks;
+        
+        
+        if(this.__sdna == null){
+            dna_blocks = this.getFileBlocks("DNA1");
+            if(dna_blocks.isEmpty()){
+                throw new IOException("The file has no DNA1 block:  " + this.__file_location);
+            }
+            
+            this.__sdna = BlenderSdna.get(this.__header_block,dna_blocks.get(dna_blocks.size() - 1));
+        }
+        
+        return this.__sdna;
+    }
+    
+    /**
+     * Gets the structure the given block's data is made up of.
+     *
+     * @param file_block Block whose structure should be returned.
+     *
+     * @return The block's structure, or null if the catalogue has no such structure.
+     *
+     * @throws IOException Thrown if the file's catalogue of structures could not be read.
+     */
+    public BlenderSdna.Structure getStructure(FileBlock file_block) throws IOException{
+        return this.getSdna().getStructure(file_block.getSdnaStructureIndex());
+    }
+    
+    /**
+     * Gets the pool the file's meshes are decoded on.
+     *
+     * @return The pool the file's meshes are decoded on.  If none has been set, this is the common pool.
+     */
+    public ForkJoinPool getForkJoinPool(){
+        if(this.__fork_join_pool == null){
+            return ForkJoinPool.commonPool();
+        }
+        
+        return this.__fork_join_pool;
+    }
+    
+    /**
+     * Sets the pool the file's meshes should be decoded on.
+     *
+     * @param pool Pool to be used, or null to use the common pool.
+     */
+    public void setForkJoinPool(ForkJoinPool pool){
+        this.__fork_join_pool = pool;
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Creates an element for each object which is a mesh, decoding each mesh once no matter how many objects use it.
+     */
+    protected List<Strixa3DElement> _readElements() throws IOException{
+        final List<Strixa3DElement>      elements = new ArrayList<Strixa3DElement>();
+        final Map<Long,StrixaMaterial>   materials = new HashMap<Long,StrixaMaterial>();
+        final Map<Long,StrixaMesh>       meshes = new LinkedHashMap<Long,StrixaMesh>();
+        final List<FileBlock>            mesh_blocks = this.getFileBlocks("ME");
+        final List<Callable<StrixaMesh>> tasks = new ArrayList<Callable<StrixaMesh>>();
+        final BlenderMeshDecoder         decoder;
+        final List<Future<StrixaMesh>>   futures;
+        final BlenderSdna.Structure      object;
+        
+        Strixa3DElement element = null;
+        StrixaMesh      mesh = null;
+        FileBlock       mesh_block = null;
+        ByteBuffer      object_data = null;
+        double[]        transform = new double[16];
+        
+        
+        for(FileBlock file_block:this.getFileBlocks("MA")){
+            if(this.getStructure(file_block) != null){
+                materials.put(file_block.getOldPointer(),this._readMaterial(file_block));
+            }
+        }
+        
+        decoder = new BlenderMeshDecoder(this,materials);
+        for(final FileBlock file_block:mesh_blocks){
+            tasks.add(new Callable<StrixaMesh>(){
+                public StrixaMesh call() throws IOException{
+                    return decoder.decode(file_block);
+                }
+            });
+        }
+        
+        futures = this.getForkJoinPool().invokeAll(tasks);
+        for(int index = 0;index < futures.size();index++){
+            try{
+                meshes.put(mesh_blocks.get(index).getOldPointer(),futures.get(index).get());
+            }catch(InterruptedException e){
+                throw new IOException("Interrupted while waiting for the file's meshes to be decoded.");
+            }catch(ExecutionException e){
+                if(e.getCause() instanceof IOException){
+                    System.out.println("Warning:  Skipping mesh " + index + " of " + this.__file_location + ":  " + e.getCause().getMessage());
+                }else if(e.getCause() instanceof RuntimeException){
+                    throw (RuntimeException)e.getCause();
+                }else{
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        }
+        
+        object = this.getSdna().getStructure("Object");
+        if(object == null || !object.hasField("data") || this.getFileBlocks("OB").isEmpty()){
+            for(StrixaMesh decoded_mesh:meshes.values()){
+                elements.add(BlenderReader._createElement(decoded_mesh,0,0,0));
+            }
+            
+            return elements;
+        }
+        
+        for(FileBlock file_block:this.getFileBlocks("OB")){
+            object_data = file_block.getData();
+            if(object.hasField("type") && object.getInt(object_data,0,object.getFieldIndex("type"),0) != 1){  //Only mesh objects.
+                continue;
+            }
+            
+            mesh_block = this.getFileBlock(object.getPointer(object_data,0,object.getFieldIndex("data"),0));
+            if(mesh_block == null || !meshes.containsKey(mesh_block.getOldPointer())){
+                continue;
+            }
+            
+            if(object.hasField("obmat")){
+                for(int index = 0;index < 16;index++){  //Blender stores the matrix a column at a time, with the translation in the last column.
+                    transform[index] = object.getFloat(object_data,0,object.getFieldIndex("obmat"),index);
+                }
+                
+                mesh = meshes.get(mesh_block.getOldPointer());
+                if(!MeshTransform.isTranslation(transform)){  //Objects sharing a mesh but placed differently each get a copy of their own.
+                    mesh = MeshTransform.transform(mesh,transform);
+                }
+                element = BlenderReader._createElement(mesh,transform[12],transform[13],transform[14]);
+            }else{
+                element = BlenderReader._createElement(meshes.get(mesh_block.getOldPointer()),0,0,0);
+            }
+            
+            elements.add(element);
+        }
+        
+        return elements;
+    }
+    
+    /**
+     * Creates a material from the colours of the given Material block.
+     */
+    protected StrixaMaterial _readMaterial(FileBlock file_block) throws IOException{
+        final ByteBuffer            data = file_block.getData();
+        final BlenderSdna.Structure structure = this.getStructure(file_block);
+        final StrixaMaterial        material;
+        
+        String name = "";
+        float  alpha = 1;
+        
+        
+        if(structure.getFieldStructure(0) != null && structure.getFieldStructure(0).hasField("name")){
+            name = structure.getFieldStructure(0).getString(data,structure.getOffset(0),structure.getFieldStructure(0).getFieldIndex("name"));
+            if(name.length() > 2){
+                name = name.substring(2);  //Leave off the ID code, "MA".
+            }
+        }
+        material = new StrixaMaterial(name);
+        
+        if(structure.hasField("alpha")){
+            alpha = structure.getFloat(data,0,structure.getFieldIndex("alpha"),0);
+        }else if(structure.hasField("a")){
+            alpha = structure.getFloat(data,0,structure.getFieldIndex("a"),0);
+        }
+        material.setAlpha(alpha);
+        
+        if(structure.hasField("r") && structure.hasField("g") && structure.hasField("b")){
+            material.setDiffuseColor(new float[]{
+                structure.getFloat(data,0,structure.getFieldIndex("r"),0),
+                structure.getFloat(data,0,structure.getFieldIndex("g"),0),
+                structure.getFloat(data,0,structure.getFieldIndex("b"),0),
+                alpha
+            });
+        }
+        if(structure.hasField("specr") && structure.hasField("specg") && structure.hasField("specb")){
+            material.setSpecularColor(new float[]{
+                structure.getFloat(data,0,structure.getFieldIndex("specr"),0),
+                structure.getFloat(data,0,structure.getFieldIndex("specg"),0),
+                structure.getFloat(data,0,structure.getFieldIndex("specb"),0),
+                alpha
+            });
+        }
+        if(structure.hasField("har")){
+            material.setSpecularCoefficient(structure.getInt(data,0,structure.getFieldIndex("har"),0));
+        }
+        
+        return material;
+    }
+    
+    /**
+     * Maps the file into memory and indexes its blocks, both in order and by their old addresses.  None of the blocks' data is read.
+     *
+     * @throws IOException Thrown if the file could not be read, or is not a blender file.
+     */
     public void read() throws IOException{
+        final Map<Long,FileBlock> block_index = new HashMap<Long,FileBlock>();
+        final List<FileBlock>     file_blocks = new ArrayList<FileBlock>();
+        
+        FileChannel     channel = null;
         FileInputStream blend_file = null;
         FileBlock       file_block = null;
-        byte[]          read_array = null;
-        String          tmp_string = null;
         
         
         try{
             blend_file = new FileInputStream(this.__file_location);
-            
-            //Confirm the file we're openign is a blender file.
-            this.__header_block = this.readHeaderBlock(blend_file);
-            if(!this.__header_block.getIdentifier().equals("BLENDER")){
-                throw new IOException("File given is not a blender file!");
+            channel = blend_file.getChannel();
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IOException("File is too large to be mapped into memory:  " + this.__file_location);
             }
             
-            this.__file_blocks = new ArrayList<FileBlock>();
-            while((file_block = this.readNextFileBlock(blend_file))!=null){
-                this.__file_blocks.add(file_block);
+            this.__file = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());  //The mapping stays valid after the channel has been closed.
+            if(this.__file.limit() >= 2 && (this.__file.get(0) & 0xFF) == 0x1F && (this.__file.get(1) & 0xFF) == 0x8B){
+                this.__file = BlenderReader._inflate(new GZIPInputStream(blend_file,BlenderReader.__INFLATE_BUFFER_SIZE),this.__file);
             }
-            System.out.println("TEST");
         }catch(FileNotFoundException e){
             throw new FileNotFoundException("No such file was found in the given path:  "+this.__file_location);
-        }catch(IOException e){
-            throw e;
         }finally{
-            blend_file.close();
+            if(blend_file != null){
+                blend_file.close();
+            }
         }
         
+        //Confirm the file we're opening is a blender file.
+        this.__header_block = this.readHeaderBlock(this.__file);
+        if(!this.__header_block.getIdentifier().equals("BLENDER")){
+            throw new IOException("File given is not a blender file!");
+        }
+        this.__file.order(this.__header_block.getByteOrder());
+        
+        this.__file.position(HeaderBlock.SIZE);
+        while((file_block = this.readNextFileBlock(this.__file))!=null){
+            file_blocks.add(file_block);
+            if(file_block.getOldPointer() != 0){
+                block_index.put(file_block.getOldPointer(),file_block);
+            }
+        }
+        this.__file_blocks = Collections.unmodifiableList(file_blocks);
+        this.__block_index = block_index;
+        
         this.__file_read = true;
     }
     
-    protected HeaderBlock readHeaderBlock(FileInputStream file) throws IOException{
+    protected HeaderBlock readHeaderBlock(ByteBuffer file) throws IOException{
+        final byte[] identifier = new byte[7];
+        final byte[] version = new byte[5];
+        
         boolean big_endian = false;
-        String  identifier = null;
         int     major_version = 0;
         int     minor_version = 0;
         int     pointer_size = 0;
-        byte[]  read_array = null;
         
         
-        read_array = new byte[7];
-        file.read(read_array);
-        identifier = new String(read_array);
+        if(file.limit() < HeaderBlock.SIZE){
+            throw new IOException("File given is not a blender file!");
+        }
         
-        read_array = new byte[1];
-        file.read(read_array);
-        switch((char)read_array[0]){
+        file.position(0);
+        file.get(identifier);
+        file.get(version);
+        
+        switch((char)version[0]){
             case '_':
                 pointer_size = 4;
                 break;
@@ -187,8 +588,7 @@ public class BlenderReader{
                 throw new IOException("Something, somewhere has gone horribly wrong.  The pointer size byte isn't what we were expecting at all!");
         }
         
-        file.read(read_array);
-        switch((char)read_array[0]){
+        switch((char)version[1]){
             case 'v':
                 big_endian = false;
                 break;
@@ -199,59 +599,134 @@ public class BlenderReader{
                 throw new IOException("Something, somewhere has gone horribly wrong.  The endianness byte isn't what we were expecting at all!");
         }
         
-        read_array = new byte[3];
-        file.read(read_array);
-        major_version = read_array[0] - '0';
-        minor_version = ((read_array[1] - '0')*10)+(read_array[2] - '0');
+        for(int index = 2;index < version.length;index++){
+            if(version[index] < '0' || version[index] > '9'){
+                throw new IOException("File given is not a blender file!  Its version isn't a number.");
+            }
+        }
+        major_version = version[2] - '0';
+        minor_version = ((version[3] - '0')*10)+(version[4] - '0');
         
-        return new HeaderBlock(identifier,pointer_size,big_endian,major_version,minor_version);
+        return new HeaderBlock(new String(identifier,"ISO-8859-1"),pointer_size,big_endian,major_version,minor_version);
     }
-    int data_count = 0;
-    protected FileBlock readNextFileBlock(FileInputStream file) throws IOException{
-        String block_identifier = null;
-        int    data_length = 0;
-        byte[] read_array = null;
-        int    sdna_structure_index = 0;
-        int    structure_count = 0;
+    
+    /**
+     * Reads the header of the block starting at the buffer's position, and moves the buffer past the block's data.
+     *
+     * @param file Buffer holding the entire file, in the file's byte order.
+     *
+     * @return The block, or null if the end of the file was reached.
+     *
+     * @throws IOException Thrown if the block runs past the end of the file.
+     */
+    protected FileBlock readNextFileBlock(ByteBuffer file) throws IOException{
+        final byte[] block_identifier = new byte[4];
+        final int    block_start = file.position();
         
+        int  data_length = 0;
+        int  identifier_length = 0;
+        long old_pointer = 0;
+        int  sdna_structure_index = 0;
+        int  structure_count = 0;
         
         
-        //Get the block identifier
-        read_array = new byte[4];
-        file.read(read_array);
-        block_identifier = new String(read_array);
-        if(block_identifier.equals("ENDB")){
+        if(file.remaining() < 16 + this.__header_block.getPointerSize()){
+            throw new IOException("The file ended before its last block.");
+        }
+        
+        //Get the block identifier, leaving off any trailing zeros.
+        file.get(block_identifier);
+        for(int index = 0;index < 4;index++){
+            if(block_identifier[index] != 0){
+                identifier_length = index + 1;
+            }
+        }
+        if(identifier_length == 4 && block_identifier[0] == 'E' && block_identifier[1] == 'N' && block_identifier[2] == 'D' && block_identifier[3] == 'B'){
             return null;
-        }else if(block_identifier.equals("DATA")){
-            data_count++;
         }
         
-        //Get the block data length.
-        file.read(read_array);
-        data_length = (read_array[3] << 24) + (read_array[2] << 16) + (read_array[1] << 8) + read_array[0];
+        data_length = file.getInt();
+        if(this.__header_block.getPointerSize() == 8){
+            old_pointer = file.getLong();
+        }else{
+            old_pointer = file.getInt() & 0xFFFFFFFFL;
+        }
+        sdna_structure_index = file.getInt();
+        structure_count = file.getInt();
         
-        //Skip over the old memory address.
-        file.skip(this.__header_block.getPointerSize());
+        if(data_length < 0 || data_length > file.remaining()){
+            throw new IOException("The block starting at byte " + block_start + " runs past the end of the file.");
+        }else if(sdna_structure_index < 0 || structure_count < 0){
+            throw new IOException("The block starting at byte " + block_start + " has a negative structure index or count.");
+        }
+        file.position(file.position() + data_length);
         
-        //Get the block SDNA index.
-        file.read(read_array);
-        if(this.__header_block.isBigEndian()){
-            sdna_structure_index = (read_array[0] << 24) + (read_array[1] << 16) + (read_array[2] << 8) + read_array[3];
-        }else{
-            sdna_structure_index = (read_array[3] << 24) + (read_array[2] << 16) + (read_array[1] << 8) + read_array[0];
+        return new FileBlock(new String(block_identifier,0,identifier_length,"ISO-8859-1"),old_pointer,sdna_structure_index,structure_count,file,file.position() - data_length,data_length);
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Decompresses the given stream into a direct buffer.  The buffer starts out at the size given by the gzip trailer, as long as that size is one the compressed file could actually hold and isn't too large, and grows whenever the file turns out to be larger than that.  The buffer it grew out of is released straight away.
+     *
+     * @param input Stream of the decompressed file.
+     * @param compressed The compressed file, whose gzip trailer hints at the size of the decompressed file.
+     *
+     * @return The decompressed file.
+     *
+     * @throws IOException Thrown if the file could not be decompressed, or is too large to be held in a buffer.
+     */
+    protected static ByteBuffer _inflate(InputStream input,ByteBuffer compressed) throws IOException{
+        final byte[] chunk = new byte[BlenderReader.__INFLATE_BUFFER_SIZE];
+        
+        ByteBuffer file = null;
+        long       expected_length = 0;
+        ByteBuffer grown_file = null;
+        int        read = 0;
+        
+        
+        if(compressed.limit() >= 4){
+            expected_length = compressed.order(ByteOrder.LITTLE_ENDIAN).getInt(compressed.limit() - 4) & 0xFFFFFFFFL;  //Only the lowest 32 bits of the size are kept, so this is a hint.
+        }
+        expected_length = Math.max(expected_length,compressed.limit() * 4L);
+        expected_length = Math.min(expected_length,compressed.limit() * (long)BlenderReader.__DEFLATE_MAXIMUM_RATIO);  //The trailer can't be trusted, so nothing more is allocated up front than the file could hold, or than the hint limit allows.
+        expected_length = Math.min(expected_length,BlenderReader.__INFLATE_MAXIMUM_HINT);
+        file = ByteBuffer.allocateDirect((int)expected_length);
+        
+        try{
+            while((read = input.read(chunk)) != -1){
+                if(read > file.remaining()){
+                    if(file.position() + (long)read > Integer.MAX_VALUE - 8){
+                        throw new IOException("Decompressed file is too large to be held in a buffer.");
+                    }
+                    
+                    file.flip();
+                    grown_file = ByteBuffer.allocateDirect((int)Math.min(Integer.MAX_VALUE - 8,Math.max(file.limit() + (long)read,file.limit() * 2L))).put(file);
+                    DirectBuffers.free(file);  //Otherwise every smaller buffer would stay in use until the garbage collector got around to it.
+                    file = grown_file;
+                }
+                
+                file.put(chunk,0,read);
+            }
+        }finally{
+            input.close();
         }
+        file.flip();
+        
+        return file;
+    }
+    
+    protected static Strixa3DElement _createElement(StrixaMesh mesh,double x,double y,double z){
+        final Strixa3DElement element = new Strixa3DElement();
         
-        //Get the block structure count.
-        file.read(read_array);
-        structure_count = (read_array[3] << 24) + (read_array[2] << 16) + (read_array[1] << 8) + read_array[0];
         
-        if(data_length>0){
-            read_array = new byte[data_length];
-            file.read(read_array);
-        }else{
-            read_array = null;
+        element.setMesh(mesh);
+        if(!mesh.getParts().isEmpty()){
+            element.setMaterial(mesh.getParts().get(0).getMaterial());
         }
+        element.setCoordinates(x,y,z);
         
-        return new FileBlock(block_identifier,sdna_structure_index,structure_count,read_array);
+        return element;
     }
+    /*End Static Methods*/
 }
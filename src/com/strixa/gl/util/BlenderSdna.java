@@ -0,0 +1,594 @@
+/**
+ * File:  BlenderSdna.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+
+/**
+ * The catalogue of structures (SDNA) held in a blender file's DNA1 block, which describes how the data in every other block is laid out.<br />
+ * Each structure is compiled once into tables of its fields' offsets, types and array sizes, and its fields are then read straight out of a block's buffer through their index, without reflection or any objects being created.  Catalogues are cached by the Blender version and pointer size of the file they came from, so opening several files from the same version of Blender only parses the catalogue once.
+ * <br /><br />
+ * Fields are looked up by their bare name, without any pointer or array decoration.  For example, the field declared as "float co[3]" is found using "co", and "struct MVert *mvert" using "mvert".  Fields can come and go between versions of Blender, so callers should check that the fields they need exist.
+ *
+ * @author Nicholas Rog
+ */
+public class BlenderSdna{
+    /**
+     * A compiled structure.  Fields are referred to by their index, which can be looked up once using {@link #getFieldIndex(String)} and then used to read the field from any number of instances.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Structure{
+        private final int[]               __array_sizes;
+        private final int[]               __element_sizes;
+        private final Map<String,Integer> __field_indices = new HashMap<String,Integer>();
+        private final String[]            __field_names;
+        private final Structure[]         __field_structures;
+        private final String[]            __field_types;
+        private final int[]               __kinds;
+        private final String              __name;
+        private final int[]               __offsets;
+        private final int                 __pointer_size;
+        private final int                 __size;
+        
+        
+        /*Begin Constructor*/
+        protected Structure(String name,int size,int pointer_size,int field_count){
+            this.__name = name;
+            this.__size = size;
+            this.__pointer_size = pointer_size;
+            
+            this.__array_sizes = new int[field_count];
+            this.__element_sizes = new int[field_count];
+            this.__field_names = new String[field_count];
+            this.__field_structures = new Structure[field_count];
+            this.__field_types = new String[field_count];
+            this.__kinds = new int[field_count];
+            this.__offsets = new int[field_count];
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        /**
+         * Gets the number of elements in the given field, which is greater than 1 for arrays.  Multi-dimensional arrays are counted as a single flat array.
+         */
+        public int getArraySize(int field){
+            return this.__array_sizes[field];
+        }
+        
+        /**
+         * Gets the given element of the given field as a double.  Integer fields are converted.
+         *
+         * @param data Buffer holding the structure instance.
+         * @param base Position of the structure instance within the buffer.
+         * @param field Index of the field.
+         * @param element Index of the element within the field, if it is an array.
+         *
+         * @return The element's value.
+         */
+        public double getDouble(ByteBuffer data,int base,int field,int element){
+            final int position = base + this.__offsets[field] + element * this.__element_sizes[field];
+            
+            
+            switch(this.__kinds[field]){
+                case BlenderSdna.__KIND_FLOAT:
+                    return data.getFloat(position);
+                case BlenderSdna.__KIND_DOUBLE:
+                    return data.getDouble(position);
+                default:
+                    return this.getLong(data,base,field,element);
+            }
+        }
+        
+        public int getFieldCount(){
+            return this.__field_names.length;
+        }
+        
+        /**
+         * Gets the index of the field with the given name.
+         *
+         * @param name Bare name of the field.
+         *
+         * @return The index of the field, or -1 if the structure has no such field.
+         */
+        public int getFieldIndex(String name){
+            final Integer index = this.__field_indices.get(name);
+            
+            
+            return index == null ? -1 : index;
+        }
+        
+        public String getFieldName(int field){
+            return this.__field_names[field];
+        }
+        
+        /**
+         * Gets the structure the given field is made up of.
+         *
+         * @return The structure the field is made up of, or null if it is a pointer or isn't a structure.
+         */
+        public Structure getFieldStructure(int field){
+            return this.__field_structures[field];
+        }
+        
+        /**
+         * Gets the name of the type the given field is declared with, such as "float" or "MVert".
+         */
+        public String getFieldType(int field){
+            return this.__field_types[field];
+        }
+        
+        /**
+         * Gets the given element of the given field as a float.  Integer and double fields are converted.
+         *
+         * @see #getDouble(ByteBuffer,int,int,int)
+         */
+        public float getFloat(ByteBuffer data,int base,int field,int element){
+            if(this.__kinds[field] == BlenderSdna.__KIND_FLOAT){
+                return data.getFloat(base + this.__offsets[field] + element * 4);
+            }
+            
+            return (float)this.getDouble(data,base,field,element);
+        }
+        
+        /**
+         * Copies every element of the given field into the given array.  Integer and double fields are converted.
+         *
+         * @param destination Array the elements should be copied into.
+         * @param destination_offset Index within the array the first element should be copied to.
+         *
+         * @see #getDouble(ByteBuffer,int,int,int)
+         */
+        public void getFloats(ByteBuffer data,int base,int field,float[] destination,int destination_offset){
+            for(int element = 0;element < this.__array_sizes[field];element++){
+                destination[destination_offset + element] = this.getFloat(data,base,field,element);
+            }
+        }
+        
+        /**
+         * Gets the given element of the given field as an int.
+         *
+         * @see #getLong(ByteBuffer,int,int,int)
+         */
+        public int getInt(ByteBuffer data,int base,int field,int element){
+            if(this.__kinds[field] == BlenderSdna.__KIND_INTEGER && this.__element_sizes[field] == 4){
+                return data.getInt(base + this.__offsets[field] + element * 4);
+            }
+            
+            return (int)this.getLong(data,base,field,element);
+        }
+        
+        /**
+         * Gets the given element of the given field as a long.  Integers are sign extended, or not, according to the field's type, and floating point values are truncated.
+         *
+         * @param data Buffer holding the structure instance.
+         * @param base Position of the structure instance within the buffer.
+         * @param field Index of the field.
+         * @param element Index of the element within the field, if it is an array.
+         *
+         * @return The element's value, or 0 if the field isn't a number.
+         */
+        public long getLong(ByteBuffer data,int base,int field,int element){
+            final int position = base + this.__offsets[field] + element * this.__element_sizes[field];
+            
+            
+            switch(this.__kinds[field]){
+                case BlenderSdna.__KIND_INTEGER:
+                    switch(this.__element_sizes[field]){
+                        case 1:
+                            return data.get(position);
+                        case 2:
+                            return data.getShort(position);
+                        case 4:
+                            return data.getInt(position);
+                        default:
+                            return data.getLong(position);
+                    }
+                case BlenderSdna.__KIND_UNSIGNED_INTEGER:
+                    switch(this.__element_sizes[field]){
+                        case 1:
+                            return data.get(position) & 0xFF;
+                        case 2:
+                            return data.getShort(position) & 0xFFFF;
+                        case 4:
+                            return data.getInt(position) & 0xFFFFFFFFL;
+                        default:
+                            return data.getLong(position);
+                    }
+                case BlenderSdna.__KIND_FLOAT:
+                    return (long)data.getFloat(position);
+                case BlenderSdna.__KIND_DOUBLE:
+                    return (long)data.getDouble(position);
+                default:
+                    return 0;
+            }
+        }
+        
+        public String getName(){
+            return this.__name;
+        }
+        
+        /**
+         * Gets the offset of the given field from the start of the structure.
+         */
+        public int getOffset(int field){
+            return this.__offsets[field];
+        }
+        
+        /**
+         * Gets the given element of the given pointer field.
+         *
+         * @return The address the pointer held when the file was written, which refers to the old pointer of a file block.  This is 0 for null pointers.
+         */
+        public long getPointer(ByteBuffer data,int base,int field,int element){
+            final int position = base + this.__offsets[field] + element * this.__pointer_size;
+            
+            
+            if(this.__pointer_size == 8){
+                return data.getLong(position);
+            }
+            
+            return data.getInt(position) & 0xFFFFFFFFL;
+        }
+        
+        /**
+         * Gets the size of the structure, which is the distance between neighbouring instances of it within a block.
+         */
+        public int getSize(){
+            return this.__size;
+        }
+        
+        /**
+         * Gets the given char array field as a string, up to its first zero.
+         */
+        public String getString(ByteBuffer data,int base,int field){
+            final int           start = base + this.__offsets[field];
+            final StringBuilder string = new StringBuilder();
+            
+            byte character = 0;
+            
+            
+            for(int index = 0;index < this.__array_sizes[field] * this.__element_sizes[field];index++){
+                character = data.get(start + index);
+                if(character == 0){
+                    break;
+                }
+                
+                string.append((char)(character & 0xFF));
+            }
+            
+            return string.toString();
+        }
+        
+        /**
+         * Checks whether the structure has a field with the given name.
+         */
+        public boolean hasField(String name){
+            return this.__field_indices.containsKey(name);
+        }
+        
+        public boolean isPointer(int field){
+            return this.__kinds[field] == BlenderSdna.__KIND_POINTER;
+        }
+        /*End Getter Methods*/
+    }
+    
+    private static final Map<String,BlenderSdna> __cache = new ConcurrentHashMap<String,BlenderSdna>();
+    private static final int                     __KIND_DOUBLE = 1;
+    private static final int                     __KIND_FLOAT = 2;
+    private static final int                     __KIND_INTEGER = 3;
+    private static final int                     __KIND_OTHER = 4;
+    private static final int                     __KIND_POINTER = 5;
+    private static final int                     __KIND_STRUCTURE = 6;
+    private static final int                     __KIND_UNSIGNED_INTEGER = 7;
+    
+    private final int                   __pointer_size;
+    private final Structure[]           __structures;
+    private final Map<String,Structure> __structure_map = new HashMap<String,Structure>();
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Parses and compiles the catalogue held in the given DNA1 block.
+     *
+     * @param data Data of the DNA1 block, in the file's byte order.
+     * @param pointer_size Size of the file's pointers.
+     *
+     * @throws IOException Thrown if the catalogue is incorrectly formatted.
+     */
+    public BlenderSdna(ByteBuffer data,int pointer_size) throws IOException{
+        final String[] names;
+        final int[]    type_lengths;
+        final String[] types;
+        
+        int[]   field_counts = null;
+        int[][] field_declarations = null;
+        int     structure_count = 0;
+        int[]   structure_types = null;
+        
+        
+        this.__pointer_size = pointer_size;
+        
+        try{
+            data.position(0);
+            BlenderSdna._expect(data,"SDNA");
+            BlenderSdna._expect(data,"NAME");
+            names = BlenderSdna._readStrings(data,data.getInt());
+            
+            BlenderSdna._align(data);
+            BlenderSdna._expect(data,"TYPE");
+            types = BlenderSdna._readStrings(data,data.getInt());
+            
+            BlenderSdna._align(data);
+            BlenderSdna._expect(data,"TLEN");
+            type_lengths = new int[types.length];
+            for(int index = 0;index < types.length;index++){
+                type_lengths[index] = data.getShort() & 0xFFFF;
+            }
+            
+            BlenderSdna._align(data);
+            BlenderSdna._expect(data,"STRC");
+            structure_count = data.getInt();
+            if(structure_count < 0){
+                throw new IOException("Invalid SDNA structure count:  " + structure_count);
+            }
+            
+            structure_types = new int[structure_count];
+            field_counts = new int[structure_count];
+            field_declarations = new int[structure_count][];
+            for(int index = 0;index < structure_count;index++){
+                structure_types[index] = data.getShort() & 0xFFFF;
+                field_counts[index] = data.getShort() & 0xFFFF;
+                field_declarations[index] = new int[field_counts[index] * 2];
+                for(int field = 0;field < field_counts[index] * 2;field++){
+                    field_declarations[index][field] = data.getShort() & 0xFFFF;
+                }
+            }
+        }catch(RuntimeException e){  //Covers running off the end of the block, along with indices which are out of range.
+            throw new IOException("The file's SDNA is incorrectly formatted:  " + e);
+        }
+        
+        this.__structures = new Structure[structure_count];
+        for(int index = 0;index < structure_count;index++){
+            if(structure_types[index] >= types.length){
+                throw new IOException("SDNA structure " + index + " has an unknown type.");
+            }
+            
+            this.__structures[index] = new Structure(types[structure_types[index]],type_lengths[structure_types[index]],pointer_size,field_counts[index]);
+            this.__structure_map.put(this.__structures[index].getName(),this.__structures[index]);
+        }
+        
+        for(int index = 0;index < structure_count;index++){
+            this._compile(this.__structures[index],field_declarations[index],names,types,type_lengths);
+        }
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    public int getPointerSize(){
+        return this.__pointer_size;
+    }
+    
+    /**
+     * Gets the structure with the given index, which is how file blocks refer to the structure their data is made up of.
+     *
+     * @param index Index of the structure.
+     *
+     * @return The structure, or null if there is no such structure.
+     */
+    public Structure getStructure(int index){
+        if(index < 0 || index >= this.__structures.length){
+            return null;
+        }
+        
+        return this.__structures[index];
+    }
+    
+    /**
+     * Gets the structure with the given name, such as "Mesh" or "MVert".
+     *
+     * @param name Name of the structure.
+     *
+     * @return The structure, or null if there is no such structure.
+     */
+    public Structure getStructure(String name){
+        return this.__structure_map.get(name);
+    }
+    
+    public int getStructureCount(){
+        return this.__structures.length;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Fills in the tables of the given structure from its field declarations.
+     */
+    protected void _compile(Structure structure,int[] declarations,String[] names,String[] types,int[] type_lengths) throws IOException{
+        int    array_size = 0;
+        String declaration = null;
+        int    offset = 0;
+        String type = null;
+        
+        
+        for(int field = 0;field < declarations.length / 2;field++){
+            if(declarations[field * 2] >= types.length || declarations[field * 2 + 1] >= names.length){
+                throw new IOException("A field of SDNA structure " + structure.getName() + " has an unknown type or name.");
+            }
+            
+            type = types[declarations[field * 2]];
+            declaration = names[declarations[field * 2 + 1]];
+            array_size = BlenderSdna._getArraySize(declaration);
+            
+            structure.__field_names[field] = BlenderSdna._getBareName(declaration);
+            structure.__field_types[field] = type;
+            structure.__array_sizes[field] = array_size;
+            structure.__offsets[field] = offset;
+            if(declaration.startsWith("*") || declaration.startsWith("(*")){
+                structure.__kinds[field] = BlenderSdna.__KIND_POINTER;
+                structure.__element_sizes[field] = this.__pointer_size;
+            }else{
+                structure.__kinds[field] = BlenderSdna._getKind(type,this.__structure_map.containsKey(type));
+                structure.__element_sizes[field] = type_lengths[declarations[field * 2]];
+                structure.__field_structures[field] = this.__structure_map.get(type);
+            }
+            if(!structure.__field_indices.containsKey(structure.__field_names[field])){
+                structure.__field_indices.put(structure.__field_names[field],field);
+            }
+            
+            offset += structure.__element_sizes[field] * array_size;
+        }
+        
+        if(offset != structure.getSize()){
+            System.out.println("Warning:  The fields of SDNA structure " + structure.getName() + " take up " + offset + " bytes, but it is " + structure.getSize() + " bytes long.");
+        }
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    protected static void _align(ByteBuffer data){
+        data.position((data.position() + 3) & ~3);
+    }
+    
+    protected static void _expect(ByteBuffer data,String identifier) throws IOException{
+        for(int index = 0;index < identifier.length();index++){
+            if(data.get() != identifier.charAt(index)){
+                throw new IOException("The file's SDNA is incorrectly formatted:  Expected '" + identifier + "' at byte " + (data.position() - index - 1) + ".");
+            }
+        }
+    }
+    
+    /**
+     * Gets the catalogue held in the given DNA1 block, parsing it only if an identical catalogue hasn't already been parsed.
+     *
+     * @param header Header of the file the block came from.
+     * @param dna_block The file's DNA1 block.
+     *
+     * @return The catalogue.
+     *
+     * @throws IOException Thrown if the catalogue is incorrectly formatted.
+     */
+    public static BlenderSdna get(BlenderReader.HeaderBlock header,BlenderReader.FileBlock dna_block) throws IOException{
+        final CRC32      checksum = new CRC32();
+        final ByteBuffer data = dna_block.getData();
+        final String     key;
+        
+        BlenderSdna sdna = null;
+        
+        
+        checksum.update(data.duplicate());  //Builds of the same version can still differ, so the catalogue itself is part of the key.
+        key = header.getMajorVersion() + "." + header.getMinorVersion() + "/" + header.getPointerSize() + "/" + header.getByteOrder() + "/" + data.limit() + "/" + checksum.getValue();
+        
+        sdna = BlenderSdna.__cache.get(key);
+        if(sdna == null){
+            sdna = new BlenderSdna(data,header.getPointerSize());
+            
+            BlenderSdna.__cache.put(key,sdna);
+        }
+        
+        return sdna;
+    }
+    
+    /**
+     * Gets the number of elements declared by a field name, such as 12 for "mat[3][4]", or 1 if it isn't an array.
+     */
+    protected static int _getArraySize(String declaration){
+        int array_size = 1;
+        int end = 0;
+        int start = declaration.indexOf('[');
+        
+        
+        while(start != -1){
+            end = declaration.indexOf(']',start);
+            if(end == -1){
+                break;
+            }
+            
+            try{
+                array_size *= Integer.parseInt(declaration.substring(start + 1,end).trim());
+            }catch(NumberFormatException e){
+                break;
+            }
+            start = declaration.indexOf('[',end);
+        }
+        
+        return array_size;
+    }
+    
+    /**
+     * Gets a field name without its pointer, function pointer or array decoration, such as "func" for "(*func)()".
+     */
+    protected static String _getBareName(String declaration){
+        final StringBuilder name = new StringBuilder();
+        
+        char character = 0;
+        
+        
+        for(int index = 0;index < declaration.length();index++){
+            character = declaration.charAt(index);
+            if(character == '['){
+                break;
+            }else if(character == '*' || character == '('){
+                continue;
+            }else if(character == ')'){
+                break;
+            }
+            
+            name.append(character);
+        }
+        
+        return name.toString().trim();
+    }
+    
+    protected static int _getKind(String type,boolean structure){
+        if(structure){
+            return BlenderSdna.__KIND_STRUCTURE;
+        }else if(type.equals("float")){
+            return BlenderSdna.__KIND_FLOAT;
+        }else if(type.equals("double")){
+            return BlenderSdna.__KIND_DOUBLE;
+        }else if(type.equals("char") || type.equals("short") || type.equals("int") || type.equals("long") || type.equals("int8_t") || type.equals("int16_t") || type.equals("int32_t") || type.equals("int64_t")){
+            return BlenderSdna.__KIND_INTEGER;
+        }else if(type.equals("uchar") || type.equals("ushort") || type.equals("uint") || type.equals("ulong") || type.equals("uint8_t") || type.equals("uint16_t") || type.equals("uint32_t") || type.equals("uint64_t")){
+            return BlenderSdna.__KIND_UNSIGNED_INTEGER;
+        }
+        
+        return BlenderSdna.__KIND_OTHER;
+    }
+    
+    /**
+     * Reads the given number of zero-terminated strings.
+     */
+    protected static String[] _readStrings(ByteBuffer data,int count) throws IOException{
+        final String[]      strings;
+        final StringBuilder string = new StringBuilder();
+        
+        byte character = 0;
+        
+        
+        if(count < 0){
+            throw new IOException("Invalid SDNA string count:  " + count);
+        }
+        
+        strings = new String[count];
+        for(int index = 0;index < count;index++){
+            string.setLength(0);
+            while((character = data.get()) != 0){
+                string.append((char)(character & 0xFF));
+            }
+            
+            strings[index] = string.toString();
+        }
+        
+        return strings;
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,69 @@
+/**
+ * File:  CompressedInput.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * Recognizes compressed files by their extension, and decompresses them as they are read.<br />
+ * Files ending in '.gz' are read as gzip files, while files ending in '.zz' or '.deflate' are read as zlib (deflate) streams.
+ *
+ * @author Nicholas Rog
+ */
+public class CompressedInput{
+    /** Number of compressed bytes read from the underlying stream at once. */
+    private static final int __INPUT_BUFFER_SIZE = 64 * 1024;
+    
+    
+    /*Begin Static Methods*/
+    /**
+     * Wraps the given stream in one which decompresses it, according to the given file name's extension.
+     *
+     * @param input Stream containing the file's contents.
+     * @param filename Name of the file.
+     *
+     * @return A stream of the file's decompressed contents, or the given stream if the file isn't compressed.
+     *
+     * @throws IOException Thrown if the file's header could not be read.
+     */
+    public static InputStream decompress(InputStream input,String filename) throws IOException{
+        final String name = filename.toLowerCase();
+        
+        
+        if(name.endsWith(".gz")){
+            return new GZIPInputStream(input,CompressedInput.__INPUT_BUFFER_SIZE);
+        }else if(name.endsWith(".zz") || name.endsWith(".deflate")){
+            return new InflaterInputStream(input,new Inflater(),CompressedInput.__INPUT_BUFFER_SIZE){
+                @Override public void close() throws IOException{
+                    super.close();
+                    
+                    this.inf.end();  //The inflater was given to the stream, so the stream won't free it itself.
+                }
+            };
+        }
+        
+        return input;
+    }
+    
+    /**
+     * Checks whether the given file will be decompressed by {@link #decompress(InputStream,String)}.
+     *
+     * @param filename Name of the file.
+     *
+     * @return Returns true if the file is compressed, and false, otherwise.
+     */
+    public static boolean isCompressed(String filename){
+        final String name = filename.toLowerCase();
+        
+        
+        return name.endsWith(".gz") || name.endsWith(".zz") || name.endsWith(".deflate");
+    }
+    /*End Static Methods*/
+}
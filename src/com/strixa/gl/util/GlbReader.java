@@ -0,0 +1,878 @@
+/**
+ * File:  GlbReader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.util.JsonReader;
+
+
+/**
+ * Reads a binary glTF 2.0 (.glb) file.<br />
+ * The file is mapped into memory, and its accessors are handed out as slices of the mapping rather than being copied.  Each triangle primitive becomes an element whose {@link StrixaMesh} is built directly around the slices, interleaved or not, so that the vertex data goes from the file to OpenGL without being parsed.  Only indices smaller than 32 bits, and texture coordinates which aren't stored as floats, are copied, since OpenGL is always given 32-bit indices and float texture coordinates.
+ * <br /><br />
+ * Every node in the default scene which holds a mesh becomes one element per primitive, placed at the node's translation (including that of its parents).  Nodes used more than once share the same meshes.  Materials are turned into StrixaMaterials using their base colour and base colour texture.
+ * <br /><br />
+ * <strong>Note:</strong>  Strixa3DElements can only be moved, so the meshes of nodes which are rotated or scaled (by themselves or by their parents) are copied, with the rotation and scale applied to their positions and normals (see {@link MeshTransform}).  Only nodes which are at most moved are drawn straight from the file.  Sparse accessors, and primitives which aren't made up of triangles, aren't supported.
+ *
+ * @author Nicholas Rog
+ */
+public class GlbReader{
+    /** Extension given to binary glTF files. */
+    public static final String EXTENSION = ".glb";
+    
+    private static final int     __CHUNK_BIN = 0x004E4942;  //"BIN\0"
+    private static final int     __CHUNK_JSON = 0x4E4F534A;  //"JSON"
+    private static final Charset __CHARSET = Charset.forName("UTF-8");
+    private static final int     __COMPONENT_BYTE = 5120;
+    private static final int     __COMPONENT_FLOAT = 5126;
+    private static final int     __COMPONENT_SHORT = 5122;
+    private static final int     __COMPONENT_UNSIGNED_BYTE = 5121;
+    private static final int     __COMPONENT_UNSIGNED_INT = 5125;
+    private static final int     __COMPONENT_UNSIGNED_SHORT = 5123;
+    private static final int     __MAGIC = 0x46546C67;  //"glTF"
+    private static final int     __MODE_TRIANGLES = 4;
+    private static final int     __VERSION = 2;
+    
+    private List<Object>                   __accessors;
+    private List<Object>                   __buffer_views;
+    private ByteBuffer[]                   __buffers;
+    private File                           __file;
+    private Map<String,Object>             __json;
+    private StrixaMaterial[]               __materials;
+    private Map<Integer,List<StrixaMesh>>  __meshes;
+    
+    
+    /*Begin Constructor*/
+    public GlbReader(String file_location){
+        if(file_location == null || file_location.equals("")){
+            throw new IllegalArgumentException("Argument 'file_location' must not be null or empty.");
+        }
+        
+        this.__file = new File(file_location);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the given accessor's data as a slice of the file, starting at its first element.  Nothing is copied unless the accessor has no buffer view, in which case its elements are all zero.<br />
+     * The slice runs to the end of the accessor's buffer view, so elements which are interleaved with others are separated by {@link #getAccessorStride(int)} bytes.  Every one of the accessor's elements is checked to lie within the buffer view, since the slice may be handed straight to OpenGL.
+     *
+     * @param accessor Index of the accessor.
+     *
+     * @return The accessor's data, in little-endian byte order.
+     *
+     * @throws IOException Thrown if the file could not be read, or the accessor is incorrectly formatted.
+     */
+    public ByteBuffer getAccessor(int accessor) throws IOException{
+        final Map<String,Object> description = this._getAccessorDescription(accessor);
+        final int                count = this.getAccessorCount(accessor);
+        final int                element_size = this._getElementSize(description);
+        final int                offset = GlbReader._getInt(description,"byteOffset",0);
+        
+        ByteBuffer view = null;
+        int        stride = 0;
+        
+        
+        if(description.containsKey("sparse")){
+            throw new IOException("Sparse accessors aren't supported.  Accessor:  " + accessor);
+        }else if(count < 0 || (long)count * element_size > Integer.MAX_VALUE){
+            throw new IOException("Accessor has an invalid number of elements.  Accessor:  " + accessor);
+        }
+        
+        if(!description.containsKey("bufferView")){
+            return ByteBuffer.allocateDirect(count * element_size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        
+        view = this.getBufferView(GlbReader._getInt(description,"bufferView",0));
+        stride = this.getAccessorStride(accessor) == 0 ? element_size : this.getAccessorStride(accessor);
+        if(offset < 0 || stride < 0 || offset > view.limit() || (count > 0 && offset + (long)(count - 1) * stride + element_size > view.limit())){
+            throw new IOException("Accessor lies outside of its buffer view.  Accessor:  " + accessor);
+        }
+        view.position(offset);
+        
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Gets the number of elements in the given accessor.
+     *
+     * @param accessor Index of the accessor.
+     *
+     * @return The number of elements in the accessor.
+     *
+     * @throws IOException Thrown if the file could not be read.
+     */
+    public int getAccessorCount(int accessor) throws IOException{
+        return GlbReader._getInt(this._getAccessorDescription(accessor),"count",0);
+    }
+    
+    /**
+     * Gets the number of bytes from the start of one of the given accessor's elements to the next.
+     *
+     * @param accessor Index of the accessor.
+     *
+     * @return The number of bytes between elements, or 0 if they are tightly packed.
+     *
+     * @throws IOException Thrown if the file could not be read.
+     */
+    public int getAccessorStride(int accessor) throws IOException{
+        final Map<String,Object> description = this._getAccessorDescription(accessor);
+        
+        
+        if(!description.containsKey("bufferView")){
+            return 0;
+        }
+        
+        return GlbReader._getInt(GlbReader._getMap(this.__buffer_views,GlbReader._getInt(description,"bufferView",0)),"byteStride",0);
+    }
+    
+    /**
+     * Gets the given buffer view as a slice of the file.  Nothing is copied.
+     *
+     * @param buffer_view Index of the buffer view.
+     *
+     * @return The buffer view's data, in little-endian byte order.
+     *
+     * @throws IOException Thrown if the file could not be read, or the buffer view is incorrectly formatted.
+     */
+    public ByteBuffer getBufferView(int buffer_view) throws IOException{
+        final Map<String,Object> description;
+        final ByteBuffer         buffer;
+        final int                length;
+        final int                offset;
+        
+        
+        this._load();
+        
+        description = GlbReader._getMap(this.__buffer_views,buffer_view);
+        if(description == null){
+            throw new IOException("No such buffer view exists:  " + buffer_view);
+        }
+        
+        buffer = this._getBuffer(GlbReader._getInt(description,"buffer",0));
+        offset = GlbReader._getInt(description,"byteOffset",0);
+        length = GlbReader._getInt(description,"byteLength",0);
+        if(offset < 0 || length < 0 || (long)offset + length > buffer.capacity()){
+            throw new IOException("Buffer view lies outside of its buffer.  Buffer view:  " + buffer_view);
+        }
+        
+        return ((ByteBuffer)buffer.duplicate().limit(offset + length).position(offset)).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Gets the given float accessor's data as a slice of the file, starting at its first element.  Nothing is copied.
+     *
+     * @param accessor Index of the accessor.
+     *
+     * @return The accessor's data.  Interleaved elements are separated by {@link #getAccessorStride(int)} bytes.
+     *
+     * @throws IOException Thrown if the file could not be read, or the accessor doesn't hold floats.
+     */
+    public FloatBuffer getFloatAccessor(int accessor) throws IOException{
+        if(GlbReader._getInt(this._getAccessorDescription(accessor),"componentType",0) != GlbReader.__COMPONENT_FLOAT){
+            throw new IOException("Accessor doesn't hold floats:  " + accessor);
+        }
+        
+        return this.getAccessor(accessor).asFloatBuffer();
+    }
+    
+    /**
+     * Gets the materials held in the file, in the order they are given.
+     *
+     * @return The materials held in the file.
+     *
+     * @throws IOException Thrown if the file could not be read.
+     */
+    public List<StrixaMaterial> getMaterials() throws IOException{
+        final List<StrixaMaterial> materials = new ArrayList<StrixaMaterial>();
+        
+        
+        this._load();
+        for(int index = 0;index < this.__materials.length;index++){
+            materials.add(this.__materials[index]);
+        }
+        
+        return Collections.unmodifiableList(materials);
+    }
+    
+    protected Map<String,Object> _getAccessorDescription(int accessor) throws IOException{
+        final Map<String,Object> description;
+        
+        
+        this._load();
+        
+        description = GlbReader._getMap(this.__accessors,accessor);
+        if(description == null){
+            throw new IOException("No such accessor exists:  " + accessor);
+        }
+        
+        return description;
+    }
+    
+    protected ByteBuffer _getBuffer(int buffer) throws IOException{
+        if(buffer < 0 || buffer >= this.__buffers.length || this.__buffers[buffer] == null){
+            throw new IOException("No such buffer exists:  " + buffer);
+        }
+        
+        return this.__buffers[buffer];
+    }
+    
+    /**
+     * Gets the number of bytes taken up by one of the described accessor's elements.
+     */
+    protected int _getElementSize(Map<String,Object> description) throws IOException{
+        final String type = GlbReader._getString(description,"type");
+        
+        int component_count = 0;
+        int component_size = 0;
+        
+        
+        switch(GlbReader._getInt(description,"componentType",0)){
+            case GlbReader.__COMPONENT_BYTE:
+            case GlbReader.__COMPONENT_UNSIGNED_BYTE:
+                component_size = 1;
+                break;
+            case GlbReader.__COMPONENT_SHORT:
+            case GlbReader.__COMPONENT_UNSIGNED_SHORT:
+                component_size = 2;
+                break;
+            case GlbReader.__COMPONENT_UNSIGNED_INT:
+            case GlbReader.__COMPONENT_FLOAT:
+                component_size = 4;
+                break;
+            default:
+                throw new IOException("Unknown accessor component type:  " + GlbReader._getInt(description,"componentType",0));
+        }
+        
+        if("SCALAR".equals(type)){
+            component_count = 1;
+        }else if("VEC2".equals(type)){
+            component_count = 2;
+        }else if("VEC3".equals(type)){
+            component_count = 3;
+        }else if("VEC4".equals(type) || "MAT2".equals(type)){
+            component_count = 4;
+        }else if("MAT3".equals(type)){
+            component_count = 9;
+        }else if("MAT4".equals(type)){
+            component_count = 16;
+        }else{
+            throw new IOException("Unknown accessor type:  " + type);
+        }
+        
+        return component_count * component_size;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Creates an element for each primitive of the given node's mesh, and then does the same for each of its children.
+     *
+     * @param parent_transform Transform of the node's parent, as a column-major 4x4 matrix.
+     */
+    protected void _addNode(int node,double[] parent_transform,List<Strixa3DElement> elements,int depth) throws IOException{
+        final Map<String,Object> description = GlbReader._getMap(GlbReader._getList(this.__json,"nodes"),node);
+        final double[]           transform;
+        
+        List<Object>     children = null;
+        Strixa3DElement  element = null;
+        List<StrixaMesh> meshes = null;
+        
+        
+        if(description == null){
+            throw new IOException("No such node exists:  " + node);
+        }else if(depth > 1024){
+            throw new IOException("Nodes are nested too deeply, or contain themselves.  Node:  " + node);
+        }
+        
+        transform = GlbReader._multiply(parent_transform,GlbReader._getNodeTransform(description));
+        if(description.containsKey("mesh")){
+            meshes = this._buildMeshes(GlbReader._getInt(description,"mesh",0));
+            for(int index = 0;index < meshes.size();index++){
+                element = new Strixa3DElement();
+                if(MeshTransform.isTranslation(transform)){
+                    element.setMesh(meshes.get(index));
+                }else{
+                    element.setMesh(MeshTransform.transform(meshes.get(index),transform));
+                }
+                if(!meshes.get(index).getParts().isEmpty()){
+                    element.setMaterial(meshes.get(index).getParts().get(0).getMaterial());
+                }
+                element.setCoordinates(transform[12],transform[13],transform[14]);
+                
+                elements.add(element);
+            }
+        }
+        
+        children = GlbReader._getList(description,"children");
+        for(int index = 0;index < children.size();index++){
+            this._addNode((int)GlbReader._getDouble(children,index),transform,elements,depth + 1);
+        }
+    }
+    
+    /**
+     * Builds the meshes for each of the given mesh's primitives, or gets them if they have already been built.
+     */
+    protected List<StrixaMesh> _buildMeshes(int mesh) throws IOException{
+        final Map<String,Object> description = GlbReader._getMap(GlbReader._getList(this.__json,"meshes"),mesh);
+        final List<StrixaMesh>   meshes = new ArrayList<StrixaMesh>();
+        final List<Object>       primitives;
+        
+        Map<String,Object> attributes = null;
+        IntBuffer          indices = null;
+        StrixaMaterial     material = null;
+        FloatBuffer        normals = null;
+        int                normal_stride = 0;
+        Map<String,Object> primitive = null;
+        int                position_accessor = 0;
+        FloatBuffer        texture_coordinates = null;
+        int                texture_coordinate_stride = 0;
+        int                vertex_count = 0;
+        
+        
+        if(this.__meshes.containsKey(mesh)){
+            return this.__meshes.get(mesh);
+        }else if(description == null){
+            throw new IOException("No such mesh exists:  " + mesh);
+        }
+        
+        primitives = GlbReader._getList(description,"primitives");
+        for(int index = 0;index < primitives.size();index++){
+            primitive = GlbReader._getMap(primitives,index);
+            attributes = GlbReader._getMap(primitive,"attributes");
+            if(GlbReader._getInt(primitive,"mode",GlbReader.__MODE_TRIANGLES) != GlbReader.__MODE_TRIANGLES){
+                System.out.println("Warning:  Primitive " + index + " of mesh " + mesh + " isn't made up of triangles, and will be skipped.");
+                
+                continue;
+            }else if(attributes == null || !attributes.containsKey("POSITION")){
+                System.out.println("Warning:  Primitive " + index + " of mesh " + mesh + " has no positions, and will be skipped.");
+                
+                continue;
+            }
+            
+            position_accessor = GlbReader._getInt(attributes,"POSITION",0);
+            vertex_count = this.getAccessorCount(position_accessor);
+            this._checkAccessor(position_accessor,"VEC3",0);
+            
+            normals = null;
+            normal_stride = 0;
+            if(attributes.containsKey("NORMAL")){
+                this._checkAccessor(GlbReader._getInt(attributes,"NORMAL",0),"VEC3",vertex_count);
+                normals = this.getFloatAccessor(GlbReader._getInt(attributes,"NORMAL",0));
+                normal_stride = this.getAccessorStride(GlbReader._getInt(attributes,"NORMAL",0));
+            }
+            
+            texture_coordinates = null;
+            texture_coordinate_stride = 0;
+            if(attributes.containsKey("TEXCOORD_0")){
+                this._checkAccessor(GlbReader._getInt(attributes,"TEXCOORD_0",0),"VEC2",vertex_count);
+                texture_coordinates = this._readTextureCoordinates(GlbReader._getInt(attributes,"TEXCOORD_0",0));
+                texture_coordinate_stride = this._isFloatAccessor(GlbReader._getInt(attributes,"TEXCOORD_0",0)) ? this.getAccessorStride(GlbReader._getInt(attributes,"TEXCOORD_0",0)) : 0;
+            }
+            
+            if(primitive.containsKey("indices")){
+                indices = this._readIndices(GlbReader._getInt(primitive,"indices",0),vertex_count);
+            }else{  //Primitives without indices draw their vertices in order.
+                indices = ByteBuffer.allocateDirect(vertex_count * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+                for(int vertex = 0;vertex < indices.capacity();vertex++){
+                    indices.put(vertex,vertex);
+                }
+            }
+            
+            material = null;
+            if(primitive.containsKey("material")){
+                material = GlbReader._getInt(primitive,"material",0) < this.__materials.length ? this.__materials[GlbReader._getInt(primitive,"material",0)] : null;
+            }
+            
+            meshes.add(new StrixaMesh(
+                vertex_count,
+                this.getFloatAccessor(position_accessor),
+                this.getAccessorStride(position_accessor),
+                texture_coordinates,
+                texture_coordinate_stride,
+                normals,
+                normal_stride,
+                Collections.singletonList(new StrixaMesh.Part(material,indices))
+            ));
+        }
+        
+        this.__meshes.put(mesh,meshes);
+        
+        return meshes;
+    }
+    
+    /**
+     * Makes sure the given accessor holds elements of the given type, and at least the given number of them, so that OpenGL won't read past the end of it.
+     */
+    protected void _checkAccessor(int accessor,String type,int minimum_count) throws IOException{
+        if(!type.equals(GlbReader._getString(this._getAccessorDescription(accessor),"type"))){
+            throw new IOException("Accessor must hold " + type + " elements.  Accessor:  " + accessor);
+        }else if(this.getAccessorCount(accessor) < minimum_count){
+            throw new IOException("Accessor holds fewer elements than there are vertices.  Accessor:  " + accessor);
+        }
+    }
+    
+    protected boolean _isFloatAccessor(int accessor) throws IOException{
+        return GlbReader._getInt(this._getAccessorDescription(accessor),"componentType",0) == GlbReader.__COMPONENT_FLOAT;
+    }
+    
+    /**
+     * Maps the file into memory, and reads its JSON chunk along with the buffers and materials it describes.  This is only done once.
+     */
+    protected void _load() throws IOException{
+        final ByteBuffer file;
+        final List<Object> buffers;
+        
+        ByteBuffer binary_chunk = null;
+        int        chunk_length = 0;
+        int        chunk_type = 0;
+        String     uri = null;
+        
+        
+        if(this.__json != null){
+            return;
+        }
+        
+        file = GlbReader._mapFile(this.__file);
+        if(file.limit() < 12 || file.getInt(0) != GlbReader.__MAGIC){
+            throw new IOException("File is not a binary glTF file:  " + this.__file.getPath());
+        }else if(file.getInt(4) != GlbReader.__VERSION){
+            throw new IOException("Unsupported binary glTF version:  " + file.getInt(4));
+        }
+        
+        file.position(12);
+        while(file.remaining() >= 8){
+            chunk_length = file.getInt();
+            chunk_type = file.getInt();
+            if(chunk_length < 0 || chunk_length > file.remaining()){
+                throw new IOException("Chunk runs past the end of the file:  " + this.__file.getPath());
+            }
+            
+            if(chunk_type == GlbReader.__CHUNK_JSON && this.__json == null){
+                this.__json = this._parseJson(((ByteBuffer)file.duplicate().limit(file.position() + chunk_length)).slice());
+            }else if(chunk_type == GlbReader.__CHUNK_BIN && binary_chunk == null){
+                binary_chunk = ((ByteBuffer)file.duplicate().limit(file.position() + chunk_length)).slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+            
+            file.position(file.position() + chunk_length);
+        }
+        if(this.__json == null){
+            throw new IOException("File has no JSON chunk:  " + this.__file.getPath());
+        }
+        
+        this.__accessors = GlbReader._getList(this.__json,"accessors");
+        this.__buffer_views = GlbReader._getList(this.__json,"bufferViews");
+        this.__meshes = new HashMap<Integer,List<StrixaMesh>>();
+        
+        buffers = GlbReader._getList(this.__json,"buffers");
+        this.__buffers = new ByteBuffer[buffers.size()];
+        for(int index = 0;index < buffers.size();index++){
+            uri = GlbReader._getString(GlbReader._getMap(buffers,index),"uri");
+            if(uri == null){  //Only the first buffer may be held in the file itself.
+                this.__buffers[index] = index == 0 ? binary_chunk : null;
+            }else if(uri.startsWith("data:")){
+                this.__buffers[index] = GlbReader._decodeDataUri(uri);
+            }else{
+                this.__buffers[index] = GlbReader._mapFile(new File(this.__file.getAbsoluteFile().getParentFile(),uri));
+            }
+        }
+        
+        this._readMaterials();
+    }
+    
+    protected Map<String,Object> _parseJson(ByteBuffer chunk) throws IOException{
+        final Object json;
+        
+        
+        try{
+            json = JsonReader.parse(GlbReader.__CHARSET.decode(chunk));
+        }catch(IllegalArgumentException e){
+            throw new IOException(e.getMessage() + " (" + this.__file.getPath() + ")");
+        }
+        
+        if(!(json instanceof Map)){
+            throw new IOException("JSON chunk doesn't hold an object:  " + this.__file.getPath());
+        }
+        
+        return GlbReader._asMap(json);
+    }
+    
+    /**
+     * Reads every element in the default scene (or every node which isn't the child of another, if there are no scenes).
+     *
+     * @return The elements held in the file, one for each primitive of each mesh placed in the scene.
+     *
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public Strixa3DElement[] read() throws IOException{
+        final List<Strixa3DElement> elements = new ArrayList<Strixa3DElement>();
+        
+        List<Object> nodes = null;
+        boolean[]    child_nodes = null;
+        List<Object> scenes = null;
+        
+        
+        try{
+            this._load();
+        }catch(FileNotFoundException e){
+            throw new FileNotFoundException("No such file was found in the given path:  " + this.__file.getPath());
+        }
+        
+        scenes = GlbReader._getList(this.__json,"scenes");
+        if(!scenes.isEmpty()){
+            nodes = GlbReader._getList(GlbReader._getMap(scenes,GlbReader._getInt(this.__json,"scene",0)),"nodes");
+        }else{
+            nodes = new ArrayList<Object>();
+            child_nodes = new boolean[GlbReader._getList(this.__json,"nodes").size()];
+            for(int node = 0;node < child_nodes.length;node++){
+                for(Object child : GlbReader._getList(GlbReader._getMap(GlbReader._getList(this.__json,"nodes"),node),"children")){
+                    if(((Number)child).intValue() >= 0 && ((Number)child).intValue() < child_nodes.length){
+                        child_nodes[((Number)child).intValue()] = true;
+                    }
+                }
+            }
+            for(int node = 0;node < child_nodes.length;node++){
+                if(!child_nodes[node]){
+                    nodes.add(Double.valueOf(node));
+                }
+            }
+        }
+        
+        for(int index = 0;index < nodes.size();index++){
+            this._addNode((int)GlbReader._getDouble(nodes,index),GlbReader._getNodeTransform(null),elements,0);
+        }
+        
+        return elements.toArray(new Strixa3DElement[elements.size()]);
+    }
+    
+    /**
+     * Reads the given index accessor.  Unsigned int indices are returned as a slice of the file, while smaller ones are widened into a new buffer.  Either way, every index is checked to refer to one of the primitive's vertices.
+     */
+    protected IntBuffer _readIndices(int accessor,int vertex_count) throws IOException{
+        final ByteBuffer data = this.getAccessor(accessor);
+        final int        count = this.getAccessorCount(accessor);
+        
+        IntBuffer indices = null;
+        
+        
+        if(!"SCALAR".equals(GlbReader._getString(this._getAccessorDescription(accessor),"type"))){
+            throw new IOException("Indices must be scalars.  Accessor:  " + accessor);
+        }else if(count % 3 != 0){
+            throw new IOException("Indices must hold three indices per triangle.  Accessor:  " + accessor);
+        }
+        
+        switch(GlbReader._getInt(this._getAccessorDescription(accessor),"componentType",0)){
+            case GlbReader.__COMPONENT_UNSIGNED_INT:
+                if(data.order() == ByteOrder.nativeOrder()){
+                    indices = (IntBuffer)data.asIntBuffer().limit(count);
+                    
+                    break;
+                }
+                
+                indices = ByteBuffer.allocateDirect(count * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+                indices.put((IntBuffer)data.asIntBuffer().limit(count));
+                indices.flip();
+                break;
+            case GlbReader.__COMPONENT_UNSIGNED_SHORT:
+                indices = ByteBuffer.allocateDirect(count * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+                for(int index = 0;index < count;index++){
+                    indices.put(data.getShort(index * 2) & 0xFFFF);
+                }
+                indices.flip();
+                break;
+            case GlbReader.__COMPONENT_UNSIGNED_BYTE:
+                indices = ByteBuffer.allocateDirect(count * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+                for(int index = 0;index < count;index++){
+                    indices.put(data.get(index) & 0xFF);
+                }
+                indices.flip();
+                break;
+            default:
+                throw new IOException("Indices must be unsigned integers.  Accessor:  " + accessor);
+        }
+        
+        for(int index = 0;index < count;index++){  //Unsigned ints above 2^31 are read as negative numbers.
+            if(indices.get(index) < 0 || indices.get(index) >= vertex_count){
+                throw new IOException("Index " + index + " of accessor " + accessor + " refers to vertex " + (indices.get(index) & 0xFFFFFFFFL) + ", which doesn't exist.");
+            }
+        }
+        
+        return indices;
+    }
+    
+    /**
+     * Creates a StrixaMaterial for each material in the file.
+     */
+    protected void _readMaterials() throws IOException{
+        final List<Object> materials = GlbReader._getList(this.__json,"materials");
+        
+        List<Object>       color = null;
+        Map<String,Object> description = null;
+        String             image_uri = null;
+        Map<String,Object> pbr = null;
+        Map<String,Object> texture = null;
+        
+        
+        this.__materials = new StrixaMaterial[materials.size()];
+        for(int index = 0;index < materials.size();index++){
+            description = GlbReader._getMap(materials,index);
+            this.__materials[index] = new StrixaMaterial(GlbReader._getString(description,"name") == null ? "material_" + index : GlbReader._getString(description,"name"));
+            
+            pbr = GlbReader._getMap(description,"pbrMetallicRoughness");
+            if(pbr == null){
+                continue;
+            }
+            
+            color = GlbReader._getList(pbr,"baseColorFactor");
+            if(color.size() == 4){
+                this.__materials[index].setDiffuseColor(new float[]{
+                    (float)GlbReader._getDouble(color,0),
+                    (float)GlbReader._getDouble(color,1),
+                    (float)GlbReader._getDouble(color,2),
+                    (float)GlbReader._getDouble(color,3)
+                });
+                this.__materials[index].setAlpha((float)GlbReader._getDouble(color,3));
+            }
+            
+            texture = GlbReader._getMap(pbr,"baseColorTexture");
+            if(texture != null){
+                texture = GlbReader._getMap(GlbReader._getList(this.__json,"textures"),GlbReader._getInt(texture,"index",-1));
+                if(texture != null && texture.containsKey("source")){
+                    image_uri = GlbReader._getString(GlbReader._getMap(GlbReader._getList(this.__json,"images"),GlbReader._getInt(texture,"source",-1)),"uri");
+                    if(image_uri != null && !image_uri.startsWith("data:")){
+                        this.__materials[index].setTexture(new File(this.__file.getAbsoluteFile().getParentFile(),image_uri).getPath());
+                    }else{
+                        System.out.println("Warning:  The texture of material " + this.__materials[index].getMaterialName() + " is embedded in the file, and can't be loaded.");
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Reads the given texture coordinate accessor.  Float coordinates are returned as a slice of the file, while normalized integer coordinates are converted into a new buffer.
+     */
+    protected FloatBuffer _readTextureCoordinates(int accessor) throws IOException{
+        final Map<String,Object> description = this._getAccessorDescription(accessor);
+        final int                count = this.getAccessorCount(accessor);
+        final ByteBuffer         data;
+        final FloatBuffer        texture_coordinates;
+        final int                stride;
+        
+        
+        if(GlbReader._getInt(description,"componentType",0) == GlbReader.__COMPONENT_FLOAT){
+            return this.getFloatAccessor(accessor);
+        }
+        
+        data = this.getAccessor(accessor);
+        stride = this.getAccessorStride(accessor) == 0 ? this._getElementSize(description) : this.getAccessorStride(accessor);
+        texture_coordinates = ByteBuffer.allocateDirect(count * 8).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for(int index = 0;index < count;index++){
+            switch(GlbReader._getInt(description,"componentType",0)){
+                case GlbReader.__COMPONENT_UNSIGNED_BYTE:
+                    texture_coordinates.put((data.get(index * stride) & 0xFF) / 255f);
+                    texture_coordinates.put((data.get(index * stride + 1) & 0xFF) / 255f);
+                    break;
+                case GlbReader.__COMPONENT_UNSIGNED_SHORT:
+                    texture_coordinates.put((data.getShort(index * stride) & 0xFFFF) / 65535f);
+                    texture_coordinates.put((data.getShort(index * stride + 2) & 0xFFFF) / 65535f);
+                    break;
+                default:
+                    throw new IOException("Texture coordinates must be floats, or normalized unsigned integers.  Accessor:  " + accessor);
+            }
+        }
+        texture_coordinates.flip();
+        
+        return texture_coordinates;
+    }
+    
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    @SuppressWarnings("unchecked")
+    protected static Map<String,Object> _asMap(Object value){
+        return (Map<String,Object>)value;
+    }
+    
+    /**
+     * Decodes a base64 data URI into a buffer.
+     */
+    protected static ByteBuffer _decodeDataUri(String uri) throws IOException{
+        final int separator = uri.indexOf(";base64,");
+        final byte[] data;
+        
+        
+        if(separator == -1){
+            throw new IOException("Only base64 data URIs are supported.");
+        }
+        
+        try{
+            data = Base64.getDecoder().decode(uri.substring(separator + 8));
+        }catch(IllegalArgumentException e){
+            throw new IOException("Invalid base64 data URI:  " + e.getMessage());
+        }
+        
+        return (ByteBuffer)ByteBuffer.allocateDirect(data.length).order(ByteOrder.LITTLE_ENDIAN).put(data).flip();
+    }
+    
+    protected static double _getDouble(List<Object> list,int index){
+        return index >= 0 && index < list.size() && list.get(index) instanceof Number ? ((Number)list.get(index)).doubleValue() : 0;
+    }
+    
+    protected static int _getInt(Map<String,Object> object,String name,int default_value){
+        return object != null && object.get(name) instanceof Number ? ((Number)object.get(name)).intValue() : default_value;
+    }
+    
+    /**
+     * Gets the transform of the given node, relative to its parent, from either its matrix or its translation, rotation and scale.
+     *
+     * @param description The node, or null for a node which isn't transformed at all.
+     *
+     * @return The transform, as a column-major 4x4 matrix.
+     */
+    protected static double[] _getNodeTransform(Map<String,Object> description){
+        final double[]     transform = new double[]{1,0,0,0, 0,1,0,0, 0,0,1,0, 0,0,0,1};
+        final List<Object> matrix = GlbReader._getList(description,"matrix");
+        final List<Object> rotation = GlbReader._getList(description,"rotation");
+        final List<Object> scale = GlbReader._getList(description,"scale");
+        final List<Object> translation = GlbReader._getList(description,"translation");
+        
+        double w = 1;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        
+        
+        if(matrix.size() == 16){
+            for(int index = 0;index < 16;index++){
+                transform[index] = GlbReader._getDouble(matrix,index);
+            }
+            
+            return transform;
+        }
+        
+        if(rotation.size() == 4){
+            x = GlbReader._getDouble(rotation,0);
+            y = GlbReader._getDouble(rotation,1);
+            z = GlbReader._getDouble(rotation,2);
+            w = GlbReader._getDouble(rotation,3);
+        }
+        transform[0] = 1 - 2 * (y * y + z * z);
+        transform[1] = 2 * (x * y + z * w);
+        transform[2] = 2 * (x * z - y * w);
+        transform[4] = 2 * (x * y - z * w);
+        transform[5] = 1 - 2 * (x * x + z * z);
+        transform[6] = 2 * (y * z + x * w);
+        transform[8] = 2 * (x * z + y * w);
+        transform[9] = 2 * (y * z - x * w);
+        transform[10] = 1 - 2 * (x * x + y * y);
+        
+        if(scale.size() == 3){  //The scale is applied before the rotation, so it scales each column.
+            for(int column = 0;column < 3;column++){
+                for(int row = 0;row < 3;row++){
+                    transform[column * 4 + row] *= GlbReader._getDouble(scale,column);
+                }
+            }
+        }
+        
+        if(translation.size() == 3){
+            transform[12] = GlbReader._getDouble(translation,0);
+            transform[13] = GlbReader._getDouble(translation,1);
+            transform[14] = GlbReader._getDouble(translation,2);
+        }
+        
+        return transform;
+    }
+    
+    /**
+     * Gets a member of the given object which should hold an array.
+     *
+     * @return The array, or an empty list if the object doesn't have one.
+     */
+    @SuppressWarnings("unchecked")
+    protected static List<Object> _getList(Map<String,Object> object,String name){
+        return object != null && object.get(name) instanceof List ? (List<Object>)object.get(name) : Collections.emptyList();
+    }
+    
+    /**
+     * Gets an element of the given array which should hold an object.
+     *
+     * @return The object, or null if the array doesn't have one at the given index.
+     */
+    protected static Map<String,Object> _getMap(List<Object> list,int index){
+        return index >= 0 && index < list.size() && list.get(index) instanceof Map ? GlbReader._asMap(list.get(index)) : null;
+    }
+    
+    protected static Map<String,Object> _getMap(Map<String,Object> object,String name){
+        return object != null && object.get(name) instanceof Map ? GlbReader._asMap(object.get(name)) : null;
+    }
+    
+    protected static String _getString(Map<String,Object> object,String name){
+        return object != null && object.get(name) instanceof String ? (String)object.get(name) : null;
+    }
+    
+    /**
+     * Maps the given file into memory, in little-endian byte order.
+     */
+    protected static ByteBuffer _mapFile(File file) throws IOException{
+        FileChannel     channel = null;
+        FileInputStream input = null;
+        
+        
+        try{
+            input = new FileInputStream(file);
+            channel = input.getChannel();
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IOException("File is too large to be mapped into memory:  " + file.getPath());
+            }
+            
+            return channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size()).order(ByteOrder.LITTLE_ENDIAN);  //The mapping stays valid after the channel has been closed.
+        }finally{
+            if(input != null){
+                input.close();
+            }
+        }
+    }
+    
+    /**
+     * Multiplies two column-major 4x4 matrices.
+     *
+     * @return A new matrix which applies the right hand matrix, and then the left hand one.
+     */
+    protected static double[] _multiply(double[] left,double[] right){
+        final double[] product = new double[16];
+        
+        
+        for(int column = 0;column < 4;column++){
+            for(int row = 0;row < 4;row++){
+                for(int index = 0;index < 4;index++){
+                    product[column * 4 + row] += left[index * 4 + row] * right[column * 4 + index];
+                }
+            }
+        }
+        
+        return product;
+    }
+    /*End Static Methods*/
+}
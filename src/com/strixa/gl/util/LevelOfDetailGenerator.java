@@ -0,0 +1,292 @@
+/**
+ * File:  LevelOfDetailGenerator.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.gl.StrixaPolygon;
+import com.strixa.util.IntTripleMap;
+import com.strixa.util.ParallelRange;
+import com.strixa.util.Point2D;
+import com.strixa.util.Point3D;
+import com.strixa.util.Vec3d;
+
+
+/**
+ * Builds chains of simplified meshes for elements, so that they can be drawn with fewer triangles the further they are from the camera.<br />
+ * Each level is given as a fraction of the element's full triangle count, and is simplified from the level before it using a {@link MeshSimplifier}.  The chain is stored on the element itself (see {@link Strixa3DElement#setLevelsOfDetail(List)}), next to its full detail polygons or mesh.
+ *
+ * @author Nicholas Rog
+ */
+public class LevelOfDetailGenerator{
+    private double[] __ratios;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs a generator which builds a level for each of the given ratios.
+     *
+     * @param ratios Fraction of the full triangle count each level should have.  Each must be greater than 0 and less than 1.
+     */
+    public LevelOfDetailGenerator(double... ratios){
+        this.setRatios(ratios);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the fraction of the full triangle count each level will have, from the most detailed level to the least.
+     *
+     * @return The fraction of the full triangle count each level will have.
+     */
+    public double[] getRatios(){
+        return this.__ratios.clone();
+    }
+    
+    /**
+     * Sets the fraction of the full triangle count each level should have.  The levels are always built from the most detailed to the least, whatever order the ratios are given in.
+     *
+     * @param ratios Fraction of the full triangle count each level should have.  Each must be greater than 0 and less than 1.
+     */
+    public void setRatios(double... ratios){
+        if(ratios == null){
+            throw new IllegalArgumentException("Argument 'ratios' must not be null.");
+        }
+        
+        for(int index = 0;index < ratios.length;index++){
+            if(!(ratios[index] > 0 && ratios[index] < 1)){
+                throw new IllegalArgumentException("Argument 'ratios' must only contain values greater than 0 and less than 1.");
+            }
+        }
+        
+        this.__ratios = ratios.clone();
+        Arrays.sort(this.__ratios);
+        for(int index = 0;index < this.__ratios.length / 2;index++){  //Sorted from the most detailed level to the least.
+            final double ratio = this.__ratios[index];
+            
+            
+            this.__ratios[index] = this.__ratios[this.__ratios.length - index - 1];
+            this.__ratios[this.__ratios.length - index - 1] = ratio;
+        }
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Builds the chain of simplified meshes for the given element, without storing it on the element.
+     *
+     * @param element Element whose levels should be built.
+     *
+     * @return The simplified meshes, from the most detailed to the least.  This is empty if the element doesn't have any triangles.
+     */
+    public List<StrixaMesh> generate(Strixa3DElement element){
+        final StrixaMesh       full_mesh = LevelOfDetailGenerator.createMesh(element);
+        final List<StrixaMesh> levels = new ArrayList<StrixaMesh>(this.__ratios.length);
+        final MeshSimplifier   simplifier = new MeshSimplifier();
+        
+        StrixaMesh mesh = full_mesh;
+        
+        
+        if(full_mesh.getTriangleCount() == 0){
+            return levels;
+        }
+        
+        for(int index = 0;index < this.__ratios.length;index++){
+            mesh = simplifier.simplify(mesh,(int)Math.round(full_mesh.getTriangleCount() * this.__ratios[index]));
+            
+            levels.add(mesh);
+        }
+        
+        return levels;
+    }
+    
+    /**
+     * Builds the chain of simplified meshes for each of the given elements, and stores it on the element.  Each element is simplified on its own thread within the pool.
+     *
+     * @param elements Elements whose levels should be built.
+     * @param pool Pool the work should be done on, or null if it should be done on the calling thread.
+     */
+    public void generate(final List<Strixa3DElement> elements,ForkJoinPool pool){
+        if(elements == null){
+            throw new IllegalArgumentException("Argument 'elements' must not be null.");
+        }
+        
+        ParallelRange.forEach(pool,elements.size(),1,new ParallelRange.Body(){
+            public void run(int start,int end){
+                for(int index = start;index < end;index++){
+                    elements.get(index).setLevelsOfDetail(LevelOfDetailGenerator.this.generate(elements.get(index)));
+                }
+            }
+        });
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the given element's full detail geometry as an indexed mesh.  If the element already has a mesh, that mesh is returned.  Otherwise, its polygons are split up into triangles, and corners with exactly the same position, texture coordinates and normal share a vertex.
+     *
+     * @param element Element whose geometry should be returned.
+     *
+     * @return The element's geometry.  The mesh has a part for each material its polygons are drawn with, in the order the materials are first used.  Polygons without a material of their own go into a part without one, which is drawn with the element's own material.
+     */
+    public static StrixaMesh createMesh(Strixa3DElement element){
+        final List<StrixaPolygon>   polygons = element.getComponents();
+        final IntTripleMap          normal_map = new IntTripleMap();
+        final Vec3d                 point = new Vec3d();
+        final List<int[]>           part_indices = new ArrayList<int[]>();
+        final List<Integer>         part_lengths = new ArrayList<Integer>();
+        final List<StrixaMaterial>  part_materials = new ArrayList<StrixaMaterial>();
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>();
+        final IntTripleMap          position_map = new IntTripleMap();
+        final IntTripleMap          texture_map = new IntTripleMap();
+        final PolygonTriangulator   triangulator = new PolygonTriangulator();
+        final IntTripleMap          vertex_map = new IntTripleMap();
+        
+        double[]              coordinates = new double[48];
+        int                   corner_count = 0;
+        int[]                 corner_mesh_vertices = new int[16];
+        int[]                 corner_vertices = new int[16];
+        boolean               has_normals = false;
+        boolean               has_texture_coordinates = false;
+        int[]                 indices = null;
+        int                   index_count = 0;
+        List<Point3D<Double>> normal_points = null;
+        float[]               normals = new float[1024 * 3];
+        int                   normal = 0;
+        Vec3d                 offset = null;
+        int                   part = 0;
+        float[]               positions = new float[1024 * 3];
+        int                   position = 0;
+        int                   texture = 0;
+        float[]               texture_coordinates = new float[1024 * 2];
+        List<Point2D<Double>> texture_points = null;
+        int[]                 triangles = new int[42];
+        int                   vertex = 0;
+        int                   vertex_count = 0;
+        
+        
+        if(element.getMesh() != null){
+            return element.getMesh();
+        }
+        
+        for(int polygon_index = 0;polygon_index < polygons.size();polygon_index++){
+            normal_points = polygons.get(polygon_index).getNormalPoints();
+            texture_points = polygons.get(polygon_index).getTexturePoints();
+            offset = polygons.get(polygon_index).getPosition();  //Polygons are drawn relative to their own coordinates.
+            corner_count = polygons.get(polygon_index).getCornerCount();
+            if(corner_count < 3){
+                continue;
+            }
+            
+            if(corner_count > corner_vertices.length){
+                corner_mesh_vertices = new int[corner_count];
+                corner_vertices = new int[corner_count];
+                coordinates = new double[corner_count * 3];
+                triangles = new int[(corner_count - 2) * 3];
+            }
+            
+            for(int corner = 0;corner < corner_count;corner++){
+                polygons.get(polygon_index).getCorner(corner,point);
+                coordinates[corner * 3] = point.getX() + offset.getX();
+                coordinates[corner * 3 + 1] = point.getY() + offset.getY();
+                coordinates[corner * 3 + 2] = point.getZ() + offset.getZ();
+                
+                position = position_map.getOrPut(
+                    Float.floatToIntBits((float)coordinates[corner * 3] + 0.0f),
+                    Float.floatToIntBits((float)coordinates[corner * 3 + 1] + 0.0f),
+                    Float.floatToIntBits((float)coordinates[corner * 3 + 2] + 0.0f),
+                    position_map.size()
+                );
+                texture = -1;
+                if(texture_points.size() == corner_count){
+                    texture = texture_map.getOrPut(
+                        Float.floatToIntBits(texture_points.get(corner).getX().floatValue()),
+                        Float.floatToIntBits(texture_points.get(corner).getY().floatValue()),
+                        0,
+                        texture_map.size()
+                    );
+                    has_texture_coordinates = true;
+                }
+                normal = -1;
+                if(normal_points.size() == corner_count){
+                    normal = normal_map.getOrPut(
+                        Float.floatToIntBits(normal_points.get(corner).getX().floatValue()),
+                        Float.floatToIntBits(normal_points.get(corner).getY().floatValue()),
+                        Float.floatToIntBits(normal_points.get(corner).getZ().floatValue()),
+                        normal_map.size()
+                    );
+                    has_normals = true;
+                }
+                
+                vertex = vertex_map.getOrPut(position,texture,normal,vertex_count);
+                if(vertex == vertex_count){
+                    if(vertex_count * 3 == positions.length){
+                        positions = Arrays.copyOf(positions,positions.length * 2);
+                        texture_coordinates = Arrays.copyOf(texture_coordinates,texture_coordinates.length * 2);
+                        normals = Arrays.copyOf(normals,normals.length * 2);
+                    }
+                    
+                    positions[vertex * 3] = (float)coordinates[corner * 3];
+                    positions[vertex * 3 + 1] = (float)coordinates[corner * 3 + 1];
+                    positions[vertex * 3 + 2] = (float)coordinates[corner * 3 + 2];
+                    if(texture != -1){
+                        texture_coordinates[vertex * 2] = texture_points.get(corner).getX().floatValue();
+                        texture_coordinates[vertex * 2 + 1] = texture_points.get(corner).getY().floatValue();
+                    }
+                    if(normal != -1){
+                        normals[vertex * 3] = normal_points.get(corner).getX().floatValue();
+                        normals[vertex * 3 + 1] = normal_points.get(corner).getY().floatValue();
+                        normals[vertex * 3 + 2] = normal_points.get(corner).getZ().floatValue();
+                    }
+                    vertex_count++;
+                }
+                
+                corner_mesh_vertices[corner] = vertex;
+                corner_vertices[corner] = corner;
+            }
+            
+            part = part_materials.indexOf(polygons.get(polygon_index).getMaterial());  //Elements rarely use more than a handful of materials, so they're simply searched.
+            if(part == -1){
+                part = part_materials.size();
+                part_materials.add(polygons.get(polygon_index).getMaterial());
+                part_indices.add(new int[1024]);
+                part_lengths.add(0);
+            }
+            indices = part_indices.get(part);
+            index_count = part_lengths.get(part);
+            if(index_count + (corner_count - 2) * 3 > indices.length){
+                indices = Arrays.copyOf(indices,Math.max(indices.length * 2,index_count + (corner_count - 2) * 3));
+                part_indices.set(part,indices);
+            }
+            
+            triangulator.triangulate(coordinates,corner_vertices,corner_count,triangles,0);
+            for(int index = 0;index < (corner_count - 2) * 3;index++){
+                indices[index_count++] = corner_mesh_vertices[triangles[index]];
+            }
+            part_lengths.set(part,index_count);
+        }
+        
+        for(int index = 0;index < part_materials.size();index++){
+            parts.add(new StrixaMesh.Part(part_materials.get(index),Arrays.copyOf(part_indices.get(index),part_lengths.get(index))));
+        }
+        if(parts.isEmpty()){
+            parts.add(new StrixaMesh.Part(null,new int[0]));
+        }
+        
+        return new StrixaMesh(
+            Arrays.copyOf(positions,vertex_count * 3),
+            has_texture_coordinates ? Arrays.copyOf(texture_coordinates,vertex_count * 2) : null,
+            has_normals ? Arrays.copyOf(normals,vertex_count * 3) : null,
+            parts
+        );
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,694 @@
+/**
+ * File:  MeshSimplifier.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.strixa.gl.StrixaMesh;
+import com.strixa.util.IntTripleMap;
+import com.strixa.util.Vec2d;
+import com.strixa.util.Vec3f;
+
+
+/**
+ * Reduces the number of triangles in a mesh using quadric error metrics.<br />
+ * Each position in the mesh is given a quadric made up of the planes of the triangles around it, and edges are then collapsed one at a time, cheapest first.  The cost of a collapse is how far the remaining position lies from the planes of both of the edge's ends.  Edges along the mesh's boundary are given extra planes, standing straight up from the triangles they border, so that holes and outlines keep their shape.
+ * <br /><br />
+ * A collapse always moves one end of an edge onto the other, so the mesh's texture coordinates and normals are kept rather than interpolated.  Vertices which share a position but not their texture coordinates or normals (along a seam) are each moved onto the vertex they share the edge with.  Collapses which would turn a triangle over are skipped.
+ * <br /><br />
+ * <strong>Note:</strong>  Instances keep working space while simplifying, and so must not be shared between threads.
+ *
+ * @author Nicholas Rog
+ */
+public class MeshSimplifier{
+    /**
+     * A collapse waiting in the queue.  It is ignored once either of its positions has changed since it was queued.
+     *
+     * @author Nicholas Rog
+     */
+    private static class Collapse implements Comparable<Collapse>{
+        private final double __cost;
+        private final int    __from;
+        private final int    __from_version;
+        private final int    __to;
+        private final int    __to_version;
+        
+        
+        /*Begin Constructor*/
+        public Collapse(double cost,int from,int from_version,int to,int to_version){
+            this.__cost = cost;
+            this.__from = from;
+            this.__from_version = from_version;
+            this.__to = to;
+            this.__to_version = to_version;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        public int compareTo(Collapse collapse){
+            return Double.compare(this.__cost,collapse.__cost);
+        }
+        /*End Other Methods*/
+    }
+    
+    /** Weight of the planes which hold boundary edges in place, relative to the square of the edge's length. */
+    private static final double __BOUNDARY_WEIGHT = 10;
+    /** Number of values stored for each quadric. */
+    private static final int    __QUADRIC_SIZE = 10;
+    
+    private int[]                   __mapped_from = new int[16];
+    private int                     __mapped_count;
+    private int                     __mark;  //Changed each time positions are marked, so that the marks never need to be cleared.
+    private int[]                   __mapped_to = new int[16];
+    private double[]                __points;
+    private int                     __position_count;
+    private int[]                   __position_marks;
+    private int[]                   __position_triangle_counts;
+    private int[][]                 __position_triangles;
+    private boolean[]               __position_removed;
+    private int[]                   __position_versions;
+    private double[]                __quadrics;
+    private PriorityQueue<Collapse> __queue;
+    private int[]                   __triangle_parts;
+    private boolean[]               __triangle_removed;
+    private int[]                   __triangles;
+    private int[]                   __vertex_positions;
+    
+    
+    /*Begin Other Methods*/
+    /**
+     * Adds the plane ax + by + cz + d = 0 to the given position's quadric.
+     */
+    protected void _addPlane(int position,double a,double b,double c,double d,double weight){
+        final int offset = position * MeshSimplifier.__QUADRIC_SIZE;
+        
+        
+        this.__quadrics[offset] += weight * a * a;
+        this.__quadrics[offset + 1] += weight * a * b;
+        this.__quadrics[offset + 2] += weight * a * c;
+        this.__quadrics[offset + 3] += weight * a * d;
+        this.__quadrics[offset + 4] += weight * b * b;
+        this.__quadrics[offset + 5] += weight * b * c;
+        this.__quadrics[offset + 6] += weight * b * d;
+        this.__quadrics[offset + 7] += weight * c * c;
+        this.__quadrics[offset + 8] += weight * c * d;
+        this.__quadrics[offset + 9] += weight * d * d;
+    }
+    
+    /**
+     * Adds the given triangle to the list of triangles around a position.
+     */
+    protected void _addPositionTriangle(int position,int triangle){
+        final int count = this.__position_triangle_counts[position];
+        
+        
+        if(this.__position_triangles[position] == null){
+            this.__position_triangles[position] = new int[6];
+        }else if(count == this.__position_triangles[position].length){
+            this.__position_triangles[position] = Arrays.copyOf(this.__position_triangles[position],count * 2);
+        }
+        
+        this.__position_triangles[position][count] = triangle;
+        this.__position_triangle_counts[position]++;
+    }
+    
+    /**
+     * Builds a mesh out of the triangles which haven't been removed, keeping only the vertices they still use.
+     */
+    protected StrixaMesh _buildMesh(StrixaMesh mesh){
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>();
+        final int[]                 part_index_counts = new int[mesh.getParts().size()];
+        final int[][]               part_indices = new int[mesh.getParts().size()][];
+        final Vec2d                 texture_coordinate = new Vec2d();
+        final Vec3f                 vector = new Vec3f();
+        final int[]                 vertex_map = new int[mesh.getVertexCount()];
+        
+        int     index_count = 0;
+        int[]   indices = null;
+        float[] new_normals = null;
+        float[] new_positions = null;
+        float[] new_texture_coordinates = null;
+        int     vertex = 0;
+        int     vertex_count = 0;
+        
+        
+        Arrays.fill(vertex_map,-1);
+        for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+            if(this.__triangle_removed[triangle]){
+                continue;
+            }
+            
+            for(int corner = triangle * 3;corner < triangle * 3 + 3;corner++){
+                if(vertex_map[this.__triangles[corner]] == -1){
+                    vertex_map[this.__triangles[corner]] = vertex_count++;
+                }
+            }
+        }
+        
+        new_positions = new float[vertex_count * 3];
+        new_texture_coordinates = mesh.hasTextureCoordinates() ? new float[vertex_count * 2] : null;
+        new_normals = mesh.hasNormals() ? new float[vertex_count * 3] : null;
+        for(int old_vertex = 0;old_vertex < vertex_map.length;old_vertex++){  //The vertices are read one at a time, so that a mesh held in buffers isn't copied onto the heap in full.
+            vertex = vertex_map[old_vertex];
+            if(vertex == -1){
+                continue;
+            }
+            
+            MeshSimplifier._putVector(mesh.getPosition(old_vertex,vector),new_positions,vertex * 3);
+            if(new_texture_coordinates != null){
+                mesh.getTextureCoordinate(old_vertex,texture_coordinate);
+                new_texture_coordinates[vertex * 2] = (float)texture_coordinate.getX();
+                new_texture_coordinates[vertex * 2 + 1] = (float)texture_coordinate.getY();
+            }
+            if(new_normals != null){
+                MeshSimplifier._putVector(mesh.getNormal(old_vertex,vector),new_normals,vertex * 3);
+            }
+        }
+        
+        for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+            if(!this.__triangle_removed[triangle]){
+                part_index_counts[this.__triangle_parts[triangle]] += 3;
+            }
+        }
+        for(int part = 0;part < part_indices.length;part++){
+            part_indices[part] = new int[part_index_counts[part]];
+            part_index_counts[part] = 0;
+        }
+        for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+            if(!this.__triangle_removed[triangle]){
+                indices = part_indices[this.__triangle_parts[triangle]];
+                index_count = part_index_counts[this.__triangle_parts[triangle]];
+                
+                indices[index_count] = vertex_map[this.__triangles[triangle * 3]];
+                indices[index_count + 1] = vertex_map[this.__triangles[triangle * 3 + 1]];
+                indices[index_count + 2] = vertex_map[this.__triangles[triangle * 3 + 2]];
+                part_index_counts[this.__triangle_parts[triangle]] += 3;
+            }
+        }
+        for(int part = 0;part < part_indices.length;part++){
+            if(part_indices[part].length != 0){  //Parts whose triangles have all been collapsed away are dropped.
+                parts.add(new StrixaMesh.Part(mesh.getParts().get(part).getMaterial(),part_indices[part]));
+            }
+        }
+        
+        return new StrixaMesh(new_positions,new_texture_coordinates,new_normals,parts);
+    }
+    
+    /**
+     * Gives every position a quadric made up of the planes of the triangles around it, weighted by their areas, along with the planes holding its boundary edges in place.
+     */
+    protected void _calculateQuadrics(){
+        final int[]        edge_counts = new int[this.__triangles.length];
+        final IntTripleMap edges = new IntTripleMap(this.__triangles.length);
+        
+        int a = 0;
+        int b = 0;
+        
+        
+        this.__quadrics = new double[this.__position_count * MeshSimplifier.__QUADRIC_SIZE];
+        for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+            if(this.__triangle_removed[triangle]){
+                continue;
+            }
+            
+            this._addTrianglePlane(triangle);
+            for(int corner = 0;corner < 3;corner++){
+                a = this._getPosition(triangle,corner);
+                b = this._getPosition(triangle,(corner + 1) % 3);
+                
+                edge_counts[edges.getOrPut(Math.min(a,b),Math.max(a,b),0,edges.size())]++;
+            }
+        }
+        
+        for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+            if(this.__triangle_removed[triangle]){
+                continue;
+            }
+            
+            for(int corner = 0;corner < 3;corner++){
+                a = this._getPosition(triangle,corner);
+                b = this._getPosition(triangle,(corner + 1) % 3);
+                
+                if(edge_counts[edges.get(Math.min(a,b),Math.max(a,b),0)] == 1){
+                    this._addBoundaryPlane(triangle,a,b);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Adds a plane containing the given boundary edge, standing straight up from the triangle it borders, to the quadrics of both of the edge's ends.
+     */
+    protected void _addBoundaryPlane(int triangle,int a,int b){
+        final double[] normal = this._getTriangleNormal(triangle,-1,-1);
+        final double   edge_x = this.__points[b * 3] - this.__points[a * 3];
+        final double   edge_y = this.__points[b * 3 + 1] - this.__points[a * 3 + 1];
+        final double   edge_z = this.__points[b * 3 + 2] - this.__points[a * 3 + 2];
+        
+        double d = 0;
+        double length = 0;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        
+        
+        x = edge_y * normal[2] - edge_z * normal[1];
+        y = edge_z * normal[0] - edge_x * normal[2];
+        z = edge_x * normal[1] - edge_y * normal[0];
+        length = Math.sqrt(x * x + y * y + z * z);
+        if(length == 0){
+            return;
+        }
+        
+        x /= length;
+        y /= length;
+        z /= length;
+        length = edge_x * edge_x + edge_y * edge_y + edge_z * edge_z;
+        
+        d = -(x * this.__points[a * 3] + y * this.__points[a * 3 + 1] + z * this.__points[a * 3 + 2]);
+        
+        this._addPlane(a,x,y,z,d,length * MeshSimplifier.__BOUNDARY_WEIGHT);
+        this._addPlane(b,x,y,z,d,length * MeshSimplifier.__BOUNDARY_WEIGHT);
+    }
+    
+    /**
+     * Adds the given triangle's plane, weighted by its area, to the quadrics of each of its corners.
+     */
+    protected void _addTrianglePlane(int triangle){
+        final double[] normal = this._getTriangleNormal(triangle,-1,-1);
+        final int      position = this._getPosition(triangle,0);
+        final double   length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+        
+        double d = 0;
+        
+        
+        if(length == 0){
+            return;
+        }
+        
+        d = -(normal[0] * this.__points[position * 3] + normal[1] * this.__points[position * 3 + 1] + normal[2] * this.__points[position * 3 + 2]) / length;
+        for(int corner = 0;corner < 3;corner++){
+            this._addPlane(this._getPosition(triangle,corner),normal[0] / length,normal[1] / length,normal[2] / length,d,length / 2);
+        }
+    }
+    
+    /**
+     * Moves the position 'from' onto the position 'to', removing the triangles which contained both.
+     *
+     * @return The number of triangles removed, or -1 if the collapse would have damaged the mesh and was skipped.
+     */
+    protected int _collapse(int from,int to){
+        final int[] from_triangles = this.__position_triangles[from];
+        final int   from_triangle_count = this.__position_triangle_counts[from];
+        
+        double[] after = null;
+        double[] before = null;
+        int      from_corner = 0;
+        int      removed_count = 0;
+        int      to_corner = 0;
+        int      triangle = 0;
+        
+        
+        /*Work out which vertex each of the moving position's vertices becomes, using the triangles along the edge.*/
+        this.__mapped_count = 0;
+        for(int index = 0;index < from_triangle_count;index++){
+            triangle = from_triangles[index];
+            if(this.__triangle_removed[triangle] || (to_corner = this._findCorner(triangle,to)) == -1){
+                continue;
+            }
+            
+            from_corner = this._findCorner(triangle,from);
+            if(this._getMappedVertex(this.__triangles[triangle * 3 + from_corner]) == -1){
+                this._addMappedVertex(this.__triangles[triangle * 3 + from_corner],this.__triangles[triangle * 3 + to_corner]);
+            }
+        }
+        if(this.__mapped_count == 0){
+            return -1;
+        }
+        
+        /*Check that every other triangle can be moved without losing its attributes or being turned over.*/
+        for(int index = 0;index < from_triangle_count;index++){
+            triangle = from_triangles[index];
+            if(this.__triangle_removed[triangle] || this._findCorner(triangle,to) != -1){
+                continue;
+            }
+            
+            from_corner = this._findCorner(triangle,from);
+            if(this._getMappedVertex(this.__triangles[triangle * 3 + from_corner]) == -1){
+                return -1;
+            }
+            
+            before = this._getTriangleNormal(triangle,-1,-1);
+            after = this._getTriangleNormal(triangle,from_corner,to);
+            if(before[0] * after[0] + before[1] * after[1] + before[2] * after[2] < 0){
+                return -1;
+            }
+        }
+        
+        for(int index = 0;index < from_triangle_count;index++){
+            triangle = from_triangles[index];
+            if(this.__triangle_removed[triangle]){
+                continue;
+            }
+            
+            if(this._findCorner(triangle,to) != -1){
+                this.__triangle_removed[triangle] = true;
+                removed_count++;
+            }else{
+                from_corner = this._findCorner(triangle,from);
+                
+                this.__triangles[triangle * 3 + from_corner] = this._getMappedVertex(this.__triangles[triangle * 3 + from_corner]);
+                this._addPositionTriangle(to,triangle);
+            }
+        }
+        
+        for(int index = 0;index < MeshSimplifier.__QUADRIC_SIZE;index++){
+            this.__quadrics[to * MeshSimplifier.__QUADRIC_SIZE + index] += this.__quadrics[from * MeshSimplifier.__QUADRIC_SIZE + index];
+        }
+        this.__position_removed[from] = true;
+        this.__position_triangles[from] = null;
+        this.__position_triangle_counts[from] = 0;
+        this.__position_versions[from]++;
+        this.__position_versions[to]++;
+        
+        this._queuePositionEdges(to,true);
+        
+        return removed_count;
+    }
+    
+    /**
+     * Records that the given vertex becomes another during the current collapse.
+     */
+    protected void _addMappedVertex(int from,int to){
+        if(this.__mapped_count == this.__mapped_from.length){
+            this.__mapped_from = Arrays.copyOf(this.__mapped_from,this.__mapped_count * 2);
+            this.__mapped_to = Arrays.copyOf(this.__mapped_to,this.__mapped_count * 2);
+        }
+        
+        this.__mapped_from[this.__mapped_count] = from;
+        this.__mapped_to[this.__mapped_count] = to;
+        this.__mapped_count++;
+    }
+    
+    /**
+     * Gets the corner of the given triangle which lies at the given position.
+     *
+     * @return The corner's index within the triangle, or -1 if none of its corners lie at the position.
+     */
+    protected int _findCorner(int triangle,int position){
+        for(int corner = 0;corner < 3;corner++){
+            if(this._getPosition(triangle,corner) == position){
+                return corner;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Gets the error of placing a point at the given position according to the given position's quadric.
+     */
+    protected double _getError(int quadric,int position){
+        final int    offset = quadric * MeshSimplifier.__QUADRIC_SIZE;
+        final double x = this.__points[position * 3];
+        final double y = this.__points[position * 3 + 1];
+        final double z = this.__points[position * 3 + 2];
+        
+        
+        return
+            this.__quadrics[offset] * x * x + 2 * this.__quadrics[offset + 1] * x * y + 2 * this.__quadrics[offset + 2] * x * z + 2 * this.__quadrics[offset + 3] * x
+            + this.__quadrics[offset + 4] * y * y + 2 * this.__quadrics[offset + 5] * y * z + 2 * this.__quadrics[offset + 6] * y
+            + this.__quadrics[offset + 7] * z * z + 2 * this.__quadrics[offset + 8] * z
+            + this.__quadrics[offset + 9];
+    }
+    
+    /**
+     * Gets the vertex the given vertex becomes during the current collapse.
+     *
+     * @return The vertex it becomes, or -1 if it hasn't been mapped onto one.
+     */
+    protected int _getMappedVertex(int vertex){
+        for(int index = 0;index < this.__mapped_count;index++){
+            if(this.__mapped_from[index] == vertex){
+                return this.__mapped_to[index];
+            }
+        }
+        
+        return -1;
+    }
+    
+    protected int _getPosition(int triangle,int corner){
+        return this.__vertex_positions[this.__triangles[triangle * 3 + corner]];
+    }
+    
+    /**
+     * Gets the normal of the given triangle, whose length is twice the triangle's area.
+     *
+     * @param triangle Index of the triangle.
+     * @param moved_corner Corner which should be treated as though it had been moved, or -1 if the triangle should be left as it is.
+     * @param moved_position Position the corner should be treated as though it had been moved to.
+     */
+    protected double[] _getTriangleNormal(int triangle,int moved_corner,int moved_position){
+        final int[] positions = new int[3];
+        
+        double a_x = 0;
+        double a_y = 0;
+        double a_z = 0;
+        double b_x = 0;
+        double b_y = 0;
+        double b_z = 0;
+        
+        
+        for(int corner = 0;corner < 3;corner++){
+            positions[corner] = this._getPosition(triangle,corner);
+        }
+        if(moved_corner != -1){
+            positions[moved_corner] = moved_position;
+        }
+        
+        a_x = this.__points[positions[1] * 3] - this.__points[positions[0] * 3];
+        a_y = this.__points[positions[1] * 3 + 1] - this.__points[positions[0] * 3 + 1];
+        a_z = this.__points[positions[1] * 3 + 2] - this.__points[positions[0] * 3 + 2];
+        b_x = this.__points[positions[2] * 3] - this.__points[positions[0] * 3];
+        b_y = this.__points[positions[2] * 3 + 1] - this.__points[positions[0] * 3 + 1];
+        b_z = this.__points[positions[2] * 3 + 2] - this.__points[positions[0] * 3 + 2];
+        
+        return new double[]{
+            a_y * b_z - a_z * b_y,
+            a_z * b_x - a_x * b_z,
+            a_x * b_y - a_y * b_x
+        };
+    }
+    
+    /**
+     * Loads the mesh's triangles, giving every vertex the index of its position.  Vertices at exactly the same position share an index, so that triangles on either side of a seam are still joined.  Triangles which have two corners at the same position are dropped.
+     */
+    protected void _loadMesh(StrixaMesh mesh){
+        final IntTripleMap position_map = new IntTripleMap(mesh.getVertexCount());
+        final Vec3f        vector = new Vec3f();
+        
+        int       a = 0;
+        int       b = 0;
+        int       c = 0;
+        IntBuffer indices = null;
+        int       position = 0;
+        int       triangle = 0;
+        
+        
+        this.__vertex_positions = new int[mesh.getVertexCount()];
+        this.__points = new double[mesh.getVertexCount() * 3];
+        this.__position_count = 0;
+        for(int vertex = 0;vertex < mesh.getVertexCount();vertex++){  //The mesh is read through its accessors, so that a mesh held in buffers isn't copied onto the heap.
+            mesh.getPosition(vertex,vector);
+            position = position_map.getOrPut(
+                Float.floatToIntBits(vector.getX() + 0.0f),  //Adding zero turns -0 into 0, so that both are treated as the same position.
+                Float.floatToIntBits(vector.getY() + 0.0f),
+                Float.floatToIntBits(vector.getZ() + 0.0f),
+                this.__position_count
+            );
+            if(position == this.__position_count){
+                this.__points[position * 3] = vector.getX();
+                this.__points[position * 3 + 1] = vector.getY();
+                this.__points[position * 3 + 2] = vector.getZ();
+                this.__position_count++;
+            }
+            
+            this.__vertex_positions[vertex] = position;
+        }
+        
+        this.__triangles = new int[mesh.getTriangleCount() * 3];
+        this.__triangle_parts = new int[mesh.getTriangleCount()];
+        this.__triangle_removed = new boolean[mesh.getTriangleCount()];
+        this.__position_triangles = new int[this.__position_count][];
+        this.__position_triangle_counts = new int[this.__position_count];
+        this.__position_marks = new int[this.__position_count];
+        this.__position_removed = new boolean[this.__position_count];
+        this.__position_versions = new int[this.__position_count];
+        for(int part = 0;part < mesh.getParts().size();part++){
+            indices = mesh.getParts().get(part).getIndexBuffer();
+            
+            for(int index = 0,index_count = indices.remaining();index < index_count;index += 3,triangle++){
+                this.__triangles[triangle * 3] = indices.get(index);
+                this.__triangles[triangle * 3 + 1] = indices.get(index + 1);
+                this.__triangles[triangle * 3 + 2] = indices.get(index + 2);
+                this.__triangle_parts[triangle] = part;
+                
+                a = this.__vertex_positions[this.__triangles[triangle * 3]];
+                b = this.__vertex_positions[this.__triangles[triangle * 3 + 1]];
+                c = this.__vertex_positions[this.__triangles[triangle * 3 + 2]];
+                if(a == b || b == c || c == a){
+                    this.__triangle_removed[triangle] = true;
+                    
+                    continue;
+                }
+                
+                this._addPositionTriangle(a,triangle);
+                this._addPositionTriangle(b,triangle);
+                this._addPositionTriangle(c,triangle);
+            }
+        }
+    }
+    
+    /**
+     * Queues the collapse of position 'from' onto position 'to'.
+     */
+    protected void _queueCollapse(int from,int to){
+        this.__queue.add(new Collapse(
+            this._getError(from,to) + this._getError(to,to),
+            from,
+            this.__position_versions[from],
+            to,
+            this.__position_versions[to]
+        ));
+    }
+    
+    /**
+     * Queues the collapse of every edge leading away from the given position, dropping any removed triangles from its list along the way.  Each edge is only queued once, even though it belongs to two triangles.
+     *
+     * @param position Position whose edges should be queued.
+     * @param both_directions This should be true if the collapses of the edges' other ends onto the position should be queued as well.
+     */
+    protected void _queuePositionEdges(int position,boolean both_directions){
+        final int[] triangles = this.__position_triangles[position];
+        
+        int count = 0;
+        int other = 0;
+        
+        
+        this.__mark++;
+        this.__position_marks[position] = this.__mark;
+        for(int index = 0;index < this.__position_triangle_counts[position];index++){
+            if(this.__triangle_removed[triangles[index]]){
+                continue;
+            }
+            
+            triangles[count++] = triangles[index];
+            for(int corner = 0;corner < 3;corner++){
+                other = this._getPosition(triangles[index],corner);
+                if(this.__position_marks[other] != this.__mark){
+                    this.__position_marks[other] = this.__mark;
+                    
+                    this._queueCollapse(position,other);
+                    if(both_directions){
+                        this._queueCollapse(other,position);
+                    }
+                }
+            }
+        }
+        
+        this.__position_triangle_counts[position] = count;
+    }
+    
+    /**
+     * Simplifies the given mesh until it has no more than the given number of triangles, or until no more edges can be collapsed.<br />
+     * The mesh's parts are kept separate, though their triangles may be collapsed into each other's vertices.  Any part left without triangles is dropped.
+     *
+     * @param mesh Mesh to be simplified.  This isn't modified.
+     * @param target_triangle_count Number of triangles the simplified mesh should have.
+     *
+     * @return The simplified mesh, or the given mesh if it already has no more than the target number of triangles.
+     */
+    public StrixaMesh simplify(StrixaMesh mesh,int target_triangle_count){
+        Collapse collapse = null;
+        int      removed_count = 0;
+        int      triangle_count = 0;
+        
+        
+        if(mesh == null){
+            throw new IllegalArgumentException("Argument 'mesh' must not be null.");
+        }
+        
+        if(mesh.getTriangleCount() <= target_triangle_count){
+            return mesh;
+        }
+        
+        try{
+            this._loadMesh(mesh);
+            this._calculateQuadrics();
+            
+            this.__queue = new PriorityQueue<Collapse>(Math.max(1,this.__triangles.length * 2));
+            for(int position = 0;position < this.__position_count;position++){
+                if(this.__position_triangles[position] != null){
+                    this._queuePositionEdges(position,false);  //The collapse in the other direction is queued along with the other position's edges.
+                }
+            }
+            
+            for(int triangle = 0;triangle < this.__triangle_removed.length;triangle++){
+                if(!this.__triangle_removed[triangle]){
+                    triangle_count++;
+                }
+            }
+            while(triangle_count > target_triangle_count && (collapse = this.__queue.poll()) != null){
+                if(
+                    this.__position_removed[collapse.__from]
+                    ||
+                    this.__position_removed[collapse.__to]
+                    ||
+                    this.__position_versions[collapse.__from] != collapse.__from_version
+                    ||
+                    this.__position_versions[collapse.__to] != collapse.__to_version
+                ){
+                    continue;  //One of the positions has changed since this collapse was queued, so its cost is out of date.
+                }
+                
+                removed_count = this._collapse(collapse.__from,collapse.__to);
+                if(removed_count > 0){
+                    triangle_count -= removed_count;
+                }
+            }
+            
+            return this._buildMesh(mesh);
+        }finally{  //The working space can be large, so it isn't kept between meshes.
+            this.__points = null;
+            this.__position_marks = null;
+            this.__position_triangle_counts = null;
+            this.__position_triangles = null;
+            this.__position_removed = null;
+            this.__position_versions = null;
+            this.__quadrics = null;
+            this.__queue = null;
+            this.__triangle_parts = null;
+            this.__triangle_removed = null;
+            this.__triangles = null;
+            this.__vertex_positions = null;
+        }
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Writes the given vector into an array of three values per vertex, starting at the given offset.
+     */
+    protected static void _putVector(Vec3f vector,float[] values,int offset){
+        values[offset] = vector.getX();
+        values[offset + 1] = vector.getY();
+        values[offset + 2] = vector.getZ();
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,147 @@
+/**
+ * File:  MeshTransform.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.strixa.gl.StrixaMesh;
+import com.strixa.util.Vec3f;
+
+
+/**
+ * Applies the rotation and scale of a transform to a mesh.<br />
+ * Strixa3DElements can only be moved, so readers whose files place meshes with a full transform use this to bake everything but the translation into a copy of the mesh, and give the translation to the element.  Transforms are column-major 4x4 matrices, as both glTF and Blender store them.
+ *
+ * @author Nicholas Rog
+ */
+public class MeshTransform{
+    /*Begin Static Methods*/
+    /**
+     * Checks whether the given transform does nothing but move what it's applied to.
+     *
+     * @param transform Transform to be checked, as a column-major 4x4 matrix.
+     *
+     * @return Returns true if the upper 3x3 of the transform is the identity.
+     */
+    public static boolean isTranslation(double[] transform){
+        for(int column = 0;column < 3;column++){
+            for(int row = 0;row < 3;row++){
+                if(transform[column * 4 + row] != (column == row ? 1 : 0)){
+                    return false;
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Copies the given mesh, with the rotation and scale of the given transform applied to its positions and normals.  The transform's translation is left for the element to apply.  Texture coordinates and materials are shared with the given mesh, and the triangles' indices are only copied if the transform mirrors the mesh, which turns its triangles inside out.
+     *
+     * @param mesh Mesh to be copied.
+     * @param transform Transform to be applied, as a column-major 4x4 matrix.
+     *
+     * @return The transformed copy.
+     */
+    public static StrixaMesh transform(StrixaMesh mesh,double[] transform){
+        final double[]              normal_transform = new double[9];
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>(mesh.getParts().size());
+        final FloatBuffer           positions = ByteBuffer.allocateDirect(mesh.getVertexCount() * 12).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        final Vec3f                 vector = new Vec3f();
+        final int                   vertex_count = mesh.getVertexCount();
+        
+        double          determinant = 0;
+        IntBuffer       indices = null;
+        FloatBuffer     normals = null;
+        StrixaMesh.Part part = null;
+        
+        
+        for(int vertex = 0;vertex < vertex_count;vertex++){
+            mesh.getPosition(vertex,vector);
+            MeshTransform._putTransformed(positions,transform,4,vector,false);
+        }
+        positions.flip();
+        
+        for(int column = 0;column < 3;column++){  //Normals are transformed by the inverse transpose, which is the matrix of cofactors divided by the determinant.
+            for(int row = 0;row < 3;row++){
+                normal_transform[column * 3 + row] =
+                    transform[((column + 1) % 3) * 4 + (row + 1) % 3] * transform[((column + 2) % 3) * 4 + (row + 2) % 3] -
+                    transform[((column + 1) % 3) * 4 + (row + 2) % 3] * transform[((column + 2) % 3) * 4 + (row + 1) % 3];
+            }
+        }
+        determinant = transform[0] * normal_transform[0] + transform[4] * normal_transform[3] + transform[8] * normal_transform[6];
+        
+        if(mesh.hasNormals()){
+            normals = ByteBuffer.allocateDirect(vertex_count * 12).order(ByteOrder.nativeOrder()).asFloatBuffer();
+            for(int index = 0;index < 9;index++){
+                normal_transform[index] = determinant < 0 ? -normal_transform[index] : normal_transform[index];
+            }
+            for(int vertex = 0;vertex < vertex_count;vertex++){
+                mesh.getNormal(vertex,vector);
+                MeshTransform._putTransformed(normals,normal_transform,3,vector,true);
+            }
+            normals.flip();
+        }
+        
+        for(int part_index = 0;part_index < mesh.getParts().size();part_index++){
+            part = mesh.getParts().get(part_index);
+            if(determinant >= 0){
+                parts.add(part);
+                
+                continue;
+            }
+            
+            indices = ByteBuffer.allocateDirect(part.getIndexCount() * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+            for(int index = 0;index < part.getIndexCount();index += 3){
+                indices.put(part.getIndexBuffer().get(index));
+                indices.put(part.getIndexBuffer().get(index + 2));
+                indices.put(part.getIndexBuffer().get(index + 1));
+            }
+            indices.flip();
+            
+            parts.add(new StrixaMesh.Part(part.getMaterial(),indices));
+        }
+        
+        return new StrixaMesh(
+            vertex_count,
+            positions,
+            0,
+            mesh.hasTextureCoordinates() ? mesh.getTextureCoordinateBuffer() : null,
+            mesh.getTextureCoordinateStride(),
+            normals,
+            0,
+            parts
+        );
+    }
+    
+    /**
+     * Writes the given vector, multiplied by the upper 3x3 of the given column-major matrix, to the buffer.
+     *
+     * @param column_length Number of values in each of the matrix's columns.
+     * @param normalize Whether the result should be scaled to a length of one.
+     */
+    protected static void _putTransformed(FloatBuffer buffer,double[] matrix,int column_length,Vec3f vector,boolean normalize){
+        double length = 1;
+        double x = matrix[0] * vector.getX() + matrix[column_length] * vector.getY() + matrix[column_length * 2] * vector.getZ();
+        double y = matrix[1] * vector.getX() + matrix[column_length + 1] * vector.getY() + matrix[column_length * 2 + 1] * vector.getZ();
+        double z = matrix[2] * vector.getX() + matrix[column_length + 2] * vector.getY() + matrix[column_length * 2 + 2] * vector.getZ();
+        
+        
+        if(normalize){
+            length = Math.sqrt(x * x + y * y + z * z);
+            length = length == 0 ? 1 : length;
+        }
+        
+        buffer.put((float)(x / length));
+        buffer.put((float)(y / length));
+        buffer.put((float)(z / length));
+    }
+    /*End Static Methods*/
+}
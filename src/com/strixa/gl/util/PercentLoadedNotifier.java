@@ -0,0 +1,113 @@
+/**
+ * File:  PercentLoadedNotifier.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Keeps track of how much of a file has been read, and alerts PercentLoadedUpdateListeners as progress is made.  Readers hold one of these and hand their listener methods on to it, so that every reader reports its progress in the same way.<br />
+ * Progress may be reported from any number of threads at once, and listeners are alerted from whichever thread reported it.  Listeners may be added or removed while others are being alerted.
+ *
+ * @author Nicholas Rog
+ */
+public class PercentLoadedNotifier{
+    private final List<PercentLoadedUpdateListener> __listeners = new CopyOnWriteArrayList<PercentLoadedUpdateListener>();
+    private final double                            __update_step;
+    
+    private long   __bytes_read;
+    private double __last_update;
+    private long   __total_bytes;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs the notifier.
+     *
+     * @param update_step Smallest amount, in percent, the progress must change by before the listeners are alerted again.
+     */
+    public PercentLoadedNotifier(double update_step){
+        this.__update_step = update_step;
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the size of the file currently being read.
+     *
+     * @return The size of the file, in bytes, as given to {@link #reset(long)}.
+     */
+    public synchronized long getTotalBytes(){
+        return this.__total_bytes;
+    }
+    
+    /**
+     * Gets the smallest amount the progress must change by before the listeners are alerted again.
+     *
+     * @return The update step, in percent.
+     */
+    public double getUpdateStep(){
+        return this.__update_step;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    public void addPercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
+        if(!this.__listeners.contains(listener)){
+            this.__listeners.add(listener);
+        }
+    }
+    
+    /**
+     * Records that more of the file has been read, alerting the listeners if enough progress has been made.
+     *
+     * @param byte_count Number of bytes which have been read since the last call.
+     */
+    public synchronized void addBytesRead(long byte_count){
+        final double percent_loaded;
+        
+        
+        this.__bytes_read += byte_count;
+        
+        percent_loaded = ((double)this.__bytes_read / this.__total_bytes) * 100;
+        if((percent_loaded - this.__last_update) > this.__update_step && percent_loaded < 100){  //We want to reserve the 100% loaded update for when the read completes
+            this.alertListeners(percent_loaded);
+            
+            this.__last_update = percent_loaded;
+        }
+    }
+    
+    /**
+     * Alerts every listener of the given progress, whether or not it has changed by the update step.
+     *
+     * @param amount_loaded Percent of the file which has been read.
+     */
+    public void alertListeners(double amount_loaded){
+        for(int index = 0;index < this.__listeners.size();index++){
+            this.__listeners.get(index).onPercentLoadedUpdate(amount_loaded);
+        }
+    }
+    
+    public void removePercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
+        if(this.__listeners.contains(listener)){
+            this.__listeners.remove(listener);
+        }else{
+            throw new RuntimeException("This object does not have the given PercentLoadedUpdateListener registered to it.");
+        }
+    }
+    
+    /**
+     * Prepares to report the progress made reading a file of the given size.
+     *
+     * @param total_bytes Size of the file, in bytes.
+     */
+    public synchronized void reset(long total_bytes){
+        this.__total_bytes = total_bytes;
+        this.__bytes_read = 0;
+        this.__last_update = 0;
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,757 @@
+/**
+ * File:  PlyReader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMesh;
+
+
+/**
+ * Reads binary PLY files, in either byte order.<br />
+ * The file's vertices (their positions, along with any normals and texture coordinates) and faces are read into a single element with an indexed {@link StrixaMesh}.  Faces with more than three corners are split into a fan of triangles.  Any other elements in the file, and any other properties of the vertices and faces, are skipped.
+ * <br /><br />
+ * Vertex records are all the same size, so they are decoded in parallel straight away.  Face records hold a list of corners, so their positions in the file are usually found by a quick pass over the corner counts before they are decoded in parallel.  This pass is skipped when the file's size shows that every face is a triangle.
+ * <br /><br />
+ * <strong>Note:</strong>  ASCII PLY files aren't supported.  The vertices must fit in a single buffer, which limits a mesh to around 178 million vertices.
+ *
+ * @author Nicholas Rog
+ */
+public class PlyReader extends BinaryMeshReader{
+    /**
+     * An element declared in the file's header, such as its vertices or faces.
+     *
+     * @author Nicholas Rog
+     */
+    protected static class Element{
+        private final long           __count;
+        private final String         __name;
+        private final List<Property> __properties = new ArrayList<Property>();
+        
+        
+        /*Begin Constructor*/
+        public Element(String name,long count){
+            this.__name = name;
+            this.__count = count;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        public long getCount(){
+            return this.__count;
+        }
+        
+        public String getName(){
+            return this.__name;
+        }
+        
+        /**
+         * Gets the offset of the given property within each record.
+         *
+         * @param name Name of the property.
+         *
+         * @return The offset of the property, or -1 if there is no such property, or it comes after a list.
+         */
+        public int getOffset(String name){
+            int offset = 0;
+            
+            
+            for(Property property:this.__properties){
+                if(property.getName().equals(name)){
+                    return offset;
+                }else if(property.isList()){
+                    return -1;
+                }
+                
+                offset += PlyReader._getTypeSize(property.getType());
+            }
+            
+            return -1;
+        }
+        
+        public List<Property> getProperties(){
+            return this.__properties;
+        }
+        
+        public Property getProperty(String name){
+            for(Property property:this.__properties){
+                if(property.getName().equals(name)){
+                    return property;
+                }
+            }
+            
+            return null;
+        }
+        
+        /**
+         * Gets the size of each record, if they are all the same size.
+         *
+         * @return The size of each record, or -1 if the element has a list property.
+         */
+        public int getRecordSize(){
+            int size = 0;
+            
+            
+            for(Property property:this.__properties){
+                if(property.isList()){
+                    return -1;
+                }
+                
+                size += PlyReader._getTypeSize(property.getType());
+            }
+            
+            return size;
+        }
+        /*End Getter Methods*/
+    }
+    
+    /**
+     * A property of an element declared in the file's header.
+     *
+     * @author Nicholas Rog
+     */
+    protected static class Property{
+        private final int    __count_type;
+        private final String __name;
+        private final int    __type;
+        
+        
+        /*Begin Constructor*/
+        /**
+         * @param name Name of the property.
+         * @param type Type of the property's value, or of each of the list's values.
+         * @param count_type Type of the list's count, or 0 if the property isn't a list.
+         */
+        public Property(String name,int type,int count_type){
+            this.__name = name;
+            this.__type = type;
+            this.__count_type = count_type;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        public int getCountType(){
+            return this.__count_type;
+        }
+        
+        public String getName(){
+            return this.__name;
+        }
+        
+        public int getType(){
+            return this.__type;
+        }
+        
+        public boolean isList(){
+            return this.__count_type != 0;
+        }
+        /*End Getter Methods*/
+    }
+    
+    /** Extension given to PLY files. */
+    public static final String EXTENSION = ".ply";
+    
+    /** Records are decoded in pieces of roughly this many bytes, each by its own task. */
+    private static final int      __CHUNK_SIZE = 4 * 1024 * 1024;
+    /** Largest header which will be read. */
+    private static final int      __MAXIMUM_HEADER_SIZE = 1024 * 1024;
+    /** Names of the properties texture coordinates may be stored in, in pairs. */
+    private static final String[] __TEXTURE_COORDINATE_NAMES = new String[]{"u","v","s","t","texture_u","texture_v","texture_s","texture_t"};
+    /** Largest number of triangles given to a single mesh part, so that no index buffer grows too large to allocate. */
+    private static final int      __TRIANGLES_PER_PART = 1 << 26;
+    private static final int      __TYPE_CHAR = 1;
+    private static final int      __TYPE_DOUBLE = 2;
+    private static final int      __TYPE_FLOAT = 3;
+    private static final int      __TYPE_INT = 4;
+    private static final int      __TYPE_SHORT = 5;
+    private static final int      __TYPE_UCHAR = 6;
+    private static final int      __TYPE_UINT = 7;
+    private static final int      __TYPE_USHORT = 8;
+    
+    private ByteOrder __byte_order;
+    
+    
+    /*Begin Constructor*/
+    public PlyReader(String file_location){
+        super(file_location);
+    }
+    
+    public PlyReader(String file_location,double update_step){
+        super(file_location,update_step);
+    }
+    /*End Constructor*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Allocates the index buffers of the mesh parts the given number of triangles are split between.
+     */
+    protected IntBuffer[] _allocateParts(long triangle_count) throws IOException{
+        final IntBuffer[] parts = new IntBuffer[(int)((triangle_count + PlyReader.__TRIANGLES_PER_PART - 1) / PlyReader.__TRIANGLES_PER_PART)];
+        
+        
+        for(int index = 0;index < parts.length;index++){
+            parts[index] = this._allocateInts(Math.min(PlyReader.__TRIANGLES_PER_PART,triangle_count - (long)index * PlyReader.__TRIANGLES_PER_PART) * 3);
+        }
+        
+        return parts;
+    }
+    
+    /**
+     * Creates a task which decodes the faces between two chunk boundaries into the index buffers.
+     *
+     * @param chunk Position of the first face within the file, its index, and the index of its first triangle.
+     * @param next_chunk The same, for the face after the last one to be decoded.
+     * @param triangles_only This should be true if every face is expected to be a triangle.  The task will return false as soon as it finds one which isn't.
+     */
+    protected Callable<Boolean> _createFaceDecoder(final FileChannel channel,final Element faces,final long[] chunk,final long[] next_chunk,final int vertex_count,final IntBuffer[] parts,final boolean triangles_only){
+        return new Callable<Boolean>(){
+            public Boolean call() throws IOException{
+                final ByteBuffer buffer = BinaryMeshReader._map(channel,chunk[0],next_chunk[0] - chunk[0],PlyReader.this.__byte_order);
+                
+                long      corner_count = 0;
+                int       first_vertex = 0;
+                long      index = 0;
+                int       offset = 0;
+                IntBuffer part = null;
+                int       previous_vertex = 0;
+                long      triangle = chunk[2];
+                int       vertex = 0;
+                
+                
+                for(long face = chunk[1];face < next_chunk[1];face++){
+                    for(Property property:faces.getProperties()){
+                        if(!property.isList()){
+                            offset += PlyReader._getTypeSize(property.getType());
+                            
+                            continue;
+                        }
+                        
+                        corner_count = PlyReader._readInteger(buffer,offset,property.getCountType());
+                        offset += PlyReader._getTypeSize(property.getCountType());
+                        if(!PlyReader._isIndexProperty(property)){
+                            offset += corner_count * PlyReader._getTypeSize(property.getType());
+                            
+                            continue;
+                        }else if(triangles_only && corner_count != 3){
+                            return false;
+                        }
+                        
+                        for(int corner = 0;corner < corner_count;corner++){
+                            index = PlyReader._readInteger(buffer,offset,property.getType());
+                            if(index < 0 || index >= vertex_count){
+                                throw new IOException("Face " + face + " refers to vertex " + index + ", which doesn't exist.");
+                            }
+                            vertex = (int)index;
+                            offset += PlyReader._getTypeSize(property.getType());
+                            
+                            if(corner == 0){
+                                first_vertex = vertex;
+                            }else if(corner >= 2){  //Each corner after the second completes another triangle of the fan.
+                                part = parts[(int)(triangle / PlyReader.__TRIANGLES_PER_PART)];
+                                part.put((int)(triangle % PlyReader.__TRIANGLES_PER_PART) * 3,first_vertex);
+                                part.put((int)(triangle % PlyReader.__TRIANGLES_PER_PART) * 3 + 1,previous_vertex);
+                                part.put((int)(triangle % PlyReader.__TRIANGLES_PER_PART) * 3 + 2,vertex);
+                                
+                                triangle++;
+                            }
+                            previous_vertex = vertex;
+                        }
+                    }
+                }
+                
+                PlyReader.this._addBytesRead(next_chunk[0] - chunk[0]);
+                
+                return true;
+            }
+        };
+    }
+    
+    /**
+     * Creates a task which decodes the given range of vertices into the mesh's buffers.
+     *
+     * @param start Position of the first vertex within the file.
+     * @param texture_coordinate_names Names of the properties holding the texture coordinates, or null if there are none.
+     */
+    protected Callable<Void> _createVertexDecoder(final FileChannel channel,final Element vertices,final long start,final int first_vertex,final int last_vertex,final FloatBuffer positions,final FloatBuffer normals,final FloatBuffer texture_coordinates,final String[] texture_coordinate_names){
+        return new Callable<Void>(){
+            public Void call() throws IOException{
+                final String[]   normal_names = new String[]{"nx","ny","nz"};
+                final String[]   position_names = new String[]{"x","y","z"};
+                final int        record_size = vertices.getRecordSize();
+                final ByteBuffer buffer = BinaryMeshReader._map(channel,start + (long)first_vertex * record_size,(long)(last_vertex - first_vertex) * record_size,PlyReader.this.__byte_order);
+                final int[]      offsets = new int[8];
+                final int[]      types = new int[8];
+                
+                int record = 0;
+                
+                
+                for(int axis = 0;axis < 3;axis++){
+                    offsets[axis] = vertices.getOffset(position_names[axis]);
+                    types[axis] = vertices.getProperty(position_names[axis]).getType();
+                    if(normals != null){
+                        offsets[axis + 3] = vertices.getOffset(normal_names[axis]);
+                        types[axis + 3] = vertices.getProperty(normal_names[axis]).getType();
+                    }
+                }
+                if(texture_coordinates != null){
+                    for(int axis = 0;axis < 2;axis++){
+                        offsets[axis + 6] = vertices.getOffset(texture_coordinate_names[axis]);
+                        types[axis + 6] = vertices.getProperty(texture_coordinate_names[axis]).getType();
+                    }
+                }
+                
+                for(int vertex = first_vertex;vertex < last_vertex;vertex++){
+                    record = (vertex - first_vertex) * record_size;
+                    
+                    for(int axis = 0;axis < 3;axis++){
+                        positions.put(vertex * 3 + axis,(float)PlyReader._readValue(buffer,record + offsets[axis],types[axis]));
+                        if(normals != null){
+                            normals.put(vertex * 3 + axis,(float)PlyReader._readValue(buffer,record + offsets[axis + 3],types[axis + 3]));
+                        }
+                    }
+                    if(texture_coordinates != null){
+                        texture_coordinates.put(vertex * 2,(float)PlyReader._readValue(buffer,record + offsets[6],types[6]));
+                        texture_coordinates.put(vertex * 2 + 1,(float)PlyReader._readValue(buffer,record + offsets[7],types[7]));
+                    }
+                }
+                
+                PlyReader.this._addBytesRead((long)(last_vertex - first_vertex) * record_size);
+                
+                return null;
+            }
+        };
+    }
+    
+    /**
+     * Decodes the faces in parallel, one task for each pair of neighbouring chunk boundaries.
+     *
+     * @param chunks Boundaries between the pieces the faces are split into, followed by one marking where they end.  Each is the position of a face within the file, its index, and the index of its first triangle.
+     *
+     * @return Returns true if the faces were decoded, and false if triangles_only was given but some of the faces weren't triangles.
+     */
+    protected boolean _decodeFaces(FileChannel channel,Element faces,List<long[]> chunks,int vertex_count,IntBuffer[] parts,boolean triangles_only) throws IOException{
+        final List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+        
+        
+        for(int index = 0;index < chunks.size() - 1;index++){
+            tasks.add(this._createFaceDecoder(channel,faces,chunks.get(index),chunks.get(index + 1),vertex_count,parts,triangles_only));
+        }
+        
+        return !this._invokeAll(tasks).contains(Boolean.FALSE);
+    }
+    
+    /**
+     * Reads the file's header, setting the byte order its records are stored in.
+     *
+     * @param elements List the elements declared in the header should be added to.
+     *
+     * @return The position of the first record within the file.
+     */
+    protected long _readHeader(FileChannel channel,List<Element> elements) throws IOException{
+        final ByteBuffer    buffer = BinaryMeshReader._map(channel,0,Math.min(channel.size(),PlyReader.__MAXIMUM_HEADER_SIZE),ByteOrder.BIG_ENDIAN);
+        final StringBuilder line = new StringBuilder();
+        
+        Element  element = null;
+        boolean  first_line = true;
+        String[] tokens = null;
+        
+        
+        this.__byte_order = null;
+        while(true){
+            line.setLength(0);
+            while(buffer.hasRemaining() && buffer.get(buffer.position()) != '\n'){
+                line.append((char)(buffer.get() & 0xFF));
+            }
+            if(!buffer.hasRemaining()){
+                throw new IOException("The file's header has no end.");
+            }
+            buffer.get();
+            
+            tokens = line.toString().trim().split("\\s+");
+            if(first_line){
+                if(!tokens[0].equals("ply")){
+                    throw new IOException("File is not a PLY file.");
+                }
+                
+                first_line = false;
+            }else if(tokens[0].equals("format")){
+                if(tokens.length < 2){
+                    throw new IOException("Invalid format line:  " + line);
+                }else if(tokens[1].equals("binary_little_endian")){
+                    this.__byte_order = ByteOrder.LITTLE_ENDIAN;
+                }else if(tokens[1].equals("binary_big_endian")){
+                    this.__byte_order = ByteOrder.BIG_ENDIAN;
+                }else{
+                    throw new IOException("Only binary PLY files are supported.  Format:  " + tokens[1]);
+                }
+            }else if(tokens[0].equals("element")){
+                if(tokens.length != 3){
+                    throw new IOException("Invalid element line:  " + line);
+                }
+                
+                try{
+                    element = new Element(tokens[1],Long.parseLong(tokens[2]));
+                }catch(NumberFormatException e){
+                    throw new IOException("Invalid element count:  " + line);
+                }
+                elements.add(element);
+            }else if(tokens[0].equals("property")){
+                if(element == null){
+                    throw new IOException("Property given before any element:  " + line);
+                }else if(tokens.length == 5 && tokens[1].equals("list")){
+                    element.getProperties().add(new Property(tokens[4],PlyReader._getType(tokens[3]),PlyReader._getType(tokens[2])));
+                }else if(tokens.length == 3){
+                    element.getProperties().add(new Property(tokens[2],PlyReader._getType(tokens[1]),0));
+                }else{
+                    throw new IOException("Invalid property line:  " + line);
+                }
+            }else if(tokens[0].equals("end_header")){
+                break;
+            }  //Comments, and anything else which might be given in the header, are skipped.
+        }
+        
+        if(this.__byte_order == null){
+            throw new IOException("The file's header doesn't give its format.");
+        }
+        
+        return buffer.position();
+    }
+    
+    protected List<Strixa3DElement> _read(FileChannel channel) throws IOException{
+        final List<Element>         elements = new ArrayList<Element>();
+        final List<Strixa3DElement> objects = new ArrayList<Strixa3DElement>();
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>();
+        final List<Callable<Void>>  tasks = new ArrayList<Callable<Void>>();
+        
+        List<long[]>    chunks = null;
+        Element         element = null;
+        long            element_start = 0;
+        Element         faces = null;
+        long            face_end = 0;
+        long            face_start = 0;
+        FloatBuffer     normals = null;
+        Strixa3DElement object = null;
+        IntBuffer[]     part_indices = null;
+        long            position = 0;
+        FloatBuffer     positions = null;
+        String[]        texture_coordinate_names = null;
+        FloatBuffer     texture_coordinates = null;
+        int             triangle_size = 0;
+        int             vertex_chunk_size = 0;
+        long            vertex_start = 0;
+        Element         vertices = null;
+        Window          window = null;
+        
+        
+        position = this._readHeader(channel,elements);
+        window = new Window(channel,this.__byte_order);
+        
+        /*Find where the vertices and faces are, skipping past every other element.*/
+        for(int index = 0;index < elements.size();index++){
+            element = elements.get(index);
+            element_start = position;
+            
+            if(vertices == null && element.getName().equals("vertex")){
+                vertices = element;
+                vertex_start = position;
+            }else if(faces == null && element.getName().equals("face")){
+                faces = element;
+                face_start = position;
+            }
+            
+            if(element.getRecordSize() != -1){
+                position += element.getCount() * element.getRecordSize();
+            }else if(element == faces && PlyReader._getTriangleSize(faces) != -1 && PlyReader._getFixedSize(elements.subList(index + 1,elements.size())) != -1){  //If the faces are all triangles, they end where the elements after them start.
+                position = channel.size() - PlyReader._getFixedSize(elements.subList(index + 1,elements.size()));
+                if(position - face_start == faces.getCount() * PlyReader._getTriangleSize(faces)){
+                    face_end = position;
+                }else{
+                    position = this._scanRecords(window,element,element_start,null);
+                }
+            }else{
+                position = this._scanRecords(window,element,element_start,null);
+            }
+            if(position > channel.size()){
+                throw new IOException("File is shorter than the elements its header declares.");
+            }
+            
+            if(element != vertices && element != faces){
+                this._addBytesRead(position - element_start);
+            }
+        }
+        if(vertices == null || vertices.getProperty("x") == null || vertices.getProperty("y") == null || vertices.getProperty("z") == null){
+            throw new IOException("The file has no vertex positions.");
+        }else if(vertices.getRecordSize() == -1){
+            throw new IOException("Vertices with list properties aren't supported.");
+        }else if(vertices.getCount() > Integer.MAX_VALUE){
+            throw new IOException("The file has too many vertices:  " + vertices.getCount());
+        }
+        
+        /*Decode the vertices.*/
+        positions = this._allocateFloats(vertices.getCount() * 3);
+        if(vertices.getOffset("nx") != -1 && vertices.getOffset("ny") != -1 && vertices.getOffset("nz") != -1){
+            normals = this._allocateFloats(vertices.getCount() * 3);
+        }
+        for(int index = 0;index < PlyReader.__TEXTURE_COORDINATE_NAMES.length;index += 2){
+            if(vertices.getOffset(PlyReader.__TEXTURE_COORDINATE_NAMES[index]) != -1 && vertices.getOffset(PlyReader.__TEXTURE_COORDINATE_NAMES[index + 1]) != -1){
+                texture_coordinate_names = new String[]{PlyReader.__TEXTURE_COORDINATE_NAMES[index],PlyReader.__TEXTURE_COORDINATE_NAMES[index + 1]};
+                texture_coordinates = this._allocateFloats(vertices.getCount() * 2);
+                
+                break;
+            }
+        }
+        
+        vertex_chunk_size = Math.max(1,PlyReader.__CHUNK_SIZE / Math.max(1,vertices.getRecordSize()));
+        for(long vertex = 0;vertex < vertices.getCount();vertex += vertex_chunk_size){
+            tasks.add(this._createVertexDecoder(channel,vertices,vertex_start,(int)vertex,(int)Math.min(vertex + vertex_chunk_size,vertices.getCount()),positions,normals,texture_coordinates,texture_coordinate_names));
+        }
+        this._invokeAll(tasks);
+        
+        /*Decode the faces.*/
+        if(faces != null && faces.getCount() != 0){
+            if(PlyReader._getIndexProperty(faces) == null){
+                throw new IOException("The file's faces have no vertex indices.");
+            }
+            
+            if(face_end != 0){  //The faces take up exactly as much room as they would if they were all triangles, so they can be split up without being scanned.
+                triangle_size = PlyReader._getTriangleSize(faces);
+                chunks = new ArrayList<long[]>();
+                for(long face = 0;face < faces.getCount();face += Math.max(1,PlyReader.__CHUNK_SIZE / triangle_size)){
+                    chunks.add(new long[]{face_start + face * triangle_size,face,face});
+                }
+                chunks.add(new long[]{face_end,faces.getCount(),faces.getCount()});
+                
+                part_indices = this._allocateParts(faces.getCount());
+                if(!this._decodeFaces(channel,faces,chunks,(int)vertices.getCount(),part_indices,true)){  //Degenerate faces with fewer corners can make up for those with more.
+                    chunks = null;
+                }
+            }
+            
+            if(chunks == null){
+                chunks = new ArrayList<long[]>();
+                this._scanRecords(window,faces,face_start,chunks);
+                
+                part_indices = this._allocateParts(chunks.get(chunks.size() - 1)[2]);
+                this._decodeFaces(channel,faces,chunks,(int)vertices.getCount(),part_indices,false);
+            }
+            
+            for(int index = 0;index < part_indices.length;index++){
+                parts.add(new StrixaMesh.Part(null,part_indices[index]));
+            }
+        }
+        
+        object = new Strixa3DElement();
+        object.setMesh(this._createMesh((int)vertices.getCount(),positions,texture_coordinates,normals,parts));
+        objects.add(object);
+        
+        return objects;
+    }
+    
+    /**
+     * Finds where each of the given element's records starts by reading the counts of their lists.
+     *
+     * @param window Window the file should be read through.
+     * @param position Position of the element's first record within the file.
+     * @param chunks List which, if this isn't null, is given the boundaries between pieces of the element of roughly {@link #__CHUNK_SIZE} bytes each, followed by one marking where the element ends.  Each is the position of a record within the file, its index, and the number of triangles in the records before it.
+     *
+     * @return The position after the element's last record.
+     */
+    protected long _scanRecords(Window window,Element element,long position,List<long[]> chunks) throws IOException{
+        final List<Property> properties = element.getProperties();
+        
+        long       chunk_start = -1;
+        long       count = 0;
+        ByteBuffer buffer = null;
+        Property   property = null;
+        long       triangle_count = 0;
+        
+        
+        for(long record = 0;record < element.getCount();record++){
+            if(chunks != null && (chunk_start == -1 || position - chunk_start >= PlyReader.__CHUNK_SIZE)){
+                chunks.add(new long[]{position,record,triangle_count});
+                
+                chunk_start = position;
+            }
+            
+            for(int index = 0;index < properties.size();index++){
+                property = properties.get(index);
+                if(!property.isList()){
+                    position += PlyReader._getTypeSize(property.getType());
+                    
+                    continue;
+                }
+                
+                buffer = window.map(position,PlyReader._getTypeSize(property.getCountType()));
+                count = PlyReader._readInteger(buffer,window.getOffset(position),property.getCountType());
+                if(count < 0){
+                    throw new IOException("Record " + record + " of element " + element.getName() + " has a negative count.");
+                }else if(count > 2 && PlyReader._isIndexProperty(property)){
+                    triangle_count += count - 2;
+                }
+                
+                position += PlyReader._getTypeSize(property.getCountType()) + count * PlyReader._getTypeSize(property.getType());
+            }
+        }
+        
+        if(chunks != null){
+            chunks.add(new long[]{position,element.getCount(),triangle_count});
+        }
+        
+        return position;
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the total size of the given elements, if all of their records are the same size.
+     *
+     * @return The total size of the elements, or -1 if any of them has a list property.
+     */
+    protected static long _getFixedSize(List<Element> elements){
+        long size = 0;
+        
+        
+        for(Element element:elements){
+            if(element.getRecordSize() == -1){
+                return -1;
+            }
+            
+            size += element.getCount() * element.getRecordSize();
+        }
+        
+        return size;
+    }
+    
+    /**
+     * Gets the list property holding the vertices of each face.
+     *
+     * @return The list property holding the vertices of each face, or null if there isn't one.
+     */
+    protected static Property _getIndexProperty(Element faces){
+        for(Property property:faces.getProperties()){
+            if(PlyReader._isIndexProperty(property)){
+                return property;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Gets the size of the given face element's records, if each of them is a triangle.
+     *
+     * @return The size of each triangle's record, or -1 if the records can hold lists other than their vertices.
+     */
+    protected static int _getTriangleSize(Element faces){
+        boolean index_found = false;
+        int     size = 0;
+        
+        
+        for(Property property:faces.getProperties()){
+            if(!property.isList()){
+                size += PlyReader._getTypeSize(property.getType());
+            }else if(PlyReader._isIndexProperty(property) && !index_found){
+                size += PlyReader._getTypeSize(property.getCountType()) + 3 * PlyReader._getTypeSize(property.getType());
+                index_found = true;
+            }else{
+                return -1;
+            }
+        }
+        
+        return index_found ? size : -1;
+    }
+    
+    /**
+     * Gets the type with the given name.
+     *
+     * @throws IOException Thrown if there is no such type.
+     */
+    protected static int _getType(String name) throws IOException{
+        if(name.equals("char") || name.equals("int8")){
+            return PlyReader.__TYPE_CHAR;
+        }else if(name.equals("uchar") || name.equals("uint8")){
+            return PlyReader.__TYPE_UCHAR;
+        }else if(name.equals("short") || name.equals("int16")){
+            return PlyReader.__TYPE_SHORT;
+        }else if(name.equals("ushort") || name.equals("uint16")){
+            return PlyReader.__TYPE_USHORT;
+        }else if(name.equals("int") || name.equals("int32")){
+            return PlyReader.__TYPE_INT;
+        }else if(name.equals("uint") || name.equals("uint32")){
+            return PlyReader.__TYPE_UINT;
+        }else if(name.equals("float") || name.equals("float32")){
+            return PlyReader.__TYPE_FLOAT;
+        }else if(name.equals("double") || name.equals("float64")){
+            return PlyReader.__TYPE_DOUBLE;
+        }
+        
+        throw new IOException("Unknown property type:  " + name);
+    }
+    
+    protected static int _getTypeSize(int type){
+        switch(type){
+            case PlyReader.__TYPE_CHAR:
+            case PlyReader.__TYPE_UCHAR:
+                return 1;
+            case PlyReader.__TYPE_SHORT:
+            case PlyReader.__TYPE_USHORT:
+                return 2;
+            case PlyReader.__TYPE_DOUBLE:
+                return 8;
+            default:
+                return 4;
+        }
+    }
+    
+    protected static boolean _isIndexProperty(Property property){
+        return property.isList() && (property.getName().equals("vertex_indices") || property.getName().equals("vertex_index"));
+    }
+    
+    /**
+     * Reads an integer of the given type.  Floating point values are truncated.
+     */
+    protected static long _readInteger(ByteBuffer buffer,int offset,int type){
+        switch(type){
+            case PlyReader.__TYPE_CHAR:
+                return buffer.get(offset);
+            case PlyReader.__TYPE_UCHAR:
+                return buffer.get(offset) & 0xFF;
+            case PlyReader.__TYPE_SHORT:
+                return buffer.getShort(offset);
+            case PlyReader.__TYPE_USHORT:
+                return buffer.getShort(offset) & 0xFFFF;
+            case PlyReader.__TYPE_INT:
+                return buffer.getInt(offset);
+            case PlyReader.__TYPE_UINT:
+                return buffer.getInt(offset) & 0xFFFFFFFFL;
+            default:
+                return (long)PlyReader._readValue(buffer,offset,type);
+        }
+    }
+    
+    /**
+     * Reads a value of the given type.
+     */
+    protected static double _readValue(ByteBuffer buffer,int offset,int type){
+        switch(type){
+            case PlyReader.__TYPE_FLOAT:
+                return buffer.getFloat(offset);
+            case PlyReader.__TYPE_DOUBLE:
+                return buffer.getDouble(offset);
+            default:
+                return PlyReader._readInteger(buffer,offset,type);
+        }
+    }
+    /*End Static Methods*/
+}
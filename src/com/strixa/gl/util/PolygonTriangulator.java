@@ -0,0 +1,193 @@
+/**
+ * File:  PolygonTriangulator.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+/**
+ * Splits polygons up into triangles.<br />
+ * Convex polygons are split into a fan around their first corner.  Any other polygon is split up by ear clipping, after being projected onto the plane it (mostly) lies in.  Either way, a polygon with n corners becomes n - 2 triangles which keep its winding.
+ * <br /><br />
+ * <strong>Note:</strong>  Instances keep working space between calls, and so must not be shared between threads.
+ *
+ * @author Nicholas Rog
+ */
+public class PolygonTriangulator{
+    private int[]    __next = new int[16];
+    private int[]    __previous = new int[16];
+    private double[] __x = new double[16];
+    private double[] __y = new double[16];
+    
+    
+    /*Begin Other Methods*/
+    /**
+     * Gets twice the signed area of the triangle made up of the given projected corners.  This is positive if the corners turn counterclockwise.
+     */
+    protected double _cross(int a,int b,int c){
+        return (this.__x[b] - this.__x[a]) * (this.__y[c] - this.__y[a]) - (this.__y[b] - this.__y[a]) * (this.__x[c] - this.__x[a]);
+    }
+    
+    /**
+     * Checks whether the given projected point lies within the triangle, or on its edge.  The triangle's corners must turn in the direction given by the orientation.
+     */
+    protected boolean _isInside(int point,int a,int b,int c,double orientation){
+        return this._cross(a,b,point) * orientation >= 0 && this._cross(b,c,point) * orientation >= 0 && this._cross(c,a,point) * orientation >= 0;
+    }
+    
+    /**
+     * Projects the polygon onto the axis-aligned plane which it is closest to parallel with, using its Newell normal.
+     */
+    protected void _project(double[] coordinates,int[] vertices,int vertex_count){
+        double normal_x = 0;
+        double normal_y = 0;
+        double normal_z = 0;
+        int    u_axis = 0;
+        int    v_axis = 1;
+        
+        
+        if(vertex_count > this.__x.length){
+            this.__x = new double[vertex_count];
+            this.__y = new double[vertex_count];
+            this.__next = new int[vertex_count];
+            this.__previous = new int[vertex_count];
+        }
+        
+        for(int corner = 0;corner < vertex_count;corner++){
+            final int current = vertices[corner] * 3;
+            final int next = vertices[(corner + 1) % vertex_count] * 3;
+            
+            
+            normal_x += (coordinates[current + 1] - coordinates[next + 1]) * (coordinates[current + 2] + coordinates[next + 2]);
+            normal_y += (coordinates[current + 2] - coordinates[next + 2]) * (coordinates[current] + coordinates[next]);
+            normal_z += (coordinates[current] - coordinates[next]) * (coordinates[current + 1] + coordinates[next + 1]);
+        }
+        
+        /*Drop the axis the normal points along the most, keeping the remaining two in cyclic order so the winding is preserved.*/
+        if(Math.abs(normal_x) >= Math.abs(normal_y) && Math.abs(normal_x) >= Math.abs(normal_z)){
+            u_axis = 1;
+            v_axis = 2;
+            if(normal_x < 0){
+                u_axis = 2;
+                v_axis = 1;
+            }
+        }else if(Math.abs(normal_y) >= Math.abs(normal_z)){
+            u_axis = 2;
+            v_axis = 0;
+            if(normal_y < 0){
+                u_axis = 0;
+                v_axis = 2;
+            }
+        }else if(normal_z < 0){
+            u_axis = 1;
+            v_axis = 0;
+        }
+        
+        for(int corner = 0;corner < vertex_count;corner++){
+            this.__x[corner] = coordinates[vertices[corner] * 3 + u_axis];
+            this.__y[corner] = coordinates[vertices[corner] * 3 + v_axis];
+        }
+    }
+    
+    /**
+     * Splits the given polygon up into triangles.
+     *
+     * @param coordinates Coordinates of every vertex the polygon could refer to, three per vertex.
+     * @param vertices Index of the vertex at each of the polygon's corners.
+     * @param vertex_count Number of corners the polygon has.  This must be at least 3.
+     * @param triangles Array the triangles should be stored in, as the indices of their corners within the polygon (not the indices of their vertices).  This must have room for at least 3 * (vertex_count - 2) indices.
+     * @param offset Position within the triangles array the first triangle should be stored at.
+     *
+     * @return The number of triangles stored, which is always vertex_count - 2.
+     */
+    public int triangulate(double[] coordinates,int[] vertices,int vertex_count,int[] triangles,int offset){
+        boolean convex = true;
+        int     corner = 0;
+        int     remaining = vertex_count;
+        int     searched = 0;
+        
+        
+        if(vertex_count < 3){
+            throw new IllegalArgumentException("Argument 'vertex_count' must be at least 3.");
+        }
+        
+        if(vertex_count == 3){
+            triangles[offset] = 0;
+            triangles[offset + 1] = 1;
+            triangles[offset + 2] = 2;
+            
+            return 1;
+        }
+        
+        this._project(coordinates,vertices,vertex_count);
+        
+        /*The projection keeps the polygon counterclockwise, so any corner which turns clockwise makes it concave.*/
+        for(int index = 0;index < vertex_count && convex;index++){
+            convex = this._cross((index + vertex_count - 1) % vertex_count,index,(index + 1) % vertex_count) >= 0;
+        }
+        if(convex){
+            for(int index = 1;index < vertex_count - 1;index++){
+                triangles[offset++] = 0;
+                triangles[offset++] = index;
+                triangles[offset++] = index + 1;
+            }
+            
+            return vertex_count - 2;
+        }
+        
+        for(int index = 0;index < vertex_count;index++){
+            this.__next[index] = (index + 1) % vertex_count;
+            this.__previous[index] = (index + vertex_count - 1) % vertex_count;
+        }
+        
+        while(remaining > 3){
+            if(this._isEar(corner) || searched >= remaining){  //If no ear can be found, the polygon is degenerate or self-intersecting, so we just clip wherever we are.
+                triangles[offset++] = this.__previous[corner];
+                triangles[offset++] = corner;
+                triangles[offset++] = this.__next[corner];
+                
+                this.__next[this.__previous[corner]] = this.__next[corner];
+                this.__previous[this.__next[corner]] = this.__previous[corner];
+                corner = this.__previous[corner];
+                remaining--;
+                searched = 0;
+            }else{
+                corner = this.__next[corner];
+                searched++;
+            }
+        }
+        
+        triangles[offset++] = this.__previous[corner];
+        triangles[offset++] = corner;
+        triangles[offset] = this.__next[corner];
+        
+        return vertex_count - 2;
+    }
+    
+    /**
+     * Checks whether the triangle made up of the given corner and its neighbours can be clipped off of what remains of the polygon.
+     */
+    protected boolean _isEar(int corner){
+        final int next = this.__next[corner];
+        final int previous = this.__previous[corner];
+        
+        
+        if(this._cross(previous,corner,next) <= 0){  //Reflex or flat corners are never ears.
+            return false;
+        }
+        
+        for(int other = this.__next[next];other != previous;other = this.__next[other]){
+            if(
+                this._isInside(other,previous,corner,next,1)
+                &&
+                !(this.__x[other] == this.__x[previous] && this.__y[other] == this.__y[previous])
+                &&
+                !(this.__x[other] == this.__x[next] && this.__y[other] == this.__y[next])
+            ){
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    /*End Other Methods*/
+}
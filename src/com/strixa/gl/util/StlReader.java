@@ -0,0 +1,177 @@
+/**
+ * File:  StlReader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMesh;
+
+
+/**
+ * Reads binary STL files.<br />
+ * STL triangles don't share their corners, so each triangle is given three vertices of its own, all using the triangle's normal.  Triangles whose normal is missing (zero) are given the normal of their corners' winding instead.  The triangles are split between several elements of at most {@link #TRIANGLES_PER_ELEMENT} triangles each, so that no single buffer grows too large to allocate, and each element can be culled on its own.
+ * <br /><br />
+ * <strong>Note:</strong>  ASCII STL files aren't supported, and the two attribute bytes of each triangle are ignored.
+ *
+ * @author Nicholas Rog
+ */
+public class StlReader extends BinaryMeshReader{
+    /** Extension given to STL files. */
+    public static final String EXTENSION = ".stl";
+    /** Largest number of triangles given to a single element. */
+    public static final int    TRIANGLES_PER_ELEMENT = 1 << 22;
+    
+    /** Number of triangles decoded by each task, so that each covers roughly 4MB of the file. */
+    private static final int __CHUNK_TRIANGLE_COUNT = 4 * 1024 * 1024 / 50;
+    /** Size of the header, including the triangle count. */
+    private static final int __HEADER_SIZE = 84;
+    /** Size of each triangle record. */
+    private static final int __TRIANGLE_SIZE = 50;
+    
+    
+    /*Begin Constructor*/
+    public StlReader(String file_location){
+        super(file_location);
+    }
+    
+    public StlReader(String file_location,double update_step){
+        super(file_location,update_step);
+    }
+    /*End Constructor*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Creates a task which decodes the given range of triangles into the elements' buffers.
+     */
+    protected Callable<Void> _createChunkDecoder(final FileChannel channel,final long first_triangle,final long last_triangle,final FloatBuffer[] positions,final FloatBuffer[] normals){
+        return new Callable<Void>(){
+            public Void call() throws IOException{
+                final ByteBuffer buffer = BinaryMeshReader._map(channel,StlReader.__HEADER_SIZE + first_triangle * StlReader.__TRIANGLE_SIZE,(last_triangle - first_triangle) * StlReader.__TRIANGLE_SIZE,ByteOrder.LITTLE_ENDIAN);
+                
+                double      length = 0;
+                FloatBuffer normal_buffer = null;
+                double      normal_x = 0;
+                double      normal_y = 0;
+                double      normal_z = 0;
+                int         offset = 0;
+                FloatBuffer position_buffer = null;
+                int         record = 0;
+                
+                
+                for(long triangle = first_triangle;triangle < last_triangle;triangle++){
+                    record = (int)(triangle - first_triangle) * StlReader.__TRIANGLE_SIZE;
+                    position_buffer = positions[(int)(triangle / StlReader.TRIANGLES_PER_ELEMENT)];
+                    normal_buffer = normals[(int)(triangle / StlReader.TRIANGLES_PER_ELEMENT)];
+                    offset = (int)(triangle % StlReader.TRIANGLES_PER_ELEMENT) * 9;
+                    
+                    for(int value = 0;value < 9;value++){
+                        position_buffer.put(offset + value,buffer.getFloat(record + 12 + value * 4));
+                    }
+                    
+                    normal_x = buffer.getFloat(record);
+                    normal_y = buffer.getFloat(record + 4);
+                    normal_z = buffer.getFloat(record + 8);
+                    if(normal_x == 0 && normal_y == 0 && normal_z == 0){
+                        normal_x = (position_buffer.get(offset + 4) - position_buffer.get(offset + 1)) * (position_buffer.get(offset + 8) - position_buffer.get(offset + 2)) - (position_buffer.get(offset + 5) - position_buffer.get(offset + 2)) * (position_buffer.get(offset + 7) - position_buffer.get(offset + 1));
+                        normal_y = (position_buffer.get(offset + 5) - position_buffer.get(offset + 2)) * (position_buffer.get(offset + 6) - position_buffer.get(offset)) - (position_buffer.get(offset + 3) - position_buffer.get(offset)) * (position_buffer.get(offset + 8) - position_buffer.get(offset + 2));
+                        normal_z = (position_buffer.get(offset + 3) - position_buffer.get(offset)) * (position_buffer.get(offset + 7) - position_buffer.get(offset + 1)) - (position_buffer.get(offset + 4) - position_buffer.get(offset + 1)) * (position_buffer.get(offset + 6) - position_buffer.get(offset));
+                        
+                        length = Math.sqrt(normal_x * normal_x + normal_y * normal_y + normal_z * normal_z);
+                        if(length != 0){
+                            normal_x /= length;
+                            normal_y /= length;
+                            normal_z /= length;
+                        }
+                    }
+                    
+                    for(int corner = 0;corner < 3;corner++){
+                        normal_buffer.put(offset + corner * 3,(float)normal_x);
+                        normal_buffer.put(offset + corner * 3 + 1,(float)normal_y);
+                        normal_buffer.put(offset + corner * 3 + 2,(float)normal_z);
+                    }
+                }
+                
+                StlReader.this._addBytesRead((last_triangle - first_triangle) * StlReader.__TRIANGLE_SIZE);
+                
+                return null;
+            }
+        };
+    }
+    
+    protected List<Strixa3DElement> _read(FileChannel channel) throws IOException{
+        final List<Strixa3DElement> elements = new ArrayList<Strixa3DElement>();
+        final List<Callable<Void>>  tasks = new ArrayList<Callable<Void>>();
+        final ByteBuffer            header;
+        final IntBuffer             indices;
+        final FloatBuffer[]         normals;
+        final FloatBuffer[]         positions;
+        final long                  triangle_count;
+        
+        Strixa3DElement element = null;
+        int             element_triangle_count = 0;
+        
+        
+        if(channel.size() < StlReader.__HEADER_SIZE){
+            throw new IOException("File is too small to be a binary STL file.");
+        }
+        
+        header = BinaryMeshReader._map(channel,0,StlReader.__HEADER_SIZE,ByteOrder.LITTLE_ENDIAN);
+        triangle_count = header.getInt(80) & 0xFFFFFFFFL;
+        if(StlReader.__HEADER_SIZE + triangle_count * StlReader.__TRIANGLE_SIZE != channel.size()){
+            if(header.get(0) == 's' && header.get(1) == 'o' && header.get(2) == 'l' && header.get(3) == 'i' && header.get(4) == 'd'){
+                throw new IOException("ASCII STL files aren't supported.");
+            }else if(StlReader.__HEADER_SIZE + triangle_count * StlReader.__TRIANGLE_SIZE > channel.size()){
+                throw new IOException("File is shorter than its " + triangle_count + " triangles.");
+            }
+            
+            System.out.println("Warning:  Ignoring " + (channel.size() - StlReader.__HEADER_SIZE - triangle_count * StlReader.__TRIANGLE_SIZE) + " bytes after the last triangle.");
+        }
+        
+        positions = new FloatBuffer[(int)((triangle_count + StlReader.TRIANGLES_PER_ELEMENT - 1) / StlReader.TRIANGLES_PER_ELEMENT)];
+        normals = new FloatBuffer[positions.length];
+        for(int index = 0;index < positions.length;index++){
+            element_triangle_count = (int)Math.min(StlReader.TRIANGLES_PER_ELEMENT,triangle_count - (long)index * StlReader.TRIANGLES_PER_ELEMENT);
+            
+            positions[index] = this._allocateFloats(element_triangle_count * 9L);
+            normals[index] = this._allocateFloats(element_triangle_count * 9L);
+        }
+        
+        for(long triangle = 0;triangle < triangle_count;triangle += StlReader.__CHUNK_TRIANGLE_COUNT){
+            tasks.add(this._createChunkDecoder(channel,triangle,Math.min(triangle + StlReader.__CHUNK_TRIANGLE_COUNT,triangle_count),positions,normals));
+        }
+        this._invokeAll(tasks);
+        
+        indices = this._allocateInts(Math.min(StlReader.TRIANGLES_PER_ELEMENT,triangle_count) * 3);  //Every element draws its vertices in order, so they all share the same indices.
+        for(int index = 0;index < indices.capacity();index++){
+            indices.put(index,index);
+        }
+        
+        for(int index = 0;index < positions.length;index++){
+            element = new Strixa3DElement();
+            element.setMesh(this._createMesh(
+                positions[index].capacity() / 3,
+                positions[index],
+                null,
+                normals[index],
+                Collections.singletonList(new StrixaMesh.Part(null,(IntBuffer)indices.duplicate().limit(positions[index].capacity() / 3)))
+            ));
+            
+            elements.add(element);
+        }
+        
+        return elements;
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,296 @@
+/**
+ * File:  WavefrontMtlLibrary.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.strixa.gl.StrixaMaterial;
+
+
+/**
+ * The materials read from a Wavefront .mtl file.<br />
+ * Libraries are loaded through {@link #load(String)}, which keeps every library it reads for the rest of the process.  A library is only read again if its file is modified, so every .obj file referring to the same library shares the same StrixaMaterial instances.
+ *
+ * @author Nicholas Rog
+ */
+public class WavefrontMtlLibrary{
+    private static final Map<String,WavefrontMtlLibrary> __LIBRARIES = new ConcurrentHashMap<String,WavefrontMtlLibrary>();
+    private static final Map<String,Object>              __LOCKS = new ConcurrentHashMap<String,Object>();
+    
+    private final File                       __file;
+    private final long                       __file_modified;
+    private final long                       __file_size;
+    private final List<StrixaMaterial>       __materials;
+    private final Map<String,StrixaMaterial> __materials_by_name;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs a library out of the given materials.
+     *
+     * @param file File the materials were read from.
+     * @param file_modified Time the file was last modified when it was read.
+     * @param file_size Size of the file when it was read.
+     * @param materials Materials which were read, in the order they were given.
+     */
+    protected WavefrontMtlLibrary(File file,long file_modified,long file_size,List<StrixaMaterial> materials){
+        this.__file = file;
+        this.__file_modified = file_modified;
+        this.__file_size = file_size;
+        this.__materials = Collections.unmodifiableList(new ArrayList<StrixaMaterial>(materials));
+        this.__materials_by_name = new HashMap<String,StrixaMaterial>(materials.size() * 2);
+        
+        for(int index = 0;index < materials.size();index++){  //If a name is used more than once, the last material given with it wins.
+            this.__materials_by_name.put(materials.get(index).getMaterialName(),materials.get(index));
+        }
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    public File getFile(){
+        return this.__file;
+    }
+    
+    /**
+     * Gets the material with the given name.
+     *
+     * @param name Name of the material.
+     *
+     * @return The material with the given name, or null if this library doesn't contain one.
+     */
+    public StrixaMaterial getMaterial(String name){
+        return this.__materials_by_name.get(name);
+    }
+    
+    /**
+     * Gets every material in this library, in the order they were given in the file.
+     *
+     * @return Every material in this library.
+     */
+    public List<StrixaMaterial> getMaterials(){
+        return this.__materials;
+    }
+    
+    /**
+     * Checks whether this library's file is unchanged since it was read.
+     *
+     * @return Returns true if the file's modification time and size are the same as when it was read, and false, otherwise.
+     */
+    public boolean isCurrent(){
+        return this.__file.lastModified() == this.__file_modified && this.__file.length() == this.__file_size;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Forgets every library which has been loaded, so that each will be read again the next time it's needed.
+     */
+    public static void clearCache(){
+        WavefrontMtlLibrary.__LIBRARIES.clear();
+    }
+    
+    /**
+     * Gets the library held in the given file, reading it only if it hasn't been read before or has been modified since.<br />
+     * This is safe to call from multiple threads at once.  If several threads ask for the same library, it is read only once.
+     *
+     * @param filename Location of the .mtl file.
+     *
+     * @return The library held in the file.
+     *
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public static WavefrontMtlLibrary load(String filename) throws IOException{
+        final File   file = new File(filename).getCanonicalFile();
+        final String key = file.getPath();
+        
+        WavefrontMtlLibrary library = WavefrontMtlLibrary.__LIBRARIES.get(key);
+        Object              lock = null;
+        
+        
+        if(library != null && library.isCurrent()){
+            return library;
+        }
+        
+        WavefrontMtlLibrary.__LOCKS.putIfAbsent(key,new Object());
+        lock = WavefrontMtlLibrary.__LOCKS.get(key);
+        synchronized(lock){
+            library = WavefrontMtlLibrary.__LIBRARIES.get(key);  //Another thread may have read the library while we were waiting.
+            if(library == null || !library.isCurrent()){
+                library = WavefrontMtlLibrary.read(file);
+                
+                WavefrontMtlLibrary.__LIBRARIES.put(key,library);
+            }
+        }
+        
+        return library;
+    }
+    
+    /**
+     * Reads the library held in the given file, without checking for or adding to the libraries which have already been loaded.<br />
+     * Compressed files (see {@link CompressedInput}) are decompressed as they are read.
+     *
+     * @param file The .mtl file.
+     *
+     * @return The library held in the file.
+     *
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public static WavefrontMtlLibrary read(File file) throws IOException{
+        final long                 file_modified = file.lastModified();  //Recorded before reading so that a change made while reading is noticed later.
+        final long                 file_size = file.length();
+        final List<StrixaMaterial> materials = new ArrayList<StrixaMaterial>();
+        
+        MappedByteBuffer      buffer = null;
+        FileInputStream       input = null;
+        WavefrontObjTokenizer tokenizer = null;
+        
+        
+        if(CompressedInput.isCompressed(file.getName())){
+            input = new FileInputStream(file);
+            try{
+                tokenizer = new WavefrontObjTokenizer(CompressedInput.decompress(input,file.getName()));
+            }catch(IOException e){
+                input.close();
+                
+                throw e;
+            }
+        }else{
+            try{
+                input = new FileInputStream(file);
+                buffer = input.getChannel().map(FileChannel.MapMode.READ_ONLY,0,input.getChannel().size());
+            }finally{
+                if(input != null){
+                    input.close();
+                }
+            }
+            
+            tokenizer = new WavefrontObjTokenizer(buffer);
+        }
+        
+        try{
+            WavefrontMtlLibrary._readMaterials(tokenizer,materials);
+        }finally{
+            tokenizer.close();
+        }
+        
+        return new WavefrontMtlLibrary(file,file_modified,file_size,materials);
+    }
+    
+    /**
+     * Reads every material given to the tokenizer.
+     *
+     * @param tokenizer Tokenizer to read the materials from.
+     * @param materials List the materials should be added to, in the order they are given.
+     *
+     * @throws IOException Thrown if the materials are incorrectly formatted.
+     */
+    protected static void _readMaterials(WavefrontObjTokenizer tokenizer,List<StrixaMaterial> materials) throws IOException{
+        StrixaMaterial material = null;
+        
+        
+        while(tokenizer.beginLine()){
+            if(tokenizer.isEndOfLine() || tokenizer.isComment()){
+                tokenizer.endLine();
+                
+                continue;  //Skip empty lines and comments
+            }
+            
+            if(tokenizer.matchKeyword("newmtl")){
+                if(material != null){
+                    materials.add(material);
+                }
+                
+                material = new StrixaMaterial(tokenizer.isEndOfLine() ? "anonymous" : tokenizer.readToken());
+            }else if(material == null){
+                throw new IOException("Material properties were given before any material was declared.  Line number:  " + tokenizer.getLineNumber());
+            }else if(tokenizer.matchKeyword("Ka")){
+                material.setAmbientColor(WavefrontMtlLibrary._readColor(tokenizer));
+            }else if(tokenizer.matchKeyword("Kd")){
+                material.setDiffuseColor(WavefrontMtlLibrary._readColor(tokenizer));
+            }else if(tokenizer.matchKeyword("Ks")){
+                material.setSpecularColor(WavefrontMtlLibrary._readColor(tokenizer));
+            }else if(tokenizer.matchKeyword("Ns")){
+                material.setSpecularCoefficient((float)WavefrontMtlLibrary._readSingleValue(tokenizer));
+            }else if(tokenizer.matchKeyword("d") || tokenizer.matchKeyword("Tr")){
+                material.setTransparency((float)WavefrontMtlLibrary._readSingleValue(tokenizer));
+            }else if(tokenizer.matchKeyword("illum")){
+                WavefrontMtlLibrary._readSingleValue(tokenizer);
+                
+                //material.setIllumniationType();  //Still not sure exactly how to implement this
+            }else if(tokenizer.matchKeyword("map_Kd")){
+                material.setTexture(tokenizer.readRemainder());
+            }
+            
+            tokenizer.endLine();
+        }
+        
+        if(material != null){
+            materials.add(material);
+        }
+    }
+    
+    /**
+     * Reads the three components of a colour from the current line.
+     *
+     * @param tokenizer Tokenizer positioned just after the colour's keyword.
+     *
+     * @return The colour which was read.
+     *
+     * @throws IOException Thrown if the line doesn't contain exactly three numbers.
+     */
+    protected static float[] _readColor(WavefrontObjTokenizer tokenizer) throws IOException{
+        final float[] color = new float[3];
+        
+        
+        for(int index = 0;index < color.length;index++){
+            if(tokenizer.isEndOfLine()){
+                throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+            }
+            
+            color[index] = (float)tokenizer.readDouble();
+        }
+        if(!tokenizer.isEndOfLine()){
+            throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+        }
+        
+        return color;
+    }
+    
+    /**
+     * Reads a line's only argument.
+     *
+     * @param tokenizer Tokenizer positioned just after the line's keyword.
+     *
+     * @return The value which was read.
+     *
+     * @throws IOException Thrown if the line doesn't contain exactly one number.
+     */
+    protected static double _readSingleValue(WavefrontObjTokenizer tokenizer) throws IOException{
+        final double value;
+        
+        
+        if(tokenizer.isEndOfLine()){
+            throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+        }
+        
+        value = tokenizer.readDouble();
+        if(!tokenizer.isEndOfLine()){
+            throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+        }
+        
+        return value;
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,744 @@
+/**
+ * File:  WavefrontObjCache.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
+import com.strixa.gl.util.WavefrontObjData.Statement;
+
+
+/**
+ * Stores the data read from a Wavefront .obj file in a compact binary file beside it, so that the text only needs to be parsed once.<br />
+ * The cache records the source file's size, modification time and a checksum of its contents, and is only used while all three still match.
+ * <br /><br />
+ * The cache file is laid out as follows, with every value in little-endian byte order:
+ * <ul>
+ *     <li>A header:  the magic number, the format version, the source's size, modification time and checksum, followed by the vertex, texture vertex, normal vertex, face, corner and statement counts.</li>
+ *     <li>The vertices, texture vertices and normal vertices as doubles.</li>
+ *     <li>The index of each face's first corner, followed by the total number of corners.</li>
+ *     <li>The vertex, texture vertex and normal vertex index of every face corner.</li>
+ *     <li>The statements ('mtllib', 'o' and 'usemtl'), each as its type, the index of the first face it affects and its value.</li>
+ * </ul>
+ * Elements' levels of detail (see {@link LevelOfDetailGenerator}) may be kept in a second file beside the first, so that they don't need to be simplified again either.  It's checked against the source file in the same way, as well as against the ratios and options the levels were built with, and is laid out as follows:
+ * <ul>
+ *     <li>A header:  the magic number, the format version, the source's size, modification time and checksum, followed by the ratio count, the length of the options and the element count.</li>
+ *     <li>The ratios as doubles, followed by the options as UTF-8.</li>
+ *     <li>For each element, its level count, followed by each level's vertex count, a byte saying which attributes it has, its part count, its positions, texture coordinates, normals and colours, and then each part's material (as an index into the materials the element's full detail parts are drawn with), index count and indices.</li>
+ * </ul>
+ *
+ * @author Nicholas Rog
+ */
+public class WavefrontObjCache{
+    /** Extension added onto the source file's name to get the cache file's name. */
+    public static final String EXTENSION = ".objcache";
+    /** Extension added onto the source file's name to get the name of the file holding the levels of detail. */
+    public static final String LEVEL_OF_DETAIL_EXTENSION = ".lodcache";
+    
+    private static final Charset __CHARSET = Charset.forName("UTF-8");
+    private static final byte    __HAS_COLOURS = 4;
+    private static final byte    __HAS_NORMALS = 2;
+    private static final byte    __HAS_TEXTURE_COORDINATES = 1;
+    private static final int     __HEADER_SIZE = 64;
+    private static final int     __LEVEL_OF_DETAIL_HEADER_SIZE = 48;
+    private static final int     __LEVEL_OF_DETAIL_MAGIC = 0x444F4C53;  //"SLOD"
+    private static final int     __MAGIC = 0x4A424F53;  //"SOBJ"
+    private static final int     __VERSION = 1;
+    private static final int     __WRITE_BUFFER_SIZE = 1024 * 1024;
+    
+    private File __cache_file;
+    private long __checksum;  //The last checksum calculated, along with the size and modification time the source had then.
+    private long __checksum_modified = -1;
+    private long __checksum_size = -1;
+    private File __level_of_detail_file;
+    private File __source_file;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs a cache for the given .obj file.
+     *
+     * @param source_location Location of the .obj file.
+     */
+    public WavefrontObjCache(String source_location){
+        if(source_location == null || source_location.equals("")){
+            throw new IllegalArgumentException("Argument 'source_location' must not be null or empty.");
+        }
+        
+        this.__source_file = new File(source_location);
+        this.__cache_file = new File(source_location + WavefrontObjCache.EXTENSION);
+        this.__level_of_detail_file = new File(source_location + WavefrontObjCache.LEVEL_OF_DETAIL_EXTENSION);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the location of the cache file.
+     *
+     * @return The location of the cache file.
+     */
+    public File getCacheFile(){
+        return this.__cache_file;
+    }
+    
+    /**
+     * Gets the location of the file holding the levels of detail.
+     *
+     * @return The location of the file holding the levels of detail.
+     */
+    public File getLevelOfDetailFile(){
+        return this.__level_of_detail_file;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Calculates a checksum of the source file's contents.  The checksum is kept, and only calculated again if the source's size or modification time change, since the mesh cache and the levels of detail are both checked against it.
+     *
+     * @return The checksum of the source file's contents.
+     *
+     * @throws IOException Thrown if the source file could not be read.
+     */
+    protected long _calculateChecksum() throws IOException{
+        final CRC32 checksum = new CRC32();
+        final long  source_modified = this.__source_file.lastModified();
+        final long  source_size = this.__source_file.length();
+        
+        FileInputStream file = null;
+        long            position = 0;
+        long            size = 0;
+        
+        
+        if(source_modified == this.__checksum_modified && source_size == this.__checksum_size){
+            return this.__checksum;
+        }
+        
+        try{
+            file = new FileInputStream(this.__source_file);
+            size = file.getChannel().size();
+            while(position < size){  //Mapping is limited to 2GB at a time.
+                final long length = Math.min(size - position,Integer.MAX_VALUE);
+                
+                
+                checksum.update(file.getChannel().map(FileChannel.MapMode.READ_ONLY,position,length));
+                position += length;
+            }
+        }finally{
+            if(file != null){
+                file.close();
+            }
+        }
+        
+        this.__checksum = checksum.getValue();
+        this.__checksum_modified = source_modified;
+        this.__checksum_size = source_size;
+        
+        return this.__checksum;
+    }
+    
+    /**
+     * Checks whether the cache file exists and was written from the source file as it currently is.
+     *
+     * @return Returns true if the cache can be used in place of the source file, and false, otherwise.
+     */
+    public boolean isFresh(){
+        try{
+            return this._mapIfFresh() != null;
+        }catch(IOException e){
+            return false;
+        }
+    }
+    
+    /**
+     * Maps the cache file, provided that it is fresh.
+     *
+     * @return The mapped cache file, positioned after the header, or null if the cache doesn't exist or is stale.
+     *
+     * @throws IOException Thrown if the cache could not be read.
+     */
+    protected ByteBuffer _mapIfFresh() throws IOException{
+        final MappedByteBuffer buffer;
+        
+        FileInputStream file = null;
+        
+        
+        if(!this.__cache_file.isFile() || !this.__source_file.isFile() || this.__cache_file.length() < WavefrontObjCache.__HEADER_SIZE){
+            return null;
+        }
+        
+        try{
+            file = new FileInputStream(this.__cache_file);
+            if(file.getChannel().size() > Integer.MAX_VALUE){
+                return null;
+            }
+            
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY,0,file.getChannel().size());
+        }finally{
+            if(file != null){
+                file.close();
+            }
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        
+        if(
+            buffer.getInt(0) != WavefrontObjCache.__MAGIC
+            ||
+            buffer.getInt(4) != WavefrontObjCache.__VERSION
+            ||
+            buffer.getLong(8) != this.__source_file.length()
+            ||
+            buffer.getLong(16) != this.__source_file.lastModified()
+            ||
+            buffer.getLong(24) != this._calculateChecksum()  //The cheap checks come first so that we only read the whole source when it's likely to be unchanged.
+        ){
+            return null;
+        }
+        
+        buffer.position(WavefrontObjCache.__HEADER_SIZE);
+        
+        return buffer;
+    }
+    
+    /**
+     * Reads the data held in the cache.
+     *
+     * @return The data held in the cache, or null if the cache doesn't exist or is stale.
+     *
+     * @throws IOException Thrown if the cache exists but could not be read.
+     */
+    public WavefrontObjData read() throws IOException{
+        final ByteBuffer      buffer = this._mapIfFresh();
+        final List<Statement> statements;
+        
+        int[]    corners = null;
+        int[]    face_starts = null;
+        double[] normal_vertices = null;
+        byte[]   string_bytes = null;
+        double[] texture_vertices = null;
+        double[] vertices = null;
+        
+        
+        if(buffer == null){
+            return null;
+        }
+        
+        try{
+            vertices = new double[buffer.getInt(32) * 3];
+            texture_vertices = new double[buffer.getInt(36) * 2];
+            normal_vertices = new double[buffer.getInt(40) * 3];
+            face_starts = new int[buffer.getInt(44) + 1];
+            corners = new int[buffer.getInt(48) * 3];
+            statements = new ArrayList<Statement>(buffer.getInt(52));
+            
+            buffer.asDoubleBuffer().get(vertices);
+            buffer.position(buffer.position() + vertices.length * 8);
+            buffer.asDoubleBuffer().get(texture_vertices);
+            buffer.position(buffer.position() + texture_vertices.length * 8);
+            buffer.asDoubleBuffer().get(normal_vertices);
+            buffer.position(buffer.position() + normal_vertices.length * 8);
+            buffer.asIntBuffer().get(face_starts);
+            buffer.position(buffer.position() + face_starts.length * 4);
+            buffer.asIntBuffer().get(corners);
+            buffer.position(buffer.position() + corners.length * 4);
+            
+            for(int index = 0,statement_count = buffer.getInt(52);index < statement_count;index++){
+                final Statement.Type type = Statement.Type.values()[buffer.get()];
+                final int            face_index = buffer.getInt();
+                
+                
+                string_bytes = new byte[buffer.getInt()];
+                buffer.get(string_bytes);
+                
+                statements.add(new Statement(type,new String(string_bytes,WavefrontObjCache.__CHARSET),face_index));
+            }
+            
+            return new WavefrontObjData(vertices,texture_vertices,normal_vertices,face_starts,corners,statements);
+        }catch(RuntimeException e){  //Anything from a buffer underflow to a bad statement type means the cache is corrupt.
+            throw new IOException("The mesh cache is corrupt:  " + this.__cache_file.getPath(),e);
+        }
+    }
+    
+    /**
+     * Reads the levels of detail kept beside the cache, and gives them to the given elements.  Nothing is given to any of the elements unless the levels of all of them can be read.
+     *
+     * @param elements Elements built from the source file, in the same order as when the levels were written.
+     * @param ratios Ratios the levels should have been built with.
+     * @param options Description of anything else which affects how the elements were built, such as whether they were triangulated.  This must match what the levels were written with.
+     *
+     * @return Returns true if the elements were given their levels, and false if the levels don't exist, are stale or were built some other way.
+     *
+     * @throws IOException Thrown if the levels exist but could not be read.
+     */
+    public boolean readLevelsOfDetail(List<Strixa3DElement> elements,double[] ratios,String options) throws IOException{
+        final List<List<StrixaMesh>> element_levels = new ArrayList<List<StrixaMesh>>(elements.size());
+        final byte[]                 option_bytes = options.getBytes(WavefrontObjCache.__CHARSET);
+        final MappedByteBuffer       buffer;
+        
+        FileInputStream      file = null;
+        int                  level_count = 0;
+        List<StrixaMesh>     levels = null;
+        List<StrixaMaterial> materials = null;
+        byte[]               stored_option_bytes = null;
+        
+        
+        if(!this.__level_of_detail_file.isFile() || !this.__source_file.isFile() || this.__level_of_detail_file.length() < WavefrontObjCache.__LEVEL_OF_DETAIL_HEADER_SIZE){
+            return false;
+        }
+        
+        try{
+            file = new FileInputStream(this.__level_of_detail_file);
+            if(file.getChannel().size() > Integer.MAX_VALUE){
+                return false;
+            }
+            
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY,0,file.getChannel().size());
+        }finally{
+            if(file != null){
+                file.close();
+            }
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        
+        if(
+            buffer.getInt(0) != WavefrontObjCache.__LEVEL_OF_DETAIL_MAGIC
+            ||
+            buffer.getInt(4) != WavefrontObjCache.__VERSION
+            ||
+            buffer.getLong(8) != this.__source_file.length()
+            ||
+            buffer.getLong(16) != this.__source_file.lastModified()
+            ||
+            buffer.getInt(32) != ratios.length
+            ||
+            buffer.getInt(36) != option_bytes.length
+            ||
+            buffer.getInt(40) != elements.size()
+            ||
+            buffer.getLong(24) != this._calculateChecksum()
+        ){
+            return false;
+        }
+        
+        try{
+            buffer.position(WavefrontObjCache.__LEVEL_OF_DETAIL_HEADER_SIZE);
+            for(int index = 0;index < ratios.length;index++){
+                if(buffer.getDouble() != ratios[index]){
+                    return false;
+                }
+            }
+            stored_option_bytes = new byte[option_bytes.length];
+            buffer.get(stored_option_bytes);
+            if(!Arrays.equals(stored_option_bytes,option_bytes)){
+                return false;
+            }
+            
+            for(int element = 0;element < elements.size();element++){
+                materials = WavefrontObjCache._getMaterials(elements.get(element));
+                level_count = buffer.getInt();
+                levels = new ArrayList<StrixaMesh>(level_count);
+                for(int level = 0;level < level_count;level++){
+                    levels.add(WavefrontObjCache._readLevel(buffer,materials));
+                }
+                
+                element_levels.add(levels);
+            }
+        }catch(RuntimeException e){  //Anything from a buffer underflow to a bad material index means the file is corrupt.
+            throw new IOException("The levels of detail are corrupt:  " + this.__level_of_detail_file.getPath(),e);
+        }
+        
+        for(int element = 0;element < elements.size();element++){
+            elements.get(element).setLevelsOfDetail(element_levels.get(element));
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Writes the given data to the cache, replacing anything it held before.<br />
+     * The cache is written to a temporary file first, so a cache which is only partially written is never read.  The temporary file is deleted if the cache can't be written.
+     *
+     * @param data Data read from the source file.
+     *
+     * @throws IOException Thrown if the cache could not be written.
+     */
+    public void write(WavefrontObjData data) throws IOException{
+        final ByteBuffer buffer = ByteBuffer.allocate(WavefrontObjCache.__WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        final int[]      face_starts = new int[data.getFaceCount() + 1];
+        final long       source_modified = this.__source_file.lastModified();
+        final long       source_size = this.__source_file.length();
+        final long       source_checksum = this._calculateChecksum();
+        final File       temporary_file = new File(this.__cache_file.getPath() + ".tmp");
+        
+        FileChannel      channel = null;
+        FileOutputStream file = null;
+        int[]            corners = null;
+        boolean          written = false;
+        
+        
+        for(int face = 0;face < data.getFaceCount();face++){
+            face_starts[face] = data.getFaceStart(face);
+        }
+        face_starts[data.getFaceCount()] = data.getCornerCount();
+        
+        corners = new int[data.getCornerCount() * 3];
+        for(int corner = 0;corner < data.getCornerCount();corner++){
+            corners[corner * 3] = data.getCornerVertex(corner);
+            corners[corner * 3 + 1] = data.getCornerTextureVertex(corner);
+            corners[corner * 3 + 2] = data.getCornerNormalVertex(corner);
+        }
+        
+        try{
+            file = new FileOutputStream(temporary_file);
+            channel = file.getChannel();
+            
+            buffer.putInt(WavefrontObjCache.__MAGIC);
+            buffer.putInt(WavefrontObjCache.__VERSION);
+            buffer.putLong(source_size);
+            buffer.putLong(source_modified);
+            buffer.putLong(source_checksum);
+            buffer.putInt(data.getVertexCount());
+            buffer.putInt(data.getTextureVertexCount());
+            buffer.putInt(data.getNormalVertexCount());
+            buffer.putInt(data.getFaceCount());
+            buffer.putInt(data.getCornerCount());
+            buffer.putInt(data.getStatements().size());
+            while(buffer.position() < WavefrontObjCache.__HEADER_SIZE){
+                buffer.put((byte)0);
+            }
+            
+            this._writeDoubles(channel,buffer,data.getVertices(),data.getVertexCount() * 3);
+            this._writeDoubles(channel,buffer,data.getTextureVertices(),data.getTextureVertexCount() * 2);
+            this._writeDoubles(channel,buffer,data.getNormalVertices(),data.getNormalVertexCount() * 3);
+            this._writeInts(channel,buffer,face_starts);
+            this._writeInts(channel,buffer,corners);
+            
+            for(Statement statement:data.getStatements()){
+                final byte[] string_bytes = statement.getValue().getBytes(WavefrontObjCache.__CHARSET);
+                
+                
+                if(buffer.remaining() < 9 + string_bytes.length){
+                    this._flush(channel,buffer);
+                }
+                if(buffer.remaining() < 9 + string_bytes.length){
+                    throw new IOException("Statement is too long to be cached:  " + statement.getValue());
+                }
+                
+                buffer.put((byte)statement.getType().ordinal());
+                buffer.putInt(statement.getFaceIndex());
+                buffer.putInt(string_bytes.length);
+                buffer.put(string_bytes);
+            }
+            this._flush(channel,buffer);
+            file.close();
+            file = null;
+            
+            Files.move(temporary_file.toPath(),this.__cache_file.toPath(),StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+            written = true;
+        }finally{
+            if(file != null){
+                file.close();
+            }
+            if(!written){  //A partly written cache would otherwise be left lying beside the source.
+                temporary_file.delete();
+            }
+        }
+    }
+    
+    /**
+     * Writes the given elements' levels of detail beside the cache, replacing any written before.  They are written to a temporary file first, in the same way as the cache.
+     *
+     * @param elements Elements built from the source file, along with their levels of detail.
+     * @param ratios Ratios the levels were built with.
+     * @param options Description of anything else which affects how the elements were built, such as whether they were triangulated.
+     *
+     * @throws IOException Thrown if the levels could not be written.
+     */
+    public void writeLevelsOfDetail(List<Strixa3DElement> elements,double[] ratios,String options) throws IOException{
+        final ByteBuffer buffer = ByteBuffer.allocate(WavefrontObjCache.__WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        final byte[]     option_bytes = options.getBytes(WavefrontObjCache.__CHARSET);
+        final long       source_modified = this.__source_file.lastModified();
+        final long       source_size = this.__source_file.length();
+        final long       source_checksum = this._calculateChecksum();
+        final File       temporary_file = new File(this.__level_of_detail_file.getPath() + ".tmp");
+        
+        FileChannel          channel = null;
+        FileOutputStream     file = null;
+        List<StrixaMesh>     levels = null;
+        List<StrixaMaterial> materials = null;
+        boolean              written = false;
+        
+        
+        try{
+            file = new FileOutputStream(temporary_file);
+            channel = file.getChannel();
+            
+            buffer.putInt(WavefrontObjCache.__LEVEL_OF_DETAIL_MAGIC);
+            buffer.putInt(WavefrontObjCache.__VERSION);
+            buffer.putLong(source_size);
+            buffer.putLong(source_modified);
+            buffer.putLong(source_checksum);
+            buffer.putInt(ratios.length);
+            buffer.putInt(option_bytes.length);
+            buffer.putInt(elements.size());
+            while(buffer.position() < WavefrontObjCache.__LEVEL_OF_DETAIL_HEADER_SIZE){
+                buffer.put((byte)0);
+            }
+            
+            this._writeDoubles(channel,buffer,ratios,ratios.length);
+            this._reserve(channel,buffer,option_bytes.length);
+            buffer.put(option_bytes);
+            
+            for(int element = 0;element < elements.size();element++){
+                materials = WavefrontObjCache._getMaterials(elements.get(element));
+                levels = elements.get(element).getLevelsOfDetail();
+                
+                this._reserve(channel,buffer,4);
+                buffer.putInt(levels.size());
+                for(int level = 0;level < levels.size();level++){
+                    this._writeLevel(channel,buffer,levels.get(level),materials);
+                }
+            }
+            this._flush(channel,buffer);
+            file.close();
+            file = null;
+            
+            Files.move(temporary_file.toPath(),this.__level_of_detail_file.toPath(),StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+            written = true;
+        }finally{
+            if(file != null){
+                file.close();
+            }
+            if(!written){
+                temporary_file.delete();
+            }
+        }
+    }
+    
+    /**
+     * Makes sure the buffer has room for the given number of bytes, flushing it to the channel if it doesn't.
+     */
+    protected void _reserve(FileChannel channel,ByteBuffer buffer,int byte_count) throws IOException{
+        if(buffer.remaining() < byte_count){
+            this._flush(channel,buffer);
+        }
+        if(buffer.remaining() < byte_count){
+            throw new IOException("Value is too large to be cached:  " + byte_count + " bytes");
+        }
+    }
+    
+    /**
+     * Writes everything held in the buffer to the channel, and clears the buffer.
+     */
+    protected void _flush(FileChannel channel,ByteBuffer buffer) throws IOException{
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    protected void _writeDoubles(FileChannel channel,ByteBuffer buffer,double[] values,int count) throws IOException{
+        int offset = 0;
+        
+        
+        while(offset < count){
+            final int length = Math.min(count - offset,buffer.remaining() / 8);
+            
+            
+            if(length == 0){
+                this._flush(channel,buffer);
+                
+                continue;
+            }
+            
+            buffer.asDoubleBuffer().put(values,offset,length);
+            buffer.position(buffer.position() + length * 8);
+            offset += length;
+        }
+    }
+    
+    protected void _writeFloats(FileChannel channel,ByteBuffer buffer,float[] values) throws IOException{
+        int offset = 0;
+        
+        
+        while(offset < values.length){
+            final int length = Math.min(values.length - offset,buffer.remaining() / 4);
+            
+            
+            if(length == 0){
+                this._flush(channel,buffer);
+                
+                continue;
+            }
+            
+            buffer.asFloatBuffer().put(values,offset,length);
+            buffer.position(buffer.position() + length * 4);
+            offset += length;
+        }
+    }
+    
+    protected void _writeInts(FileChannel channel,ByteBuffer buffer,int[] values) throws IOException{
+        int offset = 0;
+        
+        
+        while(offset < values.length){
+            final int length = Math.min(values.length - offset,buffer.remaining() / 4);
+            
+            
+            if(length == 0){
+                this._flush(channel,buffer);
+                
+                continue;
+            }
+            
+            buffer.asIntBuffer().put(values,offset,length);
+            buffer.position(buffer.position() + length * 4);
+            offset += length;
+        }
+    }
+    
+    /**
+     * Writes one level of detail, in the layout described by this class.
+     */
+    protected void _writeLevel(FileChannel channel,ByteBuffer buffer,StrixaMesh level,List<StrixaMaterial> materials) throws IOException{
+        final int part_count = level.getParts().size();
+        
+        byte attributes = 0;
+        int  material = 0;
+        
+        
+        if(level.hasTextureCoordinates()){
+            attributes |= WavefrontObjCache.__HAS_TEXTURE_COORDINATES;
+        }
+        if(level.hasNormals()){
+            attributes |= WavefrontObjCache.__HAS_NORMALS;
+        }
+        if(level.hasColours()){
+            attributes |= WavefrontObjCache.__HAS_COLOURS;
+        }
+        
+        this._reserve(channel,buffer,9);
+        buffer.putInt(level.getVertexCount());
+        buffer.put(attributes);
+        buffer.putInt(part_count);
+        
+        this._writeFloats(channel,buffer,level.getPositions());
+        if(level.hasTextureCoordinates()){
+            this._writeFloats(channel,buffer,level.getTextureCoordinates());
+        }
+        if(level.hasNormals()){
+            this._writeFloats(channel,buffer,level.getNormals());
+        }
+        if(level.hasColours()){
+            this._writeInts(channel,buffer,level.getColours());
+        }
+        
+        for(int part = 0;part < part_count;part++){
+            material = materials.indexOf(level.getParts().get(part).getMaterial());
+            if(material == -1){
+                throw new IOException("A level of detail is drawn with a material its element doesn't use.");
+            }
+            
+            this._reserve(channel,buffer,8);
+            buffer.putInt(material);
+            buffer.putInt(level.getParts().get(part).getIndexCount());
+            this._writeInts(channel,buffer,level.getParts().get(part).getIndices());
+        }
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Gets the materials the given element's full detail parts are drawn with, in the order they're first used.  Levels of detail keep the materials of the parts they were simplified from, so their parts' materials are stored as indices into this list.
+     */
+    protected static List<StrixaMaterial> _getMaterials(Strixa3DElement element){
+        final List<StrixaMaterial> materials = new ArrayList<StrixaMaterial>();
+        
+        StrixaMaterial material = null;
+        
+        
+        if(element.getMesh() != null){
+            for(int part = 0;part < element.getMesh().getParts().size();part++){
+                material = element.getMesh().getParts().get(part).getMaterial();
+                if(!materials.contains(material)){
+                    materials.add(material);
+                }
+            }
+        }else{
+            for(int component = 0;component < element.getComponents().size();component++){
+                material = element.getComponents().get(component).getMaterial();
+                if(!materials.contains(material)){
+                    materials.add(material);
+                }
+            }
+        }
+        
+        return materials;
+    }
+    
+    /**
+     * Reads one level of detail, in the layout described by this class.
+     */
+    protected static StrixaMesh _readLevel(ByteBuffer buffer,List<StrixaMaterial> materials){
+        final int                   vertex_count = buffer.getInt();
+        final byte                  attributes = buffer.get();
+        final int                   part_count = buffer.getInt();
+        final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>(part_count);
+        final float[]               positions = new float[vertex_count * 3];
+        
+        int[]          colours = null;
+        int[]          indices = null;
+        StrixaMaterial material = null;
+        float[]        normals = null;
+        float[]        texture_coordinates = null;
+        
+        
+        buffer.asFloatBuffer().get(positions);
+        buffer.position(buffer.position() + positions.length * 4);
+        if((attributes & WavefrontObjCache.__HAS_TEXTURE_COORDINATES) != 0){
+            texture_coordinates = new float[vertex_count * 2];
+            buffer.asFloatBuffer().get(texture_coordinates);
+            buffer.position(buffer.position() + texture_coordinates.length * 4);
+        }
+        if((attributes & WavefrontObjCache.__HAS_NORMALS) != 0){
+            normals = new float[vertex_count * 3];
+            buffer.asFloatBuffer().get(normals);
+            buffer.position(buffer.position() + normals.length * 4);
+        }
+        if((attributes & WavefrontObjCache.__HAS_COLOURS) != 0){
+            colours = new int[vertex_count];
+            buffer.asIntBuffer().get(colours);
+            buffer.position(buffer.position() + colours.length * 4);
+        }
+        
+        for(int part = 0;part < part_count;part++){
+            material = materials.get(buffer.getInt());
+            indices = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(indices);
+            buffer.position(buffer.position() + indices.length * 4);
+            
+            parts.add(new StrixaMesh.Part(material,indices));
+        }
+        
+        return new StrixaMesh(positions,texture_coordinates,normals,colours,parts);
+    }
+    /*End Static Methods*/
+}
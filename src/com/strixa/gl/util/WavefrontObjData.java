@@ -0,0 +1,935 @@
+/**
+ * File:  WavefrontObjData.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.strixa.util.ParallelRange;
+
+
+/**
+ * Holds the contents of a Wavefront .obj file (or a piece of one) in primitive arrays.<br />
+ * Vertices are stored as consecutive coordinates and every face corner is stored as three indices (vertex, texture vertex, normal vertex) into those arrays.  Indices are zero-based, and an index which was not given in the file is stored as -1.<br />
+ * The data can be recorded by handing this object to a reader as its {@link WavefrontObjVisitor}, and later replayed to another visitor using {@link #accept(WavefrontObjVisitor)}.
+ *
+ * @author Nicholas Rog
+ */
+public class WavefrontObjData implements WavefrontObjVisitor{
+    /**
+     * Describes a statement which affects the faces following it, such as 'o' or 'usemtl'.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Statement{
+        /**
+         * The kinds of statements which are recorded.
+         *
+         * @author Nicholas Rog
+         */
+        public enum Type{
+            /** An 'mtllib' statement.  The value is the material library's file name. */
+            MATERIAL_LIBRARY,
+            /** An 'o' statement.  The value is the object's name. */
+            OBJECT,
+            /** A 'usemtl' statement.  The value is the material's name. */
+            USE_MATERIAL
+        }
+        
+        private final int    __face_index;
+        private final Type   __type;
+        private final String __value;
+        
+        
+        /*Begin Constructor*/
+        /**
+         * Constructs the statement.
+         *
+         * @param type Kind of statement.
+         * @param value Argument given with the statement.
+         * @param face_index Number of faces which appeared before this statement.
+         */
+        public Statement(Type type,String value,int face_index){
+            this.__type = type;
+            this.__value = value;
+            this.__face_index = face_index;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        /**
+         * Gets the number of faces which appeared before this statement.  In other words, the index of the first face this statement affects.
+         *
+         * @return The number of faces which appeared before this statement.
+         */
+        public int getFaceIndex(){
+            return this.__face_index;
+        }
+        
+        public Type getType(){
+            return this.__type;
+        }
+        
+        public String getValue(){
+            return this.__value;
+        }
+        /*End Getter Methods*/
+    }
+    
+    private final List<Statement> __statements = new ArrayList<Statement>();
+    
+    private int[]    __corners;
+    private int      __corner_count;
+    private int      __face_count;
+    private int[]    __face_starts;
+    private double[] __normal_vertices;
+    private int      __normal_vertex_count;
+    private BitSet   __relative_indices;
+    private double[] __texture_vertices;
+    private int      __texture_vertex_count;
+    private double[] __vertices;
+    private int      __vertex_count;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty set of data.
+     */
+    public WavefrontObjData(){
+        this(1000,1000);
+    }
+    
+    /**
+     * Constructs an empty set of data with room for the given number of vertices and faces.
+     *
+     * @param vertex_capacity Number of vertices of each kind to make room for.
+     * @param face_capacity Number of faces to make room for.
+     */
+    public WavefrontObjData(int vertex_capacity,int face_capacity){
+        vertex_capacity = Math.max(vertex_capacity,16);
+        face_capacity = Math.max(face_capacity,16);
+        
+        this.__vertices = new double[vertex_capacity * 3];
+        this.__texture_vertices = new double[vertex_capacity * 2];
+        this.__normal_vertices = new double[vertex_capacity * 3];
+        this.__face_starts = new int[face_capacity + 1];
+        this.__corners = new int[face_capacity * 9];
+    }
+    
+    /**
+     * Constructs a set of data around the given arrays.  The arrays are used directly rather than being copied, and must be exactly as long as needed.
+     *
+     * @param vertices The vertices' coordinates, three per vertex.
+     * @param texture_vertices The texture vertices' coordinates, two per texture vertex.
+     * @param normal_vertices The normal vertices' coordinates, three per normal vertex.
+     * @param face_starts The index of each face's first corner, followed by the total number of corners.
+     * @param corners The vertex, texture vertex and normal vertex index of each face corner.
+     * @param statements The statements recorded, in the order they were given.
+     */
+    public WavefrontObjData(double[] vertices,double[] texture_vertices,double[] normal_vertices,int[] face_starts,int[] corners,List<Statement> statements){
+        if(face_starts.length == 0 || face_starts[face_starts.length - 1] * 3 != corners.length){
+            throw new IllegalArgumentException("Argument 'face_starts' does not match argument 'corners'.");
+        }
+        
+        this.__vertices = vertices;
+        this.__vertex_count = vertices.length / 3;
+        this.__texture_vertices = texture_vertices;
+        this.__texture_vertex_count = texture_vertices.length / 2;
+        this.__normal_vertices = normal_vertices;
+        this.__normal_vertex_count = normal_vertices.length / 3;
+        this.__face_starts = face_starts;
+        this.__face_count = face_starts.length - 1;
+        this.__corners = corners;
+        this.__corner_count = corners.length / 3;
+        this.__statements.addAll(statements);
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets the number of face corners held.
+     *
+     * @return The number of face corners held.
+     */
+    public int getCornerCount(){
+        return this.__corner_count;
+    }
+    
+    /**
+     * Gets the index of the normal vertex used by the given face corner.
+     *
+     * @param corner Index of the face corner.
+     *
+     * @return The index of the normal vertex, or -1 if the corner doesn't have one.
+     */
+    public int getCornerNormalVertex(int corner){
+        return this.__corners[corner * 3 + 2];
+    }
+    
+    /**
+     * Gets the index of the texture vertex used by the given face corner.
+     *
+     * @param corner Index of the face corner.
+     *
+     * @return The index of the texture vertex, or -1 if the corner doesn't have one.
+     */
+    public int getCornerTextureVertex(int corner){
+        return this.__corners[corner * 3 + 1];
+    }
+    
+    /**
+     * Gets the index of the vertex used by the given face corner.
+     *
+     * @param corner Index of the face corner.
+     *
+     * @return The index of the vertex.
+     */
+    public int getCornerVertex(int corner){
+        return this.__corners[corner * 3];
+    }
+    
+    public int getFaceCount(){
+        return this.__face_count;
+    }
+    
+    /**
+     * Gets the index of the given face's last corner, plus one.
+     *
+     * @param face Index of the face.
+     *
+     * @return The index of the given face's last corner, plus one.
+     */
+    public int getFaceEnd(int face){
+        return this.__face_starts[face + 1];
+    }
+    
+    /**
+     * Gets the index of the given face's first corner.
+     *
+     * @param face Index of the face.
+     *
+     * @return The index of the given face's first corner.
+     */
+    public int getFaceStart(int face){
+        return this.__face_starts[face];
+    }
+    
+    public int getNormalVertexCount(){
+        return this.__normal_vertex_count;
+    }
+    
+    /**
+     * Gets the normal vertices' coordinates.  The coordinates of normal vertex n are found at indices 3n, 3n + 1 and 3n + 2.<br />
+     * <strong>Note:</strong>  The array returned may be longer than needed, and is not a copy.
+     *
+     * @return The normal vertices' coordinates.
+     */
+    public double[] getNormalVertices(){
+        return this.__normal_vertices;
+    }
+    
+    /**
+     * Gets the statements recorded, in the order they were given.
+     *
+     * @return The statements recorded.
+     */
+    public List<Statement> getStatements(){
+        return this.__statements;
+    }
+    
+    public int getTextureVertexCount(){
+        return this.__texture_vertex_count;
+    }
+    
+    /**
+     * Gets the texture vertices' coordinates.  The coordinates of texture vertex n are found at indices 2n and 2n + 1.<br />
+     * <strong>Note:</strong>  The array returned may be longer than needed, and is not a copy.
+     *
+     * @return The texture vertices' coordinates.
+     */
+    public double[] getTextureVertices(){
+        return this.__texture_vertices;
+    }
+    
+    public int getVertexCount(){
+        return this.__vertex_count;
+    }
+    
+    /**
+     * Gets the vertices' coordinates.  The coordinates of vertex n are found at indices 3n, 3n + 1 and 3n + 2.<br />
+     * <strong>Note:</strong>  The array returned may be longer than needed, and is not a copy.
+     *
+     * @return The vertices' coordinates.
+     */
+    public double[] getVertices(){
+        return this.__vertices;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Hands everything held by this object to the given visitor.<br />
+     * <strong>Note:</strong>  All of the vertices are given before any of the faces, so the order vertices and faces are given in may differ from the file's.  Statements are given in their original position relative to the faces.
+     *
+     * @param visitor Visitor to be given the data.
+     */
+    public void accept(WavefrontObjVisitor visitor){
+        int   corner_count = 0;
+        int[] normal_vertices = new int[3];
+        int   start = 0;
+        int   statement_index = 0;
+        int[] texture_vertices = new int[3];
+        int[] vertices = new int[3];
+        
+        
+        if(visitor == null){
+            throw new IllegalArgumentException("Argument 'visitor' must not be null.");
+        }
+        
+        for(int index = 0;index < this.__vertex_count;index++){
+            visitor.onVertex(this.__vertices[index * 3],this.__vertices[index * 3 + 1],this.__vertices[index * 3 + 2]);
+        }
+        for(int index = 0;index < this.__texture_vertex_count;index++){
+            visitor.onTextureVertex(this.__texture_vertices[index * 2],this.__texture_vertices[index * 2 + 1]);
+        }
+        for(int index = 0;index < this.__normal_vertex_count;index++){
+            visitor.onNormalVertex(this.__normal_vertices[index * 3],this.__normal_vertices[index * 3 + 1],this.__normal_vertices[index * 3 + 2]);
+        }
+        
+        for(int face = 0;face <= this.__face_count;face++){
+            while(statement_index < this.__statements.size() && this.__statements.get(statement_index).getFaceIndex() == face){
+                this._acceptStatement(visitor,this.__statements.get(statement_index));
+                
+                statement_index++;
+            }
+            if(face == this.__face_count){
+                break;
+            }
+            
+            start = this.__face_starts[face];
+            corner_count = this.__face_starts[face + 1] - start;
+            if(corner_count > vertices.length){
+                vertices = new int[corner_count];
+                texture_vertices = new int[corner_count];
+                normal_vertices = new int[corner_count];
+            }
+            for(int corner = 0;corner < corner_count;corner++){
+                vertices[corner] = this.__corners[(start + corner) * 3];
+                texture_vertices[corner] = this.__corners[(start + corner) * 3 + 1];
+                normal_vertices[corner] = this.__corners[(start + corner) * 3 + 2];
+            }
+            
+            visitor.onFace(vertices,texture_vertices,normal_vertices,corner_count);
+        }
+        
+        visitor.onEndOfFile();
+    }
+    
+    /**
+     * Hands a single statement to the given visitor.
+     */
+    protected void _acceptStatement(WavefrontObjVisitor visitor,Statement statement){
+        switch(statement.getType()){
+            case MATERIAL_LIBRARY:
+                visitor.onMaterialLibrary(statement.getValue());
+                break;
+            case OBJECT:
+                visitor.onObject(statement.getValue());
+                break;
+            case USE_MATERIAL:
+                visitor.onUseMaterial(statement.getValue());
+                break;
+        }
+    }
+    
+    /**
+     * Adds a corner to the face currently being built.  The indices should be given exactly as they appear in the file:  positive indices count from 1, negative indices count backwards from the most recently added vertex, and 0 means the index wasn't given.<br />
+     * Negative indices are resolved against the vertices held by this object.  If this object holds only a piece of a file, they are adjusted again when this object is appended onto the data preceding it.
+     *
+     * @param vertex Index of the corner's vertex.
+     * @param texture_vertex Index of the corner's texture vertex.
+     * @param normal_vertex Index of the corner's normal vertex.
+     */
+    public void addCorner(int vertex,int texture_vertex,int normal_vertex){
+        final int offset = this.__corner_count * 3;
+        
+        
+        if(offset + 3 > this.__corners.length){
+            this.__corners = Arrays.copyOf(this.__corners,this.__corners.length * 2);
+        }
+        
+        this.__corners[offset] = this._resolveIndex(vertex,this.__vertex_count,offset);
+        this.__corners[offset + 1] = this._resolveIndex(texture_vertex,this.__texture_vertex_count,offset + 1);
+        this.__corners[offset + 2] = this._resolveIndex(normal_vertex,this.__normal_vertex_count,offset + 2);
+        this.__corner_count++;
+    }
+    
+    /**
+     * Completes the face currently being built.
+     */
+    public void endFace(){
+        if(this.__face_count + 2 > this.__face_starts.length){
+            this.__face_starts = Arrays.copyOf(this.__face_starts,this.__face_starts.length * 2);
+        }
+        
+        this.__face_count++;
+        this.__face_starts[this.__face_count] = this.__corner_count;
+    }
+    
+    public void addNormalVertex(double x,double y,double z){
+        final int offset = this.__normal_vertex_count * 3;
+        
+        
+        if(offset + 3 > this.__normal_vertices.length){
+            this.__normal_vertices = Arrays.copyOf(this.__normal_vertices,this.__normal_vertices.length * 2);
+        }
+        
+        this.__normal_vertices[offset] = x;
+        this.__normal_vertices[offset + 1] = y;
+        this.__normal_vertices[offset + 2] = z;
+        this.__normal_vertex_count++;
+    }
+    
+    /**
+     * Records a statement which affects the faces following it.
+     *
+     * @param type Kind of statement.
+     * @param value Argument given with the statement.
+     */
+    public void addStatement(Statement.Type type,String value){
+        this.__statements.add(new Statement(type,value,this.__face_count));
+    }
+    
+    public void addTextureVertex(double u,double v){
+        final int offset = this.__texture_vertex_count * 2;
+        
+        
+        if(offset + 2 > this.__texture_vertices.length){
+            this.__texture_vertices = Arrays.copyOf(this.__texture_vertices,this.__texture_vertices.length * 2);
+        }
+        
+        this.__texture_vertices[offset] = u;
+        this.__texture_vertices[offset + 1] = v;
+        this.__texture_vertex_count++;
+    }
+    
+    public void addVertex(double x,double y,double z){
+        final int offset = this.__vertex_count * 3;
+        
+        
+        if(offset + 3 > this.__vertices.length){
+            this.__vertices = Arrays.copyOf(this.__vertices,this.__vertices.length * 2);
+        }
+        
+        this.__vertices[offset] = x;
+        this.__vertices[offset + 1] = y;
+        this.__vertices[offset + 2] = z;
+        this.__vertex_count++;
+    }
+    
+    /**
+     * Appends the data read from the piece of the file directly following the data held by this object.<br />
+     * Any indices in the given data which were relative to its own vertices are moved so that they refer to the same vertices in the combined data.
+     *
+     * @param data Data to be appended.  This object should not be used afterwards.
+     */
+    public void append(WavefrontObjData data){
+        final int    corner_offset = this.__corner_count;
+        final int    face_offset = this.__face_count;
+        final int[]  index_offsets = {this.__vertex_count,this.__texture_vertex_count,this.__normal_vertex_count};
+        final BitSet relative_indices = data.__relative_indices;
+        
+        
+        this.__vertices = WavefrontObjData._append(this.__vertices,this.__vertex_count * 3,data.__vertices,data.__vertex_count * 3);
+        this.__vertex_count += data.__vertex_count;
+        this.__texture_vertices = WavefrontObjData._append(this.__texture_vertices,this.__texture_vertex_count * 2,data.__texture_vertices,data.__texture_vertex_count * 2);
+        this.__texture_vertex_count += data.__texture_vertex_count;
+        this.__normal_vertices = WavefrontObjData._append(this.__normal_vertices,this.__normal_vertex_count * 3,data.__normal_vertices,data.__normal_vertex_count * 3);
+        this.__normal_vertex_count += data.__normal_vertex_count;
+        
+        this.__corners = WavefrontObjData._append(this.__corners,corner_offset * 3,data.__corners,data.__corner_count * 3);
+        if(relative_indices != null){
+            for(int index = relative_indices.nextSetBit(0);index >= 0;index = relative_indices.nextSetBit(index + 1)){
+                this.__corners[corner_offset * 3 + index] += index_offsets[index % 3];
+            }
+        }
+        this.__corner_count += data.__corner_count;
+        
+        if(this.__face_count + data.__face_count + 1 > this.__face_starts.length){
+            this.__face_starts = Arrays.copyOf(this.__face_starts,this.__face_count + data.__face_count + 1);
+        }
+        for(int face = 1;face <= data.__face_count;face++){
+            this.__face_starts[face_offset + face] = data.__face_starts[face] + corner_offset;
+        }
+        this.__face_count += data.__face_count;
+        
+        for(Statement statement:data.__statements){
+            this.__statements.add(new Statement(statement.getType(),statement.getValue(),statement.getFaceIndex() + face_offset));
+        }
+    }
+    
+    /**
+     * Appends the given values onto the end of the used portion of an array, growing it if needed.
+     */
+    protected static double[] _append(double[] array,int length,double[] values,int value_count){
+        if(length + value_count > array.length){
+            array = Arrays.copyOf(array,length + value_count);
+        }
+        System.arraycopy(values,0,array,length,value_count);
+        
+        return array;
+    }
+    
+    /**
+     * Appends the given values onto the end of the used portion of an array, growing it if needed.
+     */
+    protected static int[] _append(int[] array,int length,int[] values,int value_count){
+        if(length + value_count > array.length){
+            array = Arrays.copyOf(array,length + value_count);
+        }
+        System.arraycopy(values,0,array,length,value_count);
+        
+        return array;
+    }
+    
+    /**
+     * Calculates the normal of the given face using Newell's method.  The normal's length is twice the face's area, so summing the normals of several faces weights each by its area.
+     *
+     * @param face Index of the face.
+     * @param normals Array the normal should be stored in, at three times the face's index.
+     */
+    protected void _calculateFaceNormal(int face,double[] normals){
+        final int corner_end = this.__face_starts[face + 1];
+        final int corner_start = this.__face_starts[face];
+        
+        int    current = 0;
+        int    next = 0;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        
+        
+        for(int corner = corner_start;corner < corner_end;corner++){
+            current = this.__corners[corner * 3] * 3;
+            next = this.__corners[(corner + 1 == corner_end ? corner_start : corner + 1) * 3] * 3;
+            
+            x += (this.__vertices[current + 1] - this.__vertices[next + 1]) * (this.__vertices[current + 2] + this.__vertices[next + 2]);
+            y += (this.__vertices[current + 2] - this.__vertices[next + 2]) * (this.__vertices[current] + this.__vertices[next]);
+            z += (this.__vertices[current] - this.__vertices[next]) * (this.__vertices[current + 1] + this.__vertices[next + 1]);
+        }
+        
+        normals[face * 3] = x;
+        normals[face * 3 + 1] = y;
+        normals[face * 3 + 2] = z;
+    }
+    
+    /**
+     * Gives every face corner without a normal vertex a normal, calculated from the faces around it.<br />
+     * Each face's normal is weighted by its area, so large faces affect the normals around them more than small ones.  If a crease angle is given, faces are only smoothed together where the angle between them is no larger than it, so that hard edges stay hard.
+     * <br /><br />
+     * When every face is smoothed together, each corner without a normal is given the normal of its vertex, which is summed from the faces around it.  Otherwise, each corner is given a normal of its own, gathered from the faces which share its vertex.  Either way, every normal is gathered by a single thread, so no thread ever needs memory for more than the normals it is working on.
+     *
+     * @param crease_angle Largest angle, in degrees, between two faces for them to be smoothed together.  Angles of 180 or more smooth every face together.
+     * @param pool Pool the work should be done on, or null if it should be done on the calling thread.
+     *
+     * @return A copy of the data in which every corner has a normal vertex, or this object if every corner already had one.
+     */
+    public WavefrontObjData generateNormals(double crease_angle,ForkJoinPool pool){
+        final int[]    corners = Arrays.copyOf(this.__corners,this.__corner_count * 3);
+        final double[] face_normals = new double[this.__face_count * 3];
+        final int      normal_base = this.__normal_vertex_count;
+        
+        double[] generated_normals = null;
+        int      missing_count = 0;
+        double[] normal_vertices = null;
+        
+        
+        for(int corner = 0;corner < this.__corner_count;corner++){
+            if(corners[corner * 3 + 2] == -1){
+                missing_count++;
+            }
+        }
+        if(missing_count == 0){
+            return this;
+        }
+        
+        ParallelRange.forEach(pool,this.__face_count,4096,new ParallelRange.Body(){
+            public void run(int start,int end){
+                for(int face = start;face < end;face++){
+                    WavefrontObjData.this._calculateFaceNormal(face,face_normals);
+                }
+            }
+        });
+        
+        if(crease_angle >= 180){
+            generated_normals = this._sumVertexNormals(face_normals,pool);
+            for(int corner = 0;corner < this.__corner_count;corner++){
+                if(corners[corner * 3 + 2] == -1){
+                    corners[corner * 3 + 2] = normal_base + corners[corner * 3];
+                }
+            }
+        }else{
+            generated_normals = new double[missing_count * 3];
+            for(int corner = 0,normal = normal_base;corner < this.__corner_count;corner++){
+                if(corners[corner * 3 + 2] == -1){
+                    corners[corner * 3 + 2] = normal++;
+                }
+            }
+            
+            this._gatherCornerNormals(face_normals,Math.cos(Math.toRadians(Math.max(crease_angle,0))),corners,generated_normals,pool);
+        }
+        
+        normal_vertices = Arrays.copyOf(this.__normal_vertices,normal_base * 3 + generated_normals.length);
+        System.arraycopy(generated_normals,0,normal_vertices,normal_base * 3,generated_normals.length);
+        
+        return new WavefrontObjData(
+            Arrays.copyOf(this.__vertices,this.__vertex_count * 3),
+            Arrays.copyOf(this.__texture_vertices,this.__texture_vertex_count * 2),
+            normal_vertices,
+            Arrays.copyOf(this.__face_starts,this.__face_count + 1),
+            corners,
+            this.__statements
+        );
+    }
+    
+    /**
+     * Gives each corner which was assigned a new normal vertex the normalized sum of the normals of the faces around its vertex which are within the crease angle of the corner's own face.
+     *
+     * @param face_normals Normal of each face, weighted by its area.
+     * @param crease_cosine Cosine of the crease angle.
+     * @param corners Corners of the new data, whose new normal vertices are numbered from this data's normal vertex count.
+     * @param normals Array the new normal vertices should be stored in.
+     * @param pool Pool the work should be done on, or null if it should be done on the calling thread.
+     */
+    protected void _gatherCornerNormals(final double[] face_normals,final double crease_cosine,final int[] corners,final double[] normals,ForkJoinPool pool){
+        final int[] vertex_face_starts = new int[this.__vertex_count + 1];
+        final int[] vertex_faces = this._groupFacesByVertex(vertex_face_starts);
+        
+        
+        ParallelRange.forEach(pool,this.__face_count,4096,new ParallelRange.Body(){
+            public void run(int start,int end){
+                final int normal_base = WavefrontObjData.this.__normal_vertex_count;
+                
+                double face_length = 0;
+                int    normal = 0;
+                int    other = 0;
+                int    vertex = 0;
+                double x = 0;
+                double y = 0;
+                double z = 0;
+                
+                
+                for(int face = start;face < end;face++){
+                    face_length = WavefrontObjData._length(face_normals,face);
+                    
+                    for(int corner = WavefrontObjData.this.__face_starts[face];corner < WavefrontObjData.this.__face_starts[face + 1];corner++){
+                        if(WavefrontObjData.this.__corners[corner * 3 + 2] != -1){
+                            continue;
+                        }
+                        
+                        normal = corners[corner * 3 + 2] - normal_base;
+                        vertex = corners[corner * 3];
+                        x = 0;
+                        y = 0;
+                        z = 0;
+                        for(int index = vertex_face_starts[vertex];index < vertex_face_starts[vertex + 1];index++){
+                            other = vertex_faces[index];
+                            if(
+                                other == face
+                                ||
+                                face_normals[face * 3] * face_normals[other * 3] + face_normals[face * 3 + 1] * face_normals[other * 3 + 1] + face_normals[face * 3 + 2] * face_normals[other * 3 + 2]
+                                >=
+                                crease_cosine * face_length * WavefrontObjData._length(face_normals,other)
+                            ){
+                                x += face_normals[other * 3];
+                                y += face_normals[other * 3 + 1];
+                                z += face_normals[other * 3 + 2];
+                            }
+                        }
+                        
+                        normals[normal * 3] = x;
+                        normals[normal * 3 + 1] = y;
+                        normals[normal * 3 + 2] = z;
+                        WavefrontObjData._normalize(normals,normal);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Lists the faces around each vertex, grouped by vertex.  A face appears once for each of its corners which use the vertex.
+     *
+     * @param vertex_face_starts Array, one longer than the vertex count, which is filled with the index of each vertex's first face in the list, followed by the length of the list.
+     *
+     * @return The faces around each vertex.
+     */
+    protected int[] _groupFacesByVertex(int[] vertex_face_starts){
+        final int[] vertex_faces = new int[this.__corner_count];
+        final int[] vertex_face_ends;
+        
+        
+        Arrays.fill(vertex_face_starts,0);
+        for(int corner = 0;corner < this.__corner_count;corner++){
+            vertex_face_starts[this.__corners[corner * 3] + 1]++;
+        }
+        for(int vertex = 0;vertex < this.__vertex_count;vertex++){
+            vertex_face_starts[vertex + 1] += vertex_face_starts[vertex];
+        }
+        
+        vertex_face_ends = Arrays.copyOf(vertex_face_starts,this.__vertex_count);
+        for(int face = 0;face < this.__face_count;face++){
+            for(int corner = this.__face_starts[face];corner < this.__face_starts[face + 1];corner++){
+                vertex_faces[vertex_face_ends[this.__corners[corner * 3]]++] = face;
+            }
+        }
+        
+        return vertex_faces;
+    }
+    
+    /**
+     * Gets the length of the vector stored at three times the given index.
+     */
+    protected static double _length(double[] vectors,int index){
+        return Math.sqrt(vectors[index * 3] * vectors[index * 3] + vectors[index * 3 + 1] * vectors[index * 3 + 1] + vectors[index * 3 + 2] * vectors[index * 3 + 2]);
+    }
+    
+    /**
+     * Scales the vector stored at three times the given index to a length of 1.  Vectors with no length are left alone.
+     */
+    protected static void _normalize(double[] vectors,int index){
+        final double length = WavefrontObjData._length(vectors,index);
+        
+        
+        if(length > 0){
+            vectors[index * 3] /= length;
+            vectors[index * 3 + 1] /= length;
+            vectors[index * 3 + 2] /= length;
+        }
+    }
+    
+    /**
+     * Sums the normals of the faces around each vertex, and normalizes the sums.<br />
+     * Each vertex gathers the normals of its own faces, so that no two threads ever write to the same vertex, and nothing but the result is as large as the vertex count times three.
+     *
+     * @param face_normals Normal of each face, weighted by its area.
+     * @param pool Pool the work should be done on, or null if it should be done on the calling thread.
+     *
+     * @return The normal of each vertex.
+     */
+    protected double[] _sumVertexNormals(final double[] face_normals,ForkJoinPool pool){
+        final double[] normals = new double[this.__vertex_count * 3];
+        final int[]    vertex_face_starts = new int[this.__vertex_count + 1];
+        final int[]    vertex_faces = this._groupFacesByVertex(vertex_face_starts);
+        
+        
+        ParallelRange.forEach(pool,this.__vertex_count,16384,new ParallelRange.Body(){
+            public void run(int start,int end){
+                int face = 0;
+                
+                
+                for(int vertex = start;vertex < end;vertex++){
+                    for(int index = vertex_face_starts[vertex];index < vertex_face_starts[vertex + 1];index++){
+                        face = vertex_faces[index];
+                        
+                        normals[vertex * 3] += face_normals[face * 3];
+                        normals[vertex * 3 + 1] += face_normals[face * 3 + 1];
+                        normals[vertex * 3 + 2] += face_normals[face * 3 + 2];
+                    }
+                    WavefrontObjData._normalize(normals,vertex);
+                }
+            }
+        });
+        
+        return normals;
+    }
+    
+    public void onEndOfFile(){
+    }
+    
+    /**
+     * Records a face whose indices have already been resolved.
+     */
+    public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+        final int offset = this.__corner_count * 3;
+        
+        
+        if(offset + corner_count * 3 > this.__corners.length){
+            this.__corners = Arrays.copyOf(this.__corners,Math.max(this.__corners.length * 2,offset + corner_count * 3));
+        }
+        
+        for(int corner = 0;corner < corner_count;corner++){
+            this.__corners[offset + corner * 3] = vertices[corner];
+            this.__corners[offset + corner * 3 + 1] = texture_vertices[corner];
+            this.__corners[offset + corner * 3 + 2] = normal_vertices[corner];
+        }
+        this.__corner_count += corner_count;
+        
+        this.endFace();
+    }
+    
+    public void onMaterialLibrary(String filename){
+        this.addStatement(Statement.Type.MATERIAL_LIBRARY,filename);
+    }
+    
+    public void onNormalVertex(double x,double y,double z){
+        this.addNormalVertex(x,y,z);
+    }
+    
+    public void onObject(String name){
+        this.addStatement(Statement.Type.OBJECT,name);
+    }
+    
+    public void onTextureVertex(double u,double v){
+        this.addTextureVertex(u,v);
+    }
+    
+    public void onUseMaterial(String name){
+        this.addStatement(Statement.Type.USE_MATERIAL,name);
+    }
+    
+    public void onVertex(double x,double y,double z){
+        this.addVertex(x,y,z);
+    }
+    
+    /**
+     * Turns an index as given in the file into a zero-based index.
+     *
+     * @param index Index as given in the file.
+     * @param count Number of vertices of the referenced kind held so far.
+     * @param slot Position within the corner array the index will be stored at.
+     *
+     * @return The zero-based index, or -1 if the index wasn't given.
+     */
+    protected int _resolveIndex(int index,int count,int slot){
+        if(index > 0){
+            return index - 1;
+        }else if(index < 0){
+            if(this.__relative_indices == null){
+                this.__relative_indices = new BitSet();
+            }
+            this.__relative_indices.set(slot);
+            
+            return count + index;
+        }else{
+            return -1;
+        }
+    }
+    
+    /**
+     * Creates a copy of this data in which every face has been split up into triangles.  Each triangle's corners keep the texture vertex and normal vertex they had in the original face.<br />
+     * Statements are moved so that they still come before the triangles made from the faces they came before.
+     *
+     * @param pool Pool the faces should be split up on, or null if it should be done on the calling thread.
+     *
+     * @return The triangulated data, or this object if every face is already a triangle.
+     */
+    public WavefrontObjData triangulate(ForkJoinPool pool){
+        final int[]           corners;
+        final int[]           face_starts = new int[this.__face_count + 1];  //Index of each original face's first triangle.
+        final List<Statement> statements = new ArrayList<Statement>(this.__statements.size());
+        final int[]           triangle_faces;
+        
+        
+        for(int face = 0;face < this.__face_count;face++){
+            face_starts[face + 1] = face_starts[face] + (this.__face_starts[face + 1] - this.__face_starts[face]) - 2;
+        }
+        if(face_starts[this.__face_count] == this.__face_count){
+            return this;
+        }
+        
+        corners = new int[face_starts[this.__face_count] * 9];
+        ParallelRange.forEach(pool,this.__face_count,4096,new ParallelRange.Body(){
+            public void run(int start,int end){
+                final PolygonTriangulator triangulator = new PolygonTriangulator();
+                
+                int[] triangles = new int[30];
+                int[] vertices = new int[12];
+                
+                
+                for(int face = start;face < end;face++){
+                    final int corner_start = WavefrontObjData.this.__face_starts[face];
+                    final int corner_count = WavefrontObjData.this.__face_starts[face + 1] - corner_start;
+                    
+                    int output = face_starts[face] * 9;
+                    
+                    
+                    if(corner_count > vertices.length){
+                        vertices = new int[corner_count];
+                        triangles = new int[(corner_count - 2) * 3];
+                    }
+                    for(int corner = 0;corner < corner_count;corner++){
+                        vertices[corner] = WavefrontObjData.this.__corners[(corner_start + corner) * 3];
+                    }
+                    
+                    triangulator.triangulate(WavefrontObjData.this.__vertices,vertices,corner_count,triangles,0);
+                    for(int index = 0;index < (corner_count - 2) * 3;index++){
+                        System.arraycopy(WavefrontObjData.this.__corners,(corner_start + triangles[index]) * 3,corners,output,3);
+                        output += 3;
+                    }
+                }
+            }
+        });
+        
+        for(Statement statement:this.__statements){
+            statements.add(new Statement(statement.getType(),statement.getValue(),face_starts[statement.getFaceIndex()]));
+        }
+        
+        triangle_faces = new int[face_starts[this.__face_count] + 1];
+        for(int face = 0;face < triangle_faces.length;face++){
+            triangle_faces[face] = face * 3;
+        }
+        
+        return new WavefrontObjData(
+            Arrays.copyOf(this.__vertices,this.__vertex_count * 3),
+            Arrays.copyOf(this.__texture_vertices,this.__texture_vertex_count * 2),
+            Arrays.copyOf(this.__normal_vertices,this.__normal_vertex_count * 3),
+            triangle_faces,
+            corners,
+            statements
+        );
+    }
+    
+    /**
+     * Checks that every face has at least three corners which lie within the recorded corners, that every face corner refers to vertices which exist, and that every statement comes before an existing face.  Data which passes can be given to {@link #accept(WavefrontObjVisitor)} safely, however it was created.
+     *
+     * @throws IllegalStateException Thrown if a face or statement is out of place, or a face corner refers to a vertex which doesn't exist.
+     */
+    public void validate(){
+        final int[] counts = {this.__vertex_count,this.__texture_vertex_count,this.__normal_vertex_count};
+        
+        
+        if(this.__face_starts[0] != 0 || this.__face_starts[this.__face_count] > this.__corner_count){
+            throw new IllegalStateException("The faces don't match the recorded corners.");
+        }
+        for(int face = 0;face < this.__face_count;face++){
+            if(this.__face_starts[face + 1] - this.__face_starts[face] < 3){  //This also catches faces which end before they start.
+                throw new IllegalStateException("A face must have at least 3 corners.  Face number:  " + (face + 1));
+            }
+        }
+        for(int index = 0;index < this.__statements.size();index++){
+            if(this.__statements.get(index).getFaceIndex() < 0 || this.__statements.get(index).getFaceIndex() > this.__face_count){
+                throw new IllegalStateException("A statement comes before a face which doesn't exist.  Face number:  " + (this.__statements.get(index).getFaceIndex() + 1));
+            }
+        }
+        
+        for(int face = 0;face < this.__face_count;face++){
+            for(int corner = this.__face_starts[face],end = this.__face_starts[face + 1];corner < end;corner++){
+                for(int kind = 0;kind < 3;kind++){
+                    final int index = this.__corners[corner * 3 + kind];
+                    
+                    
+                    if(index >= counts[kind] || (index < 0 && (kind == 0 || index != -1))){
+                        throw new IllegalStateException("Given vertex was not found!  Requested vertex:  " + (index + 1) + ".  Face number:  " + (face + 1));
+                    }
+                }
+            }
+        }
+    }
+    /*End Other Methods*/
+}
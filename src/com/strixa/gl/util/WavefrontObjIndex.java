@@ -0,0 +1,488 @@
+/**
+ * File:  WavefrontObjIndex.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Records where each object ('o') within a Wavefront .obj file starts and ends, so that single objects can be read without parsing the rest of the file.<br />
+ * Along with each object's byte range, the index records how many vertices of each kind came before it and how many it declares itself, as well as the material library and material in effect when it starts.
+ * <br /><br />
+ * Building an index only requires looking at the first word of each line, which is much quicker than parsing the file.  Indices may be stored in a file beside the .obj file, and are only used while the .obj file's size and modification time are unchanged, and while the objects are still where the index says they are (see {@link #matches(ByteBuffer)}).
+ *
+ * @author Nicholas Rog
+ */
+public class WavefrontObjIndex{
+    /**
+     * Describes one block of the file:  either an object, or the lines which come before the first object.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Entry{
+        private final int    __end;
+        private final String __material;
+        private final String __material_library;
+        private final String __name;
+        private final int    __normal_vertex_base;
+        private final int    __normal_vertex_count;
+        private final int    __start;
+        private final int    __texture_vertex_base;
+        private final int    __texture_vertex_count;
+        private final int    __vertex_base;
+        private final int    __vertex_count;
+        
+        
+        /*Begin Constructor*/
+        public Entry(String name,int start,int end,int vertex_base,int texture_vertex_base,int normal_vertex_base,int vertex_count,int texture_vertex_count,int normal_vertex_count,String material_library,String material){
+            this.__name = name;
+            this.__start = start;
+            this.__end = end;
+            this.__vertex_base = vertex_base;
+            this.__texture_vertex_base = texture_vertex_base;
+            this.__normal_vertex_base = normal_vertex_base;
+            this.__vertex_count = vertex_count;
+            this.__texture_vertex_count = texture_vertex_count;
+            this.__normal_vertex_count = normal_vertex_count;
+            this.__material_library = material_library;
+            this.__material = material;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        /**
+         * Gets the index of the byte after the block's last line.
+         *
+         * @return The index of the byte after the block's last line.
+         */
+        public int getEnd(){
+            return this.__end;
+        }
+        
+        /**
+         * Gets the name of the material in effect when the block starts.
+         *
+         * @return The name of the material in effect when the block starts, or null if none has been selected.
+         */
+        public String getMaterial(){
+            return this.__material;
+        }
+        
+        /**
+         * Gets the material library in effect when the block starts, exactly as it was given in the file.
+         *
+         * @return The material library in effect when the block starts, or null if none has been given.
+         */
+        public String getMaterialLibrary(){
+            return this.__material_library;
+        }
+        
+        /**
+         * Gets the object's name.
+         *
+         * @return The object's name, or null if this block is made up of the lines which come before the first object.
+         */
+        public String getName(){
+            return this.__name;
+        }
+        
+        /**
+         * Gets the number of normal vertices which come before this block.
+         *
+         * @return The number of normal vertices which come before this block.
+         */
+        public int getNormalVertexBase(){
+            return this.__normal_vertex_base;
+        }
+        
+        public int getNormalVertexCount(){
+            return this.__normal_vertex_count;
+        }
+        
+        /**
+         * Gets the index of the first byte of the block's first line.
+         *
+         * @return The index of the first byte of the block's first line.
+         */
+        public int getStart(){
+            return this.__start;
+        }
+        
+        /**
+         * Gets the number of texture vertices which come before this block.
+         *
+         * @return The number of texture vertices which come before this block.
+         */
+        public int getTextureVertexBase(){
+            return this.__texture_vertex_base;
+        }
+        
+        public int getTextureVertexCount(){
+            return this.__texture_vertex_count;
+        }
+        
+        /**
+         * Gets the number of vertices which come before this block.
+         *
+         * @return The number of vertices which come before this block.
+         */
+        public int getVertexBase(){
+            return this.__vertex_base;
+        }
+        
+        public int getVertexCount(){
+            return this.__vertex_count;
+        }
+        /*End Getter Methods*/
+    }
+    
+    /** Extension added onto the .obj file's name to get the index file's name. */
+    public static final String EXTENSION = ".objindex";
+    
+    private static final int __MAGIC = 0x58444E49;  //"INDX"
+    private static final int __VERSION = 1;
+    
+    private final List<Entry>       __entries;
+    private final Map<String,Entry> __entries_by_name = new HashMap<String,Entry>();
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs an index out of the given blocks.
+     *
+     * @param entries Every block in the file, in the order they appear.
+     */
+    public WavefrontObjIndex(List<Entry> entries){
+        if(entries == null){
+            throw new IllegalArgumentException("Argument 'entries' must not be null.");
+        }
+        
+        this.__entries = Collections.unmodifiableList(new ArrayList<Entry>(entries));
+        for(int index = entries.size() - 1;index >= 0;index--){  //Going backwards means that if a name is used more than once, the first object with it wins.
+            if(entries.get(index).getName() != null){
+                this.__entries_by_name.put(entries.get(index).getName(),entries.get(index));
+            }
+        }
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter Methods*/
+    /**
+     * Gets every block in the file, in the order they appear.
+     *
+     * @return Every block in the file.
+     */
+    public List<Entry> getEntries(){
+        return this.__entries;
+    }
+    
+    /**
+     * Gets the block of the object with the given name.
+     *
+     * @param name Name of the object.
+     *
+     * @return The block of the first object with the given name, or null if the file doesn't contain one.
+     */
+    public Entry getEntry(String name){
+        return this.__entries_by_name.get(name);
+    }
+    
+    /**
+     * Gets the block in which the given vertex is declared.
+     *
+     * @param kind Kind of vertex:  0 for vertices, 1 for texture vertices, or 2 for normal vertices.
+     * @param vertex Zero-based index of the vertex within the whole file.
+     *
+     * @return The block in which the vertex is declared, or null if the file doesn't contain it.
+     */
+    public Entry getEntryDeclaring(int kind,int vertex){
+        int high = this.__entries.size() - 1;
+        int low = 0;
+        int middle = 0;
+        
+        
+        while(low < high){  //Find the last block which starts at or before the vertex.
+            middle = (low + high + 1) >>> 1;
+            if(WavefrontObjIndex._getBase(this.__entries.get(middle),kind) <= vertex){
+                low = middle;
+            }else{
+                high = middle - 1;
+            }
+        }
+        
+        for(int index = low;index >= 0;index--){  //Blocks which don't declare any vertices of this kind share their base with the block after them.
+            final Entry entry = this.__entries.get(index);
+            
+            
+            if(WavefrontObjIndex._getBase(entry,kind) <= vertex && vertex < WavefrontObjIndex._getBase(entry,kind) + WavefrontObjIndex._getCount(entry,kind)){
+                return entry;
+            }else if(WavefrontObjIndex._getCount(entry,kind) != 0){
+                return null;
+            }
+        }
+        
+        return null;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Builds an index of the given file contents by looking at the first word of each line.
+     *
+     * @param contents Buffer containing the entire file.
+     *
+     * @return The index of the file.
+     *
+     * @throws IOException Thrown if an object is declared without a name.
+     */
+    public static WavefrontObjIndex build(ByteBuffer contents) throws IOException{
+        final List<Entry>           entries = new ArrayList<Entry>();
+        final WavefrontObjTokenizer tokenizer = new WavefrontObjTokenizer(contents.duplicate());
+        
+        int    block_start = tokenizer.getPosition();
+        int[]  block_bases = new int[3];
+        String block_library = null;
+        String block_material = null;
+        String block_name = null;
+        int[]  counts = new int[3];
+        int    line_start = 0;
+        String material = null;
+        String material_library = null;
+        
+        
+        while(true){
+            line_start = tokenizer.getPosition();
+            if(!tokenizer.beginLine()){
+                break;
+            }
+            
+            if(tokenizer.matchKeyword("v")){
+                counts[0]++;
+            }else if(tokenizer.matchKeyword("vt")){
+                counts[1]++;
+            }else if(tokenizer.matchKeyword("vn")){
+                counts[2]++;
+            }else if(tokenizer.matchKeyword("o")){
+                if(tokenizer.isEndOfLine()){
+                    throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+                }
+                
+                if(block_name != null || line_start > block_start){  //Lines before the first object only get a block if there are any.
+                    entries.add(WavefrontObjIndex._createEntry(block_name,block_start,line_start,block_bases,counts,block_library,block_material));
+                }
+                
+                block_name = tokenizer.readToken();
+                block_start = line_start;
+                block_bases = counts.clone();
+                block_library = material_library;
+                block_material = material;
+            }else if(tokenizer.matchKeyword("usemtl")){
+                material = tokenizer.isEndOfLine() ? "anonymous" : tokenizer.readToken();
+            }else if(tokenizer.matchKeyword("mtllib")){
+                material_library = tokenizer.readRemainder();
+            }
+            
+            tokenizer.endLine();
+        }
+        
+        if(block_name != null || tokenizer.getPosition() > block_start){
+            entries.add(WavefrontObjIndex._createEntry(block_name,block_start,tokenizer.getPosition(),block_bases,counts,block_library,block_material));
+        }
+        
+        return new WavefrontObjIndex(entries);
+    }
+    
+    protected static Entry _createEntry(String name,int start,int end,int[] bases,int[] counts,String material_library,String material){
+        return new Entry(name,start,end,bases[0],bases[1],bases[2],counts[0] - bases[0],counts[1] - bases[1],counts[2] - bases[2],material_library,material);
+    }
+    
+    protected static int _getBase(Entry entry,int kind){
+        switch(kind){
+            case 0:
+                return entry.getVertexBase();
+            case 1:
+                return entry.getTextureVertexBase();
+            default:
+                return entry.getNormalVertexBase();
+        }
+    }
+    
+    protected static int _getCount(Entry entry,int kind){
+        switch(kind){
+            case 0:
+                return entry.getVertexCount();
+            case 1:
+                return entry.getTextureVertexCount();
+            default:
+                return entry.getNormalVertexCount();
+        }
+    }
+    
+    /**
+     * Reads the index stored beside the given .obj file.
+     *
+     * @param source_location Location of the .obj file.
+     *
+     * @return The stored index, or null if there isn't one or the .obj file has changed since it was stored.
+     *
+     * @throws IOException Thrown if the stored index exists but could not be read.
+     */
+    public static WavefrontObjIndex read(String source_location) throws IOException{
+        final List<Entry> entries = new ArrayList<Entry>();
+        final File        index_file = new File(source_location + WavefrontObjIndex.EXTENSION);
+        final File        source_file = new File(source_location);
+        
+        DataInputStream input = null;
+        
+        
+        if(!index_file.isFile() || !source_file.isFile()){
+            return null;
+        }
+        
+        try{
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(index_file)));
+            if(
+                input.readInt() != WavefrontObjIndex.__MAGIC
+                ||
+                input.readInt() != WavefrontObjIndex.__VERSION
+                ||
+                input.readLong() != source_file.length()
+                ||
+                input.readLong() != source_file.lastModified()
+            ){
+                return null;
+            }
+            
+            for(int index = 0,entry_count = input.readInt();index < entry_count;index++){
+                entries.add(new Entry(
+                    input.readBoolean() ? input.readUTF() : null,
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readInt(),
+                    input.readBoolean() ? input.readUTF() : null,
+                    input.readBoolean() ? input.readUTF() : null
+                ));
+            }
+        }finally{
+            if(input != null){
+                input.close();
+            }
+        }
+        
+        return new WavefrontObjIndex(entries);
+    }
+    /*End Static Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Checks that this index still describes the given file contents:  that its blocks follow one another from the start of the file to the end, and that each object's block starts with the line declaring that object.<br />
+     * Only the first line of each object is looked at, so this is far quicker than building the index again, but it catches an index being used with a file which was changed without its size or modification time changing.
+     *
+     * @param contents Buffer containing the entire file.
+     *
+     * @return Returns true if the index matches the file, and false, otherwise.
+     *
+     * @throws IOException Thrown if the file could not be read.
+     */
+    public boolean matches(ByteBuffer contents) throws IOException{
+        Entry                 entry = null;
+        int                   position = contents.position();
+        WavefrontObjTokenizer tokenizer = null;
+        
+        
+        for(int index = 0;index < this.__entries.size();index++){
+            entry = this.__entries.get(index);
+            if(entry.getStart() != position || entry.getEnd() < entry.getStart() || entry.getEnd() > contents.limit()){
+                return false;
+            }
+            
+            if(entry.getName() != null){
+                tokenizer = new WavefrontObjTokenizer((ByteBuffer)contents.duplicate().position(entry.getStart()));
+                if(!tokenizer.beginLine() || !tokenizer.matchKeyword("o") || tokenizer.isEndOfLine() || !entry.getName().equals(tokenizer.readToken())){
+                    return false;
+                }
+            }
+            
+            position = entry.getEnd();
+        }
+        
+        return position == contents.limit();
+    }
+    
+    /**
+     * Stores this index beside the given .obj file, replacing any index stored there before.
+     *
+     * @param source_location Location of the .obj file this index was built from.
+     *
+     * @throws IOException Thrown if the index could not be written.
+     */
+    public void write(String source_location) throws IOException{
+        final File index_file = new File(source_location + WavefrontObjIndex.EXTENSION);
+        final File source_file = new File(source_location);
+        final File temporary_file = new File(index_file.getPath() + ".tmp");
+        
+        DataOutputStream output = null;
+        
+        
+        try{
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary_file)));
+            output.writeInt(WavefrontObjIndex.__MAGIC);
+            output.writeInt(WavefrontObjIndex.__VERSION);
+            output.writeLong(source_file.length());
+            output.writeLong(source_file.lastModified());
+            output.writeInt(this.__entries.size());
+            for(Entry entry:this.__entries){
+                WavefrontObjIndex._writeString(output,entry.getName());
+                output.writeInt(entry.getStart());
+                output.writeInt(entry.getEnd());
+                output.writeInt(entry.getVertexBase());
+                output.writeInt(entry.getTextureVertexBase());
+                output.writeInt(entry.getNormalVertexBase());
+                output.writeInt(entry.getVertexCount());
+                output.writeInt(entry.getTextureVertexCount());
+                output.writeInt(entry.getNormalVertexCount());
+                WavefrontObjIndex._writeString(output,entry.getMaterialLibrary());
+                WavefrontObjIndex._writeString(output,entry.getMaterial());
+            }
+        }finally{
+            if(output != null){
+                output.close();
+            }
+        }
+        
+        Files.move(temporary_file.toPath(),index_file.toPath(),StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Writes a string which may be null.
+     */
+    protected static void _writeString(DataOutputStream output,String value) throws IOException{
+        output.writeBoolean(value != null);
+        if(value != null){
+            output.writeUTF(value);
+        }
+    }
+    /*End Other Methods*/
+}
@@ -5,18 +5,34 @@
 package com.strixa.gl.util;
 
 import java.awt.Color;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import com.strixa.gl.Strixa3DElement;
 import com.strixa.gl.StrixaMaterial;
+import com.strixa.gl.StrixaMesh;
 import com.strixa.gl.StrixaPoint;
 import com.strixa.gl.StrixaPolygon;
+import com.strixa.util.IntTripleMap;
 import com.strixa.util.Point2D;
 import com.strixa.util.Point3D;
 
@@ -27,340 +43,1777 @@ import com.strixa.util.Point3D;
  * @author Nicholas Rog
  */
 public class WavefrontObjReader implements Runnable{
-    private final List<PercentLoadedUpdateListener> __percent_loaded_listeners = new ArrayList<PercentLoadedUpdateListener>();
-    private final Thread                            __read_thread = new Thread(this,"WavefrontReader_read_thread");
+    /**
+     * Builds Strixa3DElements out of the contents of the file as they are read.  Subclasses decide what the elements are made of.
+     *
+     * @author Nicholas Rog
+     */
+    protected abstract class ElementBuilder implements WavefrontObjVisitor{
+        private final List<Strixa3DElement> __elements = new ArrayList<Strixa3DElement>(100);
+        
+        private StrixaMaterial      __current_material;
+        private WavefrontMtlLibrary __library;
+        
+        
+        /*Begin Getter Methods*/
+        /**
+         * Gets the material selected by the most recent 'usemtl' statement.
+         *
+         * @return The current material, or null if none has been selected or it couldn't be found.
+         */
+        public StrixaMaterial getCurrentMaterial(){
+            return this.__current_material;
+        }
+        
+        /**
+         * Gets the elements which have been built.  This is only complete after {@link #onEndOfFile()} has been called.
+         *
+         * @return The elements which have been built.
+         */
+        public List<Strixa3DElement> getElements(){
+            return this.__elements;
+        }
+        /*End Getter Methods*/
+        
+        /*Begin Other Methods*/
+        protected void _addElement(Strixa3DElement element){
+            this.__elements.add(element);
+        }
+        
+        public void onMaterialLibrary(String filename){
+            this.__library = WavefrontObjReader.this._readMtl(WavefrontObjReader.this._resolvePath(filename));
+        }
+        
+        public void onUseMaterial(String name){
+            this.__current_material = this.__library == null ? null : this.__library.getMaterial(name);
+            if(this.__current_material == null){
+                System.out.println("Warning:  Material with name " + name + " could not be found.");
+            }
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Builds elements out of a StrixaPolygon for each face.<br />
+     * Each element is given its own points, covering only the vertices its faces use, so that elements never share points and no element holds the faces of another.
+     *
+     * @author Nicholas Rog
+     */
+    protected class PolygonElementBuilder extends ElementBuilder{
+        private final LocalPointTable<Point3D<Double>> __normal_points = new LocalPointTable<Point3D<Double>>();
+        private final LocalPointTable<StrixaPoint>     __points = new LocalPointTable<StrixaPoint>();
+        private final List<StrixaPolygon>              __polygons = new ArrayList<StrixaPolygon>();
+        private final LocalPointTable<Point2D<Double>> __texture_points = new LocalPointTable<Point2D<Double>>();
+        private final Strixa3DElement                  __progressive_element = WavefrontObjReader.this.getProgressiveElement();
+        
+        private int                 __normal_count;
+        private double[]            __normals = new double[3072];
+        private Strixa3DElement     __object;
+        private List<StrixaPolygon> __queued_polygons = new ArrayList<StrixaPolygon>();
+        private double[]            __texture_coordinates = new double[2048];
+        private int                 __texture_coordinate_count;
+        private int                 __vertex_count;
+        private double[]            __vertices = new double[3072];
+        
+        
+        /*Begin Other Methods*/
+        /**
+         * Gives the object currently being built its polygons and adds it to the list of elements, then prepares to build the next object.
+         */
+        protected void _endObject(){
+            this.__object.addComponents(this.__polygons);
+            this.__object.setMaterial(this.getCurrentMaterial());
+            this._addElement(this.__object);
+            
+            this.__object = null;
+            this.__polygons.clear();
+            this.__points.clear();
+            this.__texture_points.clear();
+            this.__normal_points.clear();
+        }
+        
+        public void onEndOfFile(){
+            if(!this.__polygons.isEmpty()){ //This ensures that the last object gets added to the list.
+                if(this.__object == null){  //The file never declared an object, so everything belongs to a single unnamed one.
+                    this.__object = new Strixa3DElement();
+                }
+                
+                this._endObject();
+            }
+            
+            if(this.__progressive_element != null){
+                this.__progressive_element.queueComponents(this.__queued_polygons);
+                
+                this.__queued_polygons = new ArrayList<StrixaPolygon>();
+            }
+        }
+        
+        public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+            final StrixaPolygon polygon = new StrixaPolygon();
+            
+            Point3D<Double> normal_point = null;
+            StrixaPoint     point = null;
+            Point2D<Double> texture_point = null;
+            
+            
+            for(int corner = 0;corner < corner_count;corner++){
+                point = this.__points.get(vertices[corner]);
+                if(point == null){
+                    point = new StrixaPoint(this.__vertices[vertices[corner] * 3],this.__vertices[vertices[corner] * 3 + 1],this.__vertices[vertices[corner] * 3 + 2],Color.WHITE,(byte)1);
+                    
+                    this.__points.put(vertices[corner],point);
+                }
+                polygon.addPoint(point);
+                
+                if(texture_vertices[corner] != -1){
+                    texture_point = this.__texture_points.get(texture_vertices[corner]);
+                    if(texture_point == null){
+                        texture_point = new Point2D<Double>(this.__texture_coordinates[texture_vertices[corner] * 2],this.__texture_coordinates[texture_vertices[corner] * 2 + 1]);
+                        
+                        this.__texture_points.put(texture_vertices[corner],texture_point);
+                    }
+                    polygon.addTexturePoint(texture_point);
+                }
+                
+                if(normal_vertices[corner] != -1){
+                    normal_point = this.__normal_points.get(normal_vertices[corner]);
+                    if(normal_point == null){
+                        normal_point = new Point3D<Double>(this.__normals[normal_vertices[corner] * 3],this.__normals[normal_vertices[corner] * 3 + 1],this.__normals[normal_vertices[corner] * 3 + 2]);
+                        
+                        this.__normal_points.put(normal_vertices[corner],normal_point);
+                    }
+                    polygon.addNormalPoint(normal_point);
+                }
+            }
+            
+            polygon.setMaterial(this.getCurrentMaterial());  //Materials may change partway through an object.
+            
+            this.__polygons.add(polygon);
+            if(this.__progressive_element != null){
+                this._queuePolygon(polygon);
+            }
+        }
+        
+        public void onNormalVertex(double x,double y,double z){
+            this.__normals = WavefrontObjReader._appendValues(this.__normals,this.__normal_count * 3,x,y,z);
+            this.__normal_count++;
+        }
+        
+        public void onObject(String name){
+            if(this.__object == null && !this.__polygons.isEmpty()){  //Faces given before the first object belong to an unnamed one.
+                this.__object = new Strixa3DElement();
+            }
+            if(this.__object != null){
+                this._endObject();
+            }
+            
+            this.__object = new Strixa3DElement();
+        }
+        
+        /**
+         * Adds the polygon to the batch which will next be queued on the progressive element, queueing the batch once it's full.
+         */
+        protected void _queuePolygon(StrixaPolygon polygon){
+            if(this.__progressive_element.getMaterial() == null && this.getCurrentMaterial() != null){  //This is set before the batch is queued, so the drawing thread sees it by the time it has polygons to draw.
+                this.__progressive_element.setMaterial(this.getCurrentMaterial());
+            }
+            
+            this.__queued_polygons.add(polygon);
+            if(this.__queued_polygons.size() == WavefrontObjReader.__PROGRESSIVE_BATCH_SIZE){
+                this.__progressive_element.queueComponents(this.__queued_polygons);
+                
+                this.__queued_polygons = new ArrayList<StrixaPolygon>();
+            }
+        }
+        
+        public void onTextureVertex(double u,double v){
+            if(this.__texture_coordinate_count * 2 + 2 > this.__texture_coordinates.length){
+                this.__texture_coordinates = Arrays.copyOf(this.__texture_coordinates,this.__texture_coordinates.length * 2);
+            }
+            
+            this.__texture_coordinates[this.__texture_coordinate_count * 2] = u;
+            this.__texture_coordinates[this.__texture_coordinate_count * 2 + 1] = v;
+            this.__texture_coordinate_count++;
+        }
+        
+        public void onVertex(double x,double y,double z){
+            this.__vertices = WavefrontObjReader._appendValues(this.__vertices,this.__vertex_count * 3,x,y,z);
+            this.__vertex_count++;
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Maps the index of a vertex within the file onto the point created for it within the object currently being built.<br />
+     * Clearing the table only touches the entries which were used, so the cost of each object is proportional to its own size rather than the file's.
+     *
+     * @author Nicholas Rog
+     */
+    private static class LocalPointTable<T>{
+        private int      __used_count;
+        private int[]    __used_indices = new int[1024];
+        private Object[] __points = new Object[1024];
+        
+        
+        /*Begin Other Methods*/
+        public void clear(){
+            for(int index = 0;index < this.__used_count;index++){
+                this.__points[this.__used_indices[index]] = null;
+            }
+            
+            this.__used_count = 0;
+        }
+        
+        /**
+         * Gets the point created for the given vertex.
+         *
+         * @return The point created for the vertex, or null if one hasn't been created within the current object.
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index){
+            if(index >= this.__points.length){
+                return null;
+            }
+            
+            return (T)this.__points[index];
+        }
+        
+        public void put(int index,T point){
+            if(index >= this.__points.length){
+                this.__points = Arrays.copyOf(this.__points,Math.max(this.__points.length * 2,index + 1));
+            }
+            if(this.__used_count == this.__used_indices.length){
+                this.__used_indices = Arrays.copyOf(this.__used_indices,this.__used_count * 2);
+            }
+            
+            this.__points[index] = point;
+            this.__used_indices[this.__used_count] = index;
+            this.__used_count++;
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Builds elements out of indexed meshes.  Each object gets its own table of unique vertices, with one entry for each distinct (vertex, texture vertex, normal vertex) combination its faces use, and an array of triangle indices for each material it uses.<br />
+     * Faces with more than three corners are split into a fan of triangles.
+     *
+     * @author Nicholas Rog
+     */
+    protected class IndexedElementBuilder extends ElementBuilder{
+        private final List<MeshPartBuilder> __parts = new ArrayList<MeshPartBuilder>();
+        private final IntTripleMap          __vertex_map = new IntTripleMap(1024);
+        
+        private int[]           __corner_indices = new int[8];
+        private MeshPartBuilder __current_part;
+        private boolean         __has_normals;
+        private boolean         __has_texture_coordinates;
+        private float[]         __mesh_normals = new float[3072];
+        private float[]         __mesh_positions = new float[3072];
+        private float[]         __mesh_texture_coordinates = new float[2048];
+        private int             __mesh_vertex_count;
+        private float[]         __normals = new float[3072];
+        private int             __normal_count;
+        private Strixa3DElement __object;
+        private float[]         __positions = new float[3072];
+        private float[]         __texture_coordinates = new float[2048];
+        private int             __texture_coordinate_count;
+        private int             __vertex_count;
+        
+        
+        /*Begin Other Methods*/
+        /**
+         * Gives the object currently being built its mesh and adds it to the list of elements, then prepares to build the next object.
+         */
+        protected void _endObject(){
+            final List<StrixaMesh.Part> parts = new ArrayList<StrixaMesh.Part>(this.__parts.size());
+            
+            
+            for(int index = 0;index < this.__parts.size();index++){
+                if(this.__parts.get(index).getIndexCount() != 0){
+                    parts.add(this.__parts.get(index).build());
+                }
+            }
+            
+            this.__object.setMesh(new StrixaMesh(
+                Arrays.copyOf(this.__mesh_positions,this.__mesh_vertex_count * 3),
+                this.__has_texture_coordinates ? Arrays.copyOf(this.__mesh_texture_coordinates,this.__mesh_vertex_count * 2) : null,
+                this.__has_normals ? Arrays.copyOf(this.__mesh_normals,this.__mesh_vertex_count * 3) : null,
+                parts
+            ));
+            this.__object.setMaterial(this.getCurrentMaterial());
+            this._addElement(this.__object);
+            
+            this.__object = null;
+            this.__parts.clear();
+            this.__current_part = null;
+            this.__vertex_map.clear();
+            this.__mesh_vertex_count = 0;
+            this.__has_texture_coordinates = false;
+            this.__has_normals = false;
+        }
+        
+        /**
+         * Gets the index of the given combination of vertices within the current object's table of unique vertices, adding it to the table if it isn't there yet.
+         */
+        protected int _getMeshVertex(int vertex,int texture_vertex,int normal_vertex){
+            final int index = this.__vertex_map.getOrPut(vertex,texture_vertex,normal_vertex,this.__mesh_vertex_count);
+            
+            
+            if(index == this.__mesh_vertex_count){
+                if(index * 3 + 3 > this.__mesh_positions.length){
+                    this.__mesh_positions = Arrays.copyOf(this.__mesh_positions,this.__mesh_positions.length * 2);
+                    this.__mesh_texture_coordinates = Arrays.copyOf(this.__mesh_texture_coordinates,this.__mesh_texture_coordinates.length * 2);
+                    this.__mesh_normals = Arrays.copyOf(this.__mesh_normals,this.__mesh_normals.length * 2);
+                }
+                
+                System.arraycopy(this.__positions,vertex * 3,this.__mesh_positions,index * 3,3);
+                if(texture_vertex != -1){
+                    System.arraycopy(this.__texture_coordinates,texture_vertex * 2,this.__mesh_texture_coordinates,index * 2,2);
+                    this.__has_texture_coordinates = true;
+                }else{
+                    this.__mesh_texture_coordinates[index * 2] = 0;
+                    this.__mesh_texture_coordinates[index * 2 + 1] = 0;
+                }
+                if(normal_vertex != -1){
+                    System.arraycopy(this.__normals,normal_vertex * 3,this.__mesh_normals,index * 3,3);
+                    this.__has_normals = true;
+                }else{
+                    this.__mesh_normals[index * 3] = 0;
+                    this.__mesh_normals[index * 3 + 1] = 0;
+                    this.__mesh_normals[index * 3 + 2] = 0;
+                }
+                
+                this.__mesh_vertex_count++;
+            }
+            
+            return index;
+        }
+        
+        public void onEndOfFile(){
+            if(this.__object == null && this.__mesh_vertex_count != 0){  //The file never declared an object, so everything belongs to a single unnamed one.
+                this.__object = new Strixa3DElement();
+            }
+            if(this.__object != null){
+                this._endObject();
+            }
+        }
+        
+        public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+            if(this.__current_part == null){
+                this.__current_part = new MeshPartBuilder(this.getCurrentMaterial());
+                this.__parts.add(this.__current_part);
+            }
+            if(corner_count > this.__corner_indices.length){
+                this.__corner_indices = new int[corner_count];
+            }
+            
+            for(int corner = 0;corner < corner_count;corner++){
+                this.__corner_indices[corner] = this._getMeshVertex(vertices[corner],texture_vertices[corner],normal_vertices[corner]);
+            }
+            for(int corner = 1;corner < corner_count - 1;corner++){
+                this.__current_part.addTriangle(this.__corner_indices[0],this.__corner_indices[corner],this.__corner_indices[corner + 1]);
+            }
+        }
+        
+        public void onNormalVertex(double x,double y,double z){
+            this.__normals = WavefrontObjReader._appendValues(this.__normals,this.__normal_count * 3,x,y,z);
+            this.__normal_count++;
+        }
+        
+        public void onObject(String name){
+            if(this.__object == null && this.__mesh_vertex_count != 0){  //Faces given before the first object belong to an unnamed one.
+                this.__object = new Strixa3DElement();
+            }
+            if(this.__object != null){
+                this._endObject();
+            }
+            
+            this.__object = new Strixa3DElement();
+        }
+        
+        public void onTextureVertex(double u,double v){
+            if(this.__texture_coordinate_count * 2 + 2 > this.__texture_coordinates.length){
+                this.__texture_coordinates = Arrays.copyOf(this.__texture_coordinates,this.__texture_coordinates.length * 2);
+            }
+            
+            this.__texture_coordinates[this.__texture_coordinate_count * 2] = (float)u;
+            this.__texture_coordinates[this.__texture_coordinate_count * 2 + 1] = (float)v;
+            this.__texture_coordinate_count++;
+        }
+        
+        public void onUseMaterial(String name){
+            super.onUseMaterial(name);
+            
+            this.__current_part = null;
+            for(int index = 0;index < this.__parts.size();index++){  //Triangles using the same material are kept together, even if other materials were used in between.
+                if(this.__parts.get(index).getMaterial() == this.getCurrentMaterial()){
+                    this.__current_part = this.__parts.get(index);
+                }
+            }
+        }
+        
+        public void onVertex(double x,double y,double z){
+            this.__positions = WavefrontObjReader._appendValues(this.__positions,this.__vertex_count * 3,x,y,z);
+            this.__vertex_count++;
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Collects the triangle indices of one part of an indexed mesh.
+     *
+     * @author Nicholas Rog
+     */
+    private static class MeshPartBuilder{
+        private final StrixaMaterial __material;
+        
+        private int   __index_count;
+        private int[] __indices = new int[384];
+        
+        
+        /*Begin Constructor*/
+        public MeshPartBuilder(StrixaMaterial material){
+            this.__material = material;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        public int getIndexCount(){
+            return this.__index_count;
+        }
+        
+        public StrixaMaterial getMaterial(){
+            return this.__material;
+        }
+        /*End Getter Methods*/
+        
+        /*Begin Other Methods*/
+        public void addTriangle(int a,int b,int c){
+            if(this.__index_count + 3 > this.__indices.length){
+                this.__indices = Arrays.copyOf(this.__indices,this.__indices.length * 2);
+            }
+            
+            this.__indices[this.__index_count] = a;
+            this.__indices[this.__index_count + 1] = b;
+            this.__indices[this.__index_count + 2] = c;
+            this.__index_count += 3;
+        }
+        
+        public StrixaMesh.Part build(){
+            return new StrixaMesh.Part(this.__material,Arrays.copyOf(this.__indices,this.__index_count));
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Records a piece of the file exactly as it was written, leaving relative indices to be resolved once the pieces are joined.
+     *
+     * @author Nicholas Rog
+     */
+    private static class PieceRecorder implements WavefrontObjVisitor{
+        private final WavefrontObjData __data;
+        
+        
+        /*Begin Constructor*/
+        public PieceRecorder(WavefrontObjData data){
+            this.__data = data;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        public void onEndOfFile(){
+        }
+        
+        public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+            for(int corner = 0;corner < corner_count;corner++){
+                this.__data.addCorner(vertices[corner],texture_vertices[corner],normal_vertices[corner]);
+            }
+            
+            this.__data.endFace();
+        }
+        
+        public void onMaterialLibrary(String filename){
+            this.__data.onMaterialLibrary(filename);
+        }
+        
+        public void onNormalVertex(double x,double y,double z){
+            this.__data.addNormalVertex(x,y,z);
+        }
+        
+        public void onObject(String name){
+            this.__data.onObject(name);
+        }
+        
+        public void onTextureVertex(double u,double v){
+            this.__data.addTextureVertex(u,v);
+        }
+        
+        public void onUseMaterial(String name){
+            this.__data.onUseMaterial(name);
+        }
+        
+        public void onVertex(double x,double y,double z){
+            this.__data.addVertex(x,y,z);
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Records a single object's block of the file, fetching any vertices it refers to which are declared in other blocks.<br />
+     * The vertices are numbered in the order they are recorded, so the recorded data only holds the vertices the object needs.
+     *
+     * @author Nicholas Rog
+     */
+    private class ObjectLoader implements WavefrontObjVisitor{
+        private final ByteBuffer                                    __buffer;
+        private final WavefrontObjData                              __data = new WavefrontObjData();
+        private final WavefrontObjIndex.Entry                       __entry;
+        private final Map<WavefrontObjIndex.Entry,WavefrontObjData> __foreign_blocks;
+        private final WavefrontObjIndex                             __index;
+        private final int[]                                         __local_counts = new int[3];
+        private final IntTripleMap                                  __vertex_map = new IntTripleMap(1024);
+        
+        private int[]                 __normal_vertices = new int[8];
+        private int[]                 __texture_vertices = new int[8];
+        private WavefrontObjTokenizer __tokenizer;
+        private int[]                 __vertices = new int[8];
+        
+        
+        /*Begin Constructor*/
+        /**
+         * Constructs the loader.
+         *
+         * @param buffer Buffer containing the entire file.
+         * @param index Index of the file.
+         * @param entry Block to be recorded.
+         * @param foreign_blocks Blocks which have already been read for their vertices.  This is shared between loaders so that each block is read at most once.
+         */
+        public ObjectLoader(ByteBuffer buffer,WavefrontObjIndex index,WavefrontObjIndex.Entry entry,Map<WavefrontObjIndex.Entry,WavefrontObjData> foreign_blocks){
+            this.__buffer = buffer;
+            this.__index = index;
+            this.__entry = entry;
+            this.__foreign_blocks = foreign_blocks;
+        }
+        /*End Constructor*/
+        
+        /*Begin Getter Methods*/
+        public WavefrontObjData getData(){
+            return this.__data;
+        }
+        /*End Getter Methods*/
+        
+        /*Begin Other Methods*/
+        /**
+         * Parses the block, recording it along with the material library and material which are in effect when it starts.
+         *
+         * @throws IOException Thrown if the block is incorrectly formatted, or refers to a vertex which doesn't exist.
+         */
+        public void load() throws IOException{
+            final ByteBuffer block = this.__buffer.duplicate();
+            
+            
+            block.limit(this.__entry.getEnd());
+            block.position(this.__entry.getStart());
+            
+            if(this.__entry.getMaterialLibrary() != null){
+                this.__data.onMaterialLibrary(this.__entry.getMaterialLibrary());
+            }
+            if(this.__entry.getMaterial() != null){
+                this.__data.onUseMaterial(this.__entry.getMaterial());
+            }
+            
+            this.__tokenizer = new WavefrontObjTokenizer(block);
+            try{
+                WavefrontObjReader.this._parse(this.__tokenizer,this,false);
+            }catch(UncheckedIOException e){
+                throw e.getCause();
+            }
+        }
+        
+        /**
+         * Gets the position within the recorded data of the given vertex, recording it first if it's declared in another block.
+         *
+         * @param kind Kind of vertex:  0 for vertices, 1 for texture vertices, or 2 for normal vertices.
+         * @param index Index as it was given in the file.
+         *
+         * @return The position of the vertex within the recorded data, or -1 if the index wasn't given.
+         */
+        protected int _mapVertex(int kind,int index) throws IOException{
+            final int count = WavefrontObjIndex._getBase(this.__entry,kind) + this.__local_counts[kind];
+            final int vertex = WavefrontObjReader.this._resolveIndex(index,count,kind == 0,this.__tokenizer);
+            
+            WavefrontObjIndex.Entry owner = null;
+            WavefrontObjData        owner_data = null;
+            int                     position = 0;
+            
+            
+            if(vertex == -1){
+                return -1;
+            }
+            
+            position = this.__vertex_map.get(kind,vertex,0);
+            if(position != IntTripleMap.NOT_FOUND){
+                return position;
+            }
+            
+            owner = this.__index.getEntryDeclaring(kind,vertex);
+            if(owner == null){
+                throw new IOException("Given vertex was not found!  Requested vertex:  " + index + ".  Line number:  " + this.__tokenizer.getLineNumber());
+            }
+            
+            owner_data = this.__foreign_blocks.get(owner);
+            if(owner_data == null){
+                final ByteBuffer block = this.__buffer.duplicate();
+                
+                
+                block.limit(owner.getEnd());
+                block.position(owner.getStart());
+                
+                owner_data = new WavefrontObjData();
+                WavefrontObjReader.this._parse(new WavefrontObjTokenizer(block),new PieceRecorder(owner_data),false);
+                
+                this.__foreign_blocks.put(owner,owner_data);
+            }
+            
+            position = vertex - WavefrontObjIndex._getBase(owner,kind);
+            switch(kind){
+                case 0:
+                    this.__data.addVertex(owner_data.getVertices()[position * 3],owner_data.getVertices()[position * 3 + 1],owner_data.getVertices()[position * 3 + 2]);
+                    
+                    return this.__vertex_map.getOrPut(kind,vertex,0,this.__data.getVertexCount() - 1);
+                case 1:
+                    this.__data.addTextureVertex(owner_data.getTextureVertices()[position * 2],owner_data.getTextureVertices()[position * 2 + 1]);
+                    
+                    return this.__vertex_map.getOrPut(kind,vertex,0,this.__data.getTextureVertexCount() - 1);
+                default:
+                    this.__data.addNormalVertex(owner_data.getNormalVertices()[position * 3],owner_data.getNormalVertices()[position * 3 + 1],owner_data.getNormalVertices()[position * 3 + 2]);
+                    
+                    return this.__vertex_map.getOrPut(kind,vertex,0,this.__data.getNormalVertexCount() - 1);
+            }
+        }
+        
+        public void onEndOfFile(){
+        }
+        
+        public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+            if(corner_count > this.__vertices.length){
+                this.__vertices = new int[corner_count];
+                this.__texture_vertices = new int[corner_count];
+                this.__normal_vertices = new int[corner_count];
+            }
+            
+            try{
+                for(int corner = 0;corner < corner_count;corner++){
+                    this.__vertices[corner] = this._mapVertex(0,vertices[corner]);
+                    this.__texture_vertices[corner] = this._mapVertex(1,texture_vertices[corner]);
+                    this.__normal_vertices[corner] = this._mapVertex(2,normal_vertices[corner]);
+                }
+            }catch(IOException e){
+                throw new UncheckedIOException(e);  //The visitor can't throw IOExceptions, so this is unwrapped again once parsing stops.
+            }
+            
+            this.__data.onFace(this.__vertices,this.__texture_vertices,this.__normal_vertices,corner_count);
+        }
+        
+        public void onMaterialLibrary(String filename){
+            this.__data.onMaterialLibrary(filename);
+        }
+        
+        public void onNormalVertex(double x,double y,double z){
+            this.__data.addNormalVertex(x,y,z);
+            this.__vertex_map.getOrPut(2,this.__entry.getNormalVertexBase() + this.__local_counts[2]++,0,this.__data.getNormalVertexCount() - 1);
+        }
+        
+        public void onObject(String name){
+            this.__data.onObject(name);
+        }
+        
+        public void onTextureVertex(double u,double v){
+            this.__data.addTextureVertex(u,v);
+            this.__vertex_map.getOrPut(1,this.__entry.getTextureVertexBase() + this.__local_counts[1]++,0,this.__data.getTextureVertexCount() - 1);
+        }
+        
+        public void onUseMaterial(String name){
+            this.__data.onUseMaterial(name);
+        }
+        
+        public void onVertex(double x,double y,double z){
+            this.__data.addVertex(x,y,z);
+            this.__vertex_map.getOrPut(0,this.__entry.getVertexBase() + this.__local_counts[0]++,0,this.__data.getVertexCount() - 1);
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Hands everything it's given to two other visitors.
+     *
+     * @author Nicholas Rog
+     */
+    private static class VisitorPair implements WavefrontObjVisitor{
+        private final WavefrontObjVisitor __first;
+        private final WavefrontObjVisitor __second;
+        
+        
+        /*Begin Constructor*/
+        public VisitorPair(WavefrontObjVisitor first,WavefrontObjVisitor second){
+            this.__first = first;
+            this.__second = second;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        public void onEndOfFile(){
+            this.__first.onEndOfFile();
+            this.__second.onEndOfFile();
+        }
+        
+        public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count){
+            this.__first.onFace(vertices,texture_vertices,normal_vertices,corner_count);
+            this.__second.onFace(vertices,texture_vertices,normal_vertices,corner_count);
+        }
+        
+        public void onMaterialLibrary(String filename){
+            this.__first.onMaterialLibrary(filename);
+            this.__second.onMaterialLibrary(filename);
+        }
+        
+        public void onNormalVertex(double x,double y,double z){
+            this.__first.onNormalVertex(x,y,z);
+            this.__second.onNormalVertex(x,y,z);
+        }
+        
+        public void onObject(String name){
+            this.__first.onObject(name);
+            this.__second.onObject(name);
+        }
+        
+        public void onTextureVertex(double u,double v){
+            this.__first.onTextureVertex(u,v);
+            this.__second.onTextureVertex(u,v);
+        }
+        
+        public void onUseMaterial(String name){
+            this.__first.onUseMaterial(name);
+            this.__second.onUseMaterial(name);
+        }
+        
+        public void onVertex(double x,double y,double z){
+            this.__first.onVertex(x,y,z);
+            this.__second.onVertex(x,y,z);
+        }
+        /*End Other Methods*/
+    }
+    
+    /**
+     * Reports the progress made reading a file as bytes are read from it.
+     *
+     * @author Nicholas Rog
+     */
+    private class ProgressInputStream extends FilterInputStream{
+        /*Begin Constructor*/
+        public ProgressInputStream(InputStream input){
+            super(input);
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        @Override public int read() throws IOException{
+            final int value = super.read();
+            
+            
+            if(value >= 0){
+                WavefrontObjReader.this._addBytesRead(1);
+            }
+            
+            return value;
+        }
+        
+        @Override public int read(byte[] bytes,int offset,int length) throws IOException{
+            final int read = super.read(bytes,offset,length);
+            
+            
+            if(read > 0){
+                WavefrontObjReader.this._addBytesRead(read);
+            }
+            
+            return read;
+        }
+        
+        @Override public long skip(long count) throws IOException{
+            final long skipped = super.skip(count);
+            
+            
+            WavefrontObjReader.this._addBytesRead(skipped);
+            
+            return skipped;
+        }
+        /*End Other Methods*/
+    }
+    
+    private final PercentLoadedNotifier __progress;  //Listeners are alerted from whichever thread is reading the file.
+    
+    /** Files are split into pieces of roughly this many bytes when they are parsed in parallel. */
+    private static final int __PARALLEL_CHUNK_SIZE = 4 * 1024 * 1024;
+    /** Number of polygons handed to the progressive element at once. */
+    private static final int __PROGRESSIVE_BATCH_SIZE = 2048;
+    
+    private double                __crease_angle;
+    private String                __file_location;
+    private ForkJoinPool          __fork_join_pool;
+    private double[]              __level_of_detail_ratios;
+    private boolean               __indexed_mesh_enabled;
+    private boolean               __mesh_cache_enabled;
+    private boolean               __normal_generation_enabled;
+    private boolean               __parallel_parsing_enabled;
+    private Strixa3DElement       __progressive_element;
+    private boolean               __triangulation_enabled;
+    
+    private volatile boolean               __file_read;  //Set by the thread reading the file, but checked by whichever thread wants its elements.
+    private volatile List<Strixa3DElement> __objects;
+    
+    
+    /*Begin Constructor*/
+    public WavefrontObjReader(String file_location){
+        this(file_location,1);
+    }
+    
+    public WavefrontObjReader(String file_location,double update_step){
+        if(file_location == null || file_location.equals("")){
+            throw new IllegalArgumentException("Argument 'file_location' must not be null or empty.");
+        }
+        
+        this.__crease_angle = 180;
+        this.__file_location = file_location;
+        this.__file_read = false;
+        this.__level_of_detail_ratios = new double[0];
+        this.__mesh_cache_enabled = true;
+        this.__progress = new PercentLoadedNotifier(update_step);
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the largest angle, in degrees, between two faces which will be smoothed together when normals are generated.
+     *
+     * @return The crease angle, in degrees.
+     */
+    public double getCreaseAngle(){
+        return this.__crease_angle;
+    }
+    
+    /**
+     * Gets the pool which is used when the file is parsed in parallel.
+     *
+     * @return The pool which is used when the file is parsed in parallel.  If no pool has been set, the common pool is returned.
+     */
+    public ForkJoinPool getForkJoinPool(){
+        if(this.__fork_join_pool == null){
+            return ForkJoinPool.commonPool();
+        }
+        
+        return this.__fork_join_pool;
+    }
+    
+    /**
+     * Gets the fraction of each element's triangle count kept by each of the levels of detail built for it.
+     *
+     * @return The fraction of the triangle count kept by each level, from the most detailed to the least.  This is empty if levels of detail aren't built.
+     */
+    public double[] getLevelOfDetailRatios(){
+        return this.__level_of_detail_ratios.clone();
+    }
+    
+    /**
+     * Gets the element which is given the file's polygons as they are read.
+     *
+     * @return The element which is given the file's polygons as they are read, or null if there isn't one.
+     */
+    public Strixa3DElement getProgressiveElement(){
+        return this.__progressive_element;
+    }
+    
+    /**
+     * Checks whether the elements read will be made up of indexed meshes rather than polygons.
+     *
+     * @return Returns true if indexed meshes will be built, and false, otherwise.
+     */
+    public boolean isIndexedMeshEnabled(){
+        return this.__indexed_mesh_enabled;
+    }
+    
+    /**
+     * Checks whether the data read from the file is kept in a {@link WavefrontObjCache} beside it.
+     *
+     * @return Returns true if the mesh cache is used, and false, otherwise.
+     */
+    public boolean isMeshCacheEnabled(){
+        return this.__mesh_cache_enabled;
+    }
+    
+    /**
+     * Checks whether normals will be generated for faces which weren't given any.
+     *
+     * @return Returns true if normals will be generated, and false, otherwise.
+     */
+    public boolean isNormalGenerationEnabled(){
+        return this.__normal_generation_enabled;
+    }
+    
+    /**
+     * Checks whether the file will be split into pieces which are parsed in parallel.
+     *
+     * @return Returns true if the file will be parsed in parallel, and false, otherwise.
+     */
+    public boolean isParallelParsingEnabled(){
+        return this.__parallel_parsing_enabled;
+    }
+    
+    /**
+     * Checks whether faces will be split up into triangles as the file is loaded.
+     *
+     * @return Returns true if faces will be split up into triangles, and false, otherwise.
+     */
+    public boolean isTriangulationEnabled(){
+        return this.__triangulation_enabled;
+    }
+    
+    /**
+     * Sets the largest angle, in degrees, between two faces which should be smoothed together when normals are generated.  This is 180 by default, so every face sharing a vertex is smoothed together.<br />
+     * Lower angles keep the edges between faces which meet more sharply than this hard, giving the corners on either side of them different normals.
+     *
+     * @param crease_angle The crease angle, in degrees.
+     */
+    public void setCreaseAngle(double crease_angle){
+        this.__crease_angle = crease_angle;
+    }
+    
+    /**
+     * Sets the pool which should be used when the file is parsed in parallel.
+     *
+     * @param pool Pool to be used, or null to use the common pool.
+     */
+    public void setForkJoinPool(ForkJoinPool pool){
+        this.__fork_join_pool = pool;
+    }
+    
+    /**
+     * Sets whether the elements read should be made up of indexed meshes rather than polygons.  This is disabled by default.<br />
+     * When enabled, each element is given a {@link StrixaMesh} holding every distinct combination of vertex, texture vertex and normal vertex used by its faces once, along with triangle indices for each material it uses.  The elements will not have any components.
+     *
+     * @param enabled This should be true if indexed meshes should be built, and false, otherwise.
+     */
+    public void setIndexedMeshEnabled(boolean enabled){
+        this.__indexed_mesh_enabled = enabled;
+    }
+    
+    /**
+     * Sets the levels of detail which should be built for each element read, as fractions of the element's full triangle count.  No levels are built by default.<br />
+     * Each element is given a chain of meshes simplified by a {@link LevelOfDetailGenerator}, which {@link com.strixa.gl.Strixa3DCanvas} chooses between based on the element's distance from the camera.  The elements are simplified in parallel on the fork/join pool once the file has been read.  When the mesh cache is enabled, the chains are kept beside it, and are read back rather than simplified again for as long as the file and these settings don't change.
+     *
+     * @param ratios Fraction of the triangle count each level should keep, such as 0.5, 0.25 and 0.1.  Each must be greater than 0 and less than 1.
+     */
+    public void setLevelOfDetailRatios(double... ratios){
+        this.__level_of_detail_ratios = new LevelOfDetailGenerator(ratios).getRatios();  //The generator checks and sorts the ratios.
+    }
+    
+    /**
+     * Sets whether the data read from the file should be kept in a {@link WavefrontObjCache} beside it.  This is enabled by default.<br />
+     * When enabled, the cache is read instead of the file so long as the file hasn't changed since the cache was written.  Material libraries are always read from their own files.
+     *
+     * @param enabled This should be true if the mesh cache should be used, and false, otherwise.
+     */
+    public void setMeshCacheEnabled(boolean enabled){
+        this.__mesh_cache_enabled = enabled;
+    }
     
-    private String                __file_location;
-    private boolean               __file_read;
-    private List<Strixa3DElement> __objects;
-    private double                __update_step;
+    /**
+     * Sets whether normals should be generated for faces which weren't given any, so that models without normal vertices can still be lit smoothly.  This is disabled by default.<br />
+     * Each corner without a normal vertex is given the sum of the normals of the faces around its vertex, weighted by their areas and limited by the crease angle (see {@link #setCreaseAngle(double)}).  Normals which were given in the file are left alone.  When parallel parsing is enabled, normals are generated on the fork/join pool.
+     *
+     * @param enabled This should be true if normals should be generated, and false, otherwise.
+     */
+    public void setNormalGenerationEnabled(boolean enabled){
+        this.__normal_generation_enabled = enabled;
+    }
     
+    /**
+     * Sets whether the file should be split into pieces which are parsed in parallel.  The elements read are the same either way.<br />
+     * <strong>Note:</strong>  When enabled, PercentLoadedUpdateListeners may be called from the pool's threads.
+     *
+     * @param enabled This should be true if the file should be parsed in parallel, and false, otherwise.
+     */
+    public void setParallelParsingEnabled(boolean enabled){
+        this.__parallel_parsing_enabled = enabled;
+    }
     
-    /*Begin Constructor*/
-    public WavefrontObjReader(String file_location){
-        this(file_location,1);
+    /**
+     * Sets an element which should be given every polygon in the file as soon as it has been read, so that the model can be shown while it is still loading.<br />
+     * The polygons are handed over in batches using {@link Strixa3DElement#queueComponents(List)}, and are added once the thread drawing the element calls {@link Strixa3DElement#addQueuedComponents(int)}.  The element is given the first material used by the file if it doesn't already have one.  The elements returned by {@link #getElements()} are built as usual, and share their polygons with this element.
+     * <br /><br />
+     * <strong>Note:</strong>  Polygons are only handed over as the file is read if it is parsed on a single thread without triangulation or normal generation.  Otherwise, they are handed over once the file has been parsed.  Nothing is handed over when indexed meshes are enabled.
+     *
+     * @param element Element to be given the polygons, or null if no element should be.
+     */
+    public void setProgressiveElement(Strixa3DElement element){
+        this.__progressive_element = element;
     }
     
-    public WavefrontObjReader(String file_location,double update_step){
-        if(file_location == null || file_location.equals("")){
-            throw new IllegalArgumentException("Argument 'file_location' must not be null or empty.");
+    /**
+     * Sets whether faces should be split up into triangles as the file is loaded, so that every polygon (or indexed mesh part) read can be drawn as GL_TRIANGLES.  This is disabled by default.<br />
+     * Convex faces are split into a fan, while concave faces are split up by ear clipping.  When parallel parsing is enabled, faces are split up on the fork/join pool.
+     *
+     * @param enabled This should be true if faces should be split up into triangles, and false, otherwise.
+     */
+    public void setTriangulationEnabled(boolean enabled){
+        this.__triangulation_enabled = enabled;
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Essential Methods*/
+    /**
+     * Reads the file, handing its contents to the given visitor as they are read rather than building any elements.<br />
+     * This is done on the calling thread, and the file is always read directly (the mesh cache is neither read nor written).  The PercentLoadedUpdateListeners are alerted as the file is read.
+     *
+     * @param visitor Visitor to be given the file's contents.
+     *
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public void accept(WavefrontObjVisitor visitor) throws IOException{
+        final WavefrontObjTokenizer tokenizer;
+        
+        
+        if(visitor == null){
+            throw new IllegalArgumentException("Argument 'visitor' must not be null.");
         }
         
-        this.__file_location = file_location;
-        this.__file_read = false;
-        this.__update_step = update_step;
+        tokenizer = this._openTokenizer();
+        try{
+            this._parse(tokenizer,visitor,true);
+        }finally{
+            tokenizer.close();
+        }
+        visitor.onEndOfFile();
+        
+        this._alertPercentLoadedUpdateListeners(100);
     }
-    /*End Constructor*/
     
-    /*Begin Other Essential Methods*/
     public void addPercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
-        if(!this.__percent_loaded_listeners.contains(listener)){
-            this.__percent_loaded_listeners.add(listener);
-        }
+        this.__progress.addPercentLoadedUpdateListener(listener);
+    }
+    
+    /**
+     * Records that more of the file has been parsed, alerting the PercentLoadedUpdateListeners if enough progress has been made.
+     *
+     * @param byte_count Number of bytes which have been parsed since the last call.
+     */
+    protected void _addBytesRead(long byte_count){
+        this.__progress.addBytesRead(byte_count);
     }
     
     protected void _alertPercentLoadedUpdateListeners(double amount_loaded){
-        for(int index = 0;index < this.__percent_loaded_listeners.size();index++){
-            this.__percent_loaded_listeners.get(index).onPercentLoadedUpdate(amount_loaded);
+        this.__progress.alertListeners(amount_loaded);
+    }
+    
+    /**
+     * Appends three values onto the end of the used portion of an array, growing it if needed.
+     */
+    protected static double[] _appendValues(double[] array,int length,double x,double y,double z){
+        if(length + 3 > array.length){
+            array = Arrays.copyOf(array,array.length * 2);
+        }
+        
+        array[length] = x;
+        array[length + 1] = y;
+        array[length + 2] = z;
+        
+        return array;
+    }
+    
+    /**
+     * Appends three values onto the end of the used portion of an array, growing it if needed.
+     */
+    protected static float[] _appendValues(float[] array,int length,double x,double y,double z){
+        if(length + 3 > array.length){
+            array = Arrays.copyOf(array,array.length * 2);
+        }
+        
+        array[length] = (float)x;
+        array[length + 1] = (float)y;
+        array[length + 2] = (float)z;
+        
+        return array;
+    }
+    
+    /**
+     * Creates the visitor which builds the elements, depending on whether indexed meshes are enabled.
+     * 
+     * @return The visitor which builds the elements.
+     */
+    protected ElementBuilder _createElementBuilder(){
+        if(this.isIndexedMeshEnabled()){
+            return new IndexedElementBuilder();
+        }
+        
+        return new PolygonElementBuilder();
+    }
+    
+    /**
+     * Gives each of the elements its chain of levels of detail.  If the mesh cache is being used, the levels kept beside it are used when they were built from the file as it is now, with the same ratios and options; otherwise, the elements are simplified and the levels are kept for next time.
+     * 
+     * @param elements Elements read from the file.
+     * @param cache Cache for the file, or null if the mesh cache isn't being used.
+     */
+    protected void _generateLevelsOfDetail(List<Strixa3DElement> elements,WavefrontObjCache cache){
+        final String options = "triangulate=" + this.isTriangulationEnabled() + ",normals=" + this.isNormalGenerationEnabled() + ",crease=" + this.getCreaseAngle() + ",indexed=" + this.isIndexedMeshEnabled();  //Anything which changes the elements' geometry or materials.
+        
+        
+        if(cache != null){
+            try{
+                if(cache.readLevelsOfDetail(elements,this.__level_of_detail_ratios,options)){
+                    return;
+                }
+            }catch(IOException e){
+                System.out.println("Warning:  " + e.getMessage() + ".  The levels of detail will be built again.");
+            }
+        }
+        
+        new LevelOfDetailGenerator(this.__level_of_detail_ratios).generate(elements,this.getForkJoinPool());
+        
+        if(cache != null){
+            try{
+                cache.writeLevelsOfDetail(elements,this.__level_of_detail_ratios,options);
+            }catch(IOException e){  //The levels are only kept to save time, so failing to write them shouldn't stop the file from loading.
+                System.out.println("Warning:  The levels of detail could not be written to " + cache.getLevelOfDetailFile().getPath() + ":  " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Gets the index of the objects within the file, building it and storing it beside the file if there isn't an up-to-date one stored already.
+     * 
+     * @return The index of the objects within the file.
+     * 
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public WavefrontObjIndex getObjectIndex() throws IOException{
+        return this._getObjectIndex(null);
+    }
+    
+    /**
+     * Gets the index of the objects within the file, building it out of the given buffer if there isn't an up-to-date one stored already.
+     * 
+     * @param buffer Buffer containing the entire file, or null if the file should be mapped when the index needs to be built.
+     * 
+     * @return The index of the objects within the file.
+     * 
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    protected WavefrontObjIndex _getObjectIndex(ByteBuffer buffer) throws IOException{
+        WavefrontObjIndex index = null;
+        
+        
+        if(CompressedInput.isCompressed(this.__file_location)){
+            throw new IOException("Objects can't be looked up within a compressed file:  " + this.__file_location);
+        }
+        
+        if(buffer == null){  //Mapping the file doesn't read it, and the stored index only needs to look at the first line of each object.
+            buffer = this._mapFile(this.__file_location);
+        }
+        
+        try{
+            index = WavefrontObjIndex.read(this.__file_location);
+        }catch(IOException e){
+            System.out.println("Warning:  The object index could not be read from " + this.__file_location + WavefrontObjIndex.EXTENSION + ":  " + e.getMessage() + ".  It will be built again.");
+        }
+        if(index != null && !index.matches(buffer)){
+            System.out.println("Warning:  The object index stored at " + this.__file_location + WavefrontObjIndex.EXTENSION + " doesn't match the file.  It will be built again.");
+            
+            index = null;
+        }
+        if(index != null){
+            return index;
+        }
+        
+        index = WavefrontObjIndex.build(buffer);
+        try{
+            index.write(this.__file_location);
+        }catch(IOException e){  //The index is only an optimization, so failing to write it shouldn't stop the objects from loading.
+            System.out.println("Warning:  The object index could not be written to " + this.__file_location + WavefrontObjIndex.EXTENSION + ":  " + e.getMessage());
         }
+        
+        return index;
     }
     
-    public void read(){
-        this.__read_thread.start();
+    /**
+     * Reads a single object from the file, without parsing any more of the file than is needed.  This is done on the calling thread, and does not affect the elements returned by {@link #getElements()}.
+     * 
+     * @param name Name the object was given in the file.
+     * 
+     * @return The object, or null if the file doesn't contain an object with the given name.
+     * 
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public Strixa3DElement loadObject(String name) throws IOException{
+        return this.loadObjects(name)[0];
     }
     
-    protected String _readLine(FileInputStream file) throws IOException{
-        String line = null;
-        int character = 0x00;
+    /**
+     * Reads the given objects from the file, without parsing any more of the file than is needed.<br />
+     * The position of each object within the file is looked up in the file's index (see {@link #getObjectIndex()}), and only the object's own lines are parsed, along with the lines of any other objects which declare vertices it refers to.  This is done on the calling thread, and does not affect the elements returned by {@link #getElements()}.
+     * 
+     * @param names Names the objects were given in the file.  If more than one object has the same name, the first one is read.
+     * 
+     * @return The objects, in the same order as their names were given.  An object which isn't in the file is returned as null.
+     * 
+     * @throws IOException Thrown if the file could not be read, or is incorrectly formatted.
+     */
+    public Strixa3DElement[] loadObjects(String... names) throws IOException{
+        final ByteBuffer                                    buffer;
+        final Strixa3DElement[]                             elements = new Strixa3DElement[names.length];
+        final Map<WavefrontObjIndex.Entry,WavefrontObjData> foreign_blocks = new HashMap<WavefrontObjIndex.Entry,WavefrontObjData>();
+        final WavefrontObjIndex                             index;
+        
+        ElementBuilder          builder = null;
+        WavefrontObjData        data = null;
+        WavefrontObjIndex.Entry entry = null;
+        ObjectLoader            loader = null;
+        long                    total_bytes = 0;
         
         
-        if(file == null){
-            throw new IllegalArgumentException("Argument 'file' must not be null.");
+        if(CompressedInput.isCompressed(this.__file_location)){
+            throw new IOException("Objects can't be looked up within a compressed file:  " + this.__file_location);
+        }
+        
+        buffer = this._mapFile(this.__file_location);
+        index = this._getObjectIndex(buffer);
+        for(int name = 0;name < names.length;name++){
+            entry = index.getEntry(names[name]);
+            if(entry != null){
+                total_bytes += entry.getEnd() - entry.getStart();
+            }
         }
         
-        line = new String();
-        do{
-            character = file.read();
+        this._resetProgress(Math.max(1,total_bytes));
+        for(int name = 0;name < names.length;name++){
+            entry = index.getEntry(names[name]);
+            if(entry == null){
+                continue;
+            }
+            
+            loader = new ObjectLoader(buffer,index,entry,foreign_blocks);
+            loader.load();
+            
+            data = loader.getData();
+            if(this.isTriangulationEnabled()){
+                data = data.triangulate(null);
+            }
+            if(this.isNormalGenerationEnabled()){
+                data = data.generateNormals(this.getCreaseAngle(),null);
+            }
             
-            line += (char)character;
-        }while(character != '\n' && character != -1);
+            builder = this._createElementBuilder();
+            data.accept(builder);
+            
+            if(builder.getElements().isEmpty()){  //Objects without any faces aren't built, so an empty one stands in for them.
+                elements[name] = new Strixa3DElement();
+                elements[name].setMaterial(builder.getCurrentMaterial());
+            }else{
+                elements[name] = builder.getElements().get(builder.getElements().size() - 1);
+            }
+        }
         
-        if(line.charAt(line.length() - 1) == (char)-1){
-            line = line.substring(0,line.length()-1);  //This kills the end character
-            if(line.isEmpty()){
-                line = null;
+        if(this.__level_of_detail_ratios.length != 0){
+            final List<Strixa3DElement> loaded_elements = new ArrayList<Strixa3DElement>(elements.length);
+            
+            
+            for(int name = 0;name < elements.length;name++){
+                if(elements[name] != null){
+                    loaded_elements.add(elements[name]);
+                }
             }
-        }else if(line.charAt(line.length() - 1) == '\n'){
-            line = line.substring(0,line.length() - 1);  //This kills the newline
+            
+            new LevelOfDetailGenerator(this.__level_of_detail_ratios).generate(loaded_elements,this.getForkJoinPool());
         }
         
-        return line;
+        this._alertPercentLoadedUpdateListeners(100);
+        
+        return elements;
     }
     
-    protected List<StrixaMaterial> _readMtl(String filename){
-        final List<StrixaMaterial> materials = new ArrayList<StrixaMaterial>();
+    /**
+     * Opens the file for parsing, and prepares to report the progress made reading it.<br />
+     * Compressed files (see {@link CompressedInput}) are decompressed as they are read, and their progress is based on the number of compressed bytes read.  Any other file is mapped into memory.
+     * 
+     * @return A tokenizer which reads the file.  This must be closed once the file has been parsed.
+     * 
+     * @throws IOException Thrown if the file could not be opened.
+     */
+    protected WavefrontObjTokenizer _openTokenizer() throws IOException{
+        final MappedByteBuffer buffer;
+        final FileInputStream  input;
+        
+        
+        if(CompressedInput.isCompressed(this.__file_location)){
+            input = new FileInputStream(this.__file_location);
+            try{
+                this._resetProgress(input.getChannel().size());
+                
+                return new WavefrontObjTokenizer(CompressedInput.decompress(new ProgressInputStream(input),this.__file_location));
+            }catch(IOException e){
+                input.close();
+                
+                throw e;
+            }
+        }
+        
+        buffer = this._mapFile(this.__file_location);
+        this._resetProgress(buffer.limit());
         
+        return new WavefrontObjTokenizer(buffer);
+    }
+    
+    /**
+     * Maps the entirety of the given file into memory.
+     * 
+     * @param filename Location of the file to be mapped.
+     * 
+     * @return A read-only buffer containing the file's contents.
+     * 
+     * @throws IOException Thrown if the file could not be opened, or if it is too large to be mapped.
+     */
+    protected MappedByteBuffer _mapFile(String filename) throws IOException{
+        FileChannel     channel = null;
         FileInputStream file = null;
-        String          line = null;
-        int             line_number = 0;
-        StrixaMaterial  material = null;
-        String[]        split = null;
         
         
         try{
             file = new FileInputStream(filename);
+            channel = file.getChannel();
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IOException("File is too large to be mapped into memory:  " + filename);
+            }
+            
+            return channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());  //The mapping stays valid after the channel has been closed.
+        }finally{
+            if(file != null){
+                file.close();
+            }
+        }
+    }
+    
+    /**
+     * Reads the file in the background using the shared {@link AssetLoader}, with the default priority.
+     * 
+     * @return A future which is given the elements once the file has been read, or the exception which stopped it from being read.
+     */
+    public CompletableFuture<Strixa3DElement[]> read(){
+        return this.read(AssetLoader.DEFAULT_PRIORITY);
+    }
+    
+    /**
+     * Reads the file in the background using the shared {@link AssetLoader}.  The PercentLoadedUpdateListeners are alerted from the loader's thread as the file is read.
+     * 
+     * @param priority Priority of the read.  Waiting reads with a higher priority are started first.
+     * 
+     * @return A future which is given the elements once the file has been read, or the exception which stopped it from being read.  Cancelling the future stops the read.
+     */
+    public CompletableFuture<Strixa3DElement[]> read(int priority){
+        return AssetLoader.getDefault().load(this,priority);
+    }
+    
+    /**
+     * Gets the material library held in the given file.  Libraries are shared between every reader, and only read again if they have been modified.<br />
+     * If the file doesn't exist but a gzip compressed copy of it (the same name followed by '.gz') does, the compressed copy is read instead.
+     * 
+     * @param filename Location of the .mtl file.
+     * 
+     * @return The material library held in the file.
+     */
+    protected WavefrontMtlLibrary _readMtl(String filename){
+        if(!new File(filename).exists() && new File(filename + ".gz").isFile()){
+            filename += ".gz";
+        }
+        
+        try{
+            return WavefrontMtlLibrary.load(filename);
+        }catch(FileNotFoundException e){
+            throw new RuntimeException("No such file was found in the given path:  "+filename);
+        }catch(IOException e){
+            RuntimeException exception = null; 
             
             
-            while((line = this._readLine(file)) != null){
-                line_number++;
+            exception = new RuntimeException(e.getMessage());
+            exception.setStackTrace(e.getStackTrace());
+            throw exception;  //We have to turn any IOExceptions into RuntimeExceptions 
+        }
+    }
+    
+    /**
+     * Turns an index given in a face statement into an index into the list of points it refers to.  Positive indices count from the start of the file (starting at 1), while negative indices count backwards from the most recently read point.
+     * 
+     * @param index Index as it was given in the file.
+     * @param count Number of points of the referenced type which have been read so far.
+     * @param required This should be true if the index must be given, and false, otherwise.
+     * @param tokenizer Tokenizer the index was read from.
+     * 
+     * @return The zero-based index of the referenced point, or -1 if the index wasn't given.
+     * 
+     * @throws IOException Thrown if the index refers to a point which doesn't exist.
+     */
+    protected int _resolveIndex(int index,int count,boolean required,WavefrontObjTokenizer tokenizer) throws IOException{
+        final int resolved;
+        
+        
+        if(index > 0){
+            resolved = index - 1;
+        }else if(index < 0){
+            resolved = count + index;
+        }else if(required){
+            throw new IOException("Object line incorrectly formatted!  Line number:  " + tokenizer.getLineNumber());
+        }else{
+            return -1;
+        }
+        
+        if(resolved < 0 || resolved >= count){
+            throw new IOException("Given vertex was not found!  Requested vertex:  " + index + ".  Line number:  " + tokenizer.getLineNumber());
+        }
+        
+        return resolved;
+    }
+    
+    /**
+     * Resolves a file name given within the file being read relative to the directory the file being read resides in.
+     * 
+     * @param filename File name to be resolved.
+     * 
+     * @return The resolved file location.
+     */
+    protected String _resolvePath(String filename){
+        final File directory = new File(this.__file_location).getParentFile();
+        final File file = new File(filename);
+        
+        
+        if(file.isAbsolute() || directory == null){
+            return filename;
+        }
+        
+        return new File(directory,filename).getPath();
+    }
+    
+    /**
+     * Prepares to report the progress made reading a file of the given size.
+     * 
+     * @param total_bytes Size of the file, in bytes.
+     */
+    protected void _resetProgress(long total_bytes){
+        this.__progress.reset(total_bytes);
+    }
+    
+    public void removePercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
+        this.__progress.removePercentLoadedUpdateListener(listener);
+    }
+    
+    /**
+     * Parses the lines given to the tokenizer, handing everything which is read to the given visitor.  {@link WavefrontObjVisitor#onEndOfFile()} is not called.
+     * 
+     * @param tokenizer Tokenizer to read the lines from.
+     * @param visitor Visitor the contents of the lines should be given to.
+     * @param resolve_indices This should be true if face indices should be resolved and checked before they are given to the visitor, and false if they should be given exactly as they appear in the file.
+     * 
+     * @throws IOException Thrown if a line is incorrectly formatted.
+     */
+    protected void _parse(WavefrontObjTokenizer tokenizer,WavefrontObjVisitor visitor,boolean resolve_indices) throws IOException{
+        this._parse(tokenizer,visitor,resolve_indices,Thread.currentThread());
+    }
+    
+    /**
+     * Parses the lines given to the tokenizer in the same way as {@link #_parse(WavefrontObjTokenizer,WavefrontObjVisitor,boolean)}, stopping if the given thread is interrupted.  This allows a piece of the file which is being parsed on another thread to be stopped along with the read it's part of.
+     * 
+     * @param reading_thread Thread which started the read.
+     * 
+     * @throws IOException Thrown if a line is incorrectly formatted, or the reading thread was interrupted.
+     */
+    protected void _parse(WavefrontObjTokenizer tokenizer,WavefrontObjVisitor visitor,boolean resolve_indices,Thread reading_thread) throws IOException{
+        final int[]  face_vertex = new int[3];
+        final long   report_interval = Math.max(1,Math.min(65536,(long)(this.__progress.getTotalBytes() * this.__progress.getUpdateStep() / 200)));
+        
+        int    corner_count = 0;
+        String name = null;
+        int    normal_vertex_count = 0;
+        int[]  normal_vertices = new int[8];
+        long   reported_position = tokenizer.getOffset();
+        int    texture_vertex_count = 0;
+        int[]  texture_vertices = new int[8];
+        int    vertex_count = 0;
+        int[]  vertices = new int[8];
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        
+        
+        while(tokenizer.beginLine()){
+            if(tokenizer.isEndOfLine() || tokenizer.isComment()){
+                tokenizer.endLine();
+                
+                continue;  //Skip empty lines and comments
+            }
+            
+            if(tokenizer.matchKeyword("v")){
+                x = tokenizer.readDouble();
+                y = tokenizer.readDouble();
+                z = tokenizer.readDouble();
                 
-                if(line.trim().equals("") || line.charAt(0) == '#'){
-                    continue;  //Skip empty lines and comments
-                }
+                visitor.onVertex(x,y,z);
+                vertex_count++;
+            }else if(tokenizer.matchKeyword("vt")){
+                x = tokenizer.readDouble();
+                y = tokenizer.isEndOfLine() ? 0 : tokenizer.readDouble();
                 
-                split = line.split(" ");
-                if(split[0].equals("newmtl")){
-                    if(material != null){
-                        materials.add(material);
-                    }
-                    
-                    material = new StrixaMaterial(split.length == 0 ? "anonymous" : split[1]);
-                }else if(split[0].equals("Ka")){
-                    if(split.length != 4){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    material.setAmbientColor(new float[]{Float.valueOf(split[1]),Float.valueOf(split[2]),Float.valueOf(split[3])});
-                }else if(split[0].equals("Kd")){
-                    if(split.length != 4){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    material.setDiffuseColor(new float[]{Float.valueOf(split[1]),Float.valueOf(split[2]),Float.valueOf(split[3])});
-                }else if(split[0].equals("Ks")){
-                    if(split.length != 4){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    material.setSpecularColor(new float[]{Float.valueOf(split[1]),Float.valueOf(split[2]),Float.valueOf(split[3])});
-                }else if(split[0].equals("Ns")){
-                    if(split.length != 2){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    material.setSpecularCoefficient(Float.valueOf(split[1]));
-                }else if(split[0].equals("d") || split[0].equals("Tr")){
-                    if(split.length != 2){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    material.setTransparency(Float.valueOf(split[1]));
-                }else if(split[0].equals("illum")){
-                    if(split.length != 2){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
+                visitor.onTextureVertex(x,y);
+                texture_vertex_count++;
+            }else if(tokenizer.matchKeyword("vn")){
+                x = tokenizer.readDouble();
+                y = tokenizer.readDouble();
+                z = tokenizer.readDouble();
+                
+                visitor.onNormalVertex(x,y,z);
+                normal_vertex_count++;
+            }else if(tokenizer.matchKeyword("f")){
+                corner_count = 0;
+                while(tokenizer.readFaceVertex(face_vertex)){
+                    if(corner_count == vertices.length){
+                        vertices = Arrays.copyOf(vertices,corner_count * 2);
+                        texture_vertices = Arrays.copyOf(texture_vertices,corner_count * 2);
+                        normal_vertices = Arrays.copyOf(normal_vertices,corner_count * 2);
                     }
                     
-                    //material.setIllumniationType();  //Still not sure exactly how to implement this
-                }else if(split[0].equals("map_Kd")){
-                    line = "";
-                    for(int index = 1;index < split.length;index++){
-                        line += split[index];
-                        if(index < split.length - 1){
-                            line += " ";
-                        }
+                    if(resolve_indices){
+                        vertices[corner_count] = this._resolveIndex(face_vertex[0],vertex_count,true,tokenizer);
+                        texture_vertices[corner_count] = this._resolveIndex(face_vertex[1],texture_vertex_count,false,tokenizer);
+                        normal_vertices[corner_count] = this._resolveIndex(face_vertex[2],normal_vertex_count,false,tokenizer);
+                    }else{
+                        vertices[corner_count] = face_vertex[0];
+                        texture_vertices[corner_count] = face_vertex[1];
+                        normal_vertices[corner_count] = face_vertex[2];
                     }
                     
-                    material.setTexture(line);
+                    corner_count++;
+                }
+                
+                if(corner_count < 3){  //A face must have at least 3 points
+                    throw new IOException("Object line incorrectly formatted!  Line number:  " + tokenizer.getLineNumber());
+                }
+                
+                visitor.onFace(vertices,texture_vertices,normal_vertices,corner_count);
+            }else if(tokenizer.matchKeyword("mtllib")){
+                name = tokenizer.readRemainder();
+                if(name.isEmpty()){
+                    throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
+                }
+                
+                visitor.onMaterialLibrary(name);
+            }else if(tokenizer.matchKeyword("o")){
+                if(tokenizer.isEndOfLine()){
+                    throw new IOException("Invalid number of arguments given.  Line number:  " + tokenizer.getLineNumber());
                 }
+                
+                visitor.onObject(tokenizer.readToken());
+            }else if(tokenizer.matchKeyword("usemtl")){
+                visitor.onUseMaterial(tokenizer.isEndOfLine() ? "anonymous" : tokenizer.readToken());
             }
             
-            materials.add(material);
-        }catch(FileNotFoundException e){
-            throw new RuntimeException("No such file was found in the given path:  "+this.__file_location);
-        }catch(IOException e){
-            RuntimeException exception = null; 
+            tokenizer.endLine();
+            
+            if(tokenizer.getOffset() - reported_position >= report_interval){
+                if(reading_thread.isInterrupted()){
+                    throw new InterruptedIOException("The read was interrupted.  Line number:  " + tokenizer.getLineNumber());
+                }
+                
+                if(!tokenizer.isStreamed()){  //Streamed files report their progress as the compressed file is read.
+                    this._addBytesRead(tokenizer.getOffset() - reported_position);
+                }
+                
+                reported_position = tokenizer.getOffset();
+            }
+        }
+        
+        if(!tokenizer.isStreamed()){
+            this._addBytesRead(tokenizer.getOffset() - reported_position);
+        }
+    }
+    
+    /**
+     * Splits the file up into pieces at line boundaries and parses them in parallel, then joins the results back together.<br />
+     * If the calling thread is interrupted, the pieces which haven't started are cancelled, and those which have stop at their next progress check.
+     * 
+     * @param buffer Buffer containing the entire file.
+     * 
+     * @return The data read from the file.
+     * 
+     * @throws IOException Thrown if any part of the file is incorrectly formatted, or the calling thread was interrupted.
+     */
+    protected WavefrontObjData _parseInParallel(final ByteBuffer buffer) throws IOException{
+        final Thread                               reading_thread = Thread.currentThread();
+        final List<ForkJoinTask<WavefrontObjData>> results = new ArrayList<ForkJoinTask<WavefrontObjData>>();
+        
+        WavefrontObjData data = null;
+        int              end = 0;
+        int              face_count = 0;
+        int              start = 0;
+        int              vertex_count = 0;
+        
+        
+        while(start < buffer.limit()){
+            end = (int)Math.min((long)start + WavefrontObjReader.__PARALLEL_CHUNK_SIZE,buffer.limit());
+            while(end < buffer.limit() && buffer.get(end - 1) != '\n'){
+                end++;
+            }
             
+            results.add(this.getForkJoinPool().submit(this._createChunkParser(buffer,start,end,reading_thread)));
             
-            exception = new RuntimeException(e.getMessage());
-            exception.setStackTrace(e.getStackTrace());
-            throw exception;  //We have to turn any IOExceptions into RuntimeExceptions 
+            start = end;
+        }
+        
+        try{
+            for(ForkJoinTask<WavefrontObjData> result:results){
+                vertex_count = Math.max(vertex_count,Math.max(result.get().getVertexCount(),Math.max(result.get().getTextureVertexCount(),result.get().getNormalVertexCount())));
+                face_count += result.get().getFaceCount();
+            }
+            
+            data = new WavefrontObjData(vertex_count,face_count);
+            for(ForkJoinTask<WavefrontObjData> result:results){
+                data.append(result.get());
+            }
+        }catch(InterruptedException e){
+            reading_thread.interrupt();  //Waiting cleared the interrupt, but the pieces which are still being parsed need to see it.
+            
+            throw new InterruptedIOException("The read was interrupted while the file was being parsed.");
+        }catch(ExecutionException e){
+            if(e.getCause() instanceof IOException){
+                throw (IOException)e.getCause();
+            }else if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException)e.getCause();
+            }
+            
+            throw new RuntimeException(e.getCause());
         }finally{
-            try{
-                file.close();
-            }catch(IOException e){
-                throw new RuntimeException("Could not close file properly.");
+            for(ForkJoinTask<WavefrontObjData> result:results){  //Pieces which haven't started yet aren't needed if the read failed.  This does nothing to pieces which have finished.
+                result.cancel(true);
             }
         }
         
-        return materials;
+        return data;
     }
     
-    public void removePercentLoadedUpdateListener(PercentLoadedUpdateListener listener){
-        if(this.__percent_loaded_listeners.contains(listener)){
-            this.__percent_loaded_listeners.remove(listener);
-        }else{
-            throw new RuntimeException("This object does not have the given PercentLoadedUpdateListener registered to it.");
-        }
+    /**
+     * Creates a task which parses the given range of the file.
+     * 
+     * @param buffer Buffer containing the entire file.
+     * @param start Index of the first byte of the range.  This must be the start of a line.
+     * @param end Index after the last byte of the range.  This must be the end of a line.
+     * @param reading_thread Thread which started the read.  The task stops if it's interrupted.
+     * 
+     * @return The task which parses the range.
+     */
+    protected Callable<WavefrontObjData> _createChunkParser(final ByteBuffer buffer,final int start,final int end,final Thread reading_thread){
+        return new Callable<WavefrontObjData>(){
+            public WavefrontObjData call() throws IOException{
+                final ByteBuffer       chunk = buffer.duplicate();
+                final WavefrontObjData data = new WavefrontObjData((end - start) / 96,(end - start) / 96);
+                
+                
+                chunk.limit(end);
+                chunk.position(start);
+                try{
+                    WavefrontObjReader.this._parse(new WavefrontObjTokenizer(chunk),new PieceRecorder(data),false,reading_thread);
+                }catch(InterruptedIOException e){
+                    throw e;
+                }catch(IOException e){
+                    throw new IOException("Error in the part of the file starting at byte " + start + ":  " + e.getMessage(),e);
+                }
+                
+                return data;
+            }
+        };
     }
     
     public void run(){
-        StrixaMaterial        current_material = null;
-        String[]              face_split = null;
-        FileInputStream       file = null;
-        double                last_update = 0;
-        String                line = null;
-        int                   line_number = 0;
-        List<StrixaMaterial>  materials = null;
-        List<Point3D<Double>> normal_points = null;
-        Strixa3DElement       object =  null;
-        String                object_name = null;
-        List<StrixaPoint>     object_points = null;
-        List<StrixaPolygon>   object_polygons = null;
-        double                percent_loaded = 0;
-        StrixaPolygon         polygon = null;
-        List<Point2D<Double>> texture_points = null;
-        double                total_bytes = 0;
-        String[]              split = null;
+        ElementBuilder        builder = null;
+        WavefrontObjCache     cache = null;
+        WavefrontObjData      data = null;
+        WavefrontObjTokenizer tokenizer = null;
         
         
         try{
-            file = new FileInputStream(this.__file_location);
-            total_bytes = file.available();
-            
-            object_points = new ArrayList<StrixaPoint>(1000);
-            normal_points = new ArrayList<Point3D<Double>>(1000);
-            texture_points = new ArrayList<Point2D<Double>>(1000);
-            object_polygons = new ArrayList<StrixaPolygon>(1000);
-            this.__objects = new ArrayList<Strixa3DElement>(100);
-            while((line = this._readLine(file)) != null){
-                line_number++;
-                
-                if(line.trim().equals("") || line.charAt(0) == '#'){
-                    continue;  //Skip empty lines and comments
-                }
-                
-                split = line.split(" ");
-                if(split[0].equals("mtllib")){
-                    if(split.length == 1){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
+            if(this.isMeshCacheEnabled()){
+                cache = new WavefrontObjCache(this.__file_location);
+                try{
+                    data = cache.read();
+                    if(data != null){  //A cache which is corrupt in a way its header doesn't show is treated as missing, and is rewritten once the file has been parsed.
+                        data.validate();
                     }
+                }catch(IOException e){
+                    System.out.println("Warning:  " + e.getMessage() + ".  The file will be parsed instead.");
                     
-                    line = "";
-                    for(int index = 1;index < split.length;index++){
-                        line += split[index];
-                        if(index < split.length - 1){
-                            line += " ";
-                        }
-                    }
+                    data = null;
+                }catch(IllegalStateException e){
+                    System.out.println("Warning:  The mesh cache at " + cache.getCacheFile().getPath() + " is corrupt (" + e.getMessage() + ").  The file will be parsed instead.");
                     
-                    if(!Pattern.matches("$([a-zA-Z]:|\\/).*^",line)){  //If the path given is not an absolute path
-                        split = this.__file_location.split("\\\\");  //Lol.  This is a single backslash.
-                        if(split.length == 1){
-                            split = this.__file_location.split("/");
-                        }
+                    data = null;
+                }
+            }
+            
+            if(data == null){
+                tokenizer = this._openTokenizer();
+                try{
+                    if(this.isParallelParsingEnabled() && !tokenizer.isStreamed() && tokenizer.getLimit() > WavefrontObjReader.__PARALLEL_CHUNK_SIZE){  //Compressed files can only be read from start to end, so they are never split up.
+                        data = this._parseInParallel(tokenizer.getBuffer());
+                        data.validate();
+                    }else if(cache != null && this.getProgressiveElement() != null && !this.isTriangulationEnabled() && !this.isNormalGenerationEnabled()){  //The elements are built as the file is read so that they can be shown straight away, while the data is still kept for the cache.
+                        data = new WavefrontObjData((int)(this.__progress.getTotalBytes() / 96),(int)(this.__progress.getTotalBytes() / 96));
+                        builder = this._createElementBuilder();
                         
-                        if(split.length != 1){
-                            for(int index = split.length - 2;index >= 0;index--){
-                                line = split[index] + "/" + line;
-                            }
-                        }
-                    }
-                    
-                    materials = this._readMtl(line);
-                }else if(split[0].equals("o")){
-                    if(split.length < 2){
-                        throw new IOException("Invalid number of arguments given.  Line number:  " + line_number);
-                    }
-                    
-                    object_name = split[1];
-                    if(object != null){
-                        object.addComponents(object_polygons);
-                        object.setMaterial(current_material);
+                        this._parse(tokenizer,new VisitorPair(data,builder),true);
+                        builder.onEndOfFile();
+                    }else if(cache != null || this.isTriangulationEnabled() || this.isNormalGenerationEnabled()){
+                        data = new WavefrontObjData((int)(this.__progress.getTotalBytes() / 96),(int)(this.__progress.getTotalBytes() / 96));
                         
-                        this.__objects.add(object);
-                    }
-                    
-                    object = new Strixa3DElement();
-                }else if(split[0].equals("v")){
-                    if(split.length < 3){
-                        throw new RuntimeException("Object line incorrectly formatted!  Line number:  " + line_number);
-                    }else{
-                        object_points.add(new StrixaPoint(Double.parseDouble(split[1]),Double.parseDouble(split[2]),Double.parseDouble(split[3]),Color.WHITE,(byte)1));
-                    }
-                }else if(split[0].equals("vt")){
-                    if(split.length < 2){
-                        throw new RuntimeException("Object line incorrectly formatted!  Line number:  " + line_number);
-                    }else{
-                        texture_points.add(new Point2D<Double>(Double.parseDouble(split[1]),Double.parseDouble(split[2])));
-                    }
-                }else if(split[0].equals("vn")){
-                    if(split.length < 3){
-                        throw new RuntimeException("Object line incorrectly formatted!  Line number:  " + line_number);
-                    }else{
-                        normal_points.add(new Point3D<Double>(Double.parseDouble(split[1]),Double.parseDouble(split[2]),Double.parseDouble(split[1])));
-                    }
-                }else if(split[0].equals("usemtl")){
-                    if(split.length == 1){
-                        line = "anonymous";
-                    }else{
-                        line = split[1];
-                    }
-                    
-                    current_material = null;
-                    
-                    for(int index = 0;index < materials.size();index++){
-                        if(materials.get(index).getMaterialName().equals(line)){
-                            current_material = materials.get(index);
-                        }
-                    }
-                    if(current_material == null){
-                        System.out.println("Warning:  Material with name " + line + " could not be found.  Line number " + line_number);
-                    }
-                }else if(split[0].equals("f")){  //This shouldn't occur until all the vertices have been given.
-                    if(split.length < 4){  //A face must have at least 3 points
-                        throw new RuntimeException("Object line incorrectly formatted!  Line number:  " + line_number);
-                    }else{
-                        polygon = new StrixaPolygon();
-                        for(int index = 1;index < split.length; index++){                            
-                            try{
-                                face_split = split[index].split("/");
-                                
-                                polygon.addPoint(object_points.get(Integer.parseInt(face_split[0]) - 1));  //The verticies for the faces start at 1
-                                if(face_split.length > 1){
-                                    if(!face_split[1].equals("")){
-                                        polygon.addTexturePoint(texture_points.get(Integer.parseInt(face_split[1]) - 1));
-                                    }
-                                
-                                    if(face_split.length > 2){
-                                        if(!face_split[2].equals("")){
-                                            polygon.addNormalPoint(normal_points.get(Integer.parseInt(face_split[2]) - 1));
-                                        }
-                                    }
-                                }
-                            }catch(IndexOutOfBoundsException e){
-                                throw new RuntimeException("Given vertex was not found!  Requested vertex:  " + split[index] + ".  Line number:  " + line_number);
-                            }
-                        }
+                        this._parse(tokenizer,data,true);
+                    }else{  //Nothing needs to be kept, so the elements can be built as the file is read.
+                        builder = this._createElementBuilder();
                         
-                        object_polygons.add(polygon);
+                        this._parse(tokenizer,builder,true);
+                        builder.onEndOfFile();
                     }
+                }finally{
+                    tokenizer.close();
                 }
                 
-                
-                percent_loaded = ((total_bytes - file.available()) / total_bytes) * 100;
-                if((percent_loaded - last_update) > this.__update_step && percent_loaded < 100){  //We want to reserve the 100% loaded update for when this method completes its run
-                    this._alertPercentLoadedUpdateListeners(percent_loaded);
-                    
-                    last_update = percent_loaded;
+                if(cache != null){
+                    try{
+                        cache.write(data);
+                    }catch(IOException e){  //The cache is only an optimization, so failing to write it shouldn't stop the file from loading.
+                        System.out.println("Warning:  The mesh cache could not be written to " + cache.getCacheFile().getPath() + ":  " + e.getMessage());
+                    }
                 }
             }
             
-            if(!object_polygons.isEmpty()){ //This ensures that the last object gets added to the list.
-                object.addComponents(object_polygons);
-                object.setMaterial(current_material);
+            if(data != null && this.isTriangulationEnabled()){
+                data = data.triangulate(this.isParallelParsingEnabled() ? this.getForkJoinPool() : null);
+            }
+            if(data != null && this.isNormalGenerationEnabled()){
+                data = data.generateNormals(this.getCreaseAngle(),this.isParallelParsingEnabled() ? this.getForkJoinPool() : null);
+            }
+            
+            if(builder == null){
+                builder = this._createElementBuilder();
                 
-                this.__objects.add(object);
+                data.accept(builder);
             }
+            if(this.__level_of_detail_ratios.length != 0){
+                this._generateLevelsOfDetail(builder.getElements(),cache);
+            }
+            this.__objects = builder.getElements();
         }catch(FileNotFoundException e){
             throw new RuntimeException("No such file was found in the given path:  "+this.__file_location);
         }catch(IOException e){
@@ -370,12 +1823,6 @@ public class WavefrontObjReader implements Runnable{
             exception = new RuntimeException(e.getMessage());
             exception.setStackTrace(e.getStackTrace());
             throw exception;  //We have to turn any IOExceptions into RuntimeExceptions 
-        }finally{
-            try{
-                file.close();
-            }catch(IOException e){
-                throw new RuntimeException("Could not close file properly.");
-            }
         }
         
         this.__file_read = true;
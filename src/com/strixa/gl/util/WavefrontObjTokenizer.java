@@ -0,0 +1,627 @@
+/**
+ * File:  WavefrontObjTokenizer.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+
+/**
+ * Reads the tokens of a Wavefront .obj or .mtl file straight out of a byte buffer.<br />
+ * Numbers and face indices are decoded in place, so reading a line does not allocate any Strings or arrays.  Only names (object names, material names, file names) are turned into Strings.
+ * <br /><br />
+ * A tokenizer may instead read from a stream, such as a decompressing one.  The stream is read into a large buffer a whole number of lines at a time, and the buffer is kept for the next streamed tokenizer created on the same thread once this one is closed.
+ *
+ * @author Nicholas Rog
+ */
+public class WavefrontObjTokenizer implements Closeable{
+    private static final Charset  __CHARSET = Charset.forName("ISO-8859-1");
+    private static final double[] __POWERS_OF_TEN = {
+        1e0,1e1,1e2,1e3,1e4,1e5,1e6,1e7,1e8,1e9,1e10,1e11,
+        1e12,1e13,1e14,1e15,1e16,1e17,1e18,1e19,1e20,1e21,1e22
+    };
+    private static final long     __MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int      __MAX_MANTISSA_DIGITS = 18;
+    private static final int      __STREAM_BUFFER_SIZE = 1024 * 1024;
+    
+    /** Buffers left behind by closed streamed tokenizers, kept so the next one created on the same thread can reuse it. */
+    private static final ThreadLocal<ByteBuffer> __STREAM_BUFFERS = new ThreadLocal<ByteBuffer>();
+    
+    private ByteBuffer  __buffer;
+    private int         __complete_end;  //Index after the last complete line in the buffer.  Only used when reading from a stream.
+    private boolean     __end_of_input;
+    private InputStream __input;
+    private int         __limit;
+    private int         __line_number;
+    private long        __offset;  //Offset within the stream of the start of the buffer.
+    private int         __position;
+    
+    
+    /*Begin Constructor*/
+    /**
+     * Constructs a tokenizer which reads everything between the given buffer's position and its limit.
+     *
+     * @param buffer Buffer containing the file's contents.
+     */
+    public WavefrontObjTokenizer(ByteBuffer buffer){
+        if(buffer == null){
+            throw new IllegalArgumentException("Argument 'buffer' must not be null.");
+        }
+        
+        this.__buffer = buffer;
+        this.__position = buffer.position();
+        this.__limit = buffer.limit();
+        this.__line_number = 0;
+        this.__end_of_input = true;
+    }
+    
+    /**
+     * Constructs a tokenizer which reads everything remaining in the given stream.  The tokenizer must be closed once it is no longer needed.
+     *
+     * @param input Stream containing the file's contents.
+     */
+    public WavefrontObjTokenizer(InputStream input){
+        if(input == null){
+            throw new IllegalArgumentException("Argument 'input' must not be null.");
+        }
+        
+        this.__buffer = WavefrontObjTokenizer.__STREAM_BUFFERS.get();
+        if(this.__buffer == null){
+            this.__buffer = ByteBuffer.allocate(WavefrontObjTokenizer.__STREAM_BUFFER_SIZE);
+        }else{
+            WavefrontObjTokenizer.__STREAM_BUFFERS.remove();  //A tokenizer created while this one is in use must not share its buffer.
+        }
+        
+        this.__input = input;
+        this.__position = 0;
+        this.__limit = 0;
+        this.__line_number = 0;
+        this.__end_of_input = false;
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the buffer the tokenizer reads from.  When reading from a stream, this only holds the part of the stream currently being read.
+     *
+     * @return The buffer the tokenizer reads from.
+     */
+    public ByteBuffer getBuffer(){
+        return this.__buffer;
+    }
+    
+    /**
+     * Gets the index within the buffer at which the tokenizer stops reading.
+     *
+     * @return The index within the buffer at which the tokenizer stops reading.
+     */
+    public int getLimit(){
+        return this.__limit;
+    }
+    
+    /**
+     * Gets the number of the line currently being read.  The first line is line 1.
+     *
+     * @return The number of the line currently being read.
+     */
+    public int getLineNumber(){
+        return this.__line_number;
+    }
+    
+    /**
+     * Gets the offset of the next byte to be read.  When reading from a buffer, this is the same as {@link #getPosition()}.  When reading from a stream, it is the number of bytes of the stream which have been read.
+     *
+     * @return The offset of the next byte to be read.
+     */
+    public long getOffset(){
+        return this.__offset + this.__position;
+    }
+    
+    /**
+     * Gets the index within the buffer of the next byte to be read.
+     *
+     * @return The index within the buffer of the next byte to be read.
+     */
+    public int getPosition(){
+        return this.__position;
+    }
+    
+    /**
+     * Checks whether this tokenizer reads from a stream rather than a buffer.
+     *
+     * @return Returns true if this tokenizer reads from a stream, and false, otherwise.
+     */
+    public boolean isStreamed(){
+        return this.__input != null;
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Moves onto the next line and skips any whitespace at its beginning.
+     *
+     * @return Returns true if there was another line to read, and false if the end of the buffer has been reached.
+     *
+     * @throws IOException Thrown if the tokenizer reads from a stream which could not be read.
+     */
+    public boolean beginLine() throws IOException{
+        if(this.__position >= this.__complete_end && !this.__end_of_input){
+            this._fill();
+        }
+        
+        if(this.__position >= this.__limit){
+            return false;
+        }
+        
+        this.__line_number++;
+        this._skipWhitespace();
+        
+        return true;
+    }
+    
+    /**
+     * Closes the stream the tokenizer reads from, if there is one, and leaves its buffer to be reused.  Nothing can be read afterwards.
+     *
+     * @throws IOException Thrown if the stream could not be closed.
+     */
+    public void close() throws IOException{
+        final InputStream input = this.__input;
+        
+        
+        if(input == null){
+            return;
+        }
+        
+        this.__input = null;
+        this.__end_of_input = true;
+        this.__position = this.__limit;
+        if(this.__buffer.capacity() <= WavefrontObjTokenizer.__STREAM_BUFFER_SIZE * 4){  //Buffers grown to hold unusually long lines aren't worth keeping.
+            WavefrontObjTokenizer.__STREAM_BUFFERS.set(this.__buffer);
+        }
+        
+        input.close();
+    }
+    
+    /**
+     * Skips over everything remaining on the current line, including the line's terminating newline.
+     */
+    public void endLine(){
+        final ByteBuffer buffer = this.__buffer;
+        final int        limit = this.__limit;
+        
+        int position = this.__position;
+        
+        
+        while(position < limit && buffer.get(position) != '\n'){
+            position++;
+        }
+        
+        this.__position = Math.min(position + 1,limit);
+    }
+    
+    /**
+     * Moves what remains of the buffer to its start, and reads from the stream until the buffer is full or the stream ends.  The buffer is grown if it can't hold a single complete line.
+     *
+     * @throws IOException Thrown if the stream could not be read.
+     */
+    protected void _fill() throws IOException{
+        byte[] bytes = this.__buffer.array();
+        int    read = 0;
+        
+        
+        System.arraycopy(bytes,this.__position,bytes,0,this.__limit - this.__position);
+        this.__offset += this.__position;
+        this.__limit -= this.__position;
+        this.__position = 0;
+        this.__complete_end = 0;
+        
+        while(this.__complete_end == 0 && !this.__end_of_input){
+            if(this.__limit == bytes.length){
+                bytes = Arrays.copyOf(bytes,bytes.length * 2);
+                
+                this.__buffer = ByteBuffer.wrap(bytes);
+            }
+            
+            while(this.__limit < bytes.length && (read = this.__input.read(bytes,this.__limit,bytes.length - this.__limit)) >= 0){
+                this.__limit += read;
+            }
+            
+            if(read < 0){
+                this.__end_of_input = true;
+                this.__complete_end = this.__limit;
+            }else{
+                for(int index = this.__limit - 1;index >= 0;index--){
+                    if(bytes[index] == '\n'){
+                        this.__complete_end = index + 1;
+                        
+                        break;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Checks whether the current line is a comment.
+     *
+     * @return Returns true if the next character on this line is a '#', and false, otherwise.
+     */
+    public boolean isComment(){
+        return this.__position < this.__limit && this.__buffer.get(this.__position) == '#';
+    }
+    
+    /**
+     * Checks whether there is anything left to be read on the current line.  Any whitespace before the next token is skipped.
+     *
+     * @return Returns true if nothing but whitespace remains on this line, and false, otherwise.
+     */
+    public boolean isEndOfLine(){
+        this._skipWhitespace();
+        
+        return this._isEndOfLine(this.__position);
+    }
+    
+    /**
+     * Consumes the next token if it is the given keyword.
+     *
+     * @param keyword Keyword to look for.  This must consist of ASCII characters only.
+     *
+     * @return Returns true if the next token was the keyword and has been consumed, and false, otherwise.
+     */
+    public boolean matchKeyword(String keyword){
+        final int keyword_length = keyword.length();
+        final int end = this.__position + keyword_length;
+        
+        
+        if(end > this.__limit){
+            return false;
+        }
+        
+        for(int index = 0;index < keyword_length;index++){
+            if(this.__buffer.get(this.__position + index) != keyword.charAt(index)){
+                return false;
+            }
+        }
+        if(!this._isDelimiter(end)){
+            return false;
+        }
+        
+        this.__position = end;
+        
+        return true;
+    }
+    
+    /**
+     * Reads the next token as a double.
+     *
+     * @return The value of the next token.
+     *
+     * @throws IOException Thrown if there is no token left on this line, or if the token is not a number.
+     */
+    public double readDouble() throws IOException{
+        final ByteBuffer buffer = this.__buffer;
+        final int        limit = this.__limit;
+        final int        start = this._skipWhitespace();
+        
+        int     character = 0;
+        int     digit_count = 0;
+        int     exponent = 0;
+        long    mantissa = 0;
+        boolean negative = false;
+        int     position = start;
+        boolean saw_digit = false;
+        
+        
+        if(this._isEndOfLine(position)){
+            throw new IOException("Expected a number but reached the end of the line.  Line number:  " + this.__line_number);
+        }
+        
+        character = buffer.get(position);
+        if(character == '-' || character == '+'){
+            negative = (character == '-');
+            position++;
+        }
+        
+        /*Integer part*/
+        while(position < limit && (character = buffer.get(position) - '0') >= 0 && character <= 9){
+            saw_digit = true;
+            if(digit_count < WavefrontObjTokenizer.__MAX_MANTISSA_DIGITS){
+                if(mantissa != 0 || character != 0){
+                    mantissa = mantissa * 10 + character;
+                    digit_count++;
+                }
+            }else{
+                digit_count++;  //Anything beyond here would lose precision, so we'll let the slow path deal with it.
+            }
+            position++;
+        }
+        
+        /*Fractional part*/
+        if(position < limit && buffer.get(position) == '.'){
+            position++;
+            while(position < limit && (character = buffer.get(position) - '0') >= 0 && character <= 9){
+                saw_digit = true;
+                if(digit_count < WavefrontObjTokenizer.__MAX_MANTISSA_DIGITS){
+                    if(mantissa != 0 || character != 0){
+                        mantissa = mantissa * 10 + character;
+                        digit_count++;
+                    }
+                    exponent--;
+                }else{
+                    digit_count++;
+                }
+                position++;
+            }
+        }
+        
+        /*Exponent*/
+        if(saw_digit && position < limit && (buffer.get(position) == 'e' || buffer.get(position) == 'E')){
+            boolean exponent_negative = false;
+            int     exponent_value = 0;
+            
+            
+            position++;
+            if(position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')){
+                exponent_negative = (buffer.get(position) == '-');
+                position++;
+            }
+            if(position >= limit || buffer.get(position) < '0' || buffer.get(position) > '9'){
+                return this._readDoubleSlowly(start);
+            }
+            while(position < limit && (character = buffer.get(position) - '0') >= 0 && character <= 9){
+                if(exponent_value < 10000){
+                    exponent_value = exponent_value * 10 + character;
+                }
+                position++;
+            }
+            exponent += (exponent_negative ? -exponent_value : exponent_value);
+        }
+        
+        if(!saw_digit || !this._isDelimiter(position) || digit_count > WavefrontObjTokenizer.__MAX_MANTISSA_DIGITS){
+            return this._readDoubleSlowly(start);
+        }
+        
+        this.__position = position;
+        
+        /*
+         * When both the mantissa and the power of ten are exactly representable, a single multiplication or division
+         * gives the correctly rounded result, which is exactly what Double.parseDouble would have given us.
+         */
+        if(mantissa == 0){
+            return negative ? -0.0 : 0.0;
+        }else if(mantissa <= WavefrontObjTokenizer.__MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22){
+            if(exponent < 0){
+                return negative ? -(mantissa / WavefrontObjTokenizer.__POWERS_OF_TEN[-exponent]) : mantissa / WavefrontObjTokenizer.__POWERS_OF_TEN[-exponent];
+            }else{
+                return negative ? -(mantissa * WavefrontObjTokenizer.__POWERS_OF_TEN[exponent]) : mantissa * WavefrontObjTokenizer.__POWERS_OF_TEN[exponent];
+            }
+        }
+        
+        return this._readDoubleSlowly(start);
+    }
+    
+    /**
+     * Falls back on Double.parseDouble for the token beginning at the given position.  This is only needed for numbers the fast path can't represent exactly.
+     *
+     * @param start Position at which the token begins.
+     *
+     * @return The value of the token.
+     *
+     * @throws IOException Thrown if the token is not a number.
+     */
+    protected double _readDoubleSlowly(int start) throws IOException{
+        final String token;
+        
+        
+        this.__position = start;
+        token = this.readToken();
+        try{
+            return Double.parseDouble(token);
+        }catch(NumberFormatException e){
+            throw new IOException("Expected a number but found '" + token + "'.  Line number:  " + this.__line_number);
+        }
+    }
+    
+    /**
+     * Reads the next corner of a face in any of the forms 'v', 'v/vt', 'v//vn' or 'v/vt/vn'.<br />
+     * The indices are stored exactly as they appear in the file; an index which was not given is stored as 0.
+     *
+     * @param indices Array of at least three elements into which the vertex, texture vertex and normal vertex indices will be stored, in that order.
+     *
+     * @return Returns true if a face corner was read, and false if the end of the line has been reached.
+     *
+     * @throws IOException Thrown if the face corner is incorrectly formatted.
+     */
+    public boolean readFaceVertex(int[] indices) throws IOException{
+        if(this.isEndOfLine()){
+            return false;
+        }
+        
+        indices[0] = this._readIndex();
+        indices[1] = 0;
+        indices[2] = 0;
+        if(this.__position < this.__limit && this.__buffer.get(this.__position) == '/'){
+            this.__position++;
+            if(this.__position < this.__limit && this.__buffer.get(this.__position) != '/'){
+                indices[1] = this._readIndex();
+            }
+            
+            if(this.__position < this.__limit && this.__buffer.get(this.__position) == '/'){
+                this.__position++;
+                indices[2] = this._readIndex();
+            }
+        }
+        
+        if(!this._isDelimiter(this.__position)){
+            throw new IOException("Face incorrectly formatted!  Line number:  " + this.__line_number);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Reads the next token as an integer.
+     *
+     * @return The value of the next token.
+     *
+     * @throws IOException Thrown if there is no token left on this line, or if the token is not an integer.
+     */
+    public int readInt() throws IOException{
+        final int value;
+        
+        
+        if(this.isEndOfLine()){
+            throw new IOException("Expected an integer but reached the end of the line.  Line number:  " + this.__line_number);
+        }
+        
+        value = this._readIndex();
+        if(!this._isDelimiter(this.__position)){
+            throw new IOException("Expected an integer.  Line number:  " + this.__line_number);
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Reads everything remaining on this line, less any leading or trailing whitespace.
+     *
+     * @return Everything remaining on this line, or an empty string if nothing remains.
+     */
+    public String readRemainder(){
+        final int start = this._skipWhitespace();
+        
+        int end = start;
+        
+        
+        while(!this._isEndOfLine(end)){
+            end++;
+        }
+        while(end > start && this._isWhitespace(this.__buffer.get(end - 1))){
+            end--;
+        }
+        
+        this.__position = end;
+        
+        return this._decode(start,end);
+    }
+    
+    /**
+     * Reads the next whitespace delimited token.
+     *
+     * @return The next token, or an empty string if nothing remains on this line.
+     */
+    public String readToken(){
+        final int start = this._skipWhitespace();
+        
+        int end = start;
+        
+        
+        while(!this._isDelimiter(end)){
+            end++;
+        }
+        
+        this.__position = end;
+        
+        return this._decode(start,end);
+    }
+    
+    /**
+     * Turns the given range of the buffer into a String.
+     *
+     * @param start Index of the first byte.
+     * @param end Index after the last byte.
+     *
+     * @return The decoded String.
+     */
+    protected String _decode(int start,int end){
+        final byte[] bytes = new byte[end - start];
+        
+        
+        for(int index = 0;index < bytes.length;index++){
+            bytes[index] = this.__buffer.get(start + index);
+        }
+        
+        return new String(bytes,WavefrontObjTokenizer.__CHARSET);
+    }
+    
+    protected boolean _isDelimiter(int position){
+        return this._isEndOfLine(position) || this._isWhitespace(this.__buffer.get(position));
+    }
+    
+    protected boolean _isEndOfLine(int position){
+        final byte character;
+        
+        
+        if(position >= this.__limit){
+            return true;
+        }
+        
+        character = this.__buffer.get(position);
+        
+        return character == '\n' || character == '\r';
+    }
+    
+    protected boolean _isWhitespace(byte character){
+        return character == ' ' || character == '\t' || character == '\f';
+    }
+    
+    /**
+     * Reads an optionally signed integer starting at the current position.
+     *
+     * @return The integer which was read.
+     *
+     * @throws IOException Thrown if there is no integer at the current position.
+     */
+    protected int _readIndex() throws IOException{
+        final ByteBuffer buffer = this.__buffer;
+        final int        limit = this.__limit;
+        
+        int     character = 0;
+        boolean negative = false;
+        int     position = this.__position;
+        int     start = 0;
+        long    value = 0;
+        
+        
+        if(position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')){
+            negative = (buffer.get(position) == '-');
+            position++;
+        }
+        
+        start = position;
+        while(position < limit && (character = buffer.get(position) - '0') >= 0 && character <= 9){
+            value = value * 10 + character;
+            if(value > Integer.MAX_VALUE){
+                throw new IOException("Integer is out of range.  Line number:  " + this.__line_number);
+            }
+            position++;
+        }
+        if(position == start){
+            throw new IOException("Expected an integer.  Line number:  " + this.__line_number);
+        }
+        
+        this.__position = position;
+        
+        return (int)(negative ? -value : value);
+    }
+    
+    /**
+     * Skips over any spaces or tabs at the current position.
+     *
+     * @return The new position.
+     */
+    protected int _skipWhitespace(){
+        while(this.__position < this.__limit && this._isWhitespace(this.__buffer.get(this.__position))){
+            this.__position++;
+        }
+        
+        return this.__position;
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,57 @@
+/**
+ * File:  WavefrontObjVisitor.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.gl.util;
+
+/**
+ * Receives the contents of a Wavefront .obj file as it is read, one statement at a time, without any objects being built for it.<br />
+ * Methods are called in the order their statements appear in the file, and always from a single thread.
+ *
+ * @author Nicholas Rog
+ */
+public interface WavefrontObjVisitor{
+    /**
+     * Called once the entire file has been read.
+     */
+    public void onEndOfFile();
+    
+    /**
+     * Called for each face ('f') in the file.<br />
+     * Indices are zero-based and have already been resolved against the vertices read so far, so they always refer to vertices which exist.  An index which wasn't given in the file is -1.<br />
+     * <strong>Note:</strong>  The arrays are reused between calls, and may be longer than the number of corners.  They must be copied if they are to be kept.
+     *
+     * @param vertices Index of the vertex used by each corner.
+     * @param texture_vertices Index of the texture vertex used by each corner.
+     * @param normal_vertices Index of the normal vertex used by each corner.
+     * @param corner_count Number of corners the face has.
+     */
+    public void onFace(int[] vertices,int[] texture_vertices,int[] normal_vertices,int corner_count);
+    
+    /**
+     * Called for each material library ('mtllib') the file refers to.
+     *
+     * @param filename File name of the material library, exactly as it was given in the file.
+     */
+    public void onMaterialLibrary(String filename);
+    
+    public void onNormalVertex(double x,double y,double z);
+    
+    /**
+     * Called for each object ('o') declared in the file.  Faces following this call belong to the object.
+     *
+     * @param name Name of the object.
+     */
+    public void onObject(String name);
+    
+    public void onTextureVertex(double u,double v);
+    
+    /**
+     * Called for each material ('usemtl') the file switches to.  Faces following this call use the material.
+     *
+     * @param name Name of the material.
+     */
+    public void onUseMaterial(String name);
+    
+    public void onVertex(double x,double y,double z);
+}
@@ -0,0 +1,273 @@
+/**
+ * File:  Aabb3d.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * Axis aligned bounding box, held as its minimum and maximum corners in primitive doubles.<br />
+ * A box constructed without any corners is empty (its minimum is greater than its maximum), and grows to fit whatever is given to {@link #include(double,double,double)}.  Like {@link Vec3d}, boxes are mutable unless they were created by {@link #toImmutable()}.
+ *
+ * @author Nicholas Rog
+ */
+public class Aabb3d{
+    /**
+     * Box whose corners can't be changed.
+     *
+     * @author Nicholas Rog
+     */
+    private static final class Immutable extends Aabb3d{
+        public Immutable(Aabb3d copy){
+            super(copy);
+        }
+        
+        public Aabb3d set(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+            throw new UnsupportedOperationException("This box can't be changed.");
+        }
+        
+        public boolean isImmutable(){
+            return true;
+        }
+    }
+    
+    private double __max_x;
+    private double __max_y;
+    private double __max_z;
+    private double __min_x;
+    private double __min_y;
+    private double __min_z;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty box.
+     */
+    public Aabb3d(){
+        this(Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY);
+    }
+    
+    /**
+     * Constructs a box with the given corners.
+     */
+    public Aabb3d(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        this.__min_x = min_x;
+        this.__min_y = min_y;
+        this.__min_z = min_z;
+        this.__max_x = max_x;
+        this.__max_y = max_y;
+        this.__max_z = max_z;
+    }
+    
+    /**
+     * Constructs a mutable copy of the given box.
+     *
+     * @param copy Box whose corners should be copied.
+     */
+    public Aabb3d(Aabb3d copy){
+        this(copy.getMinX(),copy.getMinY(),copy.getMinZ(),copy.getMaxX(),copy.getMaxY(),copy.getMaxZ());
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the centre of this box.
+     *
+     * @param destination Vector the centre should be written to.
+     *
+     * @return The given vector.
+     */
+    public Vec3d getCenter(Vec3d destination){
+        return destination.set((this.__min_x + this.__max_x) / 2,(this.__min_y + this.__max_y) / 2,(this.__min_z + this.__max_z) / 2);
+    }
+    
+    public double getDepth(){
+        return Math.max(0,this.__max_z - this.__min_z);
+    }
+    
+    public double getHeight(){
+        return Math.max(0,this.__max_y - this.__min_y);
+    }
+    
+    public double getMaxX(){
+        return this.__max_x;
+    }
+    
+    public double getMaxY(){
+        return this.__max_y;
+    }
+    
+    public double getMaxZ(){
+        return this.__max_z;
+    }
+    
+    public double getMinX(){
+        return this.__min_x;
+    }
+    
+    public double getMinY(){
+        return this.__min_y;
+    }
+    
+    public double getMinZ(){
+        return this.__min_z;
+    }
+    
+    public double getWidth(){
+        return Math.max(0,this.__max_x - this.__min_x);
+    }
+    
+    /**
+     * Sets this box's corners.  Every other method which changes the box does so through this one.
+     *
+     * @return This box.
+     */
+    public Aabb3d set(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        this.__min_x = min_x;
+        this.__min_y = min_y;
+        this.__min_z = min_z;
+        this.__max_x = max_x;
+        this.__max_y = max_y;
+        this.__max_z = max_z;
+        
+        return this;
+    }
+    
+    public Aabb3d set(Aabb3d box){
+        return this.set(box.getMinX(),box.getMinY(),box.getMinZ(),box.getMaxX(),box.getMaxY(),box.getMaxZ());
+    }
+    
+    /**
+     * Empties this box, so that it can be grown to fit a new set of points.
+     *
+     * @return This box.
+     */
+    public Aabb3d setEmpty(){
+        return this.set(Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Checks whether the given point is inside this box or on its surface.
+     *
+     * @return Returns true if the point is inside this box, and false, otherwise.
+     */
+    public boolean contains(double x,double y,double z){
+        return x >= this.__min_x && x <= this.__max_x && y >= this.__min_y && y <= this.__max_y && z >= this.__min_z && z <= this.__max_z;
+    }
+    
+    public boolean equals(Object object){
+        final Aabb3d box;
+        
+        
+        if(!(object instanceof Aabb3d)){
+            return false;
+        }
+        
+        box = (Aabb3d)object;
+        return Double.compare(this.__min_x,box.getMinX()) == 0 && Double.compare(this.__min_y,box.getMinY()) == 0 && Double.compare(this.__min_z,box.getMinZ()) == 0 && Double.compare(this.__max_x,box.getMaxX()) == 0 && Double.compare(this.__max_y,box.getMaxY()) == 0 && Double.compare(this.__max_z,box.getMaxZ()) == 0;
+    }
+    
+    public int hashCode(){
+        long hash = Double.doubleToLongBits(this.__min_x);
+        
+        
+        hash = hash * 31 + Double.doubleToLongBits(this.__min_y);
+        hash = hash * 31 + Double.doubleToLongBits(this.__min_z);
+        hash = hash * 31 + Double.doubleToLongBits(this.__max_x);
+        hash = hash * 31 + Double.doubleToLongBits(this.__max_y);
+        hash = hash * 31 + Double.doubleToLongBits(this.__max_z);
+        
+        return (int)(hash ^ (hash >>> 32));
+    }
+    
+    /**
+     * Grows this box just enough to enclose the given point.
+     *
+     * @return This box.
+     */
+    public Aabb3d include(double x,double y,double z){
+        return this.set(
+            Math.min(this.__min_x,x),
+            Math.min(this.__min_y,y),
+            Math.min(this.__min_z,z),
+            Math.max(this.__max_x,x),
+            Math.max(this.__max_y,y),
+            Math.max(this.__max_z,z)
+        );
+    }
+    
+    /**
+     * Grows this box just enough to enclose the given box.  Empty boxes are ignored.
+     *
+     * @return This box.
+     */
+    public Aabb3d include(Aabb3d box){
+        if(box.isEmpty()){
+            return this;
+        }
+        
+        return this.set(
+            Math.min(this.__min_x,box.getMinX()),
+            Math.min(this.__min_y,box.getMinY()),
+            Math.min(this.__min_z,box.getMinZ()),
+            Math.max(this.__max_x,box.getMaxX()),
+            Math.max(this.__max_y,box.getMaxY()),
+            Math.max(this.__max_z,box.getMaxZ())
+        );
+    }
+    
+    /**
+     * Checks whether the given box overlaps this one.  Boxes which only touch are considered to overlap.
+     *
+     * @return Returns true if the boxes overlap, and false, otherwise.
+     */
+    public boolean intersects(Aabb3d box){
+        return this.__min_x <= box.getMaxX() && this.__max_x >= box.getMinX() && this.__min_y <= box.getMaxY() && this.__max_y >= box.getMinY() && this.__min_z <= box.getMaxZ() && this.__max_z >= box.getMinZ();
+    }
+    
+    /**
+     * Checks whether this box encloses nothing at all.
+     *
+     * @return Returns true if this box is empty, and false, otherwise.
+     */
+    public boolean isEmpty(){
+        return this.__min_x > this.__max_x || this.__min_y > this.__max_y || this.__min_z > this.__max_z;
+    }
+    
+    /**
+     * Checks whether this box can be changed.
+     *
+     * @return Returns true if this box can't be changed, and false, otherwise.
+     */
+    public boolean isImmutable(){
+        return false;
+    }
+    
+    /**
+     * Gets a box with the same corners as this one which can't be changed.
+     *
+     * @return This box if it is already immutable, or an immutable copy of it.
+     */
+    public Aabb3d toImmutable(){
+        if(this.isImmutable()){
+            return this;
+        }
+        
+        return new Immutable(this);
+    }
+    
+    public String toString(){
+        return "["+this.__min_x+","+this.__min_y+","+this.__min_z+" - "+this.__max_x+","+this.__max_y+","+this.__max_z+"]";
+    }
+    
+    /**
+     * Moves this box by the given amount.
+     *
+     * @return This box.
+     */
+    public Aabb3d translate(double x,double y,double z){
+        return this.set(this.__min_x + x,this.__min_y + y,this.__min_z + z,this.__max_x + x,this.__max_y + y,this.__max_z + z);
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,83 @@
+/**
+ * File:  DirectBuffers.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Releases the memory of direct buffers by hand, rather than leaving it until the garbage collector finds them.  This matters for large buffers which are dropped while the heap is still quiet, since the collector doesn't take the memory they hold into account.
+ *
+ * @author Nicholas Rog
+ */
+public class DirectBuffers{
+    private static Method  __clean;  //Cleaner.clean() and DirectBuffer.cleaner(), for JVMs before 9.
+    private static Method  __cleaner;
+    private static boolean __cleaner_loaded;
+    private static boolean __free_failed;  //Set once the warning that buffers can't be released has been printed.
+    private static Method  __invoke_cleaner;
+    private static Object  __unsafe;
+    
+    
+    /*Begin Static Methods*/
+    /**
+     * Releases the given buffer's memory straight away, if the JVM allows it.  Otherwise, the memory is released once the buffer has been garbage collected.  Nothing may use the buffer, or any buffer sharing its memory, afterwards.<br />
+     * Java 9 and later release the buffer through Unsafe.invokeCleaner(), and older JVMs through the buffer's own Cleaner.  If neither can be used, a warning is printed the first time, since the memory will then stay in use until the collector finds the buffers.
+     */
+    public static void free(ByteBuffer buffer){
+        Object cleaner = null;
+        Field  field = null;
+        
+        
+        synchronized(DirectBuffers.class){
+            if(!DirectBuffers.__cleaner_loaded){
+                DirectBuffers.__cleaner_loaded = true;
+                try{
+                    field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+                    field.setAccessible(true);
+                    
+                    DirectBuffers.__unsafe = field.get(null);
+                    DirectBuffers.__invoke_cleaner = DirectBuffers.__unsafe.getClass().getMethod("invokeCleaner",ByteBuffer.class);
+                }catch(Exception e){  //Unsafe.invokeCleaner() was added in Java 9.
+                    DirectBuffers.__invoke_cleaner = null;
+                    try{
+                        DirectBuffers.__cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                        DirectBuffers.__clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                    }catch(Exception cleaner_exception){
+                        DirectBuffers.__cleaner = null;
+                        DirectBuffers.__clean = null;
+                    }
+                }
+            }
+        }
+        
+        try{
+            if(DirectBuffers.__invoke_cleaner != null){
+                DirectBuffers.__invoke_cleaner.invoke(DirectBuffers.__unsafe,buffer);
+                
+                return;
+            }else if(DirectBuffers.__cleaner != null){
+                cleaner = DirectBuffers.__cleaner.invoke(buffer);
+                if(cleaner != null){
+                    DirectBuffers.__clean.invoke(cleaner);
+                }
+                
+                return;
+            }
+        }catch(Exception e){  //The buffer is left to the garbage collector, as below.
+        }
+        
+        synchronized(DirectBuffers.class){
+            if(!DirectBuffers.__free_failed){
+                DirectBuffers.__free_failed = true;
+                
+                System.out.println("Warning:  This JVM doesn't allow direct buffers to be released by hand, so their memory will be left to the garbage collector.");
+            }
+        }
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,165 @@
+/**
+ * File:  IntTripleMap.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+import java.util.Arrays;
+
+
+/**
+ * Maps triples of ints onto ints without boxing anything.<br />
+ * Keys are kept in a single open-addressed table, so looking one up touches only a few consecutive array elements.
+ *
+ * @author Nicholas Rog
+ */
+public class IntTripleMap{
+    /** Value returned by {@link #get(int,int,int)} when the key isn't in the map. */
+    public static final int NOT_FOUND = -1;
+    
+    private int[] __keys;
+    private int   __mask;
+    private int   __size;
+    private int[] __values;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty map.
+     */
+    public IntTripleMap(){
+        this(16);
+    }
+    
+    /**
+     * Constructs an empty map with room for the given number of keys.
+     *
+     * @param capacity Number of keys to make room for.
+     */
+    public IntTripleMap(int capacity){
+        int table_size = 16;
+        
+        
+        while(table_size < capacity * 2){
+            table_size <<= 1;
+        }
+        
+        this._allocate(table_size);
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter Methods*/
+    public int size(){
+        return this.__size;
+    }
+    /*End Getter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Creates an empty table of the given size.
+     */
+    protected void _allocate(int table_size){
+        this.__keys = new int[table_size * 3];
+        this.__values = new int[table_size];
+        this.__mask = table_size - 1;
+        
+        Arrays.fill(this.__values,IntTripleMap.NOT_FOUND);
+    }
+    
+    /**
+     * Removes every key from the map, keeping the space which has already been allocated.
+     */
+    public void clear(){
+        Arrays.fill(this.__values,IntTripleMap.NOT_FOUND);
+        
+        this.__size = 0;
+    }
+    
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @return The value mapped to the key, or {@link #NOT_FOUND} if the key isn't in the map.
+     */
+    public int get(int a,int b,int c){
+        return this.__values[this._findSlot(a,b,c)];
+    }
+    
+    /**
+     * Gets the value mapped to the given key, mapping the key to the given value first if it isn't already in the map.
+     *
+     * @param value Value to map the key to if it isn't in the map.  This must not be {@link #NOT_FOUND}.
+     *
+     * @return The value the key is mapped to.
+     */
+    public int getOrPut(int a,int b,int c,int value){
+        int slot = this._findSlot(a,b,c);
+        
+        
+        if(this.__values[slot] != IntTripleMap.NOT_FOUND){
+            return this.__values[slot];
+        }
+        
+        if((this.__size + 1) * 2 > this.__values.length){
+            this._grow();
+            
+            slot = this._findSlot(a,b,c);
+        }
+        
+        this.__keys[slot * 3] = a;
+        this.__keys[slot * 3 + 1] = b;
+        this.__keys[slot * 3 + 2] = c;
+        this.__values[slot] = value;
+        this.__size++;
+        
+        return value;
+    }
+    
+    /**
+     * Finds the slot the given key is held in, or the empty slot it would be held in.
+     */
+    protected int _findSlot(int a,int b,int c){
+        int slot = IntTripleMap._hash(a,b,c) & this.__mask;
+        
+        
+        while(this.__values[slot] != IntTripleMap.NOT_FOUND){
+            if(this.__keys[slot * 3] == a && this.__keys[slot * 3 + 1] == b && this.__keys[slot * 3 + 2] == c){
+                break;
+            }
+            
+            slot = (slot + 1) & this.__mask;
+        }
+        
+        return slot;
+    }
+    
+    /**
+     * Doubles the size of the table, moving every key into it.
+     */
+    protected void _grow(){
+        final int[] keys = this.__keys;
+        final int[] values = this.__values;
+        
+        int slot = 0;
+        
+        
+        this._allocate(values.length * 2);
+        for(int index = 0;index < values.length;index++){
+            if(values[index] != IntTripleMap.NOT_FOUND){
+                slot = this._findSlot(keys[index * 3],keys[index * 3 + 1],keys[index * 3 + 2]);
+                
+                this.__keys[slot * 3] = keys[index * 3];
+                this.__keys[slot * 3 + 1] = keys[index * 3 + 1];
+                this.__keys[slot * 3 + 2] = keys[index * 3 + 2];
+                this.__values[slot] = values[index];
+            }
+        }
+    }
+    
+    protected static int _hash(int a,int b,int c){
+        int hash = a * 0x9E3779B1 + b * 0x85EBCA77 + c * 0xC2B2AE3D;
+        
+        
+        return hash ^ (hash >>> 15);
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,290 @@
+/**
+ * File:  JsonReader.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Parses JSON text into plain Java objects.<br />
+ * Objects become a Map&lt;String,Object&gt; which keeps its members in order, arrays become a List&lt;Object&gt;, numbers become a Double, and strings, true, false and null become a String, Boolean.TRUE, Boolean.FALSE and null.
+ *
+ * @author Nicholas Rog
+ */
+public class JsonReader{
+    private final CharSequence __text;
+    
+    private int __position;
+    
+    
+    /*Begin Constructor*/
+    protected JsonReader(CharSequence text){
+        this.__text = text;
+    }
+    /*End Constructor*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Creates an exception describing what is wrong with the text at the current position.
+     */
+    protected IllegalArgumentException _error(String message){
+        return new IllegalArgumentException("Invalid JSON:  " + message + ".  Offset:  " + this.__position);
+    }
+    
+    /**
+     * Reads the given keyword, which must appear at the current position.
+     */
+    protected void _expect(String keyword){
+        for(int index = 0;index < keyword.length();index++){
+            if(this.__position >= this.__text.length() || this.__text.charAt(this.__position) != keyword.charAt(index)){
+                throw this._error("Expected '" + keyword + "'");
+            }
+            
+            this.__position++;
+        }
+    }
+    
+    /**
+     * Reads an array, starting at its opening bracket.
+     */
+    protected List<Object> _readArray(){
+        final List<Object> array = new ArrayList<Object>();
+        
+        
+        this.__position++;
+        if(this._skipWhitespace() == ']'){
+            this.__position++;
+            
+            return array;
+        }
+        
+        while(true){
+            array.add(this._readValue());
+            
+            switch(this._skipWhitespace()){
+                case ',':
+                    this.__position++;
+                    break;
+                case ']':
+                    this.__position++;
+                    return array;
+                default:
+                    throw this._error("Expected ',' or ']'");
+            }
+        }
+    }
+    
+    /**
+     * Reads a number, which is always returned as a double.
+     */
+    protected Double _readNumber(){
+        final int start = this.__position;
+        
+        char character = 0;
+        
+        
+        while(this.__position < this.__text.length()){
+            character = this.__text.charAt(this.__position);
+            if((character >= '0' && character <= '9') || character == '-' || character == '+' || character == '.' || character == 'e' || character == 'E'){
+                this.__position++;
+            }else{
+                break;
+            }
+        }
+        
+        try{
+            return Double.valueOf(this.__text.subSequence(start,this.__position).toString());
+        }catch(NumberFormatException e){
+            this.__position = start;
+            
+            throw this._error("Invalid number");
+        }
+    }
+    
+    /**
+     * Reads an object, starting at its opening brace.
+     */
+    protected Map<String,Object> _readObject(){
+        final Map<String,Object> object = new LinkedHashMap<String,Object>();
+        
+        String name = null;
+        
+        
+        this.__position++;
+        if(this._skipWhitespace() == '}'){
+            this.__position++;
+            
+            return object;
+        }
+        
+        while(true){
+            if(this._skipWhitespace() != '"'){
+                throw this._error("Expected a member name");
+            }
+            
+            name = this._readString();
+            if(this._skipWhitespace() != ':'){
+                throw this._error("Expected ':'");
+            }
+            this.__position++;
+            
+            object.put(name,this._readValue());
+            
+            switch(this._skipWhitespace()){
+                case ',':
+                    this.__position++;
+                    break;
+                case '}':
+                    this.__position++;
+                    return object;
+                default:
+                    throw this._error("Expected ',' or '}'");
+            }
+        }
+    }
+    
+    /**
+     * Reads a string, starting at its opening quote.
+     */
+    protected String _readString(){
+        final StringBuilder string = new StringBuilder();
+        
+        char character = 0;
+        
+        
+        this.__position++;
+        while(true){
+            if(this.__position >= this.__text.length()){
+                throw this._error("Unterminated string");
+            }
+            
+            character = this.__text.charAt(this.__position++);
+            if(character == '"'){
+                return string.toString();
+            }else if(character != '\\'){
+                string.append(character);
+                
+                continue;
+            }
+            
+            if(this.__position >= this.__text.length()){
+                throw this._error("Unterminated string");
+            }
+            
+            character = this.__text.charAt(this.__position++);
+            switch(character){
+                case 'b':
+                    string.append('\b');
+                    break;
+                case 'f':
+                    string.append('\f');
+                    break;
+                case 'n':
+                    string.append('\n');
+                    break;
+                case 'r':
+                    string.append('\r');
+                    break;
+                case 't':
+                    string.append('\t');
+                    break;
+                case 'u':
+                    if(this.__position + 4 > this.__text.length()){
+                        throw this._error("Invalid escape sequence");
+                    }
+                    
+                    try{
+                        string.append((char)Integer.parseInt(this.__text.subSequence(this.__position,this.__position + 4).toString(),16));
+                    }catch(NumberFormatException e){
+                        throw this._error("Invalid escape sequence");
+                    }
+                    this.__position += 4;
+                    break;
+                default:
+                    string.append(character);  //Covers '"', '\\' and '/'.
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Reads any value, skipping the whitespace before it.
+     */
+    protected Object _readValue(){
+        switch(this._skipWhitespace()){
+            case '{':
+                return this._readObject();
+            case '[':
+                return this._readArray();
+            case '"':
+                return this._readString();
+            case 't':
+                this._expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                this._expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                this._expect("null");
+                return null;
+            default:
+                return this._readNumber();
+        }
+    }
+    
+    /**
+     * Skips any whitespace at the current position.
+     *
+     * @return The character after the whitespace, or 0 if the end of the text was reached.
+     */
+    protected char _skipWhitespace(){
+        char character = 0;
+        
+        
+        while(this.__position < this.__text.length()){
+            character = this.__text.charAt(this.__position);
+            if(character != ' ' && character != '\t' && character != '\n' && character != '\r'){
+                return character;
+            }
+            
+            this.__position++;
+        }
+        
+        return 0;
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Parses the given JSON text.
+     *
+     * @param text Text to be parsed.
+     *
+     * @return The value the text holds.
+     *
+     * @throws IllegalArgumentException Thrown if the text isn't valid JSON.
+     */
+    public static Object parse(CharSequence text){
+        final JsonReader reader;
+        final Object     value;
+        
+        
+        if(text == null){
+            throw new IllegalArgumentException("Argument 'text' must not be null.");
+        }
+        
+        reader = new JsonReader(text);
+        value = reader._readValue();
+        if(reader._skipWhitespace() != 0){
+            throw reader._error("Unexpected text after the value");
+        }
+        
+        return value;
+    }
+    /*End Static Methods*/
+}
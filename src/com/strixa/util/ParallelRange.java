@@ -0,0 +1,101 @@
+/**
+ * File:  ParallelRange.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of indices into pieces and works on them in parallel using a {@link ForkJoinPool}.
+ *
+ * @author Nicholas Rog
+ */
+public class ParallelRange{
+    /**
+     * The work to be done for a piece of the range.
+     *
+     * @author Nicholas Rog
+     */
+    public interface Body{
+        /**
+         * Called once for each piece of the range.  Pieces never overlap.
+         *
+         * @param start First index of the piece.
+         * @param end Index after the last index of the piece.
+         */
+        public void run(int start,int end);
+    }
+    
+    private static class RangeAction extends RecursiveAction{
+        /** Field needed for the serialization of this object. */
+        private static final long serialVersionUID = 3218740539157390511L;
+        
+        private final Body __body;
+        private final int  __end;
+        private final int  __grain_size;
+        private final int  __start;
+        
+        
+        /*Begin Constructor*/
+        public RangeAction(Body body,int start,int end,int grain_size){
+            this.__body = body;
+            this.__start = start;
+            this.__end = end;
+            this.__grain_size = grain_size;
+        }
+        /*End Constructor*/
+        
+        /*Begin Other Methods*/
+        @Override protected void compute(){
+            final int middle;
+            
+            
+            if(this.__end - this.__start <= this.__grain_size){
+                this.__body.run(this.__start,this.__end);
+            }else{
+                middle = (this.__start + this.__end) >>> 1;
+                
+                RecursiveAction.invokeAll(
+                    new RangeAction(this.__body,this.__start,middle,this.__grain_size),
+                    new RangeAction(this.__body,middle,this.__end,this.__grain_size)
+                );
+            }
+        }
+        /*End Other Methods*/
+    }
+    
+    
+    /*Begin Constructor*/
+    private ParallelRange(){
+    }
+    /*End Constructor*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Runs the body over every index in [0,count), splitting the range into pieces of at most grain_size indices.<br />
+     * If no pool is given, or the range is smaller than a single piece, the body is run once on the calling thread.
+     *
+     * @param pool Pool the work should be done on.  This may be null.
+     * @param count Number of indices in the range.
+     * @param grain_size Largest number of indices a single piece should contain.
+     * @param body Work to be done for each piece.
+     */
+    public static void forEach(ForkJoinPool pool,int count,int grain_size,Body body){
+        if(body == null){
+            throw new IllegalArgumentException("Argument 'body' must not be null.");
+        }else if(grain_size < 1){
+            throw new IllegalArgumentException("Argument 'grain_size' must be greater than 0.");
+        }
+        
+        if(count <= 0){
+            return;
+        }else if(pool == null || count <= grain_size){
+            body.run(0,count);
+        }else{
+            pool.invoke(new RangeAction(body,0,count,grain_size));
+        }
+    }
+    /*End Static Methods*/
+}
@@ -62,7 +62,7 @@ public class Point1D<T extends Number> extends Point<T>{
      * @return Returns true if the given point is at the same location as this one, and false, otherwise.
      */
     public boolean equals(Point1D<T> point){
-        if(this.getX()==point.getX()){
+        if(Point1D._equals(this.getX(),point.getX())){
             return true;
         }
         
@@ -73,4 +73,19 @@ public class Point1D<T extends Number> extends Point<T>{
         return "("+this.getX()+")";
     }
     /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Compares two coordinates by value.  Comparing the boxed coordinates with == would only check whether they are the same object.
+     * 
+     * @return Returns true if the coordinates are both null or have the same value, and false, otherwise.
+     */
+    protected static boolean _equals(Number coordinate_one,Number coordinate_two){
+        if(coordinate_one == null || coordinate_two == null){
+            return coordinate_one == coordinate_two;
+        }
+        
+        return coordinate_one.equals(coordinate_two);
+    }
+    /*End Static Methods*/
 }
@@ -78,7 +78,7 @@ public class Point2D <T extends Number> extends Point1D<T>{
      * @return Returns true if the given point is at the same location as this one, and false, otherwise.
      */
     public boolean equals(Point2D<T> point){
-        if(super.equals(point) && this.getY()==point.getY()){
+        if(super.equals(point) && Point1D._equals(this.getY(),point.getY())){
             return true;
         }
         
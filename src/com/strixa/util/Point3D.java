@@ -81,7 +81,7 @@ public class Point3D <T extends Number> extends Point2D<T>{
      * @return Returns true if the given point is at the same location as this one, and false, otherwise.
      */
     public boolean equals(Point3D<T> point){
-        if(this.getZ() == point.getZ() && super.equals(point)){
+        if(Point1D._equals(this.getZ(),point.getZ()) && super.equals(point)){
             return true;
         }
         
@@ -0,0 +1,80 @@
+/**
+ * File:  Point3DView.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * A Point3D which holds no coordinates of its own, but reads and writes the location of some other object.<br />
+ * Objects which keep their location in an immutable {@link Vec3d} hand one of these out from their old getCoordinates() methods, so that code which moves an object by changing the point it returns still works.  Reading the point always gives the object's current location, and changing it moves the object, once for each call.
+ *
+ * @author Nicholas Rog
+ */
+public abstract class Point3DView extends Point3D<Double>{
+    private boolean __constructed;  //Point3D's constructors set the coordinates, which must not move the object.
+    
+    
+    /*Begin Constructor*/
+    protected Point3DView(){
+        super(0.0,0.0,0.0);
+        
+        this.__constructed = true;
+    }
+    /*End Constructor*/
+    
+    /*Begin Getter/Setter Methods*/
+    public Double getX(){
+        return this._getPosition().getX();
+    }
+    
+    public Double getY(){
+        return this._getPosition().getY();
+    }
+    
+    public Double getZ(){
+        return this._getPosition().getZ();
+    }
+    
+    public void setPoint(Double x,Double y){
+        if(this.__constructed){
+            this._setPosition(x,y,this._getPosition().getZ());
+        }
+    }
+    
+    public void setPoint(Double x,Double y,Double z){
+        if(this.__constructed){
+            this._setPosition(x,y,z);
+        }
+    }
+    
+    public void setX(Double x){
+        if(this.__constructed){
+            this._setPosition(x,this._getPosition().getY(),this._getPosition().getZ());
+        }
+    }
+    
+    public void setY(Double y){
+        if(this.__constructed){
+            this._setPosition(this._getPosition().getX(),y,this._getPosition().getZ());
+        }
+    }
+    
+    public void setZ(Double z){
+        if(this.__constructed){
+            this._setPosition(this._getPosition().getX(),this._getPosition().getY(),z);
+        }
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Gets the current location of the object this point belongs to.
+     */
+    protected abstract Vec3d _getPosition();
+    
+    /**
+     * Moves the object this point belongs to.
+     */
+    protected abstract void _setPosition(double x,double y,double z);
+    /*End Other Methods*/
+}
@@ -0,0 +1,289 @@
+/**
+ * File:  Sphere3d.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * Bounding sphere, held as its centre and radius in primitive doubles.<br />
+ * A sphere constructed without a centre is empty (its radius is negative), and grows to fit whatever is given to {@link #include(double,double,double)}.  Growing a sphere takes constant time, but the result isn't necessarily the smallest sphere which encloses everything given to it.  Like {@link Aabb3d}, spheres are mutable unless they were created by {@link #toImmutable()}.
+ *
+ * @author Nicholas Rog
+ */
+public class Sphere3d{
+    /**
+     * Sphere which can't be changed.
+     *
+     * @author Nicholas Rog
+     */
+    private static final class Immutable extends Sphere3d{
+        public Immutable(Sphere3d copy){
+            super(copy);
+        }
+        
+        public Sphere3d set(double x,double y,double z,double radius){
+            throw new UnsupportedOperationException("This sphere can't be changed.");
+        }
+        
+        public boolean isImmutable(){
+            return true;
+        }
+    }
+    
+    private double __radius;
+    private double __x;
+    private double __y;
+    private double __z;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty sphere.
+     */
+    public Sphere3d(){
+        this(0,0,0,-1);
+    }
+    
+    /**
+     * Constructs a sphere with the given centre and radius.
+     */
+    public Sphere3d(double x,double y,double z,double radius){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+        this.__radius = radius;
+    }
+    
+    /**
+     * Constructs a mutable copy of the given sphere.
+     *
+     * @param copy Sphere which should be copied.
+     */
+    public Sphere3d(Sphere3d copy){
+        this(copy.getCenterX(),copy.getCenterY(),copy.getCenterZ(),copy.getRadius());
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the centre of this sphere.
+     *
+     * @param destination Vector the centre should be written to.
+     *
+     * @return The given vector.
+     */
+    public Vec3d getCenter(Vec3d destination){
+        return destination.set(this.__x,this.__y,this.__z);
+    }
+    
+    public double getCenterX(){
+        return this.__x;
+    }
+    
+    public double getCenterY(){
+        return this.__y;
+    }
+    
+    public double getCenterZ(){
+        return this.__z;
+    }
+    
+    /**
+     * Gets the radius of this sphere.
+     *
+     * @return The radius of this sphere, which is negative if the sphere is empty.
+     */
+    public double getRadius(){
+        return this.__radius;
+    }
+    
+    /**
+     * Sets this sphere's centre and radius.  Every other method which changes the sphere does so through this one.
+     *
+     * @return This sphere.
+     */
+    public Sphere3d set(double x,double y,double z,double radius){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+        this.__radius = radius;
+        
+        return this;
+    }
+    
+    public Sphere3d set(Sphere3d sphere){
+        return this.set(sphere.getCenterX(),sphere.getCenterY(),sphere.getCenterZ(),sphere.getRadius());
+    }
+    
+    /**
+     * Empties this sphere, so that it can be grown to fit a new set of points.
+     *
+     * @return This sphere.
+     */
+    public Sphere3d setEmpty(){
+        return this.set(0,0,0,-1);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    /**
+     * Checks whether the given point is inside this sphere or on its surface.
+     *
+     * @return Returns true if the point is inside this sphere, and false, otherwise.
+     */
+    public boolean contains(double x,double y,double z){
+        final double x_difference = x - this.__x;
+        final double y_difference = y - this.__y;
+        final double z_difference = z - this.__z;
+        
+        
+        return !this.isEmpty() && x_difference * x_difference + y_difference * y_difference + z_difference * z_difference <= this.__radius * this.__radius;
+    }
+    
+    public boolean equals(Object object){
+        final Sphere3d sphere;
+        
+        
+        if(!(object instanceof Sphere3d)){
+            return false;
+        }
+        
+        sphere = (Sphere3d)object;
+        return Double.compare(this.__x,sphere.getCenterX()) == 0 && Double.compare(this.__y,sphere.getCenterY()) == 0 && Double.compare(this.__z,sphere.getCenterZ()) == 0 && Double.compare(this.__radius,sphere.getRadius()) == 0;
+    }
+    
+    public int hashCode(){
+        long hash = Double.doubleToLongBits(this.__x);
+        
+        
+        hash = hash * 31 + Double.doubleToLongBits(this.__y);
+        hash = hash * 31 + Double.doubleToLongBits(this.__z);
+        hash = hash * 31 + Double.doubleToLongBits(this.__radius);
+        
+        return (int)(hash ^ (hash >>> 32));
+    }
+    
+    /**
+     * Grows this sphere just enough to enclose the given point, moving its centre towards the point.
+     *
+     * @return This sphere.
+     */
+    public Sphere3d include(double x,double y,double z){
+        final double distance;
+        final double radius;
+        
+        
+        if(this.isEmpty()){
+            return this.set(x,y,z,0);
+        }
+        
+        distance = Math.sqrt((x - this.__x) * (x - this.__x) + (y - this.__y) * (y - this.__y) + (z - this.__z) * (z - this.__z));
+        if(distance <= this.__radius){
+            return this;
+        }
+        
+        radius = (this.__radius + distance) / 2;
+        return this.set(
+            this.__x + (x - this.__x) * (radius - this.__radius) / distance,
+            this.__y + (y - this.__y) * (radius - this.__radius) / distance,
+            this.__z + (z - this.__z) * (radius - this.__radius) / distance,
+            radius
+        );
+    }
+    
+    /**
+     * Grows this sphere just enough to enclose the given sphere.  Empty spheres are ignored.
+     *
+     * @return This sphere.
+     */
+    public Sphere3d include(Sphere3d sphere){
+        final double distance;
+        final double radius;
+        
+        
+        if(sphere.isEmpty()){
+            return this;
+        }else if(this.isEmpty()){
+            return this.set(sphere);
+        }
+        
+        distance = Math.sqrt(
+            (sphere.getCenterX() - this.__x) * (sphere.getCenterX() - this.__x) +
+            (sphere.getCenterY() - this.__y) * (sphere.getCenterY() - this.__y) +
+            (sphere.getCenterZ() - this.__z) * (sphere.getCenterZ() - this.__z)
+        );
+        if(distance + sphere.getRadius() <= this.__radius){
+            return this;
+        }else if(distance + this.__radius <= sphere.getRadius()){
+            return this.set(sphere);
+        }
+        
+        radius = (distance + this.__radius + sphere.getRadius()) / 2;
+        return this.set(
+            this.__x + (sphere.getCenterX() - this.__x) * (radius - this.__radius) / distance,
+            this.__y + (sphere.getCenterY() - this.__y) * (radius - this.__radius) / distance,
+            this.__z + (sphere.getCenterZ() - this.__z) * (radius - this.__radius) / distance,
+            radius
+        );
+    }
+    
+    /**
+     * Checks whether the given sphere overlaps this one.  Spheres which only touch are considered to overlap.
+     *
+     * @return Returns true if the spheres overlap, and false, otherwise.
+     */
+    public boolean intersects(Sphere3d sphere){
+        final double radius = this.__radius + sphere.getRadius();
+        final double x_difference = sphere.getCenterX() - this.__x;
+        final double y_difference = sphere.getCenterY() - this.__y;
+        final double z_difference = sphere.getCenterZ() - this.__z;
+        
+        
+        return !this.isEmpty() && !sphere.isEmpty() && x_difference * x_difference + y_difference * y_difference + z_difference * z_difference <= radius * radius;
+    }
+    
+    /**
+     * Checks whether this sphere encloses nothing at all.
+     *
+     * @return Returns true if this sphere is empty, and false, otherwise.
+     */
+    public boolean isEmpty(){
+        return this.__radius < 0;
+    }
+    
+    /**
+     * Checks whether this sphere can be changed.
+     *
+     * @return Returns true if this sphere can't be changed, and false, otherwise.
+     */
+    public boolean isImmutable(){
+        return false;
+    }
+    
+    /**
+     * Gets a sphere with the same centre and radius as this one which can't be changed.
+     *
+     * @return This sphere if it is already immutable, or an immutable copy of it.
+     */
+    public Sphere3d toImmutable(){
+        if(this.isImmutable()){
+            return this;
+        }
+        
+        return new Immutable(this);
+    }
+    
+    public String toString(){
+        return "[("+this.__x+","+this.__y+","+this.__z+") r="+this.__radius+"]";
+    }
+    
+    /**
+     * Moves this sphere by the given amount.
+     *
+     * @return This sphere.
+     */
+    public Sphere3d translate(double x,double y,double z){
+        return this.set(this.__x + x,this.__y + y,this.__z + z,this.__radius);
+    }
+    /*End Other Methods*/
+}
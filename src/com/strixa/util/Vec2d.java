@@ -0,0 +1,247 @@
+/**
+ * File:  Vec2d.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * Two dimensional vector of primitive doubles, to be used in place of {@link Point2D} wherever boxing each coordinate would be too costly.<br />
+ * This works exactly like {@link Vec3d}:  arithmetic changes the vector it is called on, and vectors created by {@link #immutable(double,double)} or {@link #toImmutable()} can't be changed.
+ *
+ * @author Nicholas Rog
+ */
+public class Vec2d{
+    /**
+     * Vector whose coordinates can't be changed.
+     *
+     * @author Nicholas Rog
+     */
+    private static final class Immutable extends Vec2d{
+        public Immutable(double x,double y){
+            super(x,y);
+        }
+        
+        public Vec2d set(double x,double y){
+            throw new UnsupportedOperationException("This vector can't be changed.");
+        }
+        
+        public boolean isImmutable(){
+            return true;
+        }
+    }
+    
+    /** Vector at the origin. */
+    public static final Vec2d ZERO = new Immutable(0,0);
+    
+    private double __x;
+    private double __y;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs a vector at the origin.
+     */
+    public Vec2d(){
+        this(0,0);
+    }
+    
+    /**
+     * Constructs a vector with the given coordinates.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     */
+    public Vec2d(double x,double y){
+        this.__x = x;
+        this.__y = y;
+    }
+    
+    /**
+     * Constructs a mutable copy of the given vector.
+     *
+     * @param copy Vector whose coordinates should be copied.
+     */
+    public Vec2d(Vec2d copy){
+        this(copy.getX(),copy.getY());
+    }
+    
+    /**
+     * Constructs a vector at the same location as the given point.
+     *
+     * @param point Point whose coordinates should be copied.
+     */
+    public Vec2d(Point2D<? extends Number> point){
+        this(point.getX().doubleValue(),point.getY().doubleValue());
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    public double getX(){
+        return this.__x;
+    }
+    
+    public double getY(){
+        return this.__y;
+    }
+    
+    /**
+     * Sets this vector's coordinates.  Every other method which changes the vector does so through this one.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     *
+     * @return This vector.
+     */
+    public Vec2d set(double x,double y){
+        this.__x = x;
+        this.__y = y;
+        
+        return this;
+    }
+    
+    public Vec2d set(Vec2d vector){
+        return this.set(vector.getX(),vector.getY());
+    }
+    
+    public Vec2d setX(double x){
+        return this.set(x,this.__y);
+    }
+    
+    public Vec2d setY(double y){
+        return this.set(this.__x,y);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    public Vec2d add(double x,double y){
+        return this.set(this.__x + x,this.__y + y);
+    }
+    
+    public Vec2d add(Vec2d vector){
+        return this.add(vector.getX(),vector.getY());
+    }
+    
+    public double distance(Vec2d vector){
+        return Math.sqrt(this.distanceSquared(vector.getX(),vector.getY()));
+    }
+    
+    public double distanceSquared(double x,double y){
+        final double x_difference = this.__x - x;
+        final double y_difference = this.__y - y;
+        
+        
+        return x_difference * x_difference + y_difference * y_difference;
+    }
+    
+    public double dot(Vec2d vector){
+        return this.__x * vector.getX() + this.__y * vector.getY();
+    }
+    
+    /**
+     * Checks whether the given object is a vector with exactly the same coordinates as this one, whether or not either is immutable.
+     */
+    public boolean equals(Object object){
+        final Vec2d vector;
+        
+        
+        if(!(object instanceof Vec2d)){
+            return false;
+        }
+        
+        vector = (Vec2d)object;
+        return Double.doubleToLongBits(this.__x) == Double.doubleToLongBits(vector.getX()) && Double.doubleToLongBits(this.__y) == Double.doubleToLongBits(vector.getY());
+    }
+    
+    public int hashCode(){
+        final long hash = Double.doubleToLongBits(this.__x) * 31 + Double.doubleToLongBits(this.__y);
+        
+        
+        return (int)(hash ^ (hash >>> 32));
+    }
+    
+    /**
+     * Checks whether this vector can be changed.
+     *
+     * @return Returns true if this vector can't be changed, and false, otherwise.
+     */
+    public boolean isImmutable(){
+        return false;
+    }
+    
+    public double length(){
+        return Math.sqrt(this.lengthSquared());
+    }
+    
+    public double lengthSquared(){
+        return this.__x * this.__x + this.__y * this.__y;
+    }
+    
+    /**
+     * Scales this vector to a length of one.  A vector with no length is left as it is.
+     *
+     * @return This vector.
+     */
+    public Vec2d normalize(){
+        final double length = this.length();
+        
+        
+        if(length == 0){
+            return this;
+        }
+        
+        return this.scale(1 / length);
+    }
+    
+    public Vec2d scale(double factor){
+        return this.set(this.__x * factor,this.__y * factor);
+    }
+    
+    public Vec2d subtract(double x,double y){
+        return this.set(this.__x - x,this.__y - y);
+    }
+    
+    public Vec2d subtract(Vec2d vector){
+        return this.subtract(vector.getX(),vector.getY());
+    }
+    
+    /**
+     * Gets a vector with the same coordinates as this one which can't be changed.
+     *
+     * @return This vector if it is already immutable, or an immutable copy of it.
+     */
+    public Vec2d toImmutable(){
+        if(this.isImmutable()){
+            return this;
+        }
+        
+        return new Immutable(this.__x,this.__y);
+    }
+    
+    /**
+     * Creates a boxed copy of this vector, for code which still uses the generic point classes.
+     *
+     * @return A point at the same location as this vector.
+     */
+    public Point2D<Double> toPoint2D(){
+        return new Point2D<Double>(this.__x,this.__y);
+    }
+    
+    public String toString(){
+        return "("+this.__x+","+this.__y+")";
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Creates a vector whose coordinates can't be changed.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     *
+     * @return The vector.
+     */
+    public static Vec2d immutable(double x,double y){
+        return new Immutable(x,y);
+    }
+    /*End Static Methods*/
+}
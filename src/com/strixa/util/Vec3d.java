@@ -0,0 +1,280 @@
+/**
+ * File:  Vec3d.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * Three dimensional vector of primitive doubles, to be used in place of {@link Point3D} wherever boxing each coordinate would be too costly.<br />
+ * Vectors are mutable, and the arithmetic methods change the vector they are called on and return it, so that calls can be chained without creating new vectors.  Vectors created by {@link #immutable(double,double,double)} or {@link #toImmutable()} can't be changed, and throw an UnsupportedOperationException if anything tries to; they can be handed out without being copied.
+ *
+ * @author Nicholas Rog
+ */
+public class Vec3d{
+    /**
+     * Vector whose coordinates can't be changed.
+     *
+     * @author Nicholas Rog
+     */
+    private static final class Immutable extends Vec3d{
+        public Immutable(double x,double y,double z){
+            super(x,y,z);
+        }
+        
+        public Vec3d set(double x,double y,double z){
+            throw new UnsupportedOperationException("This vector can't be changed.");
+        }
+        
+        public boolean isImmutable(){
+            return true;
+        }
+    }
+    
+    /** Vector at the origin. */
+    public static final Vec3d ZERO = new Immutable(0,0,0);
+    
+    private double __x;
+    private double __y;
+    private double __z;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs a vector at the origin.
+     */
+    public Vec3d(){
+        this(0,0,0);
+    }
+    
+    /**
+     * Constructs a vector with the given coordinates.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     */
+    public Vec3d(double x,double y,double z){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+    }
+    
+    /**
+     * Constructs a mutable copy of the given vector.
+     *
+     * @param copy Vector whose coordinates should be copied.
+     */
+    public Vec3d(Vec3d copy){
+        this(copy.getX(),copy.getY(),copy.getZ());
+    }
+    
+    /**
+     * Constructs a vector at the same location as the given point.
+     *
+     * @param point Point whose coordinates should be copied.
+     */
+    public Vec3d(Point3D<? extends Number> point){
+        this(point.getX().doubleValue(),point.getY().doubleValue(),point.getZ().doubleValue());
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    public double getX(){
+        return this.__x;
+    }
+    
+    public double getY(){
+        return this.__y;
+    }
+    
+    public double getZ(){
+        return this.__z;
+    }
+    
+    /**
+     * Sets this vector's coordinates.  Every other method which changes the vector does so through this one.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     *
+     * @return This vector.
+     */
+    public Vec3d set(double x,double y,double z){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+        
+        return this;
+    }
+    
+    public Vec3d set(Vec3d vector){
+        return this.set(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    public Vec3d setX(double x){
+        return this.set(x,this.__y,this.__z);
+    }
+    
+    public Vec3d setY(double y){
+        return this.set(this.__x,y,this.__z);
+    }
+    
+    public Vec3d setZ(double z){
+        return this.set(this.__x,this.__y,z);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    public Vec3d add(double x,double y,double z){
+        return this.set(this.__x + x,this.__y + y,this.__z + z);
+    }
+    
+    public Vec3d add(Vec3d vector){
+        return this.add(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    /**
+     * Sets this vector to the cross product of itself and the given vector.
+     *
+     * @param vector Vector on the right hand side of the product.
+     *
+     * @return This vector.
+     */
+    public Vec3d cross(Vec3d vector){
+        return this.set(
+            this.__y * vector.getZ() - this.__z * vector.getY(),
+            this.__z * vector.getX() - this.__x * vector.getZ(),
+            this.__x * vector.getY() - this.__y * vector.getX()
+        );
+    }
+    
+    public double distance(Vec3d vector){
+        return Math.sqrt(this.distanceSquared(vector.getX(),vector.getY(),vector.getZ()));
+    }
+    
+    public double distanceSquared(double x,double y,double z){
+        final double x_difference = this.__x - x;
+        final double y_difference = this.__y - y;
+        final double z_difference = this.__z - z;
+        
+        
+        return x_difference * x_difference + y_difference * y_difference + z_difference * z_difference;
+    }
+    
+    public double dot(Vec3d vector){
+        return this.__x * vector.getX() + this.__y * vector.getY() + this.__z * vector.getZ();
+    }
+    
+    /**
+     * Checks whether the given object is a vector with exactly the same coordinates as this one, whether or not either is immutable.
+     */
+    public boolean equals(Object object){
+        final Vec3d vector;
+        
+        
+        if(!(object instanceof Vec3d)){
+            return false;
+        }
+        
+        vector = (Vec3d)object;
+        return Double.doubleToLongBits(this.__x) == Double.doubleToLongBits(vector.getX()) && Double.doubleToLongBits(this.__y) == Double.doubleToLongBits(vector.getY()) && Double.doubleToLongBits(this.__z) == Double.doubleToLongBits(vector.getZ());
+    }
+    
+    public int hashCode(){
+        long hash = Double.doubleToLongBits(this.__x);
+        
+        
+        hash = hash * 31 + Double.doubleToLongBits(this.__y);
+        hash = hash * 31 + Double.doubleToLongBits(this.__z);
+        
+        return (int)(hash ^ (hash >>> 32));
+    }
+    
+    /**
+     * Checks whether this vector can be changed.
+     *
+     * @return Returns true if this vector can't be changed, and false, otherwise.
+     */
+    public boolean isImmutable(){
+        return false;
+    }
+    
+    public double length(){
+        return Math.sqrt(this.lengthSquared());
+    }
+    
+    public double lengthSquared(){
+        return this.__x * this.__x + this.__y * this.__y + this.__z * this.__z;
+    }
+    
+    /**
+     * Scales this vector to a length of one.  A vector with no length is left as it is.
+     *
+     * @return This vector.
+     */
+    public Vec3d normalize(){
+        final double length = this.length();
+        
+        
+        if(length == 0){
+            return this;
+        }
+        
+        return this.scale(1 / length);
+    }
+    
+    public Vec3d scale(double factor){
+        return this.set(this.__x * factor,this.__y * factor,this.__z * factor);
+    }
+    
+    public Vec3d subtract(double x,double y,double z){
+        return this.set(this.__x - x,this.__y - y,this.__z - z);
+    }
+    
+    public Vec3d subtract(Vec3d vector){
+        return this.subtract(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    /**
+     * Gets a vector with the same coordinates as this one which can't be changed.
+     *
+     * @return This vector if it is already immutable, or an immutable copy of it.
+     */
+    public Vec3d toImmutable(){
+        if(this.isImmutable()){
+            return this;
+        }
+        
+        return new Immutable(this.__x,this.__y,this.__z);
+    }
+    
+    /**
+     * Creates a boxed copy of this vector, for code which still uses the generic point classes.
+     *
+     * @return A point at the same location as this vector.
+     */
+    public Point3D<Double> toPoint3D(){
+        return new Point3D<Double>(this.__x,this.__y,this.__z);
+    }
+    
+    public String toString(){
+        return "("+this.__x+","+this.__y+","+this.__z+")";
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Creates a vector whose coordinates can't be changed.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     *
+     * @return The vector.
+     */
+    public static Vec3d immutable(double x,double y,double z){
+        return new Immutable(x,y,z);
+    }
+    /*End Static Methods*/
+}
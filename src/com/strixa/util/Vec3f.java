@@ -0,0 +1,252 @@
+/**
+ * File:  Vec3f.java
+ * Date of Creation:  Oct 17, 2026
+ */
+package com.strixa.util;
+
+/**
+ * Three dimensional vector of primitive floats, matching the precision of the vertex data handed to OpenGL.<br />
+ * This works exactly like {@link Vec3d}:  arithmetic changes the vector it is called on, and vectors created by {@link #immutable(float,float,float)} or {@link #toImmutable()} can't be changed.
+ *
+ * @author Nicholas Rog
+ */
+public class Vec3f{
+    /**
+     * Vector whose coordinates can't be changed.
+     *
+     * @author Nicholas Rog
+     */
+    private static final class Immutable extends Vec3f{
+        public Immutable(float x,float y,float z){
+            super(x,y,z);
+        }
+        
+        public Vec3f set(float x,float y,float z){
+            throw new UnsupportedOperationException("This vector can't be changed.");
+        }
+        
+        public boolean isImmutable(){
+            return true;
+        }
+    }
+    
+    /** Vector at the origin. */
+    public static final Vec3f ZERO = new Immutable(0,0,0);
+    
+    private float __x;
+    private float __y;
+    private float __z;
+    
+    
+    /*Begin Constructors*/
+    /**
+     * Constructs a vector at the origin.
+     */
+    public Vec3f(){
+        this(0,0,0);
+    }
+    
+    /**
+     * Constructs a vector with the given coordinates.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     */
+    public Vec3f(float x,float y,float z){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+    }
+    
+    /**
+     * Constructs a mutable copy of the given vector.
+     *
+     * @param copy Vector whose coordinates should be copied.
+     */
+    public Vec3f(Vec3f copy){
+        this(copy.getX(),copy.getY(),copy.getZ());
+    }
+    
+    /**
+     * Constructs a vector from the given double precision vector, rounding its coordinates.
+     *
+     * @param vector Vector whose coordinates should be copied.
+     */
+    public Vec3f(Vec3d vector){
+        this((float)vector.getX(),(float)vector.getY(),(float)vector.getZ());
+    }
+    /*End Constructors*/
+    
+    /*Begin Getter/Setter Methods*/
+    public float getX(){
+        return this.__x;
+    }
+    
+    public float getY(){
+        return this.__y;
+    }
+    
+    public float getZ(){
+        return this.__z;
+    }
+    
+    /**
+     * Sets this vector's coordinates.  Every other method which changes the vector does so through this one.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     *
+     * @return This vector.
+     */
+    public Vec3f set(float x,float y,float z){
+        this.__x = x;
+        this.__y = y;
+        this.__z = z;
+        
+        return this;
+    }
+    
+    public Vec3f set(Vec3f vector){
+        return this.set(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    public Vec3f setX(float x){
+        return this.set(x,this.__y,this.__z);
+    }
+    
+    public Vec3f setY(float y){
+        return this.set(this.__x,y,this.__z);
+    }
+    
+    public Vec3f setZ(float z){
+        return this.set(this.__x,this.__y,z);
+    }
+    /*End Getter/Setter Methods*/
+    
+    /*Begin Other Methods*/
+    public Vec3f add(float x,float y,float z){
+        return this.set(this.__x + x,this.__y + y,this.__z + z);
+    }
+    
+    public Vec3f add(Vec3f vector){
+        return this.add(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    /**
+     * Sets this vector to the cross product of itself and the given vector.
+     *
+     * @param vector Vector on the right hand side of the product.
+     *
+     * @return This vector.
+     */
+    public Vec3f cross(Vec3f vector){
+        return this.set(
+            this.__y * vector.getZ() - this.__z * vector.getY(),
+            this.__z * vector.getX() - this.__x * vector.getZ(),
+            this.__x * vector.getY() - this.__y * vector.getX()
+        );
+    }
+    
+    public float dot(Vec3f vector){
+        return this.__x * vector.getX() + this.__y * vector.getY() + this.__z * vector.getZ();
+    }
+    
+    /**
+     * Checks whether the given object is a vector with exactly the same coordinates as this one, whether or not either is immutable.
+     */
+    public boolean equals(Object object){
+        final Vec3f vector;
+        
+        
+        if(!(object instanceof Vec3f)){
+            return false;
+        }
+        
+        vector = (Vec3f)object;
+        return Float.floatToIntBits(this.__x) == Float.floatToIntBits(vector.getX()) && Float.floatToIntBits(this.__y) == Float.floatToIntBits(vector.getY()) && Float.floatToIntBits(this.__z) == Float.floatToIntBits(vector.getZ());
+    }
+    
+    public int hashCode(){
+        return (Float.floatToIntBits(this.__x) * 31 + Float.floatToIntBits(this.__y)) * 31 + Float.floatToIntBits(this.__z);
+    }
+    
+    /**
+     * Checks whether this vector can be changed.
+     *
+     * @return Returns true if this vector can't be changed, and false, otherwise.
+     */
+    public boolean isImmutable(){
+        return false;
+    }
+    
+    public float length(){
+        return (float)Math.sqrt(this.lengthSquared());
+    }
+    
+    public float lengthSquared(){
+        return this.__x * this.__x + this.__y * this.__y + this.__z * this.__z;
+    }
+    
+    /**
+     * Scales this vector to a length of one.  A vector with no length is left as it is.
+     *
+     * @return This vector.
+     */
+    public Vec3f normalize(){
+        final float length = this.length();
+        
+        
+        if(length == 0){
+            return this;
+        }
+        
+        return this.scale(1 / length);
+    }
+    
+    public Vec3f scale(float factor){
+        return this.set(this.__x * factor,this.__y * factor,this.__z * factor);
+    }
+    
+    public Vec3f subtract(float x,float y,float z){
+        return this.set(this.__x - x,this.__y - y,this.__z - z);
+    }
+    
+    public Vec3f subtract(Vec3f vector){
+        return this.subtract(vector.getX(),vector.getY(),vector.getZ());
+    }
+    
+    /**
+     * Gets a vector with the same coordinates as this one which can't be changed.
+     *
+     * @return This vector if it is already immutable, or an immutable copy of it.
+     */
+    public Vec3f toImmutable(){
+        if(this.isImmutable()){
+            return this;
+        }
+        
+        return new Immutable(this.__x,this.__y,this.__z);
+    }
+    
+    public String toString(){
+        return "("+this.__x+","+this.__y+","+this.__z+")";
+    }
+    /*End Other Methods*/
+    
+    /*Begin Static Methods*/
+    /**
+     * Creates a vector whose coordinates can't be changed.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     *
+     * @return The vector.
+     */
+    public static Vec3f immutable(float x,float y,float z){
+        return new Immutable(x,y,z);
+    }
+    /*End Static Methods*/
+}